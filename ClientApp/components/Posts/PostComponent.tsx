@@ -130,7 +130,7 @@ const PostComponent: React.FC<PostComponentProps> = ({ post, userProfile }) => {
 
           <TouchableOpacity style={styles.actionButton}>
             <Ionicons name="chatbubble-outline" size={24} color="#555" />
-            <Text style={styles.actionText}>{post.comments.length} {t('post_component.comments')}</Text>
+            <Text style={styles.actionText}>{post.commentCount ?? 0} {t('post_component.comments')}</Text>
           </TouchableOpacity>
         </View>
         {/* Image Viewer */}
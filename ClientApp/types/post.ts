@@ -14,6 +14,6 @@ export type PostComment = {
     content: string;
     createdBy: string;
     attachments: string[];
-    comments: PostComment[];
+    commentCount: number;
     likes: number;
   };
\ No newline at end of file
@@ -0,0 +1,69 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class EventCutOffTimeMigrationIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void runShouldNormaliseNonCanonicalCutOffTimes() {
+        MongoCollection<Document> events = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class));
+        ObjectId withoutSeconds = new ObjectId();
+        ObjectId withFraction = new ObjectId();
+        ObjectId canonical = new ObjectId();
+        ObjectId notADateTime = new ObjectId();
+        events.insertMany(List.of(
+                new Document("_id", withoutSeconds).append("cutOffTime", "2025-01-31T18:00"),
+                new Document("_id", withFraction).append("cutOffTime", "2025-01-31T18:00:05.123"),
+                new Document("_id", canonical).append("cutOffTime", "2025-01-31T18:00:00"),
+                new Document("_id", notADateTime).append("cutOffTime", "18:00")));
+
+        new EventCutOffTimeMigration(mongoTemplate).run(new DefaultApplicationArguments());
+
+        assertEquals("2025-01-31T18:00:00", cutOffTimeOf(events, withoutSeconds));
+        assertEquals("2025-01-31T18:00:05", cutOffTimeOf(events, withFraction));
+        assertEquals("2025-01-31T18:00:00", cutOffTimeOf(events, canonical));
+        assertEquals("18:00", cutOffTimeOf(events, notADateTime));
+    }
+
+    private static String cutOffTimeOf(MongoCollection<Document> events, ObjectId id) {
+        Document event = events.find(new Document("_id", id)).first();
+        assertNotNull(event);
+        return event.getString("cutOffTime");
+    }
+}
@@ -0,0 +1,70 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class EventPostsMigrationIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void runShouldLinkReferencedPostsAndDropReferences() {
+        MongoCollection<Document> events = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class));
+        MongoCollection<Document> posts = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class));
+        ObjectId eventId = new ObjectId();
+        ObjectId linkedPost = new ObjectId();
+        ObjectId orphanPost = new ObjectId();
+        posts.insertMany(List.of(
+                new Document("_id", linkedPost).append("eventId", eventId.toHexString()).append("content", "linked"),
+                new Document("_id", orphanPost).append("content", "orphan")));
+        events.insertOne(new Document("_id", eventId).append("eventName", "Game")
+                .append("posts", List.of(new DBRef("posts", linkedPost), new DBRef("posts", orphanPost))));
+
+        EventPostsMigration migration = new EventPostsMigration(mongoTemplate);
+        migration.run(new DefaultApplicationArguments());
+
+        Document event = events.find(new Document("_id", eventId)).first();
+        assertNotNull(event);
+        assertFalse(event.containsKey("posts"));
+        assertEquals(2, posts.countDocuments(new Document("eventId", eventId.toHexString())));
+
+        // Running it again finds nothing left to migrate.
+        migration.run(new DefaultApplicationArguments());
+        assertEquals(2, posts.countDocuments(new Document("eventId", eventId.toHexString())));
+    }
+}
@@ -0,0 +1,120 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.dto.request.event.EventRequest;
+import app.sportahub.eventservice.dto.request.event.LocationRequest;
+import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.mapper.event.EventMapper;
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.outbox.ParticipationChange;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.event.EventServiceImpl;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+class ParticipationOutboxMigrationIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void runShouldQueueAJoinForEveryParticipantOnce() {
+        OutboxMessage pending = OutboxMessage.builder().withMessageId("pending").withUserIds(List.of("user1")).build();
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Game")
+                .withParticipants(List.of(Participant.builder().withUserId("user1").build(),
+                        Participant.builder().withUserId("user2").build()))
+                .withOutbox(List.of(pending))
+                .build());
+        Event published = mongoTemplate.insert(Event.builder()
+                .withEventName("New game")
+                .withParticipants(List.of(Participant.builder().withUserId("user3").build()))
+                .withParticipationsPublished(true)
+                .build());
+
+        ParticipationOutboxMigration migration = new ParticipationOutboxMigration(mongoTemplate);
+        migration.run(new DefaultApplicationArguments());
+
+        Event migrated = mongoTemplate.findById(event.getId(), Event.class);
+        assertNotNull(migrated);
+        assertTrue(migrated.getParticipationsPublished());
+        List<OutboxMessage> outbox = migrated.getOutbox();
+        assertEquals(3, outbox.size());
+        assertEquals("pending", outbox.getFirst().getMessageId());
+        assertEquals(List.of(new ParticipationChange("user1", true), new ParticipationChange("user2", true)),
+                outbox.subList(1, 3).stream().map(OutboxMessage::getParticipationChange).toList());
+        assertEquals(event.getId() + ":user1:joined", outbox.get(1).getMessageId());
+        assertNotNull(outbox.get(1).getCreatedAt());
+        assertNull(mongoTemplate.findById(published.getId(), Event.class).getOutbox());
+
+        // Running it again finds nothing left to publish.
+        migration.run(new DefaultApplicationArguments());
+        assertEquals(3, mongoTemplate.findById(event.getId(), Event.class).getOutbox().size());
+    }
+
+    @Test
+    void runShouldNotQueueTheParticipantsOfEventsCreatedSinceAgain() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findEventByEventName(anyString())).thenReturn(Optional.empty());
+        when(eventRepository.save(any(Event.class)))
+                .thenAnswer(invocation -> mongoTemplate.save(invocation.<Event>getArgument(0)));
+        EventServiceImpl eventService = new EventServiceImpl(eventRepository, Mappers.getMapper(EventMapper.class),
+                mock(OrchestrationServiceProducer.class));
+        ParticipationOutboxMigration migration = new ParticipationOutboxMigration(mongoTemplate);
+        migration.run(new DefaultApplicationArguments());
+
+        EventResponse created = eventService.createEvent(new EventRequest("Created since", "Public", "Soccer",
+                new LocationRequest("Park", null, null, "Montreal", "QC", "Canada", null, null, null,
+                        new GeoJsonPoint(-73.57, 45.50)),
+                LocalDate.now().plusDays(1), LocalTime.NOON, LocalTime.NOON.plusHours(2), null, 10, null, "creator",
+                null, LocalDateTime.now().plusDays(1).toString(), "Casual game", false, null, null, null));
+        migration.run(new DefaultApplicationArguments());
+
+        Event event = mongoTemplate.findById(created.id(), Event.class);
+        assertNotNull(event);
+        assertTrue(event.getParticipationsPublished());
+        assertEquals(List.of(new ParticipationChange("creator", true)),
+                event.getOutbox().stream().map(OutboxMessage::getParticipationChange).toList());
+        assertFalse(event.getOutbox().getFirst().getMessageId().endsWith(":joined"));
+    }
+}
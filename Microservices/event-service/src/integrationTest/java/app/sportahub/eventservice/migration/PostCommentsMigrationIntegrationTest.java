@@ -0,0 +1,77 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.social.Comment;
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class PostCommentsMigrationIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void runShouldLinkReferencedCommentsAndReplaceReferencesWithCount() {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class));
+        MongoCollection<Document> comments = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class));
+        ObjectId postId = new ObjectId();
+        ObjectId emptyPostId = new ObjectId();
+        ObjectId linkedComment = new ObjectId();
+        ObjectId orphanComment = new ObjectId();
+        comments.insertMany(List.of(
+                new Document("_id", linkedComment).append("postId", postId.toHexString()).append("content", "linked"),
+                new Document("_id", orphanComment).append("content", "orphan")));
+        posts.insertMany(List.of(
+                new Document("_id", postId).append("eventId", "event1")
+                        .append("comments", List.of(new DBRef("comments", linkedComment), new DBRef("comments", orphanComment))),
+                new Document("_id", emptyPostId).append("eventId", "event1").append("comments", List.of())));
+
+        PostCommentsMigration migration = new PostCommentsMigration(mongoTemplate);
+        migration.run(new DefaultApplicationArguments());
+
+        Document post = posts.find(new Document("_id", postId)).first();
+        assertNotNull(post);
+        assertFalse(post.containsKey("comments"));
+        assertEquals(2, post.getInteger("commentCount"));
+        Document emptyPost = posts.find(new Document("_id", emptyPostId)).first();
+        assertNotNull(emptyPost);
+        assertEquals(0, emptyPost.getInteger("commentCount"));
+        assertEquals(2, comments.countDocuments(new Document("postId", postId.toHexString())));
+
+        // Running it again finds nothing left to migrate and keeps the counts.
+        migration.run(new DefaultApplicationArguments());
+        assertEquals(2, posts.find(new Document("_id", postId)).first().getInteger("commentCount"));
+    }
+}
@@ -0,0 +1,63 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class CommentingPostRepositoryImplIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static CommentingPostRepositoryImpl commentingPostRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        commentingPostRepository = new CommentingPostRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void concurrentIncrementsShouldAllBeCounted() {
+        Post post = mongoTemplate.insert(Post.builder().withEventId("event1").withContent("Post").build());
+
+        CompletableFuture.allOf(IntStream.range(0, 50)
+                .mapToObj(i -> CompletableFuture.runAsync(
+                        () -> commentingPostRepository.incrementCommentCount("event1", post.getId(), 1)))
+                .toArray(CompletableFuture[]::new)).join();
+        commentingPostRepository.incrementCommentCount("event1", post.getId(), -1);
+
+        assertEquals(49, mongoTemplate.findById(post.getId(), Post.class).getCommentCount());
+    }
+
+    @Test
+    void incrementShouldNotMatchAPostOfAnotherEvent() {
+        Post post = mongoTemplate.insert(Post.builder().withEventId("event1").withContent("Post").build());
+
+        assertFalse(commentingPostRepository.incrementCommentCount("event2", post.getId(), 1));
+        assertTrue(commentingPostRepository.incrementCommentCount("event1", post.getId(), 1));
+        assertEquals(1, mongoTemplate.findById(post.getId(), Post.class).getCommentCount());
+    }
+}
@@ -0,0 +1,111 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.enums.EventSortingField;
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ListingEventRepositoryImplIntegrationTest {
+
+    private static final int EVENT_COUNT = 250;
+    private static final int WINDOW_SIZE = 20;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static ListingEventRepositoryImpl listingEventRepository;
+
+    @BeforeAll
+    static void seed() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(Event.class)
+                .forEach(mongoTemplate.indexOps(Event.class)::ensureIndex);
+        listingEventRepository = new ListingEventRepositoryImpl(mongoTemplate);
+
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            // Several events share each date, so windows regularly end in the middle of a tie.
+            events.add(Event.builder()
+                    .withEventName("Game " + i)
+                    .withCreatedBy(i % 2 == 0 ? "power-user" : "someone-else")
+                    .withDate(LocalDate.of(2025, 1, 1).plusDays(i / 7))
+                    .withParticipants(new ArrayList<>(List.of(Participant.builder()
+                            .withUserId("power-user")
+                            .withAttendStatus(ParticipantAttendStatus.JOINED)
+                            .withJoinedOn(LocalDate.now())
+                            .build())))
+                    .build());
+        }
+        mongoTemplate.insert(events, Event.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void scrollingShouldVisitEveryEventOnceInOrder() {
+        List<Event> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventWindow window = listingEventRepository.scrollByParticipant("power-user", EventSortingField.DATE,
+                    Sort.Direction.DESC, cursor, WINDOW_SIZE);
+            visited.addAll(window.events());
+            cursor = window.nextCursor();
+        } while (cursor != null);
+
+        List<Event> expected = mongoTemplate.find(new Query(Criteria.where("participants.userId").is("power-user"))
+                .with(Sort.by(Sort.Direction.DESC, "date", "_id")), Event.class);
+        assertEquals(EVENT_COUNT, visited.size());
+        assertEquals(expected.stream().map(Event::getId).toList(), visited.stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void scrollingCreatorEventsShouldSeekThroughCompoundIndex() {
+        EventWindow first = listingEventRepository.scrollByCreator("power-user", EventSortingField.DATE,
+                Sort.Direction.ASC, null, WINDOW_SIZE);
+        EventWindow second = listingEventRepository.scrollByCreator("power-user", EventSortingField.DATE,
+                Sort.Direction.ASC, first.nextCursor(), WINDOW_SIZE);
+
+        assertEquals(WINDOW_SIZE, second.events().size());
+        assertTrue(second.events().getFirst().getDate().isAfter(first.events().getLast().getDate())
+                || second.events().getFirst().getDate().isEqual(first.events().getLast().getDate()));
+
+        Document explain = mongoTemplate.getCollection("event")
+                .find(new Document("createdBy", "power-user"))
+                .sort(new Document("date", 1).append("_id", 1))
+                .limit(WINDOW_SIZE + 1)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertTrue(winningPlan.contains("creator_date_idx"));
+        assertFalse(winningPlan.contains("\"SORT\""));
+    }
+}
@@ -0,0 +1,246 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.outbox.ParticipationChange;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ParticipatingEventRepositoryImplIntegrationTest {
+
+    private static final int MAX_PARTICIPANTS = 10;
+    private static final int CONCURRENT_JOINS = 300;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static ParticipatingEventRepositoryImpl participatingEventRepository;
+
+    @BeforeAll
+    static void setUpRepository() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        participatingEventRepository = new ParticipatingEventRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clearEvents() {
+        mongoTemplate.dropCollection(Event.class);
+    }
+
+    @Test
+    void concurrentJoinsShouldNeverExceedMaxParticipants() throws Exception {
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Registration Rush")
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> joins = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_JOINS; i++) {
+            Participant participant = participant("user" + i);
+            Callable<Boolean> join = () -> {
+                start.await();
+                return participatingEventRepository.addParticipant(event.getId(), participant, LocalDateTime.now());
+            };
+            joins.add(executor.submit(join));
+        }
+        start.countDown();
+
+        int successfulJoins = 0;
+        for (Future<Boolean> join : joins) {
+            if (join.get()) {
+                successfulJoins++;
+            }
+        }
+        executor.shutdown();
+
+        Event savedEvent = mongoTemplate.findById(event.getId(), Event.class);
+        assertNotNull(savedEvent);
+        assertEquals(MAX_PARTICIPANTS, successfulJoins);
+        assertEquals(MAX_PARTICIPANTS, savedEvent.getParticipants().size());
+        assertEquals(MAX_PARTICIPANTS, savedEvent.getParticipants().stream().map(Participant::getUserId).distinct().count());
+        assertEquals(MAX_PARTICIPANTS, savedEvent.getParticipantCount());
+        assertEquals(0, savedEvent.getOpenSlots());
+        assertEquals(savedEvent.getParticipants().stream()
+                        .map(participant -> new ParticipationChange(participant.getUserId(), true))
+                        .toList(),
+                savedEvent.getOutbox().stream().map(OutboxMessage::getParticipationChange).toList());
+    }
+
+    @Test
+    void concurrentJoinsOfSameUserShouldAddThemOnce() throws Exception {
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Double Click")
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> joins = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            joins.add(executor.submit(() -> participatingEventRepository.addParticipant(event.getId(),
+                    participant("user1"), LocalDateTime.now())));
+        }
+
+        long successfulJoins = 0;
+        for (Future<Boolean> join : joins) {
+            if (join.get()) {
+                successfulJoins++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, successfulJoins);
+        assertEquals(1, mongoTemplate.findById(event.getId(), Event.class).getParticipants().size());
+    }
+
+    @Test
+    void addParticipantShouldRejectNonWhitelistedUserAndClosedRegistration() {
+        Event privateEvent = mongoTemplate.insert(Event.builder()
+                .withEventName("Private Game")
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS)
+                .withIsPrivate(true)
+                .withWhitelistedUsers(new ArrayList<>(List.of("invited")))
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .build());
+        Event closedEvent = mongoTemplate.insert(Event.builder()
+                .withEventName("Closed Game")
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().minusHours(1).toString())
+                .build());
+
+        assertFalse(participatingEventRepository.addParticipant(privateEvent.getId(), participant("stranger"), LocalDateTime.now()));
+        assertTrue(participatingEventRepository.addParticipant(privateEvent.getId(), participant("invited"), LocalDateTime.now()));
+        assertFalse(participatingEventRepository.addParticipant(closedEvent.getId(), participant("late"), LocalDateTime.now()));
+    }
+
+    @Test
+    void addParticipantShouldCompareTheCutOffTimeChronologically() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 31, 18, 0);
+        Event openEvent = insertEventWithCutOffTime("Still Open", now.plusSeconds(1));
+        Event closingEvent = insertEventWithCutOffTime("Closing Now", now);
+        Event closedEvent = insertEventWithCutOffTime("Just Closed", now.minusSeconds(1));
+
+        assertTrue(participatingEventRepository.addParticipant(openEvent.getId(), participant("early"), now));
+        assertFalse(participatingEventRepository.addParticipant(closingEvent.getId(), participant("onTime"), now));
+        assertFalse(participatingEventRepository.addParticipant(closedEvent.getId(), participant("late"), now));
+    }
+
+    @Test
+    void removeAndCancelParticipantShouldOnlyTouchThatParticipant() {
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Leaving Game")
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS - 3)
+                .withParticipantCount(3)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .withParticipants(new ArrayList<>(List.of(participant("leaver"), participant("canceller"), participant("stayer"))))
+                .build());
+
+        assertTrue(participatingEventRepository.removeParticipant(event.getId(), "leaver"));
+        assertFalse(participatingEventRepository.removeParticipant(event.getId(), "leaver"));
+        assertTrue(participatingEventRepository.cancelParticipant(event.getId(), "canceller"));
+
+        Event savedEvent = mongoTemplate.findById(event.getId(), Event.class);
+        List<Participant> participants = savedEvent.getParticipants();
+        assertEquals(2, participants.size());
+        assertEquals(2, savedEvent.getParticipantCount());
+        assertEquals(MAX_PARTICIPANTS - 2, savedEvent.getOpenSlots());
+        assertEquals(ParticipantAttendStatus.CANCELLED, participants.get(0).getAttendStatus());
+        assertEquals(ParticipantAttendStatus.JOINED, participants.get(1).getAttendStatus());
+        assertEquals(List.of(new ParticipationChange("leaver", false)),
+                savedEvent.getOutbox().stream().map(OutboxMessage::getParticipationChange).toList());
+    }
+
+    @Test
+    void joinAndLeaveShouldBackfillCountersOfEventsCreatedBeforeThem() {
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Legacy Game")
+                .withMaxParticipants(2)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .withParticipants(new ArrayList<>(List.of(participant("early"))))
+                .build());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(event.getId())),
+                new Update().unset("participantCount").unset("likeCount").unset("openSlots"), Event.class);
+
+        assertTrue(participatingEventRepository.addParticipant(event.getId(), participant("joiner"), LocalDateTime.now()));
+        assertFalse(participatingEventRepository.addParticipant(event.getId(), participant("extra"), LocalDateTime.now()));
+
+        Event savedEvent = mongoTemplate.findById(event.getId(), Event.class);
+        assertEquals(2, savedEvent.getParticipants().size());
+        assertEquals(2, savedEvent.getParticipantCount());
+        assertEquals(0, savedEvent.getOpenSlots());
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(event.getId())),
+                new Update().unset("participantCount").unset("likeCount").unset("openSlots"), Event.class);
+        assertTrue(participatingEventRepository.removeParticipant(event.getId(), "early"));
+
+        savedEvent = mongoTemplate.findById(event.getId(), Event.class);
+        assertEquals(1, savedEvent.getParticipantCount());
+        assertEquals(1, savedEvent.getOpenSlots());
+    }
+
+    private static Event insertEventWithCutOffTime(String eventName, LocalDateTime cutOffTime) {
+        return mongoTemplate.insert(Event.builder()
+                .withEventName(eventName)
+                .withMaxParticipants(MAX_PARTICIPANTS)
+                .withOpenSlots(MAX_PARTICIPANTS)
+                .withIsPrivate(false)
+                .withCutOffTime(cutOffTime.format(Event.CUT_OFF_TIME_FORMAT))
+                .build());
+    }
+
+    private static Participant participant(String userId) {
+        return Participant.builder()
+                .withUserId(userId)
+                .withAttendStatus(ParticipantAttendStatus.JOINED)
+                .withJoinedOn(LocalDate.now())
+                .build();
+    }
+}
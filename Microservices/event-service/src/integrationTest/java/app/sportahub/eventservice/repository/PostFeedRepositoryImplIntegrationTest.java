@@ -0,0 +1,102 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.exception.event.InvalidPageSizeException;
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class PostFeedRepositoryImplIntegrationTest {
+
+    private static final int POST_COUNT = 120;
+    private static final int WINDOW_SIZE = 25;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static PostFeedRepositoryImpl postFeedRepository;
+
+    @BeforeAll
+    static void seed() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(Post.class)
+                .forEach(mongoTemplate.indexOps(Post.class)::ensureIndex);
+        postFeedRepository = new PostFeedRepositoryImpl(mongoTemplate);
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Post> posts = new ArrayList<>(POST_COUNT);
+        for (int i = 0; i < POST_COUNT; i++) {
+            // Several posts share each creation date, so windows regularly end in the middle of a tie.
+            posts.add(Post.builder()
+                    .withEventId(i % 3 == 0 ? "other-event" : "busy-event")
+                    .withContent("Post " + i)
+                    .withCreatedBy("user" + i)
+                    .withCreationDate(Timestamp.valueOf(start.plusMinutes(i / 4)))
+                    .build());
+        }
+        mongoTemplate.insert(posts, Post.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void scrollingShouldVisitEveryPostOfTheEventOnceNewestFirst() {
+        List<Post> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            PostWindow window = postFeedRepository.scrollByEventId("busy-event", cursor, WINDOW_SIZE);
+            visited.addAll(window.posts());
+            cursor = window.nextCursor();
+        } while (cursor != null);
+
+        List<Post> expected = mongoTemplate.find(new Query(Criteria.where("eventId").is("busy-event"))
+                .with(Sort.by(Sort.Direction.DESC, "creationDate", "_id")), Post.class);
+        assertEquals(POST_COUNT - POST_COUNT / 3, visited.size());
+        assertEquals(expected.stream().map(Post::getId).toList(), visited.stream().map(Post::getId).toList());
+    }
+
+    @Test
+    void scrollingShouldRejectSizeLessThanOne() {
+        assertThrows(InvalidPageSizeException.class, () -> postFeedRepository.scrollByEventId("busy-event", null, 0));
+    }
+
+    @Test
+    void feedShouldBeServedFromTheCompoundIndexWithoutSorting() {
+        Document explain = mongoTemplate.getCollection("posts")
+                .find(new Document("eventId", "busy-event"))
+                .sort(new Document("creationDate", -1).append("_id", -1))
+                .limit(WINDOW_SIZE + 1)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertTrue(winningPlan.contains("event_creation_idx"));
+        assertFalse(winningPlan.contains("\"SORT\""));
+    }
+}
@@ -0,0 +1,215 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.Location;
+import app.sportahub.eventservice.repository.search.SearchTextNormalizer;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class SearchingEventRepositoryImplIntegrationTest {
+
+    private static final int EVENT_COUNT = 5_000;
+    private static final GeoJsonPoint CENTER = new GeoJsonPoint(-73.57, 45.50);
+    private static final List<Double> RADII_KM = List.of(25.0, 50.0, 100.0);
+    private static final List<String> SPORTS = List.of("Soccer", "Basketball", "Tennis", "Hockey", "Volleyball");
+    private static final List<String> CITIES = List.of("Montréal", "Laval", "Longueuil", "Québec", "Gatineau",
+            "Sherbrooke", "Trois-Rivières", "Lévis");
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static SearchingEventRepositoryImpl searchingEventRepository;
+
+    @BeforeAll
+    static void seed() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(Event.class)
+                .forEach(mongoTemplate.indexOps(Event.class)::ensureIndex);
+        searchingEventRepository = new SearchingEventRepositoryImpl(mongoTemplate);
+
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = Event.builder()
+                    .withEventName("Weekly " + SPORTS.get(i % SPORTS.size()) + " Game " + i)
+                    .withEventType(i % 2 == 0 ? "Friendly" : "Competitive")
+                    .withSportType(SPORTS.get(i % SPORTS.size()))
+                    .withMaxParticipants(10)
+                    .withLocation(Location.builder()
+                            .withName((i % 3 == 0 ? "Central Park " : "Community Center ") + i)
+                            .withCity(CITIES.get(i % CITIES.size()))
+                            .withProvince("Quebec")
+                            .withCountry("Canada")
+                            .withCoordinates(new GeoJsonPoint(CENTER.getX() + (i % 100) * 0.001,
+                                    CENTER.getY() + (i / 100) * 0.001))
+                            .build())
+                    .build();
+            event.setSearchKeys(SearchTextNormalizer.searchKeysOf(event));
+            events.add(event);
+        }
+        mongoTemplate.insert(events, Event.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void plannedSearchShouldMatchLegacyRegexSearch() {
+        GeoPage<Event> planned = searchingEventRepository.searchEventsNear(null, null, "soccer", null, "MONTREAL",
+                null, null, null, null, null, null, null, null, null, null, null, null, CENTER, RADII_KM,
+                Pageable.unpaged());
+        List<Event> legacy = mongoTemplate.find(new Query()
+                .addCriteria(Criteria.where("sportType").regex("soccer", "i"))
+                .addCriteria(Criteria.where("location.city").regex("montréal", "i")), Event.class);
+
+        assertFalse(legacy.isEmpty());
+        assertEquals(ids(legacy), ids(planned.getContent().stream().map(GeoResult::getContent).toList()));
+    }
+
+    @Test
+    void equalityFiltersShouldBeBoundsOfTheGeoSearchIndex() {
+        Query planned = searchingEventRepository.buildSearchQuery(null, "friendly", "Soccer", null, "Montreal", null,
+                null, null, null, null, null, null, null, null, null, null, null);
+        Query legacy = new Query()
+                .addCriteria(Criteria.where("eventType").regex("friendly", "i"))
+                .addCriteria(Criteria.where("sportType").regex("Soccer", "i"))
+                .addCriteria(Criteria.where("location.city").regex("Montreal", "i"));
+
+        Document plannedExplain = explain(planned);
+        Document legacyExplain = explain(legacy);
+
+        assertTrue(indexNames(plannedExplain).contains("geo_search_idx"));
+        assertFalse(stages(plannedExplain).contains("COLLSCAN"));
+        assertEquals(EVENT_COUNT, docsExamined(legacyExplain));
+        assertTrue(docsExamined(plannedExplain) < EVENT_COUNT / 4);
+    }
+
+    @Test
+    void nameFiltersShouldBeBoundsOfTheGeoNameIndex() {
+        Query planned = searchingEventRepository.buildSearchQuery("soccer gam", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null);
+
+        Document plannedExplain = explain(planned);
+
+        assertTrue(indexNames(plannedExplain).contains("geo_name_idx"));
+        assertTrue(docsExamined(plannedExplain) < EVENT_COUNT / 4);
+        assertFalse(searchingEventRepository.searchEventsNear("soccer gam", null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, CENTER, RADII_KM, PageRequest.of(0, 10))
+                .getContent().isEmpty());
+    }
+
+    @Test
+    void unpagedRadiusSearchShouldOnlyReturnTheSmallestRadiusContainingEvents() {
+        GeoJsonPoint point = new GeoJsonPoint(-40, 10);
+        List<Event> nearby = List.of(
+                eventAt("Nearby Game 1", new GeoJsonPoint(-40.01, 10)),
+                eventAt("Nearby Game 2", new GeoJsonPoint(-40.05, 10)),
+                eventAt("Farther Game", new GeoJsonPoint(-40.4, 10)));
+        mongoTemplate.insert(nearby, Event.class);
+
+        GeoPage<Event> unsorted = searchingEventRepository.findNearWithinRadii(point, List.of(25.0, 50.0, 100.0),
+                Pageable.unpaged());
+        GeoPage<Event> sorted = searchingEventRepository.findNearWithinRadii(point, List.of(25.0, 50.0, 100.0),
+                Pageable.unpaged(Sort.by(Sort.Direction.DESC, "eventName")));
+
+        assertEquals(List.of("Nearby Game 1", "Nearby Game 2"),
+                unsorted.getContent().stream().map(result -> result.getContent().getEventName()).toList());
+        assertEquals(2, unsorted.getTotalElements());
+        assertEquals(List.of("Nearby Game 2", "Nearby Game 1"),
+                sorted.getContent().stream().map(result -> result.getContent().getEventName()).toList());
+        mongoTemplate.remove(new Query(Criteria.where("id").in(nearby.stream().map(Event::getId).toList())),
+                Event.class);
+    }
+
+    private static Event eventAt(String eventName, GeoJsonPoint coordinates) {
+        return Event.builder()
+                .withEventName(eventName)
+                .withLocation(Location.builder().withCoordinates(coordinates).build())
+                .build();
+    }
+
+    /**
+     * Explains the aggregation that the repository runs for a page of search results.
+     */
+    @SuppressWarnings("unchecked")
+    private static Document explain(Query query) {
+        Aggregation aggregation = searchingEventRepository.geoNearWithinRadiiAggregation(query, CENTER, RADII_KM,
+                PageRequest.of(0, 10), null);
+        List<Document> pipeline = (List<Document>) mongoTemplate.getConverter()
+                .convertToMongoType(aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT));
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                .aggregate(pipeline)
+                .explain(ExplainVerbosity.EXECUTION_STATS);
+    }
+
+    private static long docsExamined(Document explain) {
+        List<Object> values = new ArrayList<>();
+        collect(explain, "totalDocsExamined", values);
+        return values.stream().mapToLong(value -> ((Number) value).longValue()).sum();
+    }
+
+    private static Set<Object> stages(Document explain) {
+        List<Object> values = new ArrayList<>();
+        collect(explain, "stage", values);
+        return new HashSet<>(values);
+    }
+
+    private static Set<Object> indexNames(Document explain) {
+        List<Object> values = new ArrayList<>();
+        collect(explain, "indexName", values);
+        return new HashSet<>(values);
+    }
+
+    /**
+     * Collects the values of a key anywhere in an explain output, whose layout depends on whether the whole
+     * pipeline was pushed down to the query engine.
+     */
+    private static void collect(Object node, String key, List<Object> values) {
+        if (node instanceof Document document) {
+            if (document.containsKey(key)) {
+                values.add(document.get(key));
+            }
+            document.values().forEach(value -> collect(value, key, values));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collect(value, key, values));
+        }
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).sorted(Comparator.naturalOrder()).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class UpdatingEventRepositoryImplIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static UpdatingEventRepositoryImpl updatingEventRepository;
+    private static ParticipatingEventRepositoryImpl participatingEventRepository;
+    private static OutboxEventRepositoryImpl outboxEventRepository;
+
+    @BeforeAll
+    static void setUpRepository() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        updatingEventRepository = new UpdatingEventRepositoryImpl(mongoTemplate);
+        participatingEventRepository = new ParticipatingEventRepositoryImpl(mongoTemplate);
+        outboxEventRepository = new OutboxEventRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clearEvents() {
+        mongoTemplate.dropCollection(Event.class);
+    }
+
+    @Test
+    void updateShouldKeepWhatOtherWritesChangedSinceTheEventWasRead() {
+        Event event = mongoTemplate.insert(Event.builder()
+                .withEventName("Pickup Game")
+                .withDescription("Outdoors")
+                .withDuration("2 hours")
+                .withMaxParticipants(10)
+                .withParticipants(List.of(participant("creator")))
+                .withParticipantCount(1)
+                .withOpenSlots(9)
+                .withIsPrivate(false)
+                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
+                .withOutbox(List.of(OutboxMessage.builder().withMessageId("relayed").build()))
+                .build());
+        Event readEvent = mongoTemplate.findById(event.getId(), Event.class);
+        assertNotNull(readEvent);
+
+        assertTrue(participatingEventRepository.addParticipant(event.getId(), participant("joiner"),
+                LocalDateTime.now()));
+        outboxEventRepository.removeOutboxMessages(event.getId(), List.of("relayed"));
+
+        readEvent.setEventName("Indoor Pickup Game");
+        readEvent.setDescription("Moved indoors");
+        readEvent.setDuration(null);
+        Event updatedEvent = updatingEventRepository.updateFields(readEvent,
+                List.of("eventName", "description", "duration"),
+                List.of(OutboxMessage.builder().withMessageId("event-modified").build())).orElseThrow();
+
+        assertEquals("Moved indoors", updatedEvent.getDescription());
+        assertNull(updatedEvent.getDuration());
+        assertEquals(List.of("indoor", "pickup", "game"), updatedEvent.getSearchKeys().getEventNameTokens());
+        assertEquals(List.of("creator", "joiner"),
+                updatedEvent.getParticipants().stream().map(Participant::getUserId).toList());
+        assertEquals(2, updatedEvent.getParticipantCount());
+        assertEquals(8, updatedEvent.getOpenSlots());
+        List<String> outbox = updatedEvent.getOutbox().stream().map(OutboxMessage::getMessageId).toList();
+        assertFalse(outbox.contains("relayed"));
+        assertEquals("event-modified", outbox.getLast());
+        assertEquals(2, outbox.size());
+    }
+
+    @Test
+    void updateShouldReturnEmptyIfTheEventDoesNotExist() {
+        Event missingEvent = Event.builder()
+                .withId("507f1f77bcf86cd799439011")
+                .withEventName("Missing")
+                .build();
+
+        assertTrue(updatingEventRepository.updateFields(missingEvent, List.of("eventName"), List.of()).isEmpty());
+        assertEquals(0, mongoTemplate.count(new Query(), Event.class));
+    }
+
+    private static Participant participant(String userId) {
+        return Participant.builder()
+                .withUserId(userId)
+                .withAttendStatus(ParticipantAttendStatus.JOINED)
+                .withJoinedOn(LocalDate.now())
+                .build();
+    }
+}
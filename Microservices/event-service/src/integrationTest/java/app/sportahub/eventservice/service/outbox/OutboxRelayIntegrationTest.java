@@ -0,0 +1,345 @@
+package app.sportahub.eventservice.service.outbox;
+
+import app.sportahub.eventservice.dto.request.event.EventRequest;
+import app.sportahub.eventservice.mapper.event.EventMapper;
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import app.sportahub.eventservice.repository.ListingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.OutboxEventRepositoryImpl;
+import app.sportahub.eventservice.repository.ParticipatingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.ReactingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.SearchingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.SummarizingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.UpdatingEventRepositoryImpl;
+import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.event.EventServiceImpl;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducerImpl;
+import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+class OutboxRelayIntegrationTest {
+
+    private static final int EVENT_COUNT = 30;
+    private static final int BATCH_SIZE = 8;
+    private static final long KAFKA_DELAY_MS = 2000;
+    private static final long LEASE_MS = 30_000;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static EmbeddedKafkaBroker kafkaBroker;
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static EventRepository eventRepository;
+    private static DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private static OrchestrationServiceProducer kafkaProducer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Consumer<String, String> consumer;
+
+    @BeforeAll
+    static void setUp() {
+        kafkaBroker = new EmbeddedKafkaKraftBroker(1, 1, SportaKafkaEvents.NOTIFICATION_BATCH_REQUEST_TOPIC);
+        kafkaBroker.afterPropertiesSet();
+
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-it");
+        eventRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(EventRepository.class,
+                RepositoryComposition.RepositoryFragments.just(
+                        new SearchingEventRepositoryImpl(mongoTemplate),
+                        new ParticipatingEventRepositoryImpl(mongoTemplate),
+                        new ReactingEventRepositoryImpl(mongoTemplate),
+                        new ListingEventRepositoryImpl(mongoTemplate),
+                        new SummarizingEventRepositoryImpl(mongoTemplate),
+                        new OutboxEventRepositoryImpl(mongoTemplate),
+                        new UpdatingEventRepositoryImpl(mongoTemplate)));
+
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class));
+        kafkaProducer = new OrchestrationServiceProducerImpl(new KafkaTemplate<>(producerFactory));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        producerFactory.destroy();
+        mongoClient.close();
+        kafkaBroker.destroy();
+    }
+
+    @BeforeEach
+    void subscribe() {
+        mongoTemplate.dropCollection(Event.class);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-it-" + System.nanoTime(), "false",
+                kafkaBroker);
+        consumer = new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        kafkaBroker.consumeFromAnEmbeddedTopic(consumer, SportaKafkaEvents.NOTIFICATION_BATCH_REQUEST_TOPIC);
+    }
+
+    @AfterEach
+    void unsubscribe() {
+        consumer.close();
+    }
+
+    @Test
+    void messagesShouldSurviveACrashBeforeTheyAreRelayed() {
+        List<String> eventIds = insertEvents();
+        Set<String> queued = queueNotifications(eventIds);
+
+        // The process dies after the writes: the outbox is all that is left, and a new relay picks it up.
+        new OutboxRelay(eventRepository, kafkaProducer, BATCH_SIZE, 10_000, LEASE_MS).drain();
+
+        assertEquals(queued, receiveMessageIds(eventIds));
+        assertFalse(hasPendingMessages());
+    }
+
+    @Test
+    void messagesShouldSurviveACrashBetweenSendingAndClearingTheOutbox() {
+        List<String> eventIds = insertEvents();
+        Set<String> queued = queueNotifications(eventIds);
+
+        // The first relay dies once Kafka acknowledged its first batch, before removing it from the outbox.
+        EventRepository crashingRepository = mock(EventRepository.class, delegatesTo(eventRepository));
+        doThrow(new IllegalStateException("Simulated crash"))
+                .when(crashingRepository).removeOutboxMessages(anyString(), anyCollection());
+        OutboxRelay crashingRelay = new OutboxRelay(crashingRepository, kafkaProducer, BATCH_SIZE, 1000, 2000);
+        assertThrows(IllegalStateException.class, crashingRelay::drain);
+        assertTrue(hasPendingMessages());
+
+        // The batch of the dead relay stays claimed until its lease expires.
+        assertEquals(BATCH_SIZE, mongoTemplate.count(Query.query(Criteria.where("outboxClaimedUntil")
+                .gt(Instant.now())), Event.class));
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2100));
+
+        new OutboxRelay(eventRepository, kafkaProducer, BATCH_SIZE, 10_000, LEASE_MS).drain();
+
+        assertEquals(queued, receiveMessageIds(eventIds));
+        assertFalse(hasPendingMessages());
+    }
+
+    @Test
+    void concurrentRelaysShouldSendEachMessageOnce() throws Exception {
+        List<String> eventIds = insertEvents();
+        Set<String> queued = queueNotifications(eventIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> drains = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            OutboxRelay relay = new OutboxRelay(eventRepository, kafkaProducer, BATCH_SIZE, 10_000, LEASE_MS);
+            drains.add(executor.submit(() -> {
+                start.await();
+                relay.drain();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> drain : drains) {
+            drain.get();
+        }
+        executor.shutdown();
+
+        List<String> received = receiveAllMessageIds(eventIds);
+        assertEquals(queued, new HashSet<>(received));
+        assertEquals(queued.size(), received.size());
+        assertFalse(hasPendingMessages());
+    }
+
+    @Test
+    void requestLatencyShouldNotDependOnKafka() throws Exception {
+        AtomicInteger sends = new AtomicInteger();
+        OrchestrationServiceProducer slowProducer = new OrchestrationServiceProducer() {
+            @Override
+            public CompletableFuture<?> sendBatchNotificationEvent(BatchNotificationEvent event) {
+                sends.incrementAndGet();
+                return CompletableFuture.runAsync(() -> { },
+                                CompletableFuture.delayedExecutor(KAFKA_DELAY_MS, TimeUnit.MILLISECONDS))
+                        .thenCompose(ignored -> kafkaProducer.sendBatchNotificationEvent(event));
+            }
+
+            @Override
+            public CompletableFuture<?> sendParticipationChangedEvent(ParticipationChangedEvent event) {
+                return kafkaProducer.sendParticipationChangedEvent(event);
+            }
+        };
+        OutboxRelay relay = new OutboxRelay(eventRepository, slowProducer, BATCH_SIZE, 10_000, LEASE_MS);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(relay::drain, 0, 50, TimeUnit.MILLISECONDS);
+
+        EventServiceImpl eventService = new EventServiceImpl(eventRepository, Mappers.getMapper(EventMapper.class),
+                kafkaProducer);
+        List<String> eventIds = insertEvents();
+        List<Long> latenciesMs = new ArrayList<>();
+        try {
+            for (String eventId : eventIds) {
+                long start = System.nanoTime();
+                eventService.patchEvent(eventId, descriptionPatch("Moved indoors"));
+                latenciesMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            assertEquals(eventIds.size(), receiveMessageIds(eventIds).size());
+        } finally {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        assertTrue(sends.get() > 0);
+        long slowest = latenciesMs.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertTrue(slowest < KAFKA_DELAY_MS / 2, "Slowest request took " + slowest + " ms");
+    }
+
+    /**
+     * Patches every event through the service, which queues one notification in the outbox of each.
+     */
+    private Set<String> queueNotifications(List<String> eventIds) {
+        EventServiceImpl eventService = new EventServiceImpl(eventRepository, Mappers.getMapper(EventMapper.class),
+                kafkaProducer);
+        for (String eventId : eventIds) {
+            eventService.patchEvent(eventId, descriptionPatch("Bring water"));
+        }
+
+        Set<String> queued = new HashSet<>();
+        mongoTemplate.findAll(Event.class).forEach(event -> event.getOutbox().stream()
+                .map(OutboxMessage::getMessageId)
+                .forEach(queued::add));
+        assertEquals(EVENT_COUNT, queued.size());
+        return queued;
+    }
+
+    private List<String> insertEvents() {
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(Event.builder()
+                    .withEventName("Game " + i)
+                    .withMaxParticipants(10)
+                    .withParticipants(new ArrayList<>(List.of(Participant.builder()
+                            .withUserId("user" + i)
+                            .withAttendStatus(ParticipantAttendStatus.JOINED)
+                            .withJoinedOn(LocalDate.now())
+                            .build())))
+                    .build());
+        }
+        return mongoTemplate.insert(events, Event.class).stream().map(Event::getId).toList();
+    }
+
+    private boolean hasPendingMessages() {
+        return mongoTemplate.exists(Query.query(Criteria.where("outbox.messageId").exists(true)), Event.class);
+    }
+
+    /**
+     * Collects the ids of the notifications sent about the given events, ignoring those left on the topic by other
+     * tests. Redelivered notifications are only counted once.
+     */
+    private Set<String> receiveMessageIds(Collection<String> eventIds) {
+        Set<String> received = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < eventIds.size() && System.nanoTime() < deadline) {
+            for (ConsumerRecord<String, String> record : KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1))) {
+                try {
+                    JsonNode notification = objectMapper.readTree(record.value());
+                    if (eventIds.contains(notification.path("data").path("eventId").asText())) {
+                        received.add(notification.get("eventId").asText());
+                    }
+                } catch (JsonProcessingException e) {
+                    fail("Could not read notification " + record.value(), e);
+                }
+            }
+        }
+        return received;
+    }
+
+    /**
+     * Collects the ids of every notification sent about the given events, including redelivered ones, waiting a
+     * little after the last one so that duplicates are not missed.
+     */
+    private List<String> receiveAllMessageIds(Collection<String> eventIds) {
+        List<String> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int emptyPolls = 0;
+        while (emptyPolls < 2 && System.nanoTime() < deadline) {
+            int before = received.size();
+            for (ConsumerRecord<String, String> record : KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1))) {
+                try {
+                    JsonNode notification = objectMapper.readTree(record.value());
+                    if (eventIds.contains(notification.path("data").path("eventId").asText())) {
+                        received.add(notification.get("eventId").asText());
+                    }
+                } catch (JsonProcessingException e) {
+                    fail("Could not read notification " + record.value(), e);
+                }
+            }
+            emptyPolls = received.size() >= eventIds.size() && received.size() == before ? emptyPolls + 1 : 0;
+        }
+        return received;
+    }
+
+    private static EventRequest descriptionPatch(String description) {
+        return new EventRequest(null, null, null, null, null, null, null, null, null, null, null, null, null,
+                description, null, null, null, null);
+    }
+}
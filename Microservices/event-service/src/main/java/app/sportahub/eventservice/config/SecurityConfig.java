@@ -1,30 +1,29 @@
 package app.sportahub.eventservice.config;
 
-import app.sportahub.eventservice.utils.KeycloakJwtAuthenticationConverter;
+import app.sportahub.security.CachingJwtAuthenticationProvider;
+import app.sportahub.security.KeycloakSecurityConfiguration;
 import lombok.SneakyThrows;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
+@Import(KeycloakSecurityConfiguration.class)
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
-    @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        return KeycloakJwtAuthenticationConverter.jwtAuthenticationConverter();
-    }
-
     @SneakyThrows
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   CachingJwtAuthenticationProvider cachingJwtAuthenticationProvider) {
         return http
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .requestMatchers(
@@ -40,8 +39,7 @@ public class SecurityConfig {
                 .oauth2Login(Customizer.withDefaults())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
-                                .jwtAuthenticationConverter(
-                                        jwtAuthenticationConverter())))
+                                .authenticationManager(new ProviderManager(cachingJwtAuthenticationProvider))))
                 .build();
     }
 }
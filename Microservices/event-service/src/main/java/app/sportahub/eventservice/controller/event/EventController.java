@@ -3,7 +3,10 @@ package app.sportahub.eventservice.controller.event;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.WhitelistRequest;
 import app.sportahub.eventservice.dto.request.event.EventCancellationRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventRingResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.dto.response.ParticipantResponse;
 import app.sportahub.eventservice.enums.EventSortingField;
 import app.sportahub.eventservice.enums.SortDirection;
@@ -21,6 +24,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -67,6 +71,33 @@ public class EventController {
         return eventService.getRelevantEvents(longitude, latitude, radius, radiusExpansion, paginate, page, size);
     }
 
+    @GetMapping("/relevant-events/summary")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve event summaries by location",
+            description = "Fetches lightweight summaries of the events based on the provided location, for lists and maps.")
+    public ResponseEntity<?> getEventSummariesByLocation(
+            @RequestParam double longitude,
+            @RequestParam double latitude,
+            @RequestParam(defaultValue = "25.0") double radius,
+            @RequestParam(defaultValue= "false") boolean radiusExpansion,
+            @RequestParam(defaultValue = "true") boolean paginate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return eventService.getRelevantEventSummaries(longitude, latitude, radius, radiusExpansion, paginate, page, size);
+    }
+
+    @GetMapping("/nearest-events")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve nearest events by distance ring",
+            description = "Fetches the events nearest to the provided location, grouped into 5, 10, 20, 40, 80 and 100 km rings." +
+                    " The limit must be at least one, and at most 200 events are returned.")
+    public List<EventRingResponse> getNearestEvents(
+            @RequestParam double longitude,
+            @RequestParam double latitude,
+            @RequestParam(defaultValue = "50") int limit) {
+        return eventService.getNearestEvents(longitude, latitude, limit);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Creates a new event",
@@ -134,6 +165,30 @@ public class EventController {
         return eventService.getEventsByParticipantId(userId, page, size, sort, field);
     }
 
+    @GetMapping("/participant/{userId}/summary")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve event summaries by user ID",
+            description = "Retrieve lightweight summaries of the events that a user has participated in")
+    public Page<EventSummaryResponse> getEventSummariesByUserId(@PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(defaultValue = "DATE") EventSortingField field) {
+        return eventService.getEventSummariesByParticipantId(userId, page, size, sort, field);
+    }
+
+    @GetMapping("/participant/{userId}/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Scroll through events by user ID",
+            description = "Retrieve events that a user has participated in, one window at a time using the cursor returned with the previous window")
+    public CursorPageResponse<EventResponse> scrollEventsByUserId(@PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(defaultValue = "DATE") EventSortingField field) {
+        return eventService.scrollEventsByParticipantId(userId, cursor, size, sort, field);
+    }
+
     @GetMapping("created-by/{userId}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Retrieve events created by user ID", description = "Retrieve events that a user has created")
@@ -145,6 +200,30 @@ public class EventController {
         return eventService.getEventsCreatedByUserId(userId, page, size, sort, field);
     }
 
+    @GetMapping("created-by/{userId}/summary")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve event summaries created by user ID",
+            description = "Retrieve lightweight summaries of the events that a user has created")
+    public Page<EventSummaryResponse> getEventSummariesCreatedByUserId(@PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(defaultValue = "DATE") EventSortingField field) {
+        return eventService.getEventSummariesCreatedByUserId(userId, page, size, sort, field);
+    }
+
+    @GetMapping("created-by/{userId}/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Scroll through events created by user ID",
+            description = "Retrieve events that a user has created, one window at a time using the cursor returned with the previous window")
+    public CursorPageResponse<EventResponse> scrollEventsCreatedByUserId(@PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(defaultValue = "DATE") EventSortingField field) {
+        return eventService.scrollEventsCreatedByUserId(userId, cursor, size, sort, field);
+    }
+
     @PatchMapping("/{id}/cancel")
     @PreAuthorize("@eventService.isCreator(#id, authentication.name) || hasRole('ROLE_ADMIN')")
     @ResponseStatus(HttpStatus.OK)
@@ -177,12 +256,54 @@ public class EventController {
             @RequestParam(required = false) String createdBy,
             @RequestParam(required = false) Boolean isPrivate,
             @RequestParam(required = false) List<SkillLevelEnum> requiredSkillLevel,
+            @RequestParam(required = false) Boolean hasOpenSlots,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(required = false) EventSortingField field) {
         return eventService.searchEvents(eventName, eventType, sportType, locationName, city, province, country,
                 postalCode, date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate,
-                requiredSkillLevel, pageable, longitude, latitude);
+                requiredSkillLevel, hasOpenSlots, searchPageable(page, size, sort, field), longitude, latitude);
+    }
+
+    @GetMapping("/search/summary")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Search for event summaries",
+            description = "Same search as /search, returning lightweight summaries of the matching events for lists and maps.")
+    public Page<EventSummaryResponse> searchEventSummaries(
+            @RequestParam(required = true) double longitude,
+            @RequestParam(required = true) double latitude,
+            @RequestParam(required = false) String eventName,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String sportType,
+            @RequestParam(required = false) String locationName,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String postalCode,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String startTime,
+            @RequestParam(required = false) String endTime,
+            @RequestParam(required = false) String duration,
+            @RequestParam(required = false) String maxParticipants,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) Boolean isPrivate,
+            @RequestParam(required = false) List<SkillLevelEnum> requiredSkillLevel,
+            @RequestParam(required = false) Boolean hasOpenSlots,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "DESC") SortDirection sort,
+            @RequestParam(required = false) EventSortingField field) {
+        return eventService.searchEventSummaries(eventName, eventType, sportType, locationName, city, province,
+                country, postalCode, date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate,
+                requiredSkillLevel, hasOpenSlots, searchPageable(page, size, sort, field), longitude, latitude);
+    }
+
+    private static Pageable searchPageable(int page, int size, SortDirection sort, EventSortingField field) {
+        return field == null
+                ? PageRequest.of(page, size)
+                : PageRequest.of(page, size, sort == SortDirection.ASC ? Sort.Direction.ASC : Sort.Direction.DESC,
+                field.getFieldName());
     }
 
     @PostMapping("/{id}/reaction")
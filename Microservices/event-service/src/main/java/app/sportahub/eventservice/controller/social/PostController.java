@@ -2,6 +2,7 @@ package app.sportahub.eventservice.controller.social;
 
 import app.sportahub.eventservice.dto.request.social.CommentRequest;
 import app.sportahub.eventservice.dto.request.social.PostRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.dto.response.social.CommentResponse;
 import app.sportahub.eventservice.dto.response.social.PostResponse;
@@ -76,6 +77,29 @@ public class PostController {
         return postService.getAllPostsOrderedByCreationDateInDesc(eventId, pageable);
     }
 
+    @GetMapping("/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Scroll through the posts of an event",
+            description = "Fetches the posts of the specified event, newest first, one window at a time using the cursor returned with the previous window.",
+            parameters = {
+                    @Parameter(name = "eventId", description = "Unique identifier of the event from which posts are retrieved", required = true, example = "12345"),
+                    @Parameter(name = "cursor", description = "Cursor returned with the previous window, omitted for the first window"),
+                    @Parameter(name = "size", description = "Number of posts per window", example = "10")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the window of posts", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    public CursorPageResponse<PostResponse> scrollPosts(
+            @PathVariable String eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return postService.scrollPosts(eventId, cursor, size);
+    }
+
     @GetMapping("/{postId}/")
     @Operation(
             summary = "Get post in a specific event",
@@ -119,6 +143,31 @@ public class PostController {
         return postService.deletePost(eventId, postId);
     }
 
+    @GetMapping("/{postId}/comment")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Retrieve the comments of a post",
+            description = "Fetches the comments of the specified post, oldest first, one page at a time.",
+            parameters = {
+                    @Parameter(name = "eventId", description = "Unique identifier of the event", required = true, example = "12345"),
+                    @Parameter(name = "postId", description = "Unique identifier of the post", required = true, example = "67890"),
+                    @Parameter(name = "page", description = "Page number for pagination", example = "0"),
+                    @Parameter(name = "size", description = "Number of comments per page", example = "10")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of comments", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Event or post not found")
+    })
+    public Page<CommentResponse> getComments(
+            @PathVariable String eventId,
+            @PathVariable String postId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return postService.getComments(eventId, postId, pageable);
+    }
+
     @PostMapping("/{postId}/comment")
     @Operation(
             summary = "Creates comment in a post",
@@ -0,0 +1,17 @@
+package app.sportahub.eventservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A page of a cursor-paginated listing. {@code nextCursor} is an opaque token to pass back to fetch the following
+ * page, and is absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
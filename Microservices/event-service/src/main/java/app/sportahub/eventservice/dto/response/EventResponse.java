@@ -3,7 +3,6 @@ package app.sportahub.eventservice.dto.response;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.model.event.EventCancellation;
 import app.sportahub.eventservice.model.event.Team;
-import app.sportahub.eventservice.model.social.Post;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.sql.Timestamp;
@@ -18,6 +17,6 @@ public record EventResponse(String id, Timestamp creationDate, String eventName,
                             String duration, Integer maxParticipants, List<ParticipantResponse> participants, List<ReactionResponse> reactors,
                             String createdBy, List<Team> teams, String cutOffTime, String description,
                             Boolean isPrivate, List<String> whitelistedUsers,
-                            EnumSet<SkillLevelEnum> requiredSkillLevel, List<Post> posts,
-                            EventCancellation cancellation) {
+                            EnumSet<SkillLevelEnum> requiredSkillLevel,
+                            EventCancellation cancellation, Double distance) {
 }
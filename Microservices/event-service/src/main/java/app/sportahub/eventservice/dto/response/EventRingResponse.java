@@ -0,0 +1,12 @@
+package app.sportahub.eventservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventRingResponse(
+        double radiusKm,
+        List<EventResponse> events
+) {
+}
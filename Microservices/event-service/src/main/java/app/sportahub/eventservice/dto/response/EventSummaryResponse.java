@@ -0,0 +1,15 @@
+package app.sportahub.eventservice.dto.response;
+
+import app.sportahub.eventservice.enums.EventState;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventSummaryResponse(String id, String eventName, String sportType, String locationName,
+                                   GeoJsonPoint coordinates, LocalDate date, LocalTime startTime,
+                                   Integer maxParticipants, Integer participantCount, Integer openSlots,
+                                   EventState state, Double distance) {
+}
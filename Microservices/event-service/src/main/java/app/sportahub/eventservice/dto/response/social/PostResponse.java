@@ -12,6 +12,6 @@ public record PostResponse(
         String content,
         String createdBy,
         List<String> attachments,
-        List<CommentResponse> comments,
+        Integer commentCount,
         List<Reaction> reactions) {
 }
@@ -6,7 +6,10 @@ public enum EventSortingField {
     DATE("date"),
     START_TIME("startTime"),
     MAX_PARTICIPANTS("maxParticipants"),
-    CREATED_BY("createdBy");
+    CREATED_BY("createdBy"),
+    POPULARITY("likeCount"),
+    PARTICIPANT_COUNT("participantCount"),
+    OPEN_SLOTS("openSlots");
 
     private final String field;
 
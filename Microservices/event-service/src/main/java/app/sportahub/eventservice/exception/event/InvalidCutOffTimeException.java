@@ -0,0 +1,14 @@
+package app.sportahub.eventservice.exception.event;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Cut off time must be an ISO-8601 local date-time.")
+public class InvalidCutOffTimeException extends ResponseStatusException {
+
+    public InvalidCutOffTimeException(String cutOffTime) {
+        super(HttpStatus.BAD_REQUEST, "Cut off time: " + cutOffTime
+                + " is invalid, it must be an ISO-8601 local date-time such as 2025-01-31T18:00:00.");
+    }
+}
@@ -0,0 +1,13 @@
+package app.sportahub.eventservice.exception.event;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Cursor is invalid for the post feed.")
+public class InvalidPostCursorException extends ResponseStatusException {
+
+    public InvalidPostCursorException(String cursor) {
+        super(HttpStatus.BAD_REQUEST, "Cursor: " + cursor + " is invalid for the post feed.");
+    }
+}
@@ -0,0 +1,13 @@
+package app.sportahub.eventservice.exception.event;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Radius must be a positive number of kilometers.")
+public class InvalidSearchRadiusException extends ResponseStatusException {
+
+    public InvalidSearchRadiusException(double radius) {
+        super(HttpStatus.BAD_REQUEST, "Radius: " + radius + " is invalid, it must be a positive number of kilometers.");
+    }
+}
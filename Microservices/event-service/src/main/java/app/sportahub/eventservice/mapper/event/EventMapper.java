@@ -2,7 +2,9 @@ package app.sportahub.eventservice.mapper.event;
 
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
@@ -14,8 +16,23 @@ public interface EventMapper {
     Event eventRequestToEvent(EventRequest eventRequest);
 
     @Mapping(target = "locationResponse", source = "location")
+    @Mapping(target = "distance", ignore = true)
     EventResponse eventToEventResponse(Event event);
 
+    @Mapping(target = "locationResponse", source = "event.location")
+    @Mapping(target = "distance", source = "distance")
+    EventResponse eventToEventResponse(Event event, Double distance);
+
+    @Mapping(target = "locationName", source = "location.name")
+    @Mapping(target = "coordinates", source = "location.coordinates")
+    @Mapping(target = "distance", ignore = true)
+    EventSummaryResponse eventSummaryToEventSummaryResponse(EventSummary eventSummary);
+
+    @Mapping(target = "locationName", source = "eventSummary.location.name")
+    @Mapping(target = "coordinates", source = "eventSummary.location.coordinates")
+    @Mapping(target = "distance", source = "distance")
+    EventSummaryResponse eventSummaryToEventSummaryResponse(EventSummary eventSummary, Double distance);
+
     @Mapping(target = "id", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void patchEventFromRequest(EventRequest eventRequest, @MappingTarget Event event);
@@ -13,7 +13,9 @@ public interface CommentMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "postId", ignore = true)
     Comment commentRequestToComment(CommentRequest commentRequest);
 
+    @Mapping(target = "postId", source = "postId")
     CommentResponse commentToCommentResponse(Comment comment, String eventId, String postId);
 }
@@ -0,0 +1,75 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.reactor.ReactionType;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Backfills the {@code participantCount}, {@code likeCount} and {@code openSlots} counters of events created before
+ * they were maintained. Only events missing a counter are touched, so the migration is a no-op once it has run.
+ * The counters are computed server-side by a single pipeline update. It also drops the {@code popularity_idx} and
+ * {@code openSlots} indexes that were first created for the counters: every search is a {@code $geoNear}
+ * aggregation, which can only use the 2dsphere indexes, so they were never read but cost a write on every like, join
+ * and leave. It can be disabled with {@code migration.event-counters.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.event-counters.enabled", havingValue = "true", matchIfMissing = true)
+public class EventCountersMigration implements ApplicationRunner {
+
+    static final Set<String> UNUSED_INDEXES = Set.of("popularity_idx", "openSlots");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                .updateMany(missingCounters(), backfillCounters());
+        log.info("EventCountersMigration::run: backfilled counters of {} events", result.getModifiedCount());
+
+        IndexOperations indexOperations = mongoTemplate.indexOps(Event.class);
+        indexOperations.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .filter(UNUSED_INDEXES::contains)
+                .forEach(name -> {
+                    indexOperations.dropIndex(name);
+                    log.info("EventCountersMigration::run: dropped unused index {}", name);
+                });
+    }
+
+    static Document missingCounters() {
+        return new Document("$or", List.of(
+                new Document("participantCount", new Document("$exists", false)),
+                new Document("likeCount", new Document("$exists", false)),
+                new Document("openSlots", new Document("$exists", false))));
+    }
+
+    public static List<Document> backfillCounters() {
+        Document participantCount = new Document("$size", new Document("$ifNull", List.of("$participants", List.of())));
+        Document likeCount = new Document("$size", new Document("$filter", new Document()
+                .append("input", new Document("$ifNull", List.of("$reactions", List.of())))
+                .append("as", "reaction")
+                .append("cond", new Document("$eq", List.of("$$reaction.reactionType", ReactionType.LIKE.name())))));
+
+        return List.of(
+                new Document("$set", new Document()
+                        .append("participantCount", participantCount)
+                        .append("likeCount", likeCount)),
+                new Document("$set", new Document("openSlots",
+                        new Document("$subtract", List.of("$maxParticipants", "$participantCount")))));
+    }
+}
@@ -0,0 +1,94 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites the {@code cutOffTime} of events saved before it was stored in {@link Event#CUT_OFF_TIME_FORMAT}, so
+ * that the registration guard compares it chronologically. Only events whose cut-off time is in another format are
+ * read, in batches of {@value #BATCH_SIZE} written with a single bulk update each. Values that are not a date-time
+ * are logged and left as they are. It can be disabled with {@code migration.event-cut-off-time.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.event-cut-off-time.enabled", havingValue = "true", matchIfMissing = true)
+public class EventCutOffTimeMigration implements ApplicationRunner {
+
+    static final int BATCH_SIZE = 500;
+    static final String CANONICAL_CUT_OFF_TIME = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}$";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query nonCanonicalCutOffTime = new Query(Criteria.where("cutOffTime").exists(true)
+                .not().regex(CANONICAL_CUT_OFF_TIME));
+        nonCanonicalCutOffTime.fields().include("cutOffTime");
+
+        long migrated = 0;
+        int pending = 0;
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        try (Stream<Event> stream = mongoTemplate.stream(nonCanonicalCutOffTime, Event.class)) {
+            Iterator<Event> events = stream.iterator();
+            while (events.hasNext()) {
+                Event event = events.next();
+                Optional<String> cutOffTime = canonicalCutOffTime(event.getCutOffTime());
+                if (cutOffTime.isEmpty()) {
+                    log.warn("EventCutOffTimeMigration::run: cut off time {} of event {} is not a date-time",
+                            event.getCutOffTime(), event.getId());
+                    continue;
+                }
+                bulkOperations.updateOne(new Query(Criteria.where("id").is(event.getId())),
+                        new Update().set("cutOffTime", cutOffTime.get()));
+                if (++pending == BATCH_SIZE) {
+                    migrated += bulkOperations.execute().getModifiedCount();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            migrated += bulkOperations.execute().getModifiedCount();
+        }
+        log.info("EventCutOffTimeMigration::run: normalised the cut off time of {} events", migrated);
+    }
+
+    /**
+     * Parses a stored cut-off time leniently, accepting ISO-8601 date-times with or without seconds, fractions and
+     * an offset, as well as plain dates which close registration at the start of that day.
+     */
+    static Optional<String> canonicalCutOffTime(String cutOffTime) {
+        if (cutOffTime == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDateTime.parse(cutOffTime, DateTimeFormatter.ISO_DATE_TIME)
+                    .format(Event.CUT_OFF_TIME_FORMAT));
+        } catch (DateTimeParseException e) {
+            try {
+                return Optional.of(LocalDate.parse(cutOffTime).atStartOfDay().format(Event.CUT_OFF_TIME_FORMAT));
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
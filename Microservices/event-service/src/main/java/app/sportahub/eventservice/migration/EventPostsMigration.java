@@ -0,0 +1,72 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Removes the {@code posts} references from events, now that posts are only linked to their event through their
+ * {@code eventId} and the feed is read from the posts collection. Before dropping the references, posts referenced
+ * by an event but missing an {@code eventId} are given that of the event, so that none drops out of its feed. Only
+ * events still holding references are touched, so the migration is a no-op once it has run. It can be disabled with
+ * {@code migration.event-posts.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.event-posts.enabled", havingValue = "true", matchIfMissing = true)
+public class EventPostsMigration implements ApplicationRunner {
+
+    static final String POSTS_FIELD = "posts";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> events = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class));
+        MongoCollection<Document> posts = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class));
+
+        long linked = 0;
+        for (Document event : events.find(withPostReferences()).projection(Projections.include(POSTS_FIELD))) {
+            List<Object> postIds = referencedIds(event.getList(POSTS_FIELD, Object.class, List.of()));
+            if (!postIds.isEmpty()) {
+                linked += posts.updateMany(
+                        Filters.and(Filters.in("_id", postIds), Filters.exists("eventId", false)),
+                        Updates.set("eventId", event.getObjectId("_id").toHexString())).getModifiedCount();
+            }
+        }
+
+        UpdateResult result = events.updateMany(withPostReferences(), Updates.unset(POSTS_FIELD));
+        log.info("EventPostsMigration::run: linked {} posts to their event and removed post references from {} events",
+                linked, result.getModifiedCount());
+    }
+
+    static Bson withPostReferences() {
+        return Filters.exists(POSTS_FIELD);
+    }
+
+    static List<Object> referencedIds(List<Object> references) {
+        return references.stream()
+                .map(reference -> reference instanceof DBRef dbRef ? dbRef.getId()
+                        : reference instanceof Document document ? document.get("$id") : null)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
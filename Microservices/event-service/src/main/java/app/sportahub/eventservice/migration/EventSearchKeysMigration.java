@@ -0,0 +1,61 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.repository.search.SearchTextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Backfills the {@code searchKeys} of events saved before they were derived on save. Only events missing them are
+ * read, in batches of {@value #BATCH_SIZE} written with a single bulk update each. It can be disabled with
+ * {@code migration.event-search-keys.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.event-search-keys.enabled", havingValue = "true", matchIfMissing = true)
+public class EventSearchKeysMigration implements ApplicationRunner {
+
+    static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query missingSearchKeys = new Query(Criteria.where("searchKeys").exists(false));
+        missingSearchKeys.fields().include("eventName", "eventType", "sportType", "location");
+
+        long migrated = 0;
+        int pending = 0;
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        try (Stream<Event> stream = mongoTemplate.stream(missingSearchKeys, Event.class)) {
+            Iterator<Event> events = stream.iterator();
+            while (events.hasNext()) {
+                Event event = events.next();
+                bulkOperations.updateOne(new Query(Criteria.where("id").is(event.getId())),
+                        new Update().set("searchKeys", SearchTextNormalizer.searchKeysOf(event)));
+                if (++pending == BATCH_SIZE) {
+                    migrated += bulkOperations.execute().getModifiedCount();
+                    bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            migrated += bulkOperations.execute().getModifiedCount();
+        }
+        log.info("EventSearchKeysMigration::run: backfilled search keys of {} events", migrated);
+    }
+}
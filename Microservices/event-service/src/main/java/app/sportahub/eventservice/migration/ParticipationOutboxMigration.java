@@ -0,0 +1,62 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the participants of events created before participation changes were published, so that services
+ * keeping their own view of who joined which event start from the current participants. A "joined" participation
+ * change is added to the outbox of each such event for every participant, and the event is flagged with
+ * {@code participationsPublished}, by a single pipeline update; the outbox relay then sends them. Message ids are
+ * derived from the event and user ids, so the migration is a no-op once it has run. Events created since are saved
+ * with {@code participationsPublished} already set, as their participants are published as they join. It can be
+ * disabled with {@code migration.participation-outbox.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.participation-outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class ParticipationOutboxMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Event.class))
+                .updateMany(unpublished(), publishParticipants());
+        log.info("ParticipationOutboxMigration::run: queued the participants of {} events", result.getModifiedCount());
+    }
+
+    static Document unpublished() {
+        return new Document("participationsPublished", new Document("$exists", false));
+    }
+
+    static List<Document> publishParticipants() {
+        Document joined = new Document()
+                .append("messageId", new Document("$concat",
+                        List.of(new Document("$toString", "$_id"), ":", "$$participant.userId", ":joined")))
+                .append("createdAt", "$$NOW")
+                .append("participationChange", new Document()
+                        .append("userId", "$$participant.userId")
+                        .append("joined", true));
+
+        return List.of(new Document("$set", new Document()
+                .append("outbox", new Document("$concatArrays", List.of(
+                        new Document("$ifNull", List.of("$outbox", List.of())),
+                        new Document("$map", new Document()
+                                .append("input", new Document("$ifNull", List.of("$participants", List.of())))
+                                .append("as", "participant")
+                                .append("in", joined)))))
+                .append("participationsPublished", true)));
+    }
+}
@@ -0,0 +1,70 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.social.Comment;
+import app.sportahub.eventservice.model.social.Post;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Replaces the {@code comments} references of posts with a {@code commentCount}, now that comments are linked to
+ * their post through their {@code postId} and listed from the comments collection. Before dropping the references,
+ * comments referenced by a post but missing a {@code postId} are given that of the post. Only posts still holding
+ * references are touched, so the migration is a no-op once it has run. It can be disabled with
+ * {@code migration.post-comments.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.post-comments.enabled", havingValue = "true", matchIfMissing = true)
+public class PostCommentsMigration implements ApplicationRunner {
+
+    static final String COMMENTS_FIELD = "comments";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Post.class));
+        MongoCollection<Document> comments = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class));
+
+        long linked = 0;
+        for (Document post : posts.find(withCommentReferences()).projection(Projections.include(COMMENTS_FIELD))) {
+            List<Object> commentIds = EventPostsMigration.referencedIds(
+                    post.getList(COMMENTS_FIELD, Object.class, List.of()));
+            if (!commentIds.isEmpty()) {
+                linked += comments.updateMany(
+                        Filters.and(Filters.in("_id", commentIds), Filters.exists("postId", false)),
+                        Updates.set("postId", post.getObjectId("_id").toHexString())).getModifiedCount();
+            }
+        }
+
+        UpdateResult result = posts.updateMany(withCommentReferences(), countComments());
+        log.info("PostCommentsMigration::run: linked {} comments to their post and counted the comments of {} posts",
+                linked, result.getModifiedCount());
+    }
+
+    static Bson withCommentReferences() {
+        return Filters.exists(COMMENTS_FIELD);
+    }
+
+    static List<Bson> countComments() {
+        return List.of(
+                new Document("$set", new Document("commentCount",
+                        new Document("$size", new Document("$ifNull", List.of("$" + COMMENTS_FIELD, List.of()))))),
+                new Document("$unset", COMMENTS_FIELD));
+    }
+}
@@ -3,9 +3,9 @@ package app.sportahub.eventservice.model.event;
 import app.sportahub.eventservice.enums.EventState;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.model.BaseEntity;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
 import app.sportahub.eventservice.model.event.participant.Participant;
 import app.sportahub.eventservice.model.event.reactor.Reaction;
-import app.sportahub.eventservice.model.social.Post;
 import com.mongodb.lang.Nullable;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -13,10 +13,14 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
@@ -27,8 +31,23 @@ import java.util.List;
 @NoArgsConstructor
 @ToString
 @Data
+@Document("event")
+@CompoundIndexes({
+        @CompoundIndex(name = "participant_date_idx", def = "{'participants.userId': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "creator_date_idx", def = "{'createdBy': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "outbox_idx", def = "{'outbox.messageId': 1}", sparse = true),
+        @CompoundIndex(name = "geo_search_idx", def = "{'location.coordinates': '2dsphere', 'searchKeys.sportType': 1, " +
+                "'searchKeys.eventType': 1, 'searchKeys.city': 1, 'searchKeys.province': 1}"),
+        @CompoundIndex(name = "geo_name_idx", def = "{'location.coordinates': '2dsphere', 'searchKeys.eventNameTokens': 1}")
+})
 public class Event extends BaseEntity {
 
+    /**
+     * The fixed-width format {@code cutOffTime} is stored in, so that it can be compared as a string against the
+     * current time formatted the same way.
+     */
+    public static final DateTimeFormatter CUT_OFF_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
     @NotBlank(message = "Event name must be provided")
     private String eventName;
 
@@ -59,6 +78,11 @@ public class Event extends BaseEntity {
     @Builder.Default
     private List<Participant> participants = new ArrayList<>();
 
+    @Builder.Default
+    private Integer participantCount = 0;
+
+    private Integer openSlots;
+
     @NotBlank(message = "Valid id of the user who created the event must be provided")
     private String createdBy;
 
@@ -83,13 +107,23 @@ public class Event extends BaseEntity {
     @Builder.Default
     private List<Reaction> reactions = new ArrayList<>();
 
+    @Builder.Default
+    private Integer likeCount = 0;
+
     @Builder.Default
     private EventState state = EventState.ACTIVE;
 
+    private SearchKeys searchKeys;
+
     @Nullable
     private EventCancellation cancellation;
 
-    @DBRef(lazy = true)
-    @Builder.Default
-    private List<Post> posts = new ArrayList<>();
+    @Nullable
+    private List<OutboxMessage> outbox;
+
+    @Nullable
+    private Instant outboxClaimedUntil;
+
+    @Nullable
+    private Boolean participationsPublished;
 }
@@ -0,0 +1,55 @@
+package app.sportahub.eventservice.model.event;
+
+import app.sportahub.eventservice.enums.EventState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Read-only projection of an {@link Event} for list and map views.
+ * <p>
+ * Only the {@link #FIELDS} are fetched from the {@code event} collection, so participants, reactions, whitelist,
+ * teams and posts are neither sent over the wire nor decoded. Of the location, only its name and coordinates
+ * are loaded.
+ * </p>
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EventSummary {
+
+    /**
+     * The fields of an event document read into a summary, besides {@code _id}.
+     */
+    public static final List<String> FIELDS = List.of("eventName", "sportType", "location.name",
+            "location.coordinates", "date", "startTime", "maxParticipants", "participantCount", "openSlots", "state");
+
+    @MongoId(FieldType.OBJECT_ID)
+    private String id;
+
+    private String eventName;
+
+    private String sportType;
+
+    private Location location;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private Integer maxParticipants;
+
+    private Integer participantCount;
+
+    private Integer openSlots;
+
+    private EventState state;
+}
@@ -0,0 +1,45 @@
+package app.sportahub.eventservice.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalized copies of the searchable text fields of an {@link Event}: lowercase and without accents, with names
+ * also split into word tokens. They let searches run as indexed equality or prefix predicates instead of
+ * case-insensitive regular expressions. Since every search is around a point, the fields are indexed after the
+ * coordinates, by the {@code geo_search_idx} and {@code geo_name_idx} indexes of {@link Event}. They are derived
+ * from the event on every save and never set directly.
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SearchKeys {
+
+    private String eventName;
+
+    @Builder.Default
+    private List<String> eventNameTokens = new ArrayList<>();
+
+    private String eventType;
+
+    private String sportType;
+
+    private String locationName;
+
+    @Builder.Default
+    private List<String> locationNameTokens = new ArrayList<>();
+
+    private String city;
+
+    private String province;
+
+    private String country;
+
+    private String postalCode;
+}
@@ -0,0 +1,40 @@
+package app.sportahub.eventservice.model.event.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A notification about a change to an event that still has to be relayed to Kafka. It is stored in the event
+ * document itself, so that it is written by the same atomic operation as the change it describes. Messages with a
+ * {@link #participationChange} record a user joining or leaving the event instead of a notification.
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OutboxMessage {
+    private String messageId;
+    private Instant createdAt;
+    private List<String> userIds;
+    private String messageTitle;
+    private String messageBody;
+    private Map<String, String> data;
+    private String clickAction;
+    private String icon;
+    private ParticipationChange participationChange;
+
+    public static OutboxMessage participationChanged(String userId, boolean joined) {
+        return OutboxMessage.builder()
+                .withMessageId(UUID.randomUUID().toString())
+                .withCreatedAt(Instant.now())
+                .withParticipationChange(new ParticipationChange(userId, joined))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package app.sportahub.eventservice.model.event.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ParticipationChange {
+    private String userId;
+    private boolean joined;
+}
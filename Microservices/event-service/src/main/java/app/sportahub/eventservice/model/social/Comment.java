@@ -4,6 +4,7 @@ import app.sportahub.eventservice.model.BaseEntity;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @EqualsAndHashCode(callSuper = false)
@@ -11,10 +12,14 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "comments")
+@CompoundIndex(name = "post_creation_idx", def = "{'postId': 1, 'creationDate': 1, '_id': 1}")
 @ToString
 @Data
 public class Comment extends BaseEntity {
 
+    @NotBlank(message = "Valid id of the post must be provided")
+    private String postId;
+
     @NotBlank(message = "Comment content must be provided")
     private String content;
 
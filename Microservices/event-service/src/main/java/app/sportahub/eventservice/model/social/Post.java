@@ -5,7 +5,7 @@ import app.sportahub.eventservice.model.event.reactor.Reaction;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -17,6 +17,7 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "posts")
+@CompoundIndex(name = "event_creation_idx", def = "{'eventId': 1, 'creationDate': -1, '_id': -1}")
 @ToString
 @Data
 public class Post extends BaseEntity {
@@ -33,9 +34,8 @@ public class Post extends BaseEntity {
     @Builder.Default
     private List<String> attachments = Collections.emptyList();
 
-    @DBRef(lazy = true)
     @Builder.Default
-    private List<Comment> comments = Collections.emptyList();
+    private Integer commentCount = 0;
 
     @Builder.Default
     private List<Reaction> reactions = new ArrayList<>();
@@ -0,0 +1,6 @@
+package app.sportahub.eventservice.repository;
+
+public interface CommentingPostRepository {
+
+    boolean incrementCommentCount(String eventId, String postId, int delta);
+}
@@ -0,0 +1,27 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.social.Post;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class CommentingPostRepositoryImpl implements CommentingPostRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Atomically adds {@code delta} to the {@code commentCount} of a post of an event, without reading the post.
+     *
+     * @return {@code true} if the post was updated, {@code false} if the event has no post with that id
+     */
+    @Override
+    public boolean incrementCommentCount(String eventId, String postId, int delta) {
+        Query query = Query.query(Criteria.where("id").is(postId).and("eventId").is(eventId));
+        Update update = new Update().inc("commentCount", delta);
+
+        return mongoTemplate.updateFirst(query, update, Post.class).getMatchedCount() > 0;
+    }
+}
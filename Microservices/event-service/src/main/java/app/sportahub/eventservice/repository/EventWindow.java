@@ -0,0 +1,15 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+
+import java.util.List;
+
+/**
+ * A window of a keyset-paginated event listing, with the cursor of the following window if there is one.
+ */
+public record EventWindow(List<Event> events, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,13 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.enums.EventSortingField;
+import org.springframework.data.domain.Sort;
+
+public interface ListingEventRepository {
+
+    EventWindow scrollByParticipant(String userId, EventSortingField field, Sort.Direction direction, String cursor,
+                                    int limit);
+
+    EventWindow scrollByCreator(String userId, EventSortingField field, Sort.Direction direction, String cursor,
+                                int limit);
+}
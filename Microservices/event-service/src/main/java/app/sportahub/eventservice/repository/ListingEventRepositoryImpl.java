@@ -0,0 +1,124 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.enums.EventSortingField;
+import app.sportahub.eventservice.exception.event.InvalidEventCursorException;
+import app.sportahub.eventservice.exception.event.InvalidPageSizeException;
+import app.sportahub.eventservice.model.event.Event;
+import lombok.RequiredArgsConstructor;
+import org.bson.BSONException;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination of the events a user participates in or created.
+ * <p>
+ * Events are ordered by the requested field, then by {@code _id} to break ties, and each window seeks past the
+ * last event of the previous one instead of skipping over all the previous events. The position of that last
+ * event is handed out as an opaque cursor: the Base64 encoded extended JSON of its raw sort value and id, so that
+ * it round-trips with its BSON type. No total is counted; one extra event is fetched to know whether another
+ * window follows.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class ListingEventRepositoryImpl implements ListingEventRepository {
+
+    private static final String ID_FIELD = "_id";
+    private static final String FIELD_KEY = "f";
+    private static final String DIRECTION_KEY = "d";
+    private static final String VALUE_KEY = "v";
+    private static final String ID_KEY = "id";
+    private static final JsonWriterSettings CURSOR_JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public EventWindow scrollByParticipant(String userId, EventSortingField field, Sort.Direction direction,
+                                           String cursor, int limit) {
+        return scroll(Criteria.where("participants.userId").is(userId), field, direction, cursor, limit);
+    }
+
+    @Override
+    public EventWindow scrollByCreator(String userId, EventSortingField field, Sort.Direction direction,
+                                       String cursor, int limit) {
+        return scroll(Criteria.where("createdBy").is(userId), field, direction, cursor, limit);
+    }
+
+    private EventWindow scroll(Criteria owner, EventSortingField field, Sort.Direction direction, String cursor,
+                               int limit) {
+        if (limit < 1) {
+            throw new InvalidPageSizeException(limit);
+        }
+        String sortKey = field.getFieldName();
+        Query query = new Query(owner);
+        if (cursor != null) {
+            Document position = decode(cursor, sortKey, direction);
+            query.addCriteria(after(sortKey, direction, position.get(VALUE_KEY), position.get(ID_KEY)));
+        }
+        query.with(Sort.by(direction, sortKey, ID_FIELD)).limit(limit + 1);
+
+        List<Document> documents = mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(Event.class));
+        boolean hasNext = documents.size() > limit;
+        List<Document> window = hasNext ? documents.subList(0, limit) : documents;
+
+        List<Event> events = window.stream()
+                .map(document -> mongoTemplate.getConverter().read(Event.class, document))
+                .toList();
+        return new EventWindow(events, hasNext ? encode(sortKey, direction, window.getLast()) : null);
+    }
+
+    /**
+     * Matches the events ordered after the given position. MongoDB sorts missing and {@code null} values first,
+     * and range operators never match them, so they are handled separately.
+     */
+    private static Criteria after(String sortKey, Sort.Direction direction, Object value, Object id) {
+        Criteria tieBreak = direction.isAscending()
+                ? Criteria.where(sortKey).is(value).and(ID_FIELD).gt(id)
+                : Criteria.where(sortKey).is(value).and(ID_FIELD).lt(id);
+
+        if (value == null) {
+            return direction.isAscending()
+                    ? new Criteria().orOperator(Criteria.where(sortKey).ne(null), tieBreak)
+                    : tieBreak;
+        }
+        return direction.isAscending()
+                ? new Criteria().orOperator(Criteria.where(sortKey).gt(value), tieBreak)
+                : new Criteria().orOperator(Criteria.where(sortKey).lt(value), Criteria.where(sortKey).is(null),
+                tieBreak);
+    }
+
+    private static String encode(String sortKey, Sort.Direction direction, Document last) {
+        Document position = new Document(FIELD_KEY, sortKey)
+                .append(DIRECTION_KEY, direction.name())
+                .append(VALUE_KEY, last.get(sortKey))
+                .append(ID_KEY, last.get(ID_FIELD));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson(CURSOR_JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor, String sortKey, Sort.Direction direction) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException | BSONException e) {
+            throw new InvalidEventCursorException(cursor);
+        }
+        if (!sortKey.equals(position.get(FIELD_KEY)) || !direction.name().equals(position.get(DIRECTION_KEY))
+                || !position.containsKey(VALUE_KEY) || position.get(ID_KEY) == null) {
+            throw new InvalidEventCursorException(cursor);
+        }
+        return position;
+    }
+}
@@ -0,0 +1,15 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository {
+
+    List<Event> claimPendingOutboxes(int limit, Instant now, Duration lease);
+
+    void removeOutboxMessages(String eventId, Collection<String> messageIds);
+}
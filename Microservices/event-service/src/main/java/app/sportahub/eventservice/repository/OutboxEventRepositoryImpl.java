@@ -0,0 +1,71 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEventRepositoryImpl implements OutboxEventRepository {
+
+    private static final String MESSAGE_ID_FIELD = "outbox.messageId";
+    private static final String CLAIMED_UNTIL_FIELD = "outboxClaimedUntil";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Claims up to {@code limit} events that have outbox messages waiting to be relayed and are not claimed yet,
+     * through the sparse {@code outbox_idx} index. Each event is claimed by its own {@code findAndModify}, so
+     * relays running on several instances never claim the same event until its claim expires. Only the ids and
+     * outboxes of the events are loaded.
+     *
+     * @param now   the current time
+     * @param lease how long the claims hold
+     * @return the claimed events, or an empty list if there are none to relay
+     */
+    @Override
+    public List<Event> claimPendingOutboxes(int limit, Instant now, Duration lease) {
+        Query query = Query.query(new Criteria().andOperator(
+                Criteria.where(MESSAGE_ID_FIELD).exists(true),
+                new Criteria().orOperator(
+                        Criteria.where(CLAIMED_UNTIL_FIELD).exists(false),
+                        Criteria.where(CLAIMED_UNTIL_FIELD).lte(now))));
+        query.fields().include("id", "outbox");
+        Update claim = new Update().set(CLAIMED_UNTIL_FIELD, now.plus(lease));
+
+        List<Event> claimed = new ArrayList<>();
+        while (claimed.size() < limit) {
+            Event event = mongoTemplate.findAndModify(query, claim, FindAndModifyOptions.options().returnNew(true),
+                    Event.class);
+            if (event == null) {
+                break;
+            }
+            claimed.add(event);
+        }
+        return claimed;
+    }
+
+    /**
+     * Atomically removes relayed messages from the outbox of an event and releases its claim. Messages added since
+     * they were read are left in place, and are relayed by the next relay to claim the event.
+     */
+    @Override
+    public void removeOutboxMessages(String eventId, Collection<String> messageIds) {
+        Query query = Query.query(Criteria.where("id").is(eventId));
+        Update update = new Update().unset(CLAIMED_UNTIL_FIELD);
+        if (!messageIds.isEmpty()) {
+            update.pull("outbox", Query.query(Criteria.where("messageId").in(messageIds)));
+        }
+
+        mongoTemplate.updateFirst(query, update, Event.class);
+    }
+}
@@ -0,0 +1,18 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.participant.Participant;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ParticipatingEventRepository {
+
+    boolean addParticipant(String eventId, Participant participant, LocalDateTime now);
+
+    boolean removeParticipant(String eventId, String userId);
+
+    boolean cancelParticipant(String eventId, String userId);
+
+    Optional<Event> findParticipation(String eventId, String userId);
+}
@@ -0,0 +1,132 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.migration.EventCountersMigration;
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.participant.Participant;
+import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ParticipatingEventRepositoryImpl implements ParticipatingEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Atomically adds a participant to an event.
+     * <p>
+     * The whitelist, registration cut-off, duplicate and capacity checks are all part of the update filter, so
+     * the participant is only pushed if the event still accepts them at the time of the write. Capacity is checked
+     * against the maintained {@code openSlots} counter, which is decremented in the same update, so concurrent
+     * joins can neither overwrite each other nor exceed {@code maxParticipants}. The cut-off time is stored in
+     * {@link Event#CUT_OFF_TIME_FORMAT}, so comparing it as a string against the current time in that same format
+     * orders them chronologically. The participation change is added to the outbox of the event by the same
+     * update. An event created before the counters were maintained has no {@code openSlots} to check, so its
+     * counters are backfilled from its participants and the join is retried once.
+     * </p>
+     *
+     * @param eventId     the unique identifier of the event
+     * @param participant the participant to add
+     * @param now         the time of the request, compared against the event's cut-off time
+     * @return {@code true} if the participant was added, {@code false} if the event does not exist or rejected them
+     */
+    @Override
+    public boolean addParticipant(String eventId, Participant participant, LocalDateTime now) {
+        Query query = Query.query(Criteria.where("id").is(eventId)
+                        .and("participants.userId").ne(participant.getUserId())
+                        .and("cutOffTime").gt(now.format(Event.CUT_OFF_TIME_FORMAT))
+                        .and("openSlots").gt(0))
+                .addCriteria(new Criteria().orOperator(
+                        Criteria.where("isPrivate").ne(true),
+                        Criteria.where("whitelistedUsers").is(participant.getUserId())));
+        query.fields().include("id");
+
+        Update update = new Update().push("participants", participant)
+                .push("outbox", OutboxMessage.participationChanged(participant.getUserId(), true))
+                .inc("participantCount", 1)
+                .inc("openSlots", -1);
+
+        return mongoTemplate.findAndModify(query, update, Event.class) != null
+                || backfillCounters(eventId) && mongoTemplate.findAndModify(query, update, Event.class) != null;
+    }
+
+    /**
+     * Atomically removes a participant from an event, adding the participation change to the outbox of the event
+     * by the same update. Like {@link #addParticipant}, the counters of an event that has none yet are backfilled
+     * first, so they are not created from the change alone.
+     *
+     * @return {@code true} if the participant was removed, {@code false} if they were not a participant
+     */
+    @Override
+    public boolean removeParticipant(String eventId, String userId) {
+        Query query = participantQuery(eventId, userId)
+                .addCriteria(Criteria.where("openSlots").exists(true));
+        Update update = new Update().pull("participants", Query.query(Criteria.where("userId").is(userId)))
+                .push("outbox", OutboxMessage.participationChanged(userId, false))
+                .inc("participantCount", -1)
+                .inc("openSlots", 1);
+
+        return mongoTemplate.findAndModify(query, update, Event.class) != null
+                || backfillCounters(eventId) && mongoTemplate.findAndModify(query, update, Event.class) != null;
+    }
+
+    /**
+     * Atomically marks a participant of an event as {@code CANCELLED}, keeping them in the participant list.
+     * The participant still holds their slot, so the counters are left unchanged.
+     *
+     * @return {@code true} if the participant was cancelled, {@code false} if they were not a participant
+     */
+    @Override
+    public boolean cancelParticipant(String eventId, String userId) {
+        Query query = participantQuery(eventId, userId);
+        Update update = new Update().set("participants.$.attendStatus", ParticipantAttendStatus.CANCELLED);
+
+        return mongoTemplate.findAndModify(query, update, Event.class) != null;
+    }
+
+    /**
+     * Returns the fields of an event needed to validate a participation change, along with the matching
+     * participant only, instead of the whole event document.
+     */
+    @Override
+    public Optional<Event> findParticipation(String eventId, String userId) {
+        Query query = Query.query(Criteria.where("id").is(eventId));
+        query.fields()
+                .include("createdBy", "date", "startTime", "cutOffTime")
+                .elemMatch("participants", Criteria.where("userId").is(userId));
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, Event.class));
+    }
+
+    /**
+     * Computes the counters of a single event the same way {@link EventCountersMigration} does, if it is missing any.
+     *
+     * @return {@code true} if the counters of the event were backfilled
+     */
+    private boolean backfillCounters(String eventId) {
+        Query query = Query.query(Criteria.where("id").is(eventId).orOperator(
+                Criteria.where("participantCount").exists(false),
+                Criteria.where("likeCount").exists(false),
+                Criteria.where("openSlots").exists(false)));
+        AggregationUpdate update = AggregationUpdate.from(EventCountersMigration.backfillCounters().stream()
+                .<AggregationOperation>map(stage -> context -> stage)
+                .toList());
+
+        return mongoTemplate.updateFirst(query, update, Event.class).getModifiedCount() > 0;
+    }
+
+    private Query participantQuery(String eventId, String userId) {
+        Query query = Query.query(Criteria.where("id").is(eventId).and("participants.userId").is(userId));
+        query.fields().include("id");
+        return query;
+    }
+}
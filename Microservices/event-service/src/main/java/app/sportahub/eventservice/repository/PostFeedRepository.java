@@ -0,0 +1,6 @@
+package app.sportahub.eventservice.repository;
+
+public interface PostFeedRepository {
+
+    PostWindow scrollByEventId(String eventId, String cursor, int limit);
+}
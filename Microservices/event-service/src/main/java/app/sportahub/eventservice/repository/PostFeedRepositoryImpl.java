@@ -0,0 +1,98 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.exception.event.InvalidPageSizeException;
+import app.sportahub.eventservice.exception.event.InvalidPostCursorException;
+import app.sportahub.eventservice.model.social.Post;
+import lombok.RequiredArgsConstructor;
+import org.bson.BSONException;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination of the post feed of an event, newest posts first.
+ * <p>
+ * Posts are read through the {@code event_creation_idx} index on {@code (eventId, creationDate desc, _id desc)},
+ * and each window seeks past the last post of the previous one. As for event listings, the cursor is the Base64
+ * encoded extended JSON of the creation date and id of that post, and one extra post is fetched to know whether
+ * another window follows.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class PostFeedRepositoryImpl implements PostFeedRepository {
+
+    private static final String ID_FIELD = "_id";
+    private static final String CREATION_DATE_FIELD = "creationDate";
+    private static final String VALUE_KEY = "v";
+    private static final String ID_KEY = "id";
+    private static final JsonWriterSettings CURSOR_JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public PostWindow scrollByEventId(String eventId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageSizeException(limit);
+        }
+        Query query = new Query(Criteria.where("eventId").is(eventId));
+        if (cursor != null) {
+            Document position = decode(cursor);
+            query.addCriteria(before(position.get(VALUE_KEY), position.get(ID_KEY)));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, CREATION_DATE_FIELD, ID_FIELD)).limit(limit + 1);
+
+        List<Document> documents = mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(Post.class));
+        boolean hasNext = documents.size() > limit;
+        List<Document> window = hasNext ? documents.subList(0, limit) : documents;
+
+        List<Post> posts = window.stream()
+                .map(document -> mongoTemplate.getConverter().read(Post.class, document))
+                .toList();
+        return new PostWindow(posts, hasNext ? encode(window.getLast()) : null);
+    }
+
+    /**
+     * Matches the posts ordered after the given position in the feed. Posts without a creation date sort last,
+     * and are matched separately since range operators never match them.
+     */
+    private static Criteria before(Object creationDate, Object id) {
+        Criteria tieBreak = Criteria.where(CREATION_DATE_FIELD).is(creationDate).and(ID_FIELD).lt(id);
+        if (creationDate == null) {
+            return tieBreak;
+        }
+        return new Criteria().orOperator(Criteria.where(CREATION_DATE_FIELD).lt(creationDate),
+                Criteria.where(CREATION_DATE_FIELD).is(null), tieBreak);
+    }
+
+    private static String encode(Document last) {
+        Document position = new Document(VALUE_KEY, last.get(CREATION_DATE_FIELD))
+                .append(ID_KEY, last.get(ID_FIELD));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson(CURSOR_JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException | BSONException e) {
+            throw new InvalidPostCursorException(cursor);
+        }
+        if (!position.containsKey(VALUE_KEY) || position.get(ID_KEY) == null) {
+            throw new InvalidPostCursorException(cursor);
+        }
+        return position;
+    }
+}
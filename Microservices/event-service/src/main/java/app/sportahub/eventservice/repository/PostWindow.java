@@ -0,0 +1,15 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.social.Post;
+
+import java.util.List;
+
+/**
+ * A window of the keyset-paginated post feed of an event, with the cursor of the following window if there is one.
+ */
+public record PostWindow(List<Post> posts, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
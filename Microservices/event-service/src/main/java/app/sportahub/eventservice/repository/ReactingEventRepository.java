@@ -0,0 +1,10 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.reactor.Reaction;
+
+public interface ReactingEventRepository {
+
+    boolean addReaction(String eventId, Reaction reaction);
+
+    boolean removeReaction(String eventId, String userId);
+}
@@ -0,0 +1,51 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.reactor.Reaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class ReactingEventRepositoryImpl implements ReactingEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Atomically adds a user's reaction to an event and increments its {@code likeCount}.
+     *
+     * @return {@code true} if the reaction was added, {@code false} if the event does not exist or the user
+     * already reacted to it
+     */
+    @Override
+    public boolean addReaction(String eventId, Reaction reaction) {
+        Query query = Query.query(Criteria.where("id").is(eventId)
+                .and("reactions.userId").ne(reaction.getUserId()));
+        query.fields().include("id");
+
+        Update update = new Update().push("reactions", reaction)
+                .inc("likeCount", 1);
+
+        return mongoTemplate.findAndModify(query, update, Event.class) != null;
+    }
+
+    /**
+     * Atomically removes a user's reaction from an event and decrements its {@code likeCount}.
+     *
+     * @return {@code true} if the reaction was removed, {@code false} if the event does not exist or the user
+     * had not reacted to it
+     */
+    @Override
+    public boolean removeReaction(String eventId, String userId) {
+        Query query = Query.query(Criteria.where("id").is(eventId)
+                .and("reactions.userId").is(userId));
+        query.fields().include("id");
+
+        Update update = new Update().pull("reactions", Query.query(Criteria.where("userId").is(userId)))
+                .inc("likeCount", -1);
+
+        return mongoTemplate.findAndModify(query, update, Event.class) != null;
+    }
+}
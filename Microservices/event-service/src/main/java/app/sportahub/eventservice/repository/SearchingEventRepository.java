@@ -2,27 +2,60 @@ package app.sportahub.eventservice.repository;
 
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.model.event.Event;
-import org.springframework.data.domain.Page;
+import app.sportahub.eventservice.model.event.EventSummary;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
 import java.util.List;
 
 public interface SearchingEventRepository {
-    Page<Event> searchEvents(String eventName,
-                            String eventType,
-                            String sportType,
-                            String locationName,
-                            String city,
-                            String province,
-                            String country,
-                            String postalCode,
-                            String date,
-                            String startTime,
-                            String endTime,
-                            String duration,
-                            String maxParticipants,
-                            String createdBy,
-                            Boolean isPrivate,
-                            List<SkillLevelEnum> requiredSkillLevel,
-                            Pageable pageable);
+    GeoPage<Event> searchEventsNear(String eventName,
+                                    String eventType,
+                                    String sportType,
+                                    String locationName,
+                                    String city,
+                                    String province,
+                                    String country,
+                                    String postalCode,
+                                    String date,
+                                    String startTime,
+                                    String endTime,
+                                    String duration,
+                                    String maxParticipants,
+                                    String createdBy,
+                                    Boolean isPrivate,
+                                    List<SkillLevelEnum> requiredSkillLevel,
+                                    Boolean hasOpenSlots,
+                                    GeoJsonPoint point,
+                                    List<Double> radiiKm,
+                                    Pageable pageable);
+
+    GeoPage<EventSummary> searchEventSummariesNear(String eventName,
+                                                   String eventType,
+                                                   String sportType,
+                                                   String locationName,
+                                                   String city,
+                                                   String province,
+                                                   String country,
+                                                   String postalCode,
+                                                   String date,
+                                                   String startTime,
+                                                   String endTime,
+                                                   String duration,
+                                                   String maxParticipants,
+                                                   String createdBy,
+                                                   Boolean isPrivate,
+                                                   List<SkillLevelEnum> requiredSkillLevel,
+                                                   Boolean hasOpenSlots,
+                                                   GeoJsonPoint point,
+                                                   List<Double> radiiKm,
+                                                   Pageable pageable);
+
+    GeoPage<Event> findNearWithinRadii(GeoJsonPoint point, List<Double> radiiKm, Pageable pageable);
+
+    GeoPage<EventSummary> findSummariesNearWithinRadii(GeoJsonPoint point, List<Double> radiiKm, Pageable pageable);
+
+    GeoResults<Event> findNearestEvents(GeoJsonPoint point, double maxRadiusKm, int limit);
 }
@@ -3,83 +3,371 @@ package app.sportahub.eventservice.repository;
 import app.sportahub.eventservice.dto.request.event.LocationRequest;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
+import app.sportahub.eventservice.repository.search.EventSearchField;
+import app.sportahub.eventservice.repository.search.EventSearchPlanner;
+import app.sportahub.search.filter.RangeExpressionParser;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.bson.Document;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.GeoNearOperation;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class SearchingEventRepositoryImpl implements SearchingEventRepository {
+
+    private static final String COORDINATES_FIELD = "location.coordinates";
+    private static final String DISTANCE_FIELD = "distance";
+    private static final String RING_FIELD_PREFIX = "within_";
+    private static final String RINGS_FACET = "rings";
+    private static final String RESULTS_FACET = "results";
+    private static final int UNPAGED_RESULT_LIMIT = 1_000;
+
     private final MongoTemplate mongoTemplate;
 
+    /**
+     * Searches for events around a point in a single {@code $geoNear} aggregation.
+     * <p>
+     * All the regular search criteria are passed to {@code $geoNear} as its query, so filtering, distance
+     * computation and sorting by distance happen in MongoDB. The exact-match and name filters are bounds of the
+     * {@code geo_search_idx} and {@code geo_name_idx} indexes, which lead with the coordinates, so only the events
+     * matching them are fetched. A {@code $facet} stage then counts the matches
+     * falling within each radius of {@code radiiKm} and returns the requested page in the same round trip.
+     * The smallest radius containing at least one event is selected, which replaces the client-side
+     * radius expansion: since results are ordered by distance, the events within that radius are a prefix
+     * of the result set and the page only needs to be trimmed to it. When the pageable is sorted, for instance
+     * by popularity, each radius gets its own sorted page instead. Unpaged searches skip the {@code $facet} stage
+     * and return at most {@code UNPAGED_RESULT_LIMIT} events.
+     * </p>
+     *
+     * @param point   the point to search around
+     * @param radiiKm the ascending radii, in kilometers, to expand the search through
+     * @return a {@link GeoPage} of the matching events, each with its distance in kilometers
+     */
     @Override
-    public Page<Event> searchEvents(String eventName,
-                                   String eventType,
-                                   String sportType,
-                                   String locationName,
-                                   String city,
-                                   String province,
-                                   String country,
-                                   String postalCode,
-                                   String date,
-                                   String startTime,
-                                   String endTime,
-                                   String duration,
-                                   String maxParticipants,
-                                   String createdBy,
-                                   Boolean isPrivate,
-                                   List<SkillLevelEnum> requiredSkillLevel,
-                                   Pageable pageable) {
-        Query query = new Query();
+    public GeoPage<Event> searchEventsNear(String eventName,
+                                           String eventType,
+                                           String sportType,
+                                           String locationName,
+                                           String city,
+                                           String province,
+                                           String country,
+                                           String postalCode,
+                                           String date,
+                                           String startTime,
+                                           String endTime,
+                                           String duration,
+                                           String maxParticipants,
+                                           String createdBy,
+                                           Boolean isPrivate,
+                                           List<SkillLevelEnum> requiredSkillLevel,
+                                           Boolean hasOpenSlots,
+                                           GeoJsonPoint point,
+                                           List<Double> radiiKm,
+                                           Pageable pageable) {
+        Query query = buildSearchQuery(eventName, eventType, sportType, locationName, city, province, country,
+                postalCode, date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate,
+                requiredSkillLevel, hasOpenSlots);
+
+        return geoNearWithinRadii(query, point, radiiKm, pageable, Event.class, null);
+    }
+
+    /**
+     * Searches for events around a point like {@link #searchEventsNear}, but only fetches the
+     * {@link EventSummary} fields of the events in the requested page.
+     *
+     * @param point   the point to search around
+     * @param radiiKm the ascending radii, in kilometers, to expand the search through
+     * @return a {@link GeoPage} of the matching event summaries, each with its distance in kilometers
+     */
+    @Override
+    public GeoPage<EventSummary> searchEventSummariesNear(String eventName,
+                                                          String eventType,
+                                                          String sportType,
+                                                          String locationName,
+                                                          String city,
+                                                          String province,
+                                                          String country,
+                                                          String postalCode,
+                                                          String date,
+                                                          String startTime,
+                                                          String endTime,
+                                                          String duration,
+                                                          String maxParticipants,
+                                                          String createdBy,
+                                                          Boolean isPrivate,
+                                                          List<SkillLevelEnum> requiredSkillLevel,
+                                                          Boolean hasOpenSlots,
+                                                          GeoJsonPoint point,
+                                                          List<Double> radiiKm,
+                                                          Pageable pageable) {
+        Query query = buildSearchQuery(eventName, eventType, sportType, locationName, city, province, country,
+                postalCode, date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate,
+                requiredSkillLevel, hasOpenSlots);
+
+        return geoNearWithinRadii(query, point, radiiKm, pageable, EventSummary.class, EventSummary.FIELDS);
+    }
 
-        if (eventName != null) {
-            query.addCriteria(Criteria.where("eventName").regex(eventName, "i"));
+    /**
+     * Pages through the events around a point, expanding through {@code radiiKm} in a single round trip.
+     *
+     * @param point   the point to search around
+     * @param radiiKm the ascending radii, in kilometers, to expand the search through
+     * @return a {@link GeoPage} of the events within the smallest radius containing at least one event
+     * @see #searchEventsNear
+     */
+    @Override
+    public GeoPage<Event> findNearWithinRadii(GeoJsonPoint point, List<Double> radiiKm, Pageable pageable) {
+        return geoNearWithinRadii(new Query(), point, radiiKm, pageable, Event.class, null);
+    }
+
+    /**
+     * Pages through the summaries of the events around a point, expanding through {@code radiiKm} in a single
+     * round trip.
+     *
+     * @see #findNearWithinRadii
+     */
+    @Override
+    public GeoPage<EventSummary> findSummariesNearWithinRadii(GeoJsonPoint point, List<Double> radiiKm,
+                                                              Pageable pageable) {
+        return geoNearWithinRadii(new Query(), point, radiiKm, pageable, EventSummary.class, EventSummary.FIELDS);
+    }
+
+    /**
+     * Returns the events closest to a point in a single {@code $geoNear} query, nearest first.
+     *
+     * @param point       the point to search around
+     * @param maxRadiusKm the maximum distance, in kilometers, of the returned events
+     * @param limit       the maximum number of events to return
+     * @return the {@link GeoResults} of the nearest events, each with its distance in kilometers
+     */
+    @Override
+    public GeoResults<Event> findNearestEvents(GeoJsonPoint point, double maxRadiusKm, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                geoNear(new Query(), point, maxRadiusKm),
+                Aggregation.limit(limit));
+        List<Document> events = mongoTemplate.aggregate(aggregation, Event.class, Document.class).getMappedResults();
+        return new GeoResults<>(geoResults(events, maxRadiusKm, Event.class), Metrics.KILOMETERS);
+    }
+
+    /**
+     * @param type   the type to read the events of the page as
+     * @param fields the fields to fetch for the events of the page, or {@code null} to fetch whole documents
+     */
+    private <T> GeoPage<T> geoNearWithinRadii(Query query, GeoJsonPoint point, List<Double> radiiKm,
+                                              Pageable pageable, Class<T> type, List<String> fields) {
+        if (pageable.isUnpaged()) {
+            return geoNearWithinRadiiUnpaged(query, point, radiiKm, pageable, type, fields);
+        }
+        boolean sorted = pageable.getSort().isSorted();
+        Aggregation aggregation = geoNearWithinRadiiAggregation(query, point, radiiKm, pageable, fields);
+
+        Document facets = mongoTemplate.aggregate(aggregation, Event.class, Document.class).getUniqueMappedResult();
+        if (facets == null) {
+            return new GeoPage<>(new GeoResults<>(List.of(), Metrics.KILOMETERS), pageable, 0);
+        }
+
+        List<Document> rings = facets.getList(RINGS_FACET, Document.class);
+        Document ring = rings.isEmpty() ? new Document() : rings.getFirst();
+
+        int selectedRing = radiiKm.size() - 1;
+        long total = 0;
+        for (int i = 0; i < radiiKm.size(); i++) {
+            Number count = ring.get(RING_FIELD_PREFIX + i, Number.class);
+            if (count != null && count.longValue() > 0) {
+                selectedRing = i;
+                total = count.longValue();
+                break;
+            }
         }
-        if (eventType != null) {
-            query.addCriteria(Criteria.where("eventType").regex(eventType, "i"));
+
+        double selectedRadius = radiiKm.get(selectedRing);
+        List<Document> page = sorted
+                ? facets.getList(RESULTS_FACET + "_" + selectedRing, Document.class, List.of())
+                : facets.getList(RESULTS_FACET, Document.class, List.of());
+
+        List<GeoResult<T>> results = geoResults(page, selectedRadius, type);
+        return new GeoPage<>(new GeoResults<>(results, Metrics.KILOMETERS), pageable, total);
+    }
+
+    /**
+     * Builds the {@code $geoNear}/{@code $facet} aggregation run for a page of events around a point.
+     */
+    Aggregation geoNearWithinRadiiAggregation(Query query, GeoJsonPoint point, List<Double> radiiKm,
+                                              Pageable pageable, List<String> fields) {
+        GroupOperation ringCounts = Aggregation.group();
+        for (int i = 0; i < radiiKm.size(); i++) {
+            ringCounts = ringCounts.sum(ConditionalOperators
+                            .when(ComparisonOperators.valueOf(DISTANCE_FIELD).lessThanEqualToValue(radiiKm.get(i)))
+                            .then(1)
+                            .otherwise(0))
+                    .as(RING_FIELD_PREFIX + i);
         }
-        if (sportType != null) {
-            query.addCriteria(Criteria.where("sportType").regex(sportType, "i"));
+
+        // Without a sort, results stay ordered by distance and one page covers every ring. A sort on another
+        // field interleaves the rings, so each ring then gets its own sorted page.
+        boolean sorted = pageable.getSort().isSorted();
+        FacetOperation facet = Aggregation.facet(ringCounts).as(RINGS_FACET);
+        if (sorted) {
+            for (int i = 0; i < radiiKm.size(); i++) {
+                List<AggregationOperation> ringOperations = new ArrayList<>();
+                ringOperations.add(Aggregation.match(Criteria.where(DISTANCE_FIELD).lte(radiiKm.get(i))));
+                ringOperations.add(Aggregation.sort(pageable.getSort()));
+                ringOperations.addAll(pageOperations(pageable, fields));
+                facet = facet.and(ringOperations.toArray(AggregationOperation[]::new)).as(RESULTS_FACET + "_" + i);
+            }
+        } else {
+            facet = facet.and(pageOperations(pageable, fields).toArray(AggregationOperation[]::new)).as(RESULTS_FACET);
         }
-        if (locationName != null) {
-            query.addCriteria(Criteria.where("location.name").regex(locationName, "i"));
+
+        return Aggregation.newAggregation(geoNear(query, point, radiiKm.getLast()), facet);
+    }
+
+    /**
+     * Returns the events within the smallest radius containing at least one event, without gathering them into a
+     * single {@code $facet} document, which could not hold more than 16 MB of events. The nearest event is looked
+     * up first to select the radius, then the events within it are returned by a plain {@code $geoNear}, capped at
+     * {@code UNPAGED_RESULT_LIMIT}.
+     */
+    private <T> GeoPage<T> geoNearWithinRadiiUnpaged(Query query, GeoJsonPoint point, List<Double> radiiKm,
+                                                     Pageable pageable, Class<T> type, List<String> fields) {
+        Aggregation nearestAggregation = Aggregation.newAggregation(
+                geoNear(query, point, radiiKm.getLast()),
+                Aggregation.limit(1),
+                Aggregation.project(DISTANCE_FIELD));
+        Document nearest = mongoTemplate.aggregate(nearestAggregation, Event.class, Document.class)
+                .getUniqueMappedResult();
+        if (nearest == null) {
+            return new GeoPage<>(new GeoResults<>(List.of(), Metrics.KILOMETERS), pageable, 0);
         }
-        if (city != null) {
-            query.addCriteria(Criteria.where("location.city").regex(city, "i"));
+
+        double nearestDistance = nearest.get(DISTANCE_FIELD, Number.class).doubleValue();
+        double selectedRadius = radiiKm.stream()
+                .filter(radius -> nearestDistance <= radius)
+                .findFirst()
+                .orElse(radiiKm.getLast());
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(geoNear(query, point, selectedRadius));
+        if (pageable.getSort().isSorted()) {
+            operations.add(Aggregation.sort(pageable.getSort()));
         }
-        if (province != null) {
-            query.addCriteria(Criteria.where("location.province").regex(province, "i"));
+        operations.add(Aggregation.limit(UNPAGED_RESULT_LIMIT));
+        if (fields != null) {
+            operations.add(projectOperation(fields));
         }
-        if (country != null) {
-            query.addCriteria(Criteria.where("location.country").regex(country, "i"));
+        List<Document> events = mongoTemplate.aggregate(Aggregation.newAggregation(operations), Event.class,
+                Document.class).getMappedResults();
+
+        List<GeoResult<T>> results = geoResults(events, selectedRadius, type);
+        return new GeoPage<>(new GeoResults<>(results, Metrics.KILOMETERS), pageable, results.size());
+    }
+
+    /**
+     * The collection has several 2dsphere indexes on the coordinates, so {@code $geoNear} must be told which field
+     * to use. The query planner then picks the index whose other fields bound the query best.
+     */
+    private static GeoNearOperation geoNear(Query query, GeoJsonPoint point, double radiusKm) {
+        NearQuery nearQuery = NearQuery.near(point)
+                .spherical(true)
+                .maxDistance(new Distance(radiusKm, Metrics.KILOMETERS))
+                .query(query);
+        return Aggregation.geoNear(nearQuery, DISTANCE_FIELD).useIndex(COORDINATES_FIELD);
+    }
+
+    private <T> List<GeoResult<T>> geoResults(List<Document> documents, double selectedRadius, Class<T> type) {
+        List<GeoResult<T>> results = new ArrayList<>();
+        for (Document result : documents) {
+            double distance = result.get(DISTANCE_FIELD, Number.class).doubleValue();
+            if (distance > selectedRadius) {
+                break;
+            }
+            results.add(new GeoResult<>(mongoTemplate.getConverter().read(type, result),
+                    new Distance(distance, Metrics.KILOMETERS)));
         }
-        if (postalCode != null) {
-            query.addCriteria(Criteria.where("location.postalCode").regex(postalCode, "i"));
+        return results;
+    }
+
+    private static List<AggregationOperation> pageOperations(Pageable pageable, List<String> fields) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.skip(pageable.getOffset()));
+        operations.add(Aggregation.limit(pageable.getPageSize()));
+        if (fields != null) {
+            operations.add(projectOperation(fields));
         }
+        return operations;
+    }
+
+    /**
+     * Projected after sorting and paging, so any field can still be sorted on. A raw stage keeps the nested
+     * location paths as they are instead of flattening them.
+     */
+    private static AggregationOperation projectOperation(List<String> fields) {
+        Document projection = new Document(DISTANCE_FIELD, 1);
+        fields.forEach(field -> projection.append(field, 1));
+        return context -> new Document("$project", projection);
+    }
+
+    Query buildSearchQuery(String eventName,
+                           String eventType,
+                           String sportType,
+                           String locationName,
+                           String city,
+                           String province,
+                           String country,
+                           String postalCode,
+                           String date,
+                           String startTime,
+                           String endTime,
+                           String duration,
+                           String maxParticipants,
+                           String createdBy,
+                           Boolean isPrivate,
+                           List<SkillLevelEnum> requiredSkillLevel,
+                           Boolean hasOpenSlots) {
+        Query query = new Query();
+
+        addTextCriteria(query, EventSearchField.EVENT_NAME, eventName);
+        addTextCriteria(query, EventSearchField.EVENT_TYPE, eventType);
+        addTextCriteria(query, EventSearchField.SPORT_TYPE, sportType);
+        addTextCriteria(query, EventSearchField.LOCATION_NAME, locationName);
+        addTextCriteria(query, EventSearchField.CITY, city);
+        addTextCriteria(query, EventSearchField.PROVINCE, province);
+        addTextCriteria(query, EventSearchField.COUNTRY, country);
+        addTextCriteria(query, EventSearchField.POSTAL_CODE, postalCode);
         if (date != null) {
-            applyDateCriteria(query, date);
+            query.addCriteria(RangeExpressionParser.DATES.parse(date).toCriteria("date"));
         }
         if (startTime != null) {
-            applyTimeCriteria(query, startTime, "startTime");
+            query.addCriteria(RangeExpressionParser.TIMES.parse(startTime).toCriteria("startTime"));
         }
         if (endTime != null) {
-            applyTimeCriteria(query, endTime, "endTime");
+            query.addCriteria(RangeExpressionParser.TIMES.parse(endTime).toCriteria("endTime"));
         }
         if (duration != null) {
-            applyNumericCriteria(query, duration, "duration");
+            query.addCriteria(RangeExpressionParser.INTEGERS.parse(duration).toCriteria("duration"));
         }
         if (maxParticipants != null) {
-            applyNumericCriteria(query, maxParticipants, "maxParticipants");
+            query.addCriteria(RangeExpressionParser.INTEGERS.parse(maxParticipants).toCriteria("maxParticipants"));
         }
         if (createdBy != null) {
             query.addCriteria(Criteria.where("createdBy").is(createdBy));
@@ -93,136 +381,19 @@ public class SearchingEventRepositoryImpl implements SearchingEventRepository {
                     .collect(Collectors.toList());
             query.addCriteria(Criteria.where("requiredSkillLevel").in(skillLevelStrings));
         }
-
-        Query countQuery = Query.of(query);
-        long total = mongoTemplate.count(countQuery, Event.class);
-
-        query.with(pageable);
-        List<Event> events = mongoTemplate.find(query, Event.class);
-
-        return new PageImpl<>(events, pageable, total);
-    }
-
-    private void applyDateCriteria(Query query, String dateRange) {
-        Pattern rangePattern = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})-(\\d{4}-\\d{2}-\\d{2})");
-        Matcher rangeMatcher = rangePattern.matcher(dateRange);
-
-        if (rangeMatcher.matches()) {
-            LocalDate startDate = LocalDate.parse(rangeMatcher.group(1));
-            LocalDate endDate = LocalDate.parse(rangeMatcher.group(2));
-            query.addCriteria(Criteria.where("date").gte(startDate).lte(endDate));
-        } else {
-            Pattern pattern = Pattern.compile("([<>=]{1,2})?(\\d{4}-\\d{2}-\\d{2})");
-            Matcher matcher = pattern.matcher(dateRange);
-
-            if (matcher.find()) {
-                String operator = matcher.group(1) != null ? matcher.group(1) : "=";
-                LocalDate dateValue = LocalDate.parse(matcher.group(2));
-
-                switch (operator) {
-                    case "<":
-                        query.addCriteria(Criteria.where("date").lt(dateValue));
-                        break;
-                    case ">":
-                        query.addCriteria(Criteria.where("date").gt(dateValue));
-                        break;
-                    case "<=":
-                        query.addCriteria(Criteria.where("date").lte(dateValue));
-                        break;
-                    case ">=":
-                        query.addCriteria(Criteria.where("date").gte(dateValue));
-                        break;
-                    case "=":
-                        query.addCriteria(Criteria.where("date").is(dateValue));
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported operator in date filter: " + operator);
-                }
-            } else {
-                throw new IllegalArgumentException("Invalid date format: " + dateRange);
-            }
+        if (hasOpenSlots != null) {
+            query.addCriteria(hasOpenSlots
+                    ? Criteria.where("openSlots").gt(0)
+                    : Criteria.where("openSlots").lte(0));
         }
-    }
-
-    private void applyTimeCriteria(Query query, String timeRange, String field) {
-        Pattern rangePattern = Pattern.compile("(\\d{2}:\\d{2})-(\\d{2}:\\d{2})");
-        Matcher rangeMatcher = rangePattern.matcher(timeRange);
 
-        if (rangeMatcher.matches()) {
-            LocalTime startTime = LocalTime.parse(rangeMatcher.group(1));
-            LocalTime endTime = LocalTime.parse(rangeMatcher.group(2));
-            query.addCriteria(Criteria.where(field).gte(startTime).lte(endTime));
-        } else {
-            Pattern pattern = Pattern.compile("([<>=]{1,2})?(\\d{2}:\\d{2})");
-            Matcher matcher = pattern.matcher(timeRange);
-
-            if (matcher.find()) {
-                String operator = matcher.group(1) != null ? matcher.group(1) : "=";
-                LocalTime timeValue = LocalTime.parse(matcher.group(2));
-
-                switch (operator) {
-                    case "<":
-                        query.addCriteria(Criteria.where(field).lt(timeValue));
-                        break;
-                    case ">":
-                        query.addCriteria(Criteria.where(field).gt(timeValue));
-                        break;
-                    case "<=":
-                        query.addCriteria(Criteria.where(field).lte(timeValue));
-                        break;
-                    case ">=":
-                        query.addCriteria(Criteria.where(field).gte(timeValue));
-                        break;
-                    case "=":
-                        query.addCriteria(Criteria.where(field).is(timeValue));
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported operator in time filter: " + operator);
-                }
-            } else {
-                throw new IllegalArgumentException("Invalid time format: " + timeRange);
-            }
-        }
+        return query;
     }
 
-    private void applyNumericCriteria(Query query, String valueRange, String field) {
-        Pattern rangePattern = Pattern.compile("(\\d+)-(\\d+)");
-        Matcher rangeMatcher = rangePattern.matcher(valueRange);
-
-        if (rangeMatcher.matches()) {
-            int minValue = Integer.parseInt(rangeMatcher.group(1));
-            int maxValue = Integer.parseInt(rangeMatcher.group(2));
-            query.addCriteria(Criteria.where(field).gte(minValue).lte(maxValue));
-        } else {
-            Pattern pattern = Pattern.compile("([<>=]{1,2})?(\\d+)");
-            Matcher matcher = pattern.matcher(valueRange);
-
-            if (matcher.find()) {
-                String operator = matcher.group(1) != null ? matcher.group(1) : "=";
-                int value = Integer.parseInt(matcher.group(2));
-
-                switch (operator) {
-                    case "<":
-                        query.addCriteria(Criteria.where(field).lt(value));
-                        break;
-                    case ">":
-                        query.addCriteria(Criteria.where(field).gt(value));
-                        break;
-                    case "<=":
-                        query.addCriteria(Criteria.where(field).lte(value));
-                        break;
-                    case ">=":
-                        query.addCriteria(Criteria.where(field).gte(value));
-                        break;
-                    case "=":
-                        query.addCriteria(Criteria.where(field).is(value));
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported operator in filter: " + operator);
-                }
-            } else {
-                throw new IllegalArgumentException("Invalid format for field: " + valueRange);
-            }
+    private void addTextCriteria(Query query, EventSearchField field, String input) {
+        EventSearchPlanner.SearchPredicate predicate = EventSearchPlanner.plan(field, input);
+        if (predicate != null) {
+            query.addCriteria(predicate.criteria());
         }
     }
 }
@@ -0,0 +1,12 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.EventSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface SummarizingEventRepository {
+
+    Page<EventSummary> findSummariesByParticipantsUserId(String userId, Pageable pageable);
+
+    Page<EventSummary> findSummariesByCreatedBy(String userId, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Pages through the events a user participates in or created as {@link EventSummary} projections, fetching
+ * only the summary fields of each event.
+ */
+@RequiredArgsConstructor
+public class SummarizingEventRepositoryImpl implements SummarizingEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<EventSummary> findSummariesByParticipantsUserId(String userId, Pageable pageable) {
+        return findSummaries(Criteria.where("participants.userId").is(userId), pageable);
+    }
+
+    @Override
+    public Page<EventSummary> findSummariesByCreatedBy(String userId, Pageable pageable) {
+        return findSummaries(Criteria.where("createdBy").is(userId), pageable);
+    }
+
+    private Page<EventSummary> findSummaries(Criteria criteria, Pageable pageable) {
+        Query query = new Query(criteria).with(pageable);
+        EventSummary.FIELDS.forEach(query.fields()::include);
+
+        List<EventSummary> summaries = mongoTemplate.find(query, EventSummary.class,
+                mongoTemplate.getCollectionName(Event.class));
+
+        // The total is only counted when it cannot be told from the page itself.
+        return PageableExecutionUtils.getPage(summaries, pageable,
+                () -> mongoTemplate.count(new Query(criteria), Event.class));
+    }
+}
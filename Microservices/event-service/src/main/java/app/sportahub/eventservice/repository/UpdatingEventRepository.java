@@ -0,0 +1,13 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UpdatingEventRepository {
+
+    Optional<Event> updateFields(Event event, Collection<String> fields, List<OutboxMessage> outbox);
+}
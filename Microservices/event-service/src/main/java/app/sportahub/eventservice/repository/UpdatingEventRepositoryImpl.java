@@ -0,0 +1,59 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.repository.search.SearchTextNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class UpdatingEventRepositoryImpl implements UpdatingEventRepository {
+
+    private static final String SEARCH_KEYS_FIELD = "searchKeys";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Atomically writes the given fields of an event with {@code $set}, or {@code $unset} for those that are
+     * {@code null}, and appends messages to its outbox with {@code $push}, along with the {@code searchKeys} derived
+     * from its new values. Fields that are not listed are left as they are, so participants, reactions and outbox
+     * messages written concurrently by other requests or removed by the outbox relay are neither lost nor restored.
+     *
+     * @param event  the event with the new values of the fields
+     * @param fields the names of the fields to write
+     * @param outbox the messages to append to the outbox of the event
+     * @return the event as it is after the write, or an empty {@link Optional} if it does not exist
+     */
+    @Override
+    public Optional<Event> updateFields(Event event, Collection<String> fields, List<OutboxMessage> outbox) {
+        event.setSearchKeys(SearchTextNormalizer.searchKeysOf(event));
+        Document document = new Document();
+        mongoTemplate.getConverter().write(event, document);
+
+        Update update = new Update().set(SEARCH_KEYS_FIELD, document.get(SEARCH_KEYS_FIELD));
+        for (String field : fields) {
+            Object value = document.get(field);
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        }
+        if (!outbox.isEmpty()) {
+            update.push("outbox").each(outbox.toArray());
+        }
+
+        Query query = Query.query(Criteria.where("id").is(event.getId()));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Event.class));
+    }
+}
@@ -1,7 +1,13 @@
 package app.sportahub.eventservice.repository.event;
 
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.repository.ListingEventRepository;
+import app.sportahub.eventservice.repository.OutboxEventRepository;
+import app.sportahub.eventservice.repository.ParticipatingEventRepository;
+import app.sportahub.eventservice.repository.ReactingEventRepository;
 import app.sportahub.eventservice.repository.SearchingEventRepository;
+import app.sportahub.eventservice.repository.SummarizingEventRepository;
+import app.sportahub.eventservice.repository.UpdatingEventRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.geo.Distance;
@@ -14,7 +20,9 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends MongoRepository<Event, String>, SearchingEventRepository {
+public interface EventRepository extends MongoRepository<Event, String>, SearchingEventRepository,
+        ParticipatingEventRepository, ReactingEventRepository, ListingEventRepository,
+        SummarizingEventRepository, OutboxEventRepository, UpdatingEventRepository {
 
     Optional<Event> findEventById(String id);
 
@@ -0,0 +1,38 @@
+package app.sportahub.eventservice.repository.search;
+
+/**
+ * The text fields events can be searched on, with the paths of their normalized {@code searchKeys}.
+ * Name fields are matched on their word tokens, the others on their whole normalized value.
+ */
+public enum EventSearchField {
+    EVENT_NAME("eventName", "eventNameTokens"),
+    EVENT_TYPE("eventType", null),
+    SPORT_TYPE("sportType", null),
+    LOCATION_NAME("locationName", "locationNameTokens"),
+    CITY("city", null),
+    PROVINCE("province", null),
+    COUNTRY("country", null),
+    POSTAL_CODE("postalCode", null);
+
+    private static final String SEARCH_KEYS = "searchKeys.";
+
+    private final String key;
+    private final String tokensKey;
+
+    EventSearchField(String key, String tokensKey) {
+        this.key = key;
+        this.tokensKey = tokensKey;
+    }
+
+    public String getPath() {
+        return SEARCH_KEYS + this.key;
+    }
+
+    public String getTokensPath() {
+        return SEARCH_KEYS + this.tokensKey;
+    }
+
+    public boolean isTokenized() {
+        return this.tokensKey != null;
+    }
+}
@@ -0,0 +1,20 @@
+package app.sportahub.eventservice.repository.search;
+
+import app.sportahub.eventservice.model.event.Event;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@code searchKeys} of an event in sync with its searchable fields by deriving them right before the
+ * event is written as a whole.
+ */
+@Component
+public class EventSearchKeysListener extends AbstractMongoEventListener<Event> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Event> event) {
+        Event source = event.getSource();
+        source.setSearchKeys(SearchTextNormalizer.searchKeysOf(source));
+    }
+}
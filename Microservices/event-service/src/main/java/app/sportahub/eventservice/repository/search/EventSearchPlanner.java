@@ -0,0 +1,110 @@
+package app.sportahub.eventservice.repository.search;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Plans the predicate of a text search filter against the normalized {@code searchKeys} of events, picking the
+ * cheapest strategy the input allows:
+ * <ul>
+ *     <li>{@link Strategy#TOKEN_PREFIX} for names, each input word matching the start of a word of the name;</li>
+ *     <li>{@link Strategy#EQUALITY} for the other fields;</li>
+ *     <li>{@link Strategy#PREFIX} for the other fields when the input ends with {@code *};</li>
+ *     <li>{@link Strategy#REGEX} only when the input has a {@code *} elsewhere, or no word for a name.</li>
+ * </ul>
+ * All strategies but the last are anchored, case-sensitive predicates on lowercase values, so MongoDB answers them
+ * with index bounds instead of evaluating a regular expression against every event.
+ */
+public final class EventSearchPlanner {
+
+    private static final char WILDCARD = '*';
+
+    public enum Strategy {
+        EQUALITY,
+        PREFIX,
+        TOKEN_PREFIX,
+        REGEX
+    }
+
+    public record SearchPredicate(EventSearchField field, Strategy strategy, Criteria criteria) {
+    }
+
+    private EventSearchPlanner() {
+    }
+
+    /**
+     * Plans the predicate matching {@code input} on {@code field}.
+     *
+     * @return the planned predicate, or {@code null} if the input is blank and filters nothing
+     */
+    public static SearchPredicate plan(EventSearchField field, String input) {
+        if (input == null) {
+            return null;
+        }
+        String stripped = input.strip();
+        boolean trailingWildcard = stripped.endsWith(String.valueOf(WILDCARD));
+        while (stripped.endsWith(String.valueOf(WILDCARD))) {
+            stripped = stripped.substring(0, stripped.length() - 1);
+        }
+
+        String value = field == EventSearchField.POSTAL_CODE
+                ? SearchTextNormalizer.normalizePostalCode(stripped)
+                : SearchTextNormalizer.normalize(stripped);
+        if (value == null) {
+            return null;
+        }
+
+        if (value.indexOf(WILDCARD) >= 0) {
+            return regex(field, value);
+        }
+
+        if (field.isTokenized()) {
+            List<String> tokens = SearchTextNormalizer.tokenize(value);
+            if (tokens.isEmpty()) {
+                return regex(field, value);
+            }
+            Criteria criteria = Criteria.where(field.getTokensPath());
+            if (tokens.size() == 1) {
+                criteria.regex("^" + tokens.getFirst());
+            } else {
+                criteria.all(tokens.stream().map(token -> Pattern.compile("^" + token)).toArray());
+            }
+            return new SearchPredicate(field, Strategy.TOKEN_PREFIX, criteria);
+        }
+
+        if (trailingWildcard) {
+            return new SearchPredicate(field, Strategy.PREFIX,
+                    Criteria.where(field.getPath()).regex("^" + escape(value)));
+        }
+        return new SearchPredicate(field, Strategy.EQUALITY, Criteria.where(field.getPath()).is(value));
+    }
+
+    private static SearchPredicate regex(EventSearchField field, String value) {
+        StringBuilder pattern = new StringBuilder();
+        for (String part : value.split(Pattern.quote(String.valueOf(WILDCARD)), -1)) {
+            if (!pattern.isEmpty()) {
+                pattern.append(".*");
+            }
+            pattern.append(escape(part));
+        }
+        return new SearchPredicate(field, Strategy.REGEX, Criteria.where(field.getPath()).regex(pattern.toString()));
+    }
+
+    /**
+     * Escapes every non-alphanumeric character with a backslash. Unlike {@code \Q...\E} quoting, this keeps the
+     * literal prefix of anchored patterns recognizable by MongoDB's query planner.
+     */
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package app.sportahub.eventservice.repository.search;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.Location;
+import app.sportahub.eventservice.model.event.SearchKeys;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes text the same way for stored {@link SearchKeys} and for search input, so that both sides of a search
+ * predicate compare equal regardless of case, accents and spacing.
+ */
+public final class SearchTextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Lowercases the text, strips its accents and collapses its whitespace.
+     *
+     * @return the normalized text, or {@code null} if the text is {@code null} or blank
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text.strip(), Normalizer.Form.NFD);
+        String normalized = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+
+    /**
+     * Normalizes a postal code, which is compared without any whitespace.
+     */
+    public static String normalizePostalCode(String postalCode) {
+        String normalized = normalize(postalCode);
+        return normalized == null ? null : normalized.replace(" ", "");
+    }
+
+    /**
+     * Splits the normalized text into its alphanumeric words.
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        if (normalized == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Derives the {@link SearchKeys} of an event from its current name, types and location.
+     */
+    public static SearchKeys searchKeysOf(Event event) {
+        Location location = event.getLocation() == null ? new Location() : event.getLocation();
+        return SearchKeys.builder()
+                .withEventName(normalize(event.getEventName()))
+                .withEventNameTokens(tokenize(event.getEventName()))
+                .withEventType(normalize(event.getEventType()))
+                .withSportType(normalize(event.getSportType()))
+                .withLocationName(normalize(location.getName()))
+                .withLocationNameTokens(tokenize(location.getName()))
+                .withCity(normalize(location.getCity()))
+                .withProvince(normalize(location.getProvince()))
+                .withCountry(normalize(location.getCountry()))
+                .withPostalCode(normalizePostalCode(location.getPostalCode()))
+                .build();
+    }
+}
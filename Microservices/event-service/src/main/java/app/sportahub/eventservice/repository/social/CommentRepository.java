@@ -1,7 +1,14 @@
 package app.sportahub.eventservice.repository.social;
 
 import app.sportahub.eventservice.model.social.Comment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface CommentRepository extends MongoRepository<Comment, String> {
+    Page<Comment> findByPostId(String postId, Pageable pageable);
+
+    Comment deleteByIdAndPostId(String id, String postId);
+
+    void deleteByPostId(String postId);
 }
@@ -1,12 +1,21 @@
 package app.sportahub.eventservice.repository.social;
 
 import app.sportahub.eventservice.model.social.Post;
+import app.sportahub.eventservice.repository.CommentingPostRepository;
+import app.sportahub.eventservice.repository.PostFeedRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface PostRepository extends MongoRepository<Post, String> {
+public interface PostRepository extends MongoRepository<Post, String>, PostFeedRepository,
+        CommentingPostRepository {
     Page<Post> findByEventId(String eventId, Pageable pageable);
+
+    Optional<Post> findByIdAndEventId(String id, String eventId);
+
+    boolean existsByIdAndEventId(String id, String eventId);
 }
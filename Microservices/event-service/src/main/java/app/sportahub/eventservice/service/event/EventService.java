@@ -11,7 +11,10 @@ import org.springframework.http.ResponseEntity;
 import app.sportahub.eventservice.dto.request.event.EventCancellationRequest;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.WhitelistRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventRingResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.dto.response.ParticipantResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.enums.EventSortingField;
@@ -27,6 +30,10 @@ public interface EventService {
 
     ResponseEntity<?> getRelevantEvents(double longitude, double latitude, double radius, boolean radiusExpansion, boolean paginate, int page, int size);
 
+    ResponseEntity<?> getRelevantEventSummaries(double longitude, double latitude, double radius, boolean radiusExpansion, boolean paginate, int page, int size);
+
+    List<EventRingResponse> getNearestEvents(double longitude, double latitude, int limit);
+
     EventResponse createEvent(EventRequest eventRequest);
 
     EventResponse updateEvent(String id, EventRequest eventRequest);
@@ -47,6 +54,14 @@ public interface EventService {
 
     Page<EventResponse> getEventsCreatedByUserId(String userId, int page, int size, SortDirection sort, EventSortingField field);
 
+    Page<EventSummaryResponse> getEventSummariesByParticipantId(String userId, int page, int size, SortDirection sort, EventSortingField field);
+
+    Page<EventSummaryResponse> getEventSummariesCreatedByUserId(String userId, int page, int size, SortDirection sort, EventSortingField field);
+
+    CursorPageResponse<EventResponse> scrollEventsByParticipantId(String userId, String cursor, int size, SortDirection sort, EventSortingField field);
+
+    CursorPageResponse<EventResponse> scrollEventsCreatedByUserId(String userId, String cursor, int size, SortDirection sort, EventSortingField field);
+
     EventResponse cancelEvent(String id, EventCancellationRequest cancelRequest);
 
     Page<EventResponse> searchEvents(String eventName,
@@ -65,10 +80,31 @@ public interface EventService {
                                      String createdBy,
                                      Boolean isPrivate,
                                      List<SkillLevelEnum> requiredSkillLevel,
+                                     Boolean hasOpenSlots,
                                      Pageable pageable,
                                      double longitude,
                                      double latitude);
 
+    Page<EventSummaryResponse> searchEventSummaries(String eventName,
+                                                    String eventType,
+                                                    String sportType,
+                                                    String locationName,
+                                                    String city,
+                                                    String province,
+                                                    String country,
+                                                    String postalCode,
+                                                    String date,
+                                                    String startTime,
+                                                    String endTime,
+                                                    String duration,
+                                                    String maxParticipants,
+                                                    String createdBy,
+                                                    Boolean isPrivate,
+                                                    List<SkillLevelEnum> requiredSkillLevel,
+                                                    Boolean hasOpenSlots,
+                                                    Pageable pageable,
+                                                    double longitude,
+                                                    double latitude);
 
     ReactionResponse reactToEvent(String id, ReactionType reaction);
 
@@ -5,17 +5,19 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 
 import app.sportahub.eventservice.exception.event.*;
-import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
-import app.sportahub.kafka.events.BaseEvent;
-import app.sportahub.kafka.events.notification.NotificationEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
@@ -23,13 +25,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import app.sportahub.eventservice.dto.request.event.EventCancellationRequest;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.ParticipantRequest;
 import app.sportahub.eventservice.dto.request.event.ReactionRequest;
 import app.sportahub.eventservice.dto.request.event.WhitelistRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventRingResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.dto.response.ParticipantResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.enums.EventSortingField;
@@ -39,11 +45,17 @@ import app.sportahub.eventservice.enums.SortDirection;
 import app.sportahub.eventservice.mapper.event.EventMapper;
 import app.sportahub.eventservice.model.event.Event;
 import app.sportahub.eventservice.model.event.EventCancellation;
+import app.sportahub.eventservice.model.event.EventSummary;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
 import app.sportahub.eventservice.model.event.participant.Participant;
 import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
 import app.sportahub.eventservice.model.event.reactor.Reaction;
 import app.sportahub.eventservice.model.event.reactor.ReactionType;
+import app.sportahub.eventservice.repository.EventWindow;
 import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
@@ -54,6 +66,30 @@ import org.springframework.data.domain.*;
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    private static final double MAX_RADIUS_KM = 100;
+    private static final List<Double> SEARCH_RADII_KM = List.of(25.0, 50.0, MAX_RADIUS_KM);
+    private static final List<Double> NEAREST_EVENT_RINGS_KM = List.of(5.0, 10.0, 20.0, 40.0, 80.0, MAX_RADIUS_KM);
+    private static final int MAX_NEAREST_EVENTS = 200;
+    private static final Map<String, Function<EventRequest, Object>> REQUESTED_FIELDS = Map.ofEntries(
+            Map.entry("eventName", EventRequest::eventName),
+            Map.entry("eventType", EventRequest::eventType),
+            Map.entry("sportType", EventRequest::sportType),
+            Map.entry("location", EventRequest::location),
+            Map.entry("date", EventRequest::date),
+            Map.entry("startTime", EventRequest::startTime),
+            Map.entry("endTime", EventRequest::endTime),
+            Map.entry("duration", EventRequest::duration),
+            Map.entry("maxParticipants", EventRequest::maxParticipants),
+            Map.entry("participants", EventRequest::participants),
+            Map.entry("createdBy", EventRequest::createdBy),
+            Map.entry("teams", EventRequest::teams),
+            Map.entry("cutOffTime", EventRequest::cutOffTime),
+            Map.entry("description", EventRequest::description),
+            Map.entry("isPrivate", EventRequest::isPrivate),
+            Map.entry("whitelistedUsers", EventRequest::whitelistedUsers),
+            Map.entry("requiredSkillLevel", EventRequest::requiredSkillLevel));
+    private static final List<String> PARTICIPANT_COUNTER_FIELDS = List.of("participantCount", "openSlots");
+
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final OrchestrationServiceProducer orchestrationServiceProducer;
@@ -83,6 +119,11 @@ public class EventServiceImpl implements EventService {
 
     /**
      * Returns either a paginated list or a regular list of EventResponse objects that are within a certain radius of a given location.
+     * <p>
+     * When radius expansion is requested, the radius is doubled until it reaches {@code MAX_RADIUS_KM} and every
+     * radius of that ladder is evaluated in a single query, returning the events of the smallest radius that
+     * contains at least one event.
+     * </p>
      *
      * @param longitude the longitude of the location to search around
      * @param latitude the latitude of the location to search around
@@ -94,32 +135,133 @@ public class EventServiceImpl implements EventService {
      *
      * @return a {@Link Pageable}  or {@Link List} of {@Link EventResponse} objects
      * @throws EventsNotFoundException if no events are found within the specified radius
+     * @throws InvalidSearchRadiusException if the radius is not a positive number
     */
     @Override
     public ResponseEntity<?> getRelevantEvents(double longitude, double latitude ,double radius, boolean radiusExpansion, boolean paginate, int page, int size){
+        validateRadius(radius);
 
         GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
-        Distance distance = new Distance(radius, Metrics.KILOMETERS);
         Pageable pageable =  paginate ? PageRequest.of(page, size) : Pageable.unpaged();
 
-        Page<Event> events = eventRepository.findByLocationCoordinatesNear(point, distance, pageable);
-
-        while(events.isEmpty() && radius < 100 && radiusExpansion){
-            radius = radius*2;
-            distance = new Distance(radius, Metrics.KILOMETERS);
-            events = eventRepository.findByLocationCoordinatesNear(point, distance, pageable);
+        Page<Event> events;
+        if (radiusExpansion) {
+            events = eventRepository.findNearWithinRadii(point, expandingRadii(radius), pageable)
+                    .map(GeoResult::getContent);
+        } else {
+            events = eventRepository.findByLocationCoordinatesNear(point, new Distance(radius, Metrics.KILOMETERS), pageable);
         }
 
         return ResponseEntity.ok(paginate ? events.map(eventMapper::eventToEventResponse):
                 events.getContent().stream().map(eventMapper::eventToEventResponse).toList());
     }
 
+    /**
+     * Returns the summaries of the events within a certain radius of a given location, as either a paginated
+     * list or a regular list. Only the {@link EventSummary} fields of each event are fetched, which is all a
+     * map pin or a list row needs.
+     *
+     * @param longitude the longitude of the location to search around
+     * @param latitude the latitude of the location to search around
+     * @param radius the radius around the location to search within
+     * @param radiusExpansion whether to expand the radius if no events are found
+     * @param paginate whether to return a paginated list or not
+     * @param page the page number to return if paginated
+     * @param size the number of events per page if paginated
+     * @return a {@link Page} or {@link List} of {@link EventSummaryResponse} objects, each with its distance
+     * @throws InvalidSearchRadiusException if the radius is not a positive number
+     * @see #getRelevantEvents
+     */
+    @Override
+    public ResponseEntity<?> getRelevantEventSummaries(double longitude, double latitude, double radius,
+                                                       boolean radiusExpansion, boolean paginate, int page, int size) {
+        validateRadius(radius);
+        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
+        Pageable pageable = paginate ? PageRequest.of(page, size) : Pageable.unpaged();
+        List<Double> radii = radiusExpansion ? expandingRadii(radius) : List.of(radius);
+
+        Page<EventSummaryResponse> summaries = eventRepository.findSummariesNearWithinRadii(point, radii, pageable)
+                .map(result -> eventMapper.eventSummaryToEventSummaryResponse(result.getContent(),
+                        result.getDistance().getValue()));
+        log.info("EventServiceImpl::getRelevantEventSummaries: Retrieved {} event summaries near ({}, {})",
+                summaries.getNumberOfElements(), longitude, latitude);
+
+        return ResponseEntity.ok(paginate ? summaries : summaries.getContent());
+    }
+
+    /**
+     * Rejects radii that are not positive, which could never be doubled up to {@code MAX_RADIUS_KM}.
+     */
+    private static void validateRadius(double radius) {
+        if (!(radius > 0)) {
+            throw new InvalidSearchRadiusException(radius);
+        }
+    }
+
+    /**
+     * Doubles the given radius until it reaches {@code MAX_RADIUS_KM}, starting with the radius itself.
+     */
+    private static List<Double> expandingRadii(double radius) {
+        List<Double> radii = new ArrayList<>(List.of(radius));
+        while (radius < MAX_RADIUS_KM) {
+            radius = radius * 2;
+            radii.add(radius);
+        }
+        return radii;
+    }
+
+    /**
+     * Returns the events nearest to a given location, up to {@code MAX_RADIUS_KM} away, grouped by distance ring.
+     * <p>
+     * The nearest events are fetched in a single query and each one is placed in the smallest ring of
+     * {@code NEAREST_EVENT_RINGS_KM} that contains it, so clients can expand the search radius ring by ring
+     * without any further request. At most {@code MAX_NEAREST_EVENTS} events are returned, whatever the limit asked
+     * for.
+     * </p>
+     *
+     * @param longitude the longitude of the location to search around
+     * @param latitude  the latitude of the location to search around
+     * @param limit     the maximum number of events to return across all rings
+     * @return a {@link List} of {@link EventRingResponse} objects, ordered from the innermost ring outwards
+     * @throws InvalidPageSizeException if the limit is less than one
+     */
+    @Override
+    public List<EventRingResponse> getNearestEvents(double longitude, double latitude, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageSizeException(limit);
+        }
+        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
+        GeoResults<Event> events = eventRepository.findNearestEvents(point, MAX_RADIUS_KM,
+                Math.min(limit, MAX_NEAREST_EVENTS));
+
+        List<List<EventResponse>> rings = new ArrayList<>();
+        NEAREST_EVENT_RINGS_KM.forEach(ring -> rings.add(new ArrayList<>()));
+
+        int ringIndex = 0;
+        for (GeoResult<Event> result : events) {
+            double distance = result.getDistance().getValue();
+            while (ringIndex < NEAREST_EVENT_RINGS_KM.size() - 1 && distance > NEAREST_EVENT_RINGS_KM.get(ringIndex)) {
+                ringIndex++;
+            }
+            rings.get(ringIndex).add(eventMapper.eventToEventResponse(result.getContent(), distance));
+        }
+
+        log.info("EventServiceImpl::getNearestEvents: Retrieved {} events near ({}, {})",
+                events.getContent().size(), longitude, latitude);
+        List<EventRingResponse> ringResponses = new ArrayList<>();
+        for (int i = 0; i < NEAREST_EVENT_RINGS_KM.size(); i++) {
+            ringResponses.add(new EventRingResponse(NEAREST_EVENT_RINGS_KM.get(i), rings.get(i)));
+        }
+        return ringResponses;
+    }
+
     /**
      * Creates an event with the provided information found in the {@link EventRequest}.
      *
      * @param eventRequest the new data to create the event with
      * @return an {@link EventResponse} object representing the event that was created
      * @throws EventAlreadyExistsException if an event with the same name is created
+     * @throws InvalidCutOffTimeException if the cut-off time is not an ISO-8601 local date-time
      */
     @Override
     public EventResponse createEvent(EventRequest eventRequest) {
@@ -151,57 +293,57 @@ public class EventServiceImpl implements EventService {
                 .withParticipants(participants)
                 .withReactions(new ArrayList<>())
                 .build();
+        event.setCutOffTime(canonicalCutOffTime(event.getCutOffTime()));
 
         if (event.getLocation().getCoordinates() == null) {
             throw new InvalidEventCoordinatesReceivedException();
         }
+        List<OutboxMessage> outbox = new ArrayList<>();
+        recordParticipationChanges(outbox, event, Set.of());
+        event.setOutbox(outbox);
+        event.setParticipationsPublished(true);
 
-        Event savedEvent = eventRepository.save(event);
+        Event savedEvent = eventRepository.save(withCounters(event));
         log.info("EventServiceImpl::createEvent: Event with id: {} was successfully created", savedEvent.getId());
         return eventMapper.eventToEventResponse(savedEvent);
     }
 
     /**
      * Updates an existing event with the specified ID. This method performs a full update,
-     * replacing all fields of the event with those provided in the {@link EventRequest}.
+     * replacing all fields of the event with those provided in the {@link EventRequest}. Only these fields are
+     * written, so reactions, participants joining concurrently and pending outbox messages are kept.
      *
      * @param id           the unique identifier of the event to update
      * @param eventRequest the new data to update the event with
      * @return an {@link EventResponse} object representing the updated event
      * @throws EventDoesNotExistException if no event with the specified ID is found
+     * @throws InvalidCutOffTimeException if the cut-off time is not an ISO-8601 local date-time
      */
     @Override
     public EventResponse updateEvent(String id, EventRequest eventRequest) {
-        eventRepository.findById(id)
+        Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new EventDoesNotExistException(id));
 
         Event updatedEvent = eventMapper.eventRequestToEvent(eventRequest)
                 .toBuilder()
                 .withId(id)
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now())).build();
-
-        Event savedEvent = eventRepository.save(updatedEvent);
+                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                .build();
+        updatedEvent.setCutOffTime(canonicalCutOffTime(updatedEvent.getCutOffTime()));
+
+        List<OutboxMessage> outbox = new ArrayList<>();
+        recordParticipationChanges(outbox, updatedEvent, participantIds(existingEvent));
+        notifyParticipants(outbox, updatedEvent, "Event Updated",
+                "The event '" + updatedEvent.getEventName() + "' has been updated.",
+                Map.of("eventId", id), "https://example.com/icons/event-updated.png");
+
+        Set<String> fields = new HashSet<>(REQUESTED_FIELDS.keySet());
+        fields.add("updatedAt");
+        fields.addAll(PARTICIPANT_COUNTER_FIELDS);
+        Event savedEvent = eventRepository.updateFields(withCounters(updatedEvent), fields, outbox)
+                .orElseThrow(() -> new EventDoesNotExistException(id));
         log.info("EventServiceImpl::updateEvent: Event with id:{} was updated", savedEvent.getId());
 
-        List<String> userIds = savedEvent.getParticipants().stream()
-                .map(Participant::getUserId)
-                .toList();
-
-        userIds.stream()
-                .map(userId -> new NotificationEvent(
-                        new BaseEvent(UUID.randomUUID().toString(), "request", "event-service", Instant.now(), UUID.randomUUID().toString()),
-                        userId,
-                        "Event Updated",
-                        "The event '" + savedEvent.getEventName() + "' has been updated.",
-                        Map.of("eventId", savedEvent.getId()),
-                        "/events/" + savedEvent.getId(),
-                        "https://example.com/icons/event-updated.png",
-                        null,
-                        null,
-                        true
-                ))
-                .forEach(orchestrationServiceProducer::sendNotificationEvent);
-
         return eventMapper.eventToEventResponse(savedEvent);
     }
 
@@ -213,42 +355,130 @@ public class EventServiceImpl implements EventService {
      * @param eventRequest the partial data to update the event with
      * @return an {@link EventResponse} object representing the patched event
      * @throws EventDoesNotExistException if no event with the specified ID is found
+     * @throws InvalidCutOffTimeException if the cut-off time is not an ISO-8601 local date-time
      */
     @Override
     public EventResponse patchEvent(String id, EventRequest eventRequest) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventDoesNotExistException(id));
 
+        Set<String> participantsBefore = participantIds(event);
         eventMapper.patchEventFromRequest(eventRequest, event);
+        if (eventRequest.cutOffTime() != null) {
+            event.setCutOffTime(canonicalCutOffTime(event.getCutOffTime()));
+        }
         event.setUpdatedAt(Timestamp.valueOf(LocalDateTime.now()));
 
-        Event savedEvent = eventRepository.save(event);
+        List<OutboxMessage> outbox = new ArrayList<>();
+        recordParticipationChanges(outbox, event, participantsBefore);
+        notifyParticipants(outbox, event, "Event Modified",
+                "Some details of the event '" + event.getEventName() + "' have been changed.",
+                Map.of("eventId", id), "https://example.com/icons/event-modified.png");
+
+        Set<String> fields = new HashSet<>();
+        REQUESTED_FIELDS.forEach((field, value) -> {
+            if (value.apply(eventRequest) != null) {
+                fields.add(field);
+            }
+        });
+        fields.add("updatedAt");
+        if (fields.contains("participants") || fields.contains("maxParticipants")) {
+            fields.addAll(PARTICIPANT_COUNTER_FIELDS);
+        }
+        Event savedEvent = eventRepository.updateFields(withCounters(event), fields, outbox)
+                .orElseThrow(() -> new EventDoesNotExistException(id));
         log.info("EventServiceImpl::patchEvent: Event with id:{} was patched", savedEvent.getId());
 
-        List<String> userIds = savedEvent.getParticipants().stream()
+        return eventMapper.eventToEventResponse(savedEvent);
+    }
+
+    /**
+     * Rewrites a cut-off time in {@link Event#CUT_OFF_TIME_FORMAT}, so that the registration guard of
+     * {@code addParticipant} can compare the stored value against the current time as a string.
+     *
+     * @throws InvalidCutOffTimeException if the cut-off time is not an ISO-8601 local date-time
+     */
+    private static String canonicalCutOffTime(String cutOffTime) {
+        try {
+            return LocalDateTime.parse(cutOffTime).format(Event.CUT_OFF_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCutOffTimeException(cutOffTime);
+        }
+    }
+
+    /**
+     * Adds a single notification addressed to every participant of an event to the messages appended to its
+     * outbox, so that it is stored by the same write as the change itself. The outbox relay sends it to Kafka in the
+     * background, where it is expanded into one notification per participant.
+     */
+    private void notifyParticipants(List<OutboxMessage> outbox, Event event, String title, String body,
+                                    Map<String, String> data, String icon) {
+        List<String> userIds = Optional.ofNullable(event.getParticipants())
+                .orElseGet(List::of)
+                .stream()
                 .map(Participant::getUserId)
                 .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
 
-        userIds.stream()
-                .map(userId -> new NotificationEvent(
-                        new BaseEvent(UUID.randomUUID().toString(), "request", "event-service", Instant.now(), UUID.randomUUID().toString()),
-                        userId,
-                        "Event Modified",
-                        "Some details of the event '" + savedEvent.getEventName() + "' have been changed.",
-                        Map.of("eventId", savedEvent.getId()),
-                        "/events/" + savedEvent.getId(),
-                        "https://example.com/icons/event-modified.png",
-                        null,
-                        null,
-                        true
-                ))
-                .forEach(orchestrationServiceProducer::sendNotificationEvent);
+        outbox.add(OutboxMessage.builder()
+                .withMessageId(UUID.randomUUID().toString())
+                .withCreatedAt(Instant.now())
+                .withUserIds(userIds)
+                .withMessageTitle(title)
+                .withMessageBody(body)
+                .withData(data)
+                .withClickAction("/events/" + event.getId())
+                .withIcon(icon)
+                .build());
+    }
 
-        return eventMapper.eventToEventResponse(savedEvent);
+    /**
+     * Adds the users who joined or left an event through a write that replaces its participants as a whole to the
+     * messages appended to its outbox, so that these changes are published like joins and leaves made one at a time.
+     *
+     * @param outbox             the messages to append to the outbox of the event
+     * @param event              the event as it is about to be saved
+     * @param participantsBefore the ids of the participants before the write
+     */
+    private void recordParticipationChanges(List<OutboxMessage> outbox, Event event, Set<String> participantsBefore) {
+        Set<String> participantsAfter = participantIds(event);
+        participantsAfter.stream()
+                .filter(userId -> !participantsBefore.contains(userId))
+                .forEach(userId -> outbox.add(OutboxMessage.participationChanged(userId, true)));
+        participantsBefore.stream()
+                .filter(userId -> !participantsAfter.contains(userId))
+                .forEach(userId -> outbox.add(OutboxMessage.participationChanged(userId, false)));
+    }
+
+    private static Set<String> participantIds(Event event) {
+        Set<String> userIds = new LinkedHashSet<>();
+        Optional.ofNullable(event.getParticipants())
+                .orElseGet(List::of)
+                .forEach(participant -> userIds.add(participant.getUserId()));
+        return userIds;
     }
 
     /**
-     * Deletes an event from the database using the event id
+     * Recomputes the denormalized participant, like and open slot counters of an event from its embedded lists,
+     * for writes that replace the participants, reactions or capacity of the event as a whole.
+     */
+    private Event withCounters(Event event) {
+        int participantCount = event.getParticipants() == null ? 0 : event.getParticipants().size();
+        int likeCount = event.getReactions() == null ? 0 : (int) event.getReactions().stream()
+                .filter(reaction -> reaction.getReactionType() == ReactionType.LIKE)
+                .count();
+
+        event.setParticipantCount(participantCount);
+        event.setLikeCount(likeCount);
+        event.setOpenSlots(event.getMaxParticipants() == null ? null : event.getMaxParticipants() - participantCount);
+        return event;
+    }
+
+    /**
+     * Deletes an event from the database using the event id. Its outbox is deleted along with it, so its
+     * participants leaving the event are published directly instead, on a best-effort basis.
      *
      * @param id The id of the event to be deleted
      * @throws EventDoesNotExistException if there is no event associated with the provided id
@@ -259,6 +489,26 @@ public class EventServiceImpl implements EventService {
         Event evt = eventRepository.findEventById(id).orElseThrow(() -> new EventDoesNotExistException(id));
         eventRepository.delete(evt);
         log.info("deleteEvent: Event with id: {} was successfully deleted", id);
+
+        participantIds(evt).forEach(userId -> publishLeave(id, userId));
+    }
+
+    private void publishLeave(String eventId, String userId) {
+        String messageId = UUID.randomUUID().toString();
+        try {
+            orchestrationServiceProducer.sendParticipationChangedEvent(new ParticipationChangedEvent(
+                            new BaseEvent(messageId, "request", "event-service", Instant.now(), messageId),
+                            eventId, userId, false))
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.warn("EventServiceImpl::deleteEvent: user {} leaving deleted event {} could not be "
+                                    + "published", userId, eventId, e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.warn("EventServiceImpl::deleteEvent: user {} leaving deleted event {} could not be published",
+                    userId, eventId, e);
+        }
     }
 
     /**
@@ -302,7 +552,7 @@ public class EventServiceImpl implements EventService {
     /**
      * Allows a user to join an event if they are eligible and the event is not full.
      *
-     * <p>This method retrieves the event by its ID and enforces the following checks:
+     * <p>This method enforces the following checks:
      * <ul>
      *   <li>Throws an {@link EventDoesNotExistException} if the event with the specified ID does not exist.</li>
      *   <li>Throws a {@link UserIsNotEventWhitelistedException} if the event is private and the user is not whitelisted.</li>
@@ -311,8 +561,9 @@ public class EventServiceImpl implements EventService {
      *   <li>Throws a {@link UserAlreadyParticipantException} if the user is already participating in the event.</li>
      * </ul>
      *
-     * <p>If all checks pass, the user is added as a participant to the event, and the updated event
-     * is saved to the repository.
+     * <p>These checks are part of a single conditional update that adds the user to the event's participants,
+     * so concurrent joins cannot overwrite each other or exceed the event's capacity. The event is only read
+     * when the update is rejected, to report which check failed.
      *
      * <p><strong>Note:</strong> This method does not currently verify whether the user
      * exists. User validation will be implemented when inter-service communication is established.
@@ -327,43 +578,48 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public ParticipantResponse joinEvent(String id, String userId) {
+        //TODO: Check if user exists, to be implemented once communications between services are established
+
+        Participant participant = Participant.builder()
+                .withUserId(userId)
+                .withAttendStatus(ParticipantAttendStatus.JOINED)
+                .withJoinedOn(LocalDateTime.now().toLocalDate())
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!eventRepository.addParticipant(id, participant, now)) {
+            throw joinRejection(id, userId, now);
+        }
+        log.info("EventServiceImpl::joinEvent: User with id:{} joined event with id:{}", userId, id);
+
+        return new ParticipantResponse(participant.getUserId(), participant.getAttendStatus(),
+                participant.getJoinedOn());
+    }
+
+    private ResponseStatusException joinRejection(String id, String userId, LocalDateTime now) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventDoesNotExistException(id));
 
-        //TODO: Check if user exists, to be implemented once communications between services are established
-
-        if (event.getIsPrivate() && !event.getWhitelistedUsers().contains(userId)) {
-            throw new UserIsNotEventWhitelistedException(id, userId);
+        if (Boolean.TRUE.equals(event.getIsPrivate()) && !event.getWhitelistedUsers().contains(userId)) {
+            return new UserIsNotEventWhitelistedException(id, userId);
         }
 
-        if (LocalDateTime.parse(event.getCutOffTime()).isBefore(LocalDateTime.now())) {
-            throw new EventRegistrationClosedException(id);
+        if (!LocalDateTime.parse(event.getCutOffTime()).isAfter(now)) {
+            return new EventRegistrationClosedException(id);
         }
 
         if (event.getParticipants().size() >= event.getMaxParticipants()) {
-            throw new EventFullException(id, userId);
+            return new EventFullException(id, userId);
         }
 
         boolean isAlreadyParticipant = event.getParticipants().stream()
                 .anyMatch(participant -> participant.getUserId().equals(userId));
         if (isAlreadyParticipant) {
-            throw new UserAlreadyParticipantException(id, userId);
+            return new UserAlreadyParticipantException(id, userId);
         }
 
-        List<Participant> previousParticipants = new ArrayList<>(event.getParticipants());
-
-        Participant participant = Participant.builder()
-                .withUserId(userId)
-                .withAttendStatus(ParticipantAttendStatus.JOINED)
-                .withJoinedOn(LocalDateTime.now().toLocalDate())
-                .build();
-
-        event.getParticipants().add(participant);
-        eventRepository.save(event);
-        log.info("EventServiceImpl::joinEvent: User with id:{} joined event with id:{}", userId, id);
-
-        return new ParticipantResponse(participant.getUserId(), participant.getAttendStatus(),
-                participant.getJoinedOn());
+        // The event changed between the rejected update and this read, e.g. a slot was freed meanwhile.
+        return new EventFullException(id, userId);
     }
 
     /**
@@ -375,6 +631,9 @@ public class EventServiceImpl implements EventService {
      * the user's attendance status is updated to {@code CANCELLED} instead of removing them.
      * Otherwise, the user is removed from the participant list.
      * </p>
+     * <p>
+     * Only the participant being changed is updated in place, the rest of the event is left untouched.
+     * </p>
      *
      * @param eventId The unique identifier of the event the user wants to leave.
      * @param userId  The unique identifier of the user leaving the event.
@@ -386,10 +645,11 @@ public class EventServiceImpl implements EventService {
      */
     @Override
     public ParticipantResponse leaveEvent(String eventId, String userId) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findParticipation(eventId, userId)
                 .orElseThrow(() -> new EventDoesNotExistException(eventId));
 
-        Participant leavingParticipant = event.getParticipants()
+        Participant leavingParticipant = Optional.ofNullable(event.getParticipants())
+                .orElseGet(List::of)
                 .stream()
                 .filter(participant -> participant.getUserId().equals(userId))
                 .findFirst()
@@ -407,14 +667,19 @@ public class EventServiceImpl implements EventService {
                 (event.getDate().isEqual(currentDate) && event.getStartTime().isBefore(currentTime)))
             throw new EventAlreadyStartedException(eventId);
 
+        boolean updated;
         if (cutOffDateTime.isBefore(currentDateTime)) {
+            updated = eventRepository.cancelParticipant(eventId, userId);
             leavingParticipant.setAttendStatus(ParticipantAttendStatus.CANCELLED);
         } else {
-            event.getParticipants().removeIf(p -> p.getUserId().equals(userId));
+            updated = eventRepository.removeParticipant(eventId, userId);
             leavingParticipant.setAttendStatus(ParticipantAttendStatus.LEFT);
         }
 
-        eventRepository.save(event);
+        if (!updated) {
+            throw new UserNotAParticipantException(eventId, userId);
+        }
+
         log.info("EventServiceImpl::leaveEvent: User with id:{} left event with id:{}", userId, eventId);
         return new ParticipantResponse(
                 leavingParticipant.getUserId(),
@@ -463,6 +728,101 @@ public class EventServiceImpl implements EventService {
         return events.map(eventMapper::eventToEventResponse);
     }
 
+    /**
+     * Retrieves a paginated list of the summaries of the events that a specific user is participating in.
+     *
+     * @param userId the unique identifier of the user
+     * @param page   the page number to retrieve
+     * @param size   the number of events per page
+     * @param sort   the direction to sort the events
+     * @param field  the field to sort the events by
+     * @return a {@link Page} of {@link EventSummaryResponse} objects
+     * @see #getEventsByParticipantId
+     */
+    @Override
+    public Page<EventSummaryResponse> getEventSummariesByParticipantId(String userId, int page, int size,
+                                                                       SortDirection sort, EventSortingField field) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(toDirection(sort), field.getFieldName()));
+        Page<EventSummary> summaries = eventRepository.findSummariesByParticipantsUserId(userId, pageable);
+        log.info("EventServiceImpl::getEventSummariesByParticipantId: Retrieved {} event summaries that user {} participated in",
+                summaries.getNumberOfElements(), userId);
+        return summaries.map(eventMapper::eventSummaryToEventSummaryResponse);
+    }
+
+    /**
+     * Retrieves a paginated list of the summaries of the events created by a specific user.
+     *
+     * @param userId the unique identifier of the user who created the events
+     * @param page   the page number to retrieve
+     * @param size   the number of events per page
+     * @param sort   the direction to sort the events
+     * @param field  the field to sort the events by
+     * @return a {@link Page} of {@link EventSummaryResponse} objects
+     * @see #getEventsCreatedByUserId
+     */
+    @Override
+    public Page<EventSummaryResponse> getEventSummariesCreatedByUserId(String userId, int page, int size,
+                                                                       SortDirection sort, EventSortingField field) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(toDirection(sort), field.getFieldName()));
+        Page<EventSummary> summaries = eventRepository.findSummariesByCreatedBy(userId, pageable);
+        log.info("EventServiceImpl::getEventSummariesCreatedByUserId: Retrieved {} event summaries created by user {}",
+                summaries.getNumberOfElements(), userId);
+        return summaries.map(eventMapper::eventSummaryToEventSummaryResponse);
+    }
+
+    /**
+     * Retrieves a window of the events a specific user participates in, using keyset pagination: unlike
+     * {@link #getEventsByParticipantId}, deep windows cost the same as the first one and no total is counted.
+     *
+     * @param userId the unique identifier of the participant
+     * @param cursor the cursor returned with the previous window, or {@code null} for the first window
+     * @param size   the number of events per window
+     * @param sort   the direction to sort the events
+     * @param field  the field to sort the events by
+     * @return a {@link CursorPageResponse} of the events, with the cursor of the next window if there is one
+     * @throws InvalidEventCursorException if the cursor is malformed or was issued for another sort
+     */
+    @Override
+    public CursorPageResponse<EventResponse> scrollEventsByParticipantId(String userId, String cursor, int size,
+                                                                         SortDirection sort, EventSortingField field) {
+        EventWindow window = eventRepository.scrollByParticipant(userId, field, toDirection(sort), cursor, size);
+        log.info("EventServiceImpl::scrollEventsByParticipantId: Retrieved {} events that user {} participated in",
+                window.events().size(), userId);
+        return toCursorPage(window);
+    }
+
+    /**
+     * Retrieves a window of the events created by a specific user, using keyset pagination.
+     *
+     * @param userId the unique identifier of the user who created the events
+     * @param cursor the cursor returned with the previous window, or {@code null} for the first window
+     * @param size   the number of events per window
+     * @param sort   the direction to sort the events
+     * @param field  the field to sort the events by
+     * @return a {@link CursorPageResponse} of the events, with the cursor of the next window if there is one
+     * @throws InvalidEventCursorException if the cursor is malformed or was issued for another sort
+     * @see #scrollEventsByParticipantId
+     */
+    @Override
+    public CursorPageResponse<EventResponse> scrollEventsCreatedByUserId(String userId, String cursor, int size,
+                                                                         SortDirection sort, EventSortingField field) {
+        EventWindow window = eventRepository.scrollByCreator(userId, field, toDirection(sort), cursor, size);
+        log.info("EventServiceImpl::scrollEventsCreatedByUserId: Retrieved {} events created by user {}",
+                window.events().size(), userId);
+        return toCursorPage(window);
+    }
+
+    private static Sort.Direction toDirection(SortDirection sort) {
+        return sort == SortDirection.ASC ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    private CursorPageResponse<EventResponse> toCursorPage(EventWindow window) {
+        List<EventResponse> content = window.events().stream()
+                .map(eventMapper::eventToEventResponse)
+                .toList();
+        return new CursorPageResponse<>(content, window.nextCursor(), window.hasNext());
+    }
+
     /**
      * Cancels an event by updating its state to {@code CANCELLED}.
      * This method ensures that only the event creator or an admin can cancel an event.
@@ -496,29 +856,17 @@ public class EventServiceImpl implements EventService {
 
         event.setCancellation(cancellation);
 
-        Event savedEvent = eventRepository.save(event);
+        List<OutboxMessage> outbox = new ArrayList<>();
+        notifyParticipants(outbox, event, "Event Cancelled",
+                "The event '" + event.getEventName() + "' was cancelled. Reason: " + cancellation.getReason(),
+                Map.of("eventId", eventId, "cancelledBy", cancellation.getCancelledBy()),
+                "https://example.com/icons/event-cancelled.png");
+
+        Event savedEvent = eventRepository.updateFields(event, List.of("state", "updatedAt", "cancellation"), outbox)
+                .orElseThrow(() -> new EventDoesNotExistException(eventId));
         log.info("EventServiceImpl::cancelEvent: Event with id:{} was cancelled by user:{}", eventId,
                 authentication.getName());
 
-        List<String> userIds = savedEvent.getParticipants().stream()
-                .map(Participant::getUserId)
-                .toList();
-
-        userIds.stream()
-                .map(userId -> new NotificationEvent(
-                        new BaseEvent(UUID.randomUUID().toString(), "request", "event-service", Instant.now(), UUID.randomUUID().toString()),
-                        userId,
-                        "Event Cancelled",
-                        "The event '" + savedEvent.getEventName() + "' was cancelled. Reason: " + savedEvent.getCancellation().getReason(),
-                        Map.of("eventId", savedEvent.getId(), "cancelledBy", savedEvent.getCancellation().getCancelledBy()),
-                        "/events/" + savedEvent.getId(),
-                        "https://example.com/icons/event-cancelled.png",
-                        null,
-                        null,
-                        true
-                ))
-                .forEach(orchestrationServiceProducer::sendNotificationEvent);
-
         return eventMapper.eventToEventResponse(savedEvent);
     }
 
@@ -541,8 +889,12 @@ public class EventServiceImpl implements EventService {
      * @param createdBy         The identifier of the user who created the event (optional).
      * @param isPrivate         Whether the event is private (optional).
      * @param requiredSkillLevel A list of required skill levels for participants (optional).
+     * @param hasOpenSlots      Whether the event still has open slots (optional).
      * @param pageable          The pagination and sorting information.
-     * @return A paginated list of {@link EventResponse} objects matching the search criteria.
+     * @param longitude         The longitude of the location to search around.
+     * @param latitude          The latitude of the location to search around.
+     * @return A paginated list of {@link EventResponse} objects matching the search criteria, ordered by
+     * the pageable's sort or else by distance, and restricted to the smallest radius of {@code SEARCH_RADII_KM} containing a match.
      * @throws NoSearchCriteriaProvidedException if all search parameters are null.
      */
     @Override
@@ -562,76 +914,74 @@ public class EventServiceImpl implements EventService {
                                             String createdBy,
                                             Boolean isPrivate,
                                             List<SkillLevelEnum> requiredSkillLevel,
+                                            Boolean hasOpenSlots,
                                             Pageable pageable,
                                             double longitude,
                                             double latitude) {
-        if (eventName == null &&
-            eventType == null &&
-            sportType == null &&
-            locationName == null &&
-            city == null &&
-            province == null &&
-            country == null &&
-            postalCode == null &&
-            date == null &&
-            startTime == null &&
-            endTime == null &&
-            duration == null &&
-            maxParticipants == null &&
-            createdBy == null &&
-            isPrivate == null &&
-            requiredSkillLevel == null) {
-            throw new NoSearchCriteriaProvidedException();
-        }
-        int defaultRadius = 25;
+        requireSearchCriteria(eventName, eventType, sportType, locationName, city, province, country, postalCode,
+                date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate, requiredSkillLevel,
+                hasOpenSlots);
         GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
 
-        log.info("UserServiceImpl::searchUsers: User created a search query");
+        log.info("EventServiceImpl::searchEvents: User created a search query");
 
-        Page<Event> events = eventRepository.searchEvents(eventName, eventType, sportType, locationName, city, province, country, postalCode, date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate, requiredSkillLevel, pageable);
-        int finalDefaultRadius = defaultRadius;
-        List<Event> filteredEvents = events.stream().filter(event -> {
-            if(event.getLocation() != null && event.getLocation().getCoordinates() != null) {
-                double eventDistance = haversineDistance(point, event.getLocation().getCoordinates());
-                return !(eventDistance > finalDefaultRadius);
-            }
-            return false;
-        }).toList();
-
-        while(filteredEvents.isEmpty() && defaultRadius < 100) {
-            defaultRadius = defaultRadius * 2;
-            int finalDefaultRadius1 = defaultRadius * 2;
-            filteredEvents = events.stream().filter(event -> {
-                if(event.getLocation()!= null && event.getLocation().getCoordinates() != null) {
-                    double eventDistance = haversineDistance(point, event.getLocation().getCoordinates());
-                    return !(eventDistance > finalDefaultRadius1);
-                }
-                return false;
-            }).toList();
-        }
-        Page<Event> pagedFilteredEvents = new PageImpl<>(filteredEvents);
-
-        List<EventResponse> eventResponses = filteredEvents.stream()
-                .map(eventMapper::eventToEventResponse).toList();
+        GeoPage<Event> events = eventRepository.searchEventsNear(eventName, eventType, sportType, locationName, city,
+                province, country, postalCode, date, startTime, endTime, duration, maxParticipants, createdBy,
+                isPrivate, requiredSkillLevel, hasOpenSlots, point, SEARCH_RADII_KM, pageable);
 
-        return new PageImpl<>(eventResponses, pagedFilteredEvents.getPageable(), pagedFilteredEvents.getTotalElements());
+        return events.map(result -> eventMapper.eventToEventResponse(result.getContent(),
+                result.getDistance().getValue()));
     }
 
-    private double haversineDistance(GeoJsonPoint originPoint, GeoJsonPoint eventPoint) {
-        final double EARTH_RADIUS = 6371;
+    /**
+     * Searches for events like {@link #searchEvents}, but only fetches and returns the {@link EventSummary}
+     * fields of the matching events.
+     *
+     * @return A paginated list of {@link EventSummaryResponse} objects matching the search criteria, ordered and
+     * restricted like the results of {@link #searchEvents}.
+     * @throws NoSearchCriteriaProvidedException if all search parameters are null.
+     */
+    @Override
+    public Page<EventSummaryResponse> searchEventSummaries(String eventName,
+                                                           String eventType,
+                                                           String sportType,
+                                                           String locationName,
+                                                           String city,
+                                                           String province,
+                                                           String country,
+                                                           String postalCode,
+                                                           String date,
+                                                           String startTime,
+                                                           String endTime,
+                                                           String duration,
+                                                           String maxParticipants,
+                                                           String createdBy,
+                                                           Boolean isPrivate,
+                                                           List<SkillLevelEnum> requiredSkillLevel,
+                                                           Boolean hasOpenSlots,
+                                                           Pageable pageable,
+                                                           double longitude,
+                                                           double latitude) {
+        requireSearchCriteria(eventName, eventType, sportType, locationName, city, province, country, postalCode,
+                date, startTime, endTime, duration, maxParticipants, createdBy, isPrivate, requiredSkillLevel,
+                hasOpenSlots);
+        GeoJsonPoint point = new GeoJsonPoint(longitude, latitude);
 
-        double dlon = Math.toRadians(originPoint.getX() - eventPoint.getX());
-        double dlat = Math.toRadians(originPoint.getY() - eventPoint.getY());
+        log.info("EventServiceImpl::searchEventSummaries: User created a search query");
 
-        double originLatitude = Math.toRadians(originPoint.getY());
-        double eventLatitude = Math.toRadians(eventPoint.getY());
+        GeoPage<EventSummary> summaries = eventRepository.searchEventSummariesNear(eventName, eventType, sportType,
+                locationName, city, province, country, postalCode, date, startTime, endTime, duration,
+                maxParticipants, createdBy, isPrivate, requiredSkillLevel, hasOpenSlots, point, SEARCH_RADII_KM,
+                pageable);
 
-        double a = Math.pow(Math.sin(dlat / 2), 2)
-                + Math.pow(Math.sin(dlon / 2), 2)
-                * Math.cos(originLatitude)
-                * Math.cos(eventLatitude);
+        return summaries.map(result -> eventMapper.eventSummaryToEventSummaryResponse(result.getContent(),
+                result.getDistance().getValue()));
+    }
 
-        return EARTH_RADIUS * 2 * Math.asin(Math.sqrt(a));
+    private static void requireSearchCriteria(Object... criteria) {
+        if (Arrays.stream(criteria).allMatch(Objects::isNull)) {
+            throw new NoSearchCriteriaProvidedException();
+        }
     }
 
     /**
@@ -643,6 +993,7 @@ public class EventServiceImpl implements EventService {
      * @throws InvalidReactionException If the reaction type is not "LIKE" or "NO_REACTION".
      * @throws EventDoesNotExistException If the event with the given ID does not exist.
      * @throws ReactionAlreadySubmittedException If the user has already reacted with "LIKE" and tries to react again.
+     * <p>The reaction and the event's {@code likeCount} are changed together in a single atomic update.</p>
      */
     @Override
     public ReactionResponse reactToEvent(String eventId, ReactionType newReaction) {
@@ -654,43 +1005,23 @@ public class EventServiceImpl implements EventService {
             throw new InvalidReactionException();
         }
 
-        Event event = eventRepository.findEventById(eventId)
-                .orElseThrow(() -> new EventDoesNotExistException(eventId));
+        Reaction reaction = Reaction.builder()
+                .withUserId(userId)
+                .withReactionType(newReaction)
+                .withReactionDate(LocalDateTime.now())
+                .build();
 
-        Optional<Reaction> reactorToEventOpt = event.getReactions()
-                .stream()
-                .filter(reaction -> reaction.getUserId().equals(userId))
-                .findFirst();
-
-        Reaction reaction = new Reaction();
-
-        if(reactorToEventOpt.isPresent()) {
-            Reaction reactorToEvent = reactorToEventOpt.get();
-
-            if (newReaction == ReactionType.NO_REACTION) {
-                reaction = Reaction.builder()
-                        .withUserId(userId)
-                        .withReactionType(ReactionType.NO_REACTION)
-                        .withReactionDate(LocalDateTime.now())
-                        .build();
-                event.getReactions().remove(reactorToEvent);
-            } else {
-               throw new ReactionAlreadySubmittedException("event", eventId, userId);
-            }
-        } else {
-            if(newReaction == ReactionType.LIKE) {
-                reaction = Reaction.builder()
-                        .withUserId(userId)
-                        .withReactionType(ReactionType.LIKE)
-                        .withReactionDate(LocalDateTime.now())
-                        .build();
-                event.getReactions().add(reaction);
-            } else{
-                throw new ReactionAlreadySubmittedException("event", eventId, userId);
+        boolean updated = newReaction == ReactionType.LIKE
+                ? eventRepository.addReaction(eventId, reaction)
+                : eventRepository.removeReaction(eventId, userId);
+
+        if (!updated) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new EventDoesNotExistException(eventId);
             }
+            throw new ReactionAlreadySubmittedException("event", eventId, userId);
         }
 
-        eventRepository.save(event);
         log.info("EventServiceImpl::reactToEvent: Event with id: {} reaction: {}", eventId, newReaction);
         return new ReactionResponse( reaction.getUserId(), reaction.getReactionType());
     }
@@ -1,10 +1,12 @@
 package app.sportahub.eventservice.service.kafka.producer;
 
-import app.sportahub.kafka.events.notification.NotificationEvent;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
 
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrchestrationServiceProducer {
-    void sendNotificationEvent(NotificationEvent event);
+    CompletableFuture<?> sendBatchNotificationEvent(BatchNotificationEvent event);
+
+    CompletableFuture<?> sendParticipationChangedEvent(ParticipationChangedEvent event);
 }
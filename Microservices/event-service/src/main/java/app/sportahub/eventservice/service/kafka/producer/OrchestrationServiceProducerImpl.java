@@ -1,13 +1,16 @@
 package app.sportahub.eventservice.service.kafka.producer;
 
-import app.sportahub.kafka.events.notification.NotificationEvent;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
 import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -15,10 +18,24 @@ public class OrchestrationServiceProducerImpl implements OrchestrationServicePro
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    @SneakyThrows
     @Override
-    public void sendNotificationEvent(NotificationEvent event) {
-        kafkaTemplate.send(SportaKafkaEvents.NOTIFICATION_REQUEST_TOPIC, event);
-        log.info("OrchestrationServiceProducerImpl::sendNotificationEvent: NotificationEvent sent to topic for user {}", event.getUserId());
+    public CompletableFuture<SendResult<String, Object>> sendBatchNotificationEvent(BatchNotificationEvent event) {
+        CompletableFuture<SendResult<String, Object>> result =
+                kafkaTemplate.send(SportaKafkaEvents.NOTIFICATION_BATCH_REQUEST_TOPIC, event);
+        log.info("OrchestrationServiceProducerImpl::sendBatchNotificationEvent: BatchNotificationEvent sent to topic for {} users",
+                event.getUserIds().size());
+        return result;
+    }
+
+    /**
+     * Publishes a participation change keyed by user id, so that the changes of a user are consumed in order.
+     */
+    @Override
+    public CompletableFuture<SendResult<String, Object>> sendParticipationChangedEvent(ParticipationChangedEvent event) {
+        CompletableFuture<SendResult<String, Object>> result =
+                kafkaTemplate.send(SportaKafkaEvents.PARTICIPATION_CHANGED_TOPIC, event.getUserId(), event);
+        log.info("OrchestrationServiceProducerImpl::sendParticipationChangedEvent: user {} {} event {}",
+                event.getUserId(), event.isJoined() ? "joined" : "left", event.getSportEventId());
+        return result;
     }
 }
@@ -0,0 +1,152 @@
+package app.sportahub.eventservice.service.outbox;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.outbox.ParticipationChange;
+import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outboxes of events to Kafka, sending notifications and participation changes.
+ * <p>
+ * Every {@code outbox.relay.linger-ms} the relay claims up to {@code outbox.relay.batch-size} events with pending
+ * outboxes, sends all their messages without waiting in between, and then removes the messages Kafka acknowledged
+ * within {@code outbox.relay.send-timeout-ms}, releasing the claims. It keeps going while full batches are found and
+ * relayed. A claim holds for {@code outbox.relay.lease-ms}, so the relays of other instances skip the event while it
+ * is being relayed, and pick it up once the lease expires if this instance died in between. Messages are only
+ * removed once acknowledged, so a crash or a failed send leads to them being sent again: delivery is at least once,
+ * and each message keeps its id as the {@code eventId} of the notification it is sent as.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final EventRepository eventRepository;
+    private final OrchestrationServiceProducer orchestrationServiceProducer;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Duration lease;
+
+    public OutboxRelay(EventRepository eventRepository,
+                       OrchestrationServiceProducer orchestrationServiceProducer,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${outbox.relay.lease-ms:30000}") long leaseMs) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox relay batch size must not be less than one");
+        }
+        if (leaseMs <= sendTimeoutMs) {
+            throw new IllegalArgumentException("Outbox relay lease must be longer than the send timeout");
+        }
+        this.eventRepository = eventRepository;
+        this.orchestrationServiceProducer = orchestrationServiceProducer;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.linger-ms:200}")
+    public void drain() {
+        int relayed = 0;
+        List<Event> batch;
+        int relayedInBatch;
+        do {
+            batch = eventRepository.claimPendingOutboxes(batchSize, Instant.now(), lease);
+            relayedInBatch = relay(batch);
+            relayed += relayedInBatch;
+        } while (batch.size() == batchSize && relayedInBatch > 0 && !Thread.currentThread().isInterrupted());
+
+        if (relayed > 0) {
+            log.info("OutboxRelay::drain: relayed {} outbox messages", relayed);
+        }
+    }
+
+    /**
+     * Sends the outbox messages of a batch of events and removes those that were acknowledged.
+     *
+     * @return the number of messages that were relayed
+     */
+    int relay(List<Event> batch) {
+        Map<String, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (Event event : batch) {
+            for (OutboxMessage message : event.getOutbox()) {
+                sends.put(message.getMessageId(), send(event.getId(), message));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        int relayed = 0;
+        for (Event event : batch) {
+            List<String> acknowledged = new ArrayList<>();
+            for (OutboxMessage message : event.getOutbox()) {
+                if (awaitAcknowledgement(sends.get(message.getMessageId()), deadline, message)) {
+                    acknowledged.add(message.getMessageId());
+                }
+            }
+            eventRepository.removeOutboxMessages(event.getId(), acknowledged);
+            relayed += acknowledged.size();
+        }
+        return relayed;
+    }
+
+    private CompletableFuture<?> send(String eventId, OutboxMessage message) {
+        try {
+            BaseEvent baseEvent = new BaseEvent(message.getMessageId(), "request", "event-service",
+                    message.getCreatedAt(), message.getMessageId());
+            ParticipationChange participationChange = message.getParticipationChange();
+            if (participationChange != null) {
+                return orchestrationServiceProducer.sendParticipationChangedEvent(new ParticipationChangedEvent(
+                        baseEvent, eventId, participationChange.getUserId(), participationChange.isJoined()));
+            }
+            return orchestrationServiceProducer.sendBatchNotificationEvent(new BatchNotificationEvent(
+                    baseEvent,
+                    message.getUserIds(),
+                    message.getMessageTitle(),
+                    message.getMessageBody(),
+                    message.getData(),
+                    message.getClickAction(),
+                    message.getIcon(),
+                    null,
+                    null,
+                    true
+            ));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean awaitAcknowledgement(CompletableFuture<?> send, long deadline, OutboxMessage message) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("OutboxRelay::relay: outbox message {} was not acknowledged and will be retried",
+                    message.getMessageId(), e);
+            return false;
+        }
+    }
+}
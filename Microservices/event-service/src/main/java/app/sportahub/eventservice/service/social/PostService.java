@@ -2,6 +2,7 @@ package app.sportahub.eventservice.service.social;
 
 import app.sportahub.eventservice.dto.request.social.CommentRequest;
 import app.sportahub.eventservice.dto.request.social.PostRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.dto.response.social.CommentResponse;
 import app.sportahub.eventservice.dto.response.social.PostResponse;
@@ -14,8 +15,12 @@ public interface PostService {
 
     Page<PostResponse> getAllPostsOrderedByCreationDateInDesc(String eventId, Pageable pageable);
 
+    CursorPageResponse<PostResponse> scrollPosts(String eventId, String cursor, int size);
+
     PostResponse getPost(String eventId, String postId);
 
+    Page<CommentResponse> getComments(String eventId, String postId, Pageable pageable);
+
     CommentResponse createComment(String eventId, String postId, CommentRequest commentRequest);
 
     CommentResponse deleteComment(String eventId, String postId, String commentId);
@@ -2,17 +2,18 @@ package app.sportahub.eventservice.service.social;
 
 import app.sportahub.eventservice.dto.request.social.CommentRequest;
 import app.sportahub.eventservice.dto.request.social.PostRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.dto.response.social.CommentResponse;
 import app.sportahub.eventservice.dto.response.social.PostResponse;
 import app.sportahub.eventservice.exception.event.*;
 import app.sportahub.eventservice.mapper.social.CommentMapper;
 import app.sportahub.eventservice.mapper.social.PostMapper;
-import app.sportahub.eventservice.model.event.Event;
 import app.sportahub.eventservice.model.event.reactor.Reaction;
 import app.sportahub.eventservice.model.event.reactor.ReactionType;
 import app.sportahub.eventservice.model.social.Comment;
 import app.sportahub.eventservice.model.social.Post;
+import app.sportahub.eventservice.repository.PostWindow;
 import app.sportahub.eventservice.repository.event.EventRepository;
 import app.sportahub.eventservice.repository.social.CommentRepository;
 import app.sportahub.eventservice.repository.social.PostRepository;
@@ -23,13 +24,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service("postService")
@@ -45,10 +44,10 @@ public class PostServiceImpl implements PostService {
     /**
      * Creates a new post associated with a specific event.
      * <p>
-     * This method retrieves the event by its ID and throws an exception if the event does not exist.
-     * It then maps the given {@code PostRequest} to a {@code Post} entity, associates it with the event,
-     * and sets the update timestamps. The post is added to the event, and both entities are saved to
-     * their respective repositories.
+     * This method checks that the event exists and throws an exception if it does not.
+     * It then maps the given {@code PostRequest} to a {@code Post} entity, associates it with the event
+     * through its {@code eventId}, sets the update timestamps and saves it. The event document itself
+     * is not modified.
      * </p>
      *
      * @param eventId     The unique identifier of the event for which the post is being created.
@@ -56,10 +55,11 @@ public class PostServiceImpl implements PostService {
      * @return The created {@code Post} entity.
      * @throws EventDoesNotExistException if no event is found with the given {@code eventId}.
      */
-    @Transactional
     @Override
     public PostResponse createPost(String eventId, PostRequest postRequest) {
-        Event event = eventRepository.findEventById(eventId).orElseThrow(() -> new EventDoesNotExistException(eventId));
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventDoesNotExistException(eventId);
+        }
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -71,10 +71,7 @@ public class PostServiceImpl implements PostService {
                 .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
                 .build();
 
-        event.getPosts().add(post);
-
         postRepository.save(post);
-        eventRepository.save(event);
         log.info("Creating a new post for eventId: {} with the provided details: {}", eventId, postRequest);
 
         return postMapper.postToPostResponse(post);
@@ -83,9 +80,8 @@ public class PostServiceImpl implements PostService {
     /**
      * Retrieves a paginated list of posts associated with a specific event, ordered by creation date in descending order.
      * <p>
-     * This method checks if the event exists by its ID and throws an exception if the event is not found.
-     * It then retrieves the posts related to the event, pages and sorts them by the creation date in descending order.
-     * The posts are returned encapsulated in a {@code Page} object representing one segment of the posts list.
+     * The posts are read from the posts collection through the {@code (eventId, creationDate desc)} index. The event is
+     * only looked up when the event has no posts, to tell an empty feed apart from a missing event.
      * </p>
      *
      * @param eventId  The unique identifier of the event whose posts are to be retrieved.
@@ -95,24 +91,38 @@ public class PostServiceImpl implements PostService {
      */
     @Override
     public Page<PostResponse> getAllPostsOrderedByCreationDateInDesc(String eventId, Pageable pageable) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new EventDoesNotExistException(eventId));
-
-        List<PostResponse> sortedPosts = event.getPosts().stream()
-                .sorted(Comparator.comparing(Post::getCreationDate).reversed())
-                .map(postMapper::postToPostResponse)
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), sortedPosts.size());
+        Pageable newestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "creationDate", "_id"));
+        Page<Post> posts = postRepository.findByEventId(eventId, newestFirst);
+        if (posts.getTotalElements() == 0 && !eventRepository.existsById(eventId)) {
+            throw new EventDoesNotExistException(eventId);
+        }
 
         log.info("Retrieved all posts in event with Id: {}", eventId);
+        return posts.map(postMapper::postToPostResponse);
+    }
 
-        return new PageImpl<>(
-                sortedPosts.subList(start, end),
-                pageable,
-                sortedPosts.size()
-        );
+    /**
+     * Retrieves a window of the post feed of an event, newest posts first, using keyset pagination: deep windows
+     * cost the same as the first one and no total is counted.
+     *
+     * @param eventId the unique identifier of the event whose posts are to be retrieved
+     * @param cursor  the cursor returned with the previous window, or {@code null} for the first window
+     * @param size    the number of posts per window
+     * @return a {@link CursorPageResponse} of the posts, with the cursor of the next window if there is one
+     * @throws EventDoesNotExistException  if the first window is empty and no event is found with the given id
+     * @throws InvalidPostCursorException if the cursor is malformed
+     */
+    @Override
+    public CursorPageResponse<PostResponse> scrollPosts(String eventId, String cursor, int size) {
+        PostWindow window = postRepository.scrollByEventId(eventId, cursor, size);
+        if (cursor == null && window.posts().isEmpty() && !eventRepository.existsById(eventId)) {
+            throw new EventDoesNotExistException(eventId);
+        }
+
+        log.info("PostServiceImpl::scrollPosts: Retrieved {} posts in event with Id: {}", window.posts().size(), eventId);
+        return new CursorPageResponse<>(window.posts().stream().map(postMapper::postToPostResponse).toList(),
+                window.nextCursor(), window.hasNext());
     }
 
     /**
@@ -126,13 +136,7 @@ public class PostServiceImpl implements PostService {
      */
     @Override
     public PostResponse getPost(String eventId, String postId){
-
-        Event event = eventRepository.findEventById(eventId).orElseThrow(() -> new EventDoesNotExistException(eventId));
-
-        Post post = event.getPosts().stream()
-                .filter(p -> p.getId().equals(postId))
-                .findFirst()
-                .orElseThrow(() -> new PostDoesNotExistException(postId));
+        Post post = findPost(eventId, postId);
 
         log.info("Retrieved post with Id: {} in event with Id: {}", postId, eventId);
         return  postMapper.postToPostResponse(post);
@@ -140,8 +144,7 @@ public class PostServiceImpl implements PostService {
 
     /**
      * Deletes a post from an event and returns the deleted post data.
-     * This operation is transactional and will remove the post from both the event's post list
-     * and the post repository.
+     * The comments of the post are deleted with it; the event document is not modified.
      *
      * @param eventId the ID of the event containing the post to delete
      * @param postId the ID of the post to delete
@@ -149,28 +152,49 @@ public class PostServiceImpl implements PostService {
      * @throws EventDoesNotExistException if no event exists with the given eventId
      * @throws PostDoesNotExistException if no post exists with the given postId in the specified event
      */
-    @Transactional
     @Override
     public PostResponse deletePost(String eventId, String postId){
-        Event event = eventRepository.findEventById(eventId).orElseThrow(() -> new EventDoesNotExistException(eventId));
-
-        Post postToDelete = event.getPosts().stream()
-                .filter(p -> p.getId().equals(postId))
-                .findFirst()
-                .orElseThrow(() -> new PostDoesNotExistException(postId));
-
-        event.getPosts().remove(postToDelete);
+        Post postToDelete = findPost(eventId, postId);
 
         postRepository.deleteById(postToDelete.getId());
-        eventRepository.save(event);
+        commentRepository.deleteByPostId(postToDelete.getId());
 
         log.info("Deleted post with Id: {} in event with Id: {}", postId, eventId);
         return  postMapper.postToPostResponse(postToDelete);
     }
 
     /**
-     * Creates a new comment on a post within an event.
-     * This operation is transactional and associates the comment with the authenticated user.
+     * Retrieves a page of the comments on a post within an event, oldest first, read through the
+     * {@code (postId, creationDate)} index of the comments collection. The post is checked to belong to the event
+     * first, so the comments of a post cannot be read through another event.
+     *
+     * @param eventId  the ID of the event containing the post
+     * @param postId   the ID of the post whose comments are retrieved
+     * @param pageable the pagination information
+     * @return a page of CommentResponse objects
+     * @throws EventDoesNotExistException if no event exists with the given eventId
+     * @throws PostDoesNotExistException if no post exists with the given postId in the specified event
+     */
+    @Override
+    public Page<CommentResponse> getComments(String eventId, String postId, Pageable pageable) {
+        if (!postRepository.existsByIdAndEventId(postId, eventId)) {
+            throw missingPost(eventId, postId);
+        }
+        Pageable oldestFirst = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.ASC, "creationDate", "_id"));
+        Page<Comment> comments = commentRepository.findByPostId(postId, oldestFirst);
+
+        log.info("PostServiceImpl::getComments: Retrieved {} comments of post with Id: {}",
+                comments.getNumberOfElements(), postId);
+        return comments.map(comment -> commentMapper.commentToCommentResponse(comment, eventId, postId));
+    }
+
+    /**
+     * Creates a new comment on a post within an event, associated with the authenticated user.
+     * <p>
+     * The post is not read: its {@code commentCount} is incremented in place, which also checks that the post
+     * belongs to the event, and the comment is then inserted. Should the insert fail, the increment is undone.
+     * </p>
      *
      * @param eventId the ID of the event containing the post
      * @param postId the ID of the post to comment on
@@ -180,44 +204,39 @@ public class PostServiceImpl implements PostService {
      * @throws PostDoesNotExistException if no post exists with the given postId in the specified event
      * @throws IllegalStateException if no authentication context is available
      */
-    @Transactional
     @Override
     public CommentResponse createComment(String eventId, String postId, CommentRequest commentRequest){
 
-        Event event = eventRepository.findEventById(eventId).orElseThrow(() -> new EventDoesNotExistException(eventId));
-
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        Post post = event.getPosts().stream()
-                .filter(p -> p.getId().equals(postId))
-                .findFirst()
-                .orElseThrow(() -> new PostDoesNotExistException(postId));
-
-        String commentCreator = commentRequest.createdBy();
-        String commentContent = commentRequest.content();
-        new Comment(commentCreator, commentContent);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
         Comment comment =  commentMapper.commentRequestToComment(commentRequest)
                 .toBuilder()
-                .withCreatedBy(commentCreator)
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withContent(commentContent)
+                .withPostId(postId)
+                .withCreationDate(now)
+                .withUpdatedAt(now)
+                .withContent(commentRequest.content())
                 .withCreatedBy(authentication.getName())
                 .build();
 
-        post.getComments().add(comment);
-
-        commentRepository.save(comment);
-        eventRepository.save(event);
-        postRepository.save(post);
+        if (!postRepository.incrementCommentCount(eventId, postId, 1)) {
+            throw missingPost(eventId, postId);
+        }
+        try {
+            comment = commentRepository.insert(comment);
+        } catch (RuntimeException e) {
+            postRepository.incrementCommentCount(eventId, postId, -1);
+            throw e;
+        }
 
         log.info("Created comment to post with Id: {} in event with Id: {}", postId, eventId);
         return commentMapper.commentToCommentResponse(comment, eventId, postId);
     }
 
     /**
-     * Deletes a comment from a post within an event.
-     * This operation is transactional and removes the comment from both the post's comment list
-     * and the comment repository.
+     * Deletes a comment from a post within an event, and decrements the {@code commentCount} of the post in place.
+     * The decrement goes first, which also checks that the post belongs to the event, and is undone if the comment
+     * turns out not to exist, so that concurrent deletes of the same comment only count once.
      *
      * @param eventId the ID of the event containing the post
      * @param postId the ID of the post containing the comment
@@ -227,31 +246,21 @@ public class PostServiceImpl implements PostService {
      * @throws PostDoesNotExistException if no post exists with the given postId in the specified event
      * @throws CommentDoesNotExistException if no comment exists with the given commentId on the specified post
      */
-    @Transactional
     @Override
     public CommentResponse deleteComment(String eventId, String postId, String commentId){
 
-        Event event = eventRepository.findEventById(eventId).orElseThrow(() -> new EventDoesNotExistException(eventId));
-
-        Post post = event.getPosts().stream()
-                .filter(p -> p.getId().equals(postId))
-                .findFirst()
-                .orElseThrow(() -> new PostDoesNotExistException(postId));
-
-        Comment commentToDelete = post.getComments().stream()
-                .filter(comment -> comment.getId().equals(commentId))
-                .findFirst()
-                .orElseThrow(() -> new CommentDoesNotExistException(commentId));
-
-        post.getComments().removeIf(comment -> comment.getId().equals(commentId));
-
-        postRepository.save(post);
-        commentRepository.deleteById(commentToDelete.getId());
-        eventRepository.save(event);
+        if (!postRepository.incrementCommentCount(eventId, postId, -1)) {
+            throw missingPost(eventId, postId);
+        }
+        Comment deletedComment = commentRepository.deleteByIdAndPostId(commentId, postId);
+        if (deletedComment == null) {
+            postRepository.incrementCommentCount(eventId, postId, 1);
+            throw new CommentDoesNotExistException(commentId);
+        }
 
         log.info("Deleted comment with Id: {} in post with Id: {}in event with Id: {}", commentId, postId, eventId);
 
-        return commentMapper.commentToCommentResponse(commentToDelete, eventId, postId);
+        return commentMapper.commentToCommentResponse(deletedComment, eventId, postId);
     }
 
     /**
@@ -277,13 +286,7 @@ public class PostServiceImpl implements PostService {
             throw new InvalidReactionException();
         }
 
-        Event event = eventRepository.findEventById(eventId)
-                .orElseThrow(() -> new EventDoesNotExistException(eventId));
-
-        Post post = event.getPosts().stream()
-                .filter(p -> p.getId().equals(postId))
-                .findFirst()
-                .orElseThrow(() -> new PostDoesNotExistException(postId));
+        Post post = findPost(eventId, postId);
 
         Optional<Reaction> reactorToEventOpt = post.getReactions()
                 .stream()
@@ -318,11 +321,25 @@ public class PostServiceImpl implements PostService {
             }
         }
         postRepository.save(post);
-        eventRepository.save(event);
         log.info("PostServiceImpl::reactToPost: Post with id: {} reaction: {}", eventId, newReaction);
         return new ReactionResponse( reaction.getUserId(), reaction.getReactionType());
     }
 
+    /**
+     * Looks up a post of an event by its id, without reading the event. The event is only looked up when the post
+     * is not found, to report which of the two is missing.
+     */
+    private Post findPost(String eventId, String postId) {
+        return postRepository.findByIdAndEventId(postId, eventId)
+                .orElseThrow(() -> missingPost(eventId, postId));
+    }
+
+    private ResponseStatusException missingPost(String eventId, String postId) {
+        return eventRepository.existsById(eventId)
+                ? new PostDoesNotExistException(postId)
+                : new EventDoesNotExistException(eventId);
+    }
+
     /**
      * Checks if the given user is the creator of the specified post.
      *
@@ -0,0 +1,150 @@
+package app.sportahub.eventservice.benchmark;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.Location;
+import app.sportahub.eventservice.repository.SearchingEventRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the radius-doubling loop previously used to find relevant events, which issues one geo query per
+ * radius, with the single-query nearest-events lookup. The dataset is seeded so that the origin sits in a sparse
+ * area, where the loop has to expand the radius several times before finding anything.
+ * <p>
+ * Run with {@code ./gradlew benchmark}.
+ * </p>
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+class NearestEventsBenchmarkTest {
+
+    private static final int EVENT_COUNT = 20_000;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final int LIMIT = 50;
+    private static final double MAX_RADIUS_KM = 100;
+    private static final GeoJsonPoint ORIGIN = new GeoJsonPoint(-73.57, 45.50);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static SearchingEventRepositoryImpl searchingEventRepository;
+
+    @BeforeAll
+    static void seed() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "event-service-benchmark");
+        mongoTemplate.indexOps(Event.class).ensureIndex(
+                new GeospatialIndex("location.coordinates").typed(GeoSpatialIndexType.GEO_2DSPHERE));
+        searchingEventRepository = new SearchingEventRepositoryImpl(mongoTemplate);
+
+        Random random = new Random(490);
+        List<Event> events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            // Events are spread 30 to 150 km away from the origin, leaving its surroundings empty.
+            double bearing = random.nextDouble() * 2 * Math.PI;
+            double distanceDegrees = (30 + random.nextDouble() * 120) / 111.0;
+            GeoJsonPoint coordinates = new GeoJsonPoint(
+                    ORIGIN.getX() + distanceDegrees * Math.cos(bearing) / Math.cos(Math.toRadians(ORIGIN.getY())),
+                    ORIGIN.getY() + distanceDegrees * Math.sin(bearing));
+            events.add(Event.builder()
+                    .withEventName("Benchmark Event " + i)
+                    .withSportType("Soccer")
+                    .withMaxParticipants(10)
+                    .withLocation(Location.builder()
+                            .withName("Field " + i)
+                            .withCity("Montreal")
+                            .withCoordinates(coordinates)
+                            .build())
+                    .build());
+        }
+        mongoTemplate.insert(events, Event.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void singleQueryLadderShouldMatchRadiusExpansionLoop() {
+        List<Event> loopResult = radiusExpansionLoop(5);
+        GeoResults<Event> nearest = searchingEventRepository.findNearestEvents(ORIGIN, MAX_RADIUS_KM, LIMIT);
+
+        double firstRing = 5;
+        double firstDistance = nearest.getContent().getFirst().getDistance().getValue();
+        while (firstRing < firstDistance) {
+            firstRing *= 2;
+        }
+        final double ring = firstRing;
+        List<String> ladderResult = nearest.getContent().stream()
+                .filter(result -> result.getDistance().getValue() <= ring)
+                .map(result -> result.getContent().getId())
+                .toList();
+
+        assertEquals(loopResult.stream().map(Event::getId).limit(ladderResult.size()).toList(), ladderResult);
+
+        double loopMicros = measure(() -> radiusExpansionLoop(5));
+        double ladderMicros = measure(() -> searchingEventRepository.findNearestEvents(ORIGIN, MAX_RADIUS_KM, LIMIT));
+        log.info("NearestEventsBenchmarkTest: {} events, radius-expansion loop: {} us/op, single-query ladder: {} us/op",
+                EVENT_COUNT, String.format("%.1f", loopMicros), String.format("%.1f", ladderMicros));
+    }
+
+    private static List<Event> radiusExpansionLoop(double radius) {
+        List<Event> events = nearWithin(radius);
+        while (events.isEmpty() && radius < MAX_RADIUS_KM) {
+            radius = radius * 2;
+            events = nearWithin(radius);
+        }
+        return events;
+    }
+
+    private static List<Event> nearWithin(double radius) {
+        NearQuery nearQuery = NearQuery.near(ORIGIN)
+                .spherical(true)
+                .maxDistance(new Distance(radius, Metrics.KILOMETERS))
+                .limit(LIMIT);
+        return mongoTemplate.geoNear(nearQuery, Event.class).getContent().stream()
+                .map(GeoResult::getContent)
+                .toList();
+    }
+
+    private static double measure(Supplier<?> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.get();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+    }
+}
@@ -4,12 +4,14 @@ import app.sportahub.eventservice.dto.request.event.EventCancellationRequest;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.WhitelistRequest;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventRingResponse;
 import app.sportahub.eventservice.dto.response.LocationResponse;
 import app.sportahub.eventservice.dto.response.ParticipantResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.enums.EventSortingField;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.enums.SortDirection;
+import app.sportahub.eventservice.exception.event.InvalidPageSizeException;
 import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
 import app.sportahub.eventservice.model.event.reactor.ReactionType;
 import app.sportahub.eventservice.service.event.EventService;
@@ -37,6 +39,7 @@ import java.util.EnumSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -81,7 +84,7 @@ public class EventControllerTest {
                 false,
                 List.of("User111", "User222"),
                 EnumSet.of(SkillLevelEnum.BEGINNER, SkillLevelEnum.INTERMEDIATE),
-                null,
+                 null,
                  null
         );
 
@@ -298,7 +301,7 @@ public class EventControllerTest {
                 false,
                 Collections.emptyList(), // whitelistedUsers
                 EnumSet.of(SkillLevelEnum.INTERMEDIATE),
-                Collections.emptyList(),
+                null,
                 null
         );
         Page<EventResponse> mockPage = new PageImpl<>(List.of(eventResponse), pageable, 1);
@@ -306,7 +309,7 @@ public class EventControllerTest {
         // Mock the service method
         when(eventService.searchEvents(
                 anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), anyString(),
-                anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any(), any(), any(Double.class),
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString(), any(), any(), any(), any(), any(Double.class),
                 any(Double.class)
         )).thenReturn(mockPage);
 
@@ -330,8 +333,11 @@ public class EventControllerTest {
                 "user123", // createdBy
                 false, // isPrivate
                 List.of(SkillLevelEnum.INTERMEDIATE), // requiredSkillLevel
+                null, // hasOpenSlots
                 0, // page
-                10 // size
+                10, // size
+                SortDirection.DESC, // sort
+                null // field
         );
 
         // Assert
@@ -361,7 +367,7 @@ public class EventControllerTest {
                 "Soccer Match", "Friendly", "Soccer", "Central Park",
                 "New York", "NY", "USA", "10001", "2023-10-15",
                 "14:00", "16:00", "120", "20", "user123",
-                false, List.of(SkillLevelEnum.INTERMEDIATE), pageable, -74, 40
+                false, List.of(SkillLevelEnum.INTERMEDIATE), null, pageable, -74, 40
         );
     }
 
@@ -399,4 +405,24 @@ public class EventControllerTest {
         verify(eventService).whitelistUsers(eventId, whitelistRequest);
     }
 
+    @Test
+    public void testGetNearestEvents() {
+        List<EventRingResponse> rings = List.of(new EventRingResponse(5.0, List.of(eventResponse)));
+        when(eventService.getNearestEvents(-73.5, 45.5, 50)).thenReturn(rings);
+
+        List<EventRingResponse> response = eventController.getNearestEvents(-73.5, 45.5, 50);
+
+        assertEquals(rings, response);
+        verify(eventService).getNearestEvents(-73.5, 45.5, 50);
+    }
+
+    @Test
+    public void testGetNearestEvents_limitLessThanOneIsABadRequest() {
+        when(eventService.getNearestEvents(-73.5, 45.5, 0)).thenThrow(new InvalidPageSizeException(0));
+
+        InvalidPageSizeException exception = assertThrows(InvalidPageSizeException.class,
+                () -> eventController.getNearestEvents(-73.5, 45.5, 0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
 }
@@ -2,6 +2,7 @@ package app.sportahub.eventservice.controller.social;
 
 import app.sportahub.eventservice.dto.request.social.CommentRequest;
 import app.sportahub.eventservice.dto.request.social.PostRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.dto.response.social.CommentResponse;
 import app.sportahub.eventservice.dto.response.social.PostResponse;
@@ -85,7 +86,7 @@ public class PostControllerTest {
                 "Test content",
                 "user1",
                 new ArrayList<>(),
-                new ArrayList<>(),
+                0,
                 new ArrayList<>()
         );
 
@@ -114,6 +115,20 @@ public class PostControllerTest {
     }
 
 
+    @Test
+    void scrollPostsShouldReturnWindowFromService() {
+        PostResponse returnedPost = new PostResponse("event1", "post1", "Test content", "user1",
+                new ArrayList<>(), 0, new ArrayList<>());
+        CursorPageResponse<PostResponse> window = new CursorPageResponse<>(List.of(returnedPost), "next", true);
+
+        when(postService.scrollPosts(eventId, "cursor", 10)).thenReturn(window);
+
+        CursorPageResponse<PostResponse> result = postController.scrollPosts(eventId, "cursor", 10);
+
+        verify(postService, times(1)).scrollPosts(eventId, "cursor", 10);
+        assertThat(result).isEqualTo(window);
+    }
+
     @Test
     @WithMockUser
     void getPost_ShouldReturnPostResponse() {
@@ -153,6 +168,19 @@ public class PostControllerTest {
         assertThat(result).isEqualTo(expectedResponse);
     }
 
+    @Test
+    void getComments_ShouldReturnPageFromService() {
+        CommentResponse comment = new CommentResponse(commentId, null, "Test comment", username, null);
+        Page<CommentResponse> page = new PageImpl<>(List.of(comment), PageRequest.of(0, 10), 1);
+
+        when(postService.getComments(eq(eventId), eq(postId), any(Pageable.class))).thenReturn(page);
+
+        Page<CommentResponse> result = postController.getComments(eventId, postId, 0, 10);
+
+        verify(postService).getComments(eventId, postId, Pageable.ofSize(10).withPage(0));
+        assertThat(result).isEqualTo(page);
+    }
+
     @Test
     @WithMockUser
     void createComment_ShouldReturnCommentResponse() {
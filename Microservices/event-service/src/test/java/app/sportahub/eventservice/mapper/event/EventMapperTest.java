@@ -3,8 +3,10 @@ package app.sportahub.eventservice.mapper.event;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.LocationRequest;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
 import app.sportahub.eventservice.model.event.Location;
 import app.sportahub.eventservice.model.event.Team;
 import app.sportahub.eventservice.model.event.participant.Participant;
@@ -62,6 +64,12 @@ public class EventMapperTest {
                 null,
                 null,
                 null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
                 null);
 
         //Act
@@ -230,4 +238,33 @@ public class EventMapperTest {
         assertNotNull(event.getLocation().getPhoneNumber());
         assertNotNull(event.getLocation().getCoordinates());
     }
+
+    @Test
+    public void testEventSummaryToEventSummaryResponse() {
+        //Arrange
+        GeoJsonPoint coordinates = new GeoJsonPoint(-73.57, 45.52);
+        EventSummary eventSummary = EventSummary.builder()
+                .withId("event1")
+                .withEventName("Soccer Game")
+                .withSportType("Soccer")
+                .withLocation(Location.builder().withName("Central Park").withCoordinates(coordinates).build())
+                .withDate(LocalDate.of(2025, 5, 1))
+                .withMaxParticipants(10)
+                .withParticipantCount(4)
+                .withOpenSlots(6)
+                .build();
+
+        //Act
+        EventSummaryResponse response = eventMapper.eventSummaryToEventSummaryResponse(eventSummary, 2.5);
+        EventSummaryResponse withoutLocation = eventMapper.eventSummaryToEventSummaryResponse(new EventSummary());
+
+        //Assert
+        assertEquals("event1", response.id());
+        assertEquals("Central Park", response.locationName());
+        assertEquals(coordinates, response.coordinates());
+        assertEquals(6, response.openSlots());
+        assertEquals(2.5, response.distance());
+        assertNull(withoutLocation.locationName());
+        assertNull(withoutLocation.distance());
+    }
 }
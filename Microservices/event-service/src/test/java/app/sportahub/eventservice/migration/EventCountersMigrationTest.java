@@ -0,0 +1,83 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCountersMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> eventCollection;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @InjectMocks
+    private EventCountersMigration eventCountersMigration;
+
+    @Test
+    void runShouldBackfillEventsMissingCountersInSingleUpdate() {
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+        when(mongoTemplate.getCollection("event")).thenReturn(eventCollection);
+        when(eventCollection.updateMany(EventCountersMigration.missingCounters(), EventCountersMigration.backfillCounters()))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+        when(mongoTemplate.indexOps(Event.class)).thenReturn(indexOperations);
+
+        eventCountersMigration.run(new DefaultApplicationArguments());
+
+        verify(eventCollection, times(1))
+                .updateMany(EventCountersMigration.missingCounters(), EventCountersMigration.backfillCounters());
+    }
+
+    @Test
+    void runShouldDropTheUnusedCounterIndexes() {
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+        when(mongoTemplate.getCollection("event")).thenReturn(eventCollection);
+        when(eventCollection.updateMany(EventCountersMigration.missingCounters(), EventCountersMigration.backfillCounters()))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.indexOps(Event.class)).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(index("_id_"), index("popularity_idx"),
+                index("openSlots"), index("geo_search_idx")));
+
+        eventCountersMigration.run(new DefaultApplicationArguments());
+
+        verify(indexOperations).dropIndex("popularity_idx");
+        verify(indexOperations).dropIndex("openSlots");
+        verify(indexOperations, times(2)).dropIndex(anyString());
+    }
+
+    @Test
+    void backfillCountersShouldComputeOpenSlotsFromParticipantCount() {
+        List<Document> pipeline = EventCountersMigration.backfillCounters();
+
+        assertEquals(2, pipeline.size());
+        Document counters = pipeline.get(0).get("$set", Document.class);
+        assertTrue(counters.containsKey("participantCount"));
+        assertTrue(counters.containsKey("likeCount"));
+        assertEquals(new Document("$subtract", List.of("$maxParticipants", "$participantCount")),
+                pipeline.get(1).get("$set", Document.class).get("openSlots"));
+    }
+
+    private static IndexInfo index(String name) {
+        return new IndexInfo(List.of(), name, false, false, null);
+    }
+}
@@ -0,0 +1,30 @@
+package app.sportahub.eventservice.migration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCutOffTimeMigrationTest {
+
+    @Test
+    void canonicalCutOffTimeShouldPadAndTruncateToSeconds() {
+        assertEquals(Optional.of("2025-01-31T18:00:00"), EventCutOffTimeMigration.canonicalCutOffTime("2025-01-31T18:00"));
+        assertEquals(Optional.of("2025-01-31T18:00:05"),
+                EventCutOffTimeMigration.canonicalCutOffTime("2025-01-31T18:00:05.123456"));
+        assertEquals(Optional.of("2025-01-31T18:00:00"),
+                EventCutOffTimeMigration.canonicalCutOffTime("2025-01-31T18:00:00Z"));
+    }
+
+    @Test
+    void canonicalCutOffTimeShouldCloseDatesAtStartOfDay() {
+        assertEquals(Optional.of("2025-01-31T00:00:00"), EventCutOffTimeMigration.canonicalCutOffTime("2025-01-31"));
+    }
+
+    @Test
+    void canonicalCutOffTimeShouldSkipValuesThatAreNotDateTimes() {
+        assertTrue(EventCutOffTimeMigration.canonicalCutOffTime("18:00").isEmpty());
+        assertTrue(EventCutOffTimeMigration.canonicalCutOffTime(null).isEmpty());
+    }
+}
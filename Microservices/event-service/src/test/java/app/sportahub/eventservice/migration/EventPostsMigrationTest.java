@@ -0,0 +1,26 @@
+package app.sportahub.eventservice.migration;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPostsMigrationTest {
+
+    @Test
+    void referencedIdsShouldReadIdsOfDecodedAndRawReferences() {
+        ObjectId decoded = new ObjectId();
+        ObjectId raw = new ObjectId();
+
+        List<Object> ids = EventPostsMigration.referencedIds(List.of(
+                new DBRef("posts", decoded),
+                new Document("$ref", "posts").append("$id", raw),
+                "not a reference"));
+
+        assertEquals(List.of(decoded, raw), ids);
+    }
+}
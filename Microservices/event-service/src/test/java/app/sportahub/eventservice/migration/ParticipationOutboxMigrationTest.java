@@ -0,0 +1,56 @@
+package app.sportahub.eventservice.migration;
+
+import app.sportahub.eventservice.model.event.Event;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipationOutboxMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> eventCollection;
+
+    @InjectMocks
+    private ParticipationOutboxMigration participationOutboxMigration;
+
+    @Test
+    void runShouldQueueTheParticipantsOfUnpublishedEventsInSingleUpdate() {
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+        when(mongoTemplate.getCollection("event")).thenReturn(eventCollection);
+        when(eventCollection.updateMany(ParticipationOutboxMigration.unpublished(),
+                ParticipationOutboxMigration.publishParticipants()))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+        participationOutboxMigration.run(new DefaultApplicationArguments());
+
+        verify(eventCollection, times(1)).updateMany(ParticipationOutboxMigration.unpublished(),
+                ParticipationOutboxMigration.publishParticipants());
+    }
+
+    @Test
+    void publishParticipantsShouldAppendToTheOutboxAndFlagTheEvent() {
+        List<Document> pipeline = ParticipationOutboxMigration.publishParticipants();
+
+        assertEquals(1, pipeline.size());
+        Document set = pipeline.getFirst().get("$set", Document.class);
+        assertEquals(true, set.get("participationsPublished"));
+        List<?> outbox = set.get("outbox", Document.class).getList("$concatArrays", Object.class);
+        assertEquals(new Document("$ifNull", List.of("$outbox", List.of())), outbox.getFirst());
+    }
+}
@@ -0,0 +1,116 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.enums.EventSortingField;
+import app.sportahub.eventservice.exception.event.InvalidEventCursorException;
+import app.sportahub.eventservice.exception.event.InvalidPageSizeException;
+import app.sportahub.eventservice.model.event.Event;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListingEventRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    private ListingEventRepositoryImpl listingEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        listingEventRepository = new ListingEventRepositoryImpl(mongoTemplate);
+    }
+
+    @Test
+    void scrollShouldFetchOneExtraEventAndSeekPastCursorWithoutCounting() {
+        ObjectId firstId = new ObjectId();
+        ObjectId secondId = new ObjectId();
+        Date date = new Date(1_700_000_000_000L);
+        mockFind(List.of(
+                new Document("_id", firstId).append("date", date),
+                new Document("_id", secondId).append("date", date),
+                new Document("_id", new ObjectId()).append("date", date)));
+
+        EventWindow first = listingEventRepository.scrollByParticipant("user1", EventSortingField.DATE,
+                Sort.Direction.DESC, null, 2);
+
+        assertEquals(2, first.events().size());
+        assertTrue(first.hasNext());
+
+        listingEventRepository.scrollByParticipant("user1", EventSortingField.DATE, Sort.Direction.DESC,
+                first.nextCursor(), 2);
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(captor.capture(), eq(Document.class), eq("event"));
+        verify(mongoTemplate, never()).count(any(Query.class), any(Class.class));
+        Query seek = captor.getAllValues().get(1);
+        assertEquals(3, seek.getLimit());
+        assertEquals(new Document("date", -1).append("_id", -1), seek.getSortObject());
+        List<Document> or = seek.getQueryObject().getList("$or", Document.class);
+        assertEquals(new Document("date", new Document("$lt", date)), or.get(0));
+        assertEquals(new Document("date", date).append("_id", new Document("$lt", secondId)), or.get(2));
+        assertEquals("user1", seek.getQueryObject().get("participants.userId"));
+    }
+
+    @Test
+    void scrollShouldNotReturnCursorOnLastWindow() {
+        mockFind(List.of(new Document("_id", new ObjectId()).append("eventName", "Soccer")));
+
+        EventWindow window = listingEventRepository.scrollByCreator("user1", EventSortingField.EVENT_NAME,
+                Sort.Direction.ASC, null, 2);
+
+        assertEquals(1, window.events().size());
+        assertFalse(window.hasNext());
+        assertNull(window.nextCursor());
+    }
+
+    @Test
+    void scrollShouldRejectMalformedOrMismatchedCursor() {
+        mockFind(List.of(
+                new Document("_id", new ObjectId()).append("date", new Date()),
+                new Document("_id", new ObjectId()).append("date", new Date())));
+        String dateCursor = listingEventRepository.scrollByCreator("user1", EventSortingField.DATE,
+                Sort.Direction.DESC, null, 1).nextCursor();
+
+        assertThrows(InvalidEventCursorException.class, () -> listingEventRepository.scrollByCreator("user1",
+                EventSortingField.DATE, Sort.Direction.DESC, "not a cursor", 1));
+        assertThrows(InvalidEventCursorException.class, () -> listingEventRepository.scrollByCreator("user1",
+                EventSortingField.EVENT_NAME, Sort.Direction.DESC, dateCursor, 1));
+        assertThrows(InvalidEventCursorException.class, () -> listingEventRepository.scrollByCreator("user1",
+                EventSortingField.DATE, Sort.Direction.ASC, dateCursor, 1));
+    }
+
+    @Test
+    void scrollShouldRejectSizeLessThanOne() {
+        assertThrows(InvalidPageSizeException.class, () -> listingEventRepository.scrollByParticipant("user1",
+                EventSortingField.DATE, Sort.Direction.DESC, null, 0));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void mockFind(List<Document> documents) {
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("event"))).thenReturn(documents);
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoConverter.read(eq(Event.class), any(Document.class))).thenReturn(new Event());
+    }
+}
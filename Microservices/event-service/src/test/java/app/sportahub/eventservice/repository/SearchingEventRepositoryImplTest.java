@@ -0,0 +1,172 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchingEventRepositoryImplTest {
+
+    private static final GeoJsonPoint POINT = new GeoJsonPoint(-73.57, 45.52);
+    private static final List<Double> RADII_KM = List.of(25.0, 50.0, 100.0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    @Mock
+    private AggregationResults<Document> aggregationResults;
+
+    private SearchingEventRepositoryImpl searchingEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        searchingEventRepository = new SearchingEventRepositoryImpl(mongoTemplate);
+    }
+
+    @Test
+    void searchEventsNearShouldRunSingleGeoNearAggregation() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Document facets = new Document("rings", List.of(new Document("within_0", 1).append("within_1", 1).append("within_2", 1)))
+                .append("results", List.of(new Document("_id", "event1").append("distance", 3.2)));
+        mockAggregation(facets);
+
+        GeoPage<Event> result = searchingEventRepository.searchEventsNear("Soccer", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, POINT, RADII_KM, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(3.2, result.getContent().getFirst().getDistance().getValue());
+
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(1)).aggregate(captor.capture(), eq(Event.class), eq(Document.class));
+        verify(mongoTemplate, never()).count(any(), eq(Event.class));
+        String pipeline = captor.getValue().toString();
+        assertTrue(pipeline.contains("$geoNear"));
+        assertTrue(pipeline.contains("$facet"));
+        assertTrue(pipeline.contains("eventName"));
+    }
+
+    @Test
+    void searchEventsNearShouldExpandToSmallestRadiusWithMatches() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Document facets = new Document("rings", List.of(new Document("within_0", 0).append("within_1", 2).append("within_2", 3)))
+                .append("results", List.of(
+                        new Document("_id", "event1").append("distance", 30.0),
+                        new Document("_id", "event2").append("distance", 45.0),
+                        new Document("_id", "event3").append("distance", 80.0)));
+        mockAggregation(facets);
+
+        GeoPage<Event> result = searchingEventRepository.searchEventsNear("Soccer", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, POINT, RADII_KM, pageable);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(45.0, result.getContent().getLast().getDistance().getValue());
+    }
+
+    @Test
+    void searchEventsNearShouldReturnEmptyPageWhenNothingWithinMaxRadius() {
+        Pageable pageable = PageRequest.of(1, 10);
+        Document facets = new Document("rings", List.of()).append("results", List.of());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+                .thenReturn(aggregationResults);
+        when(aggregationResults.getUniqueMappedResult()).thenReturn(facets);
+
+        GeoPage<Event> result = searchingEventRepository.searchEventsNear("Soccer", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, null, POINT, RADII_KM, pageable);
+
+        assertEquals(0, result.getTotalElements());
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void searchEventsNearShouldPageEachRingSeparatelyWhenSorted() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "likeCount"));
+        Document facets = new Document("rings", List.of(new Document("within_0", 0).append("within_1", 2).append("within_2", 3)))
+                .append("results_0", List.of())
+                .append("results_1", List.of(
+                        new Document("_id", "event2").append("distance", 45.0),
+                        new Document("_id", "event1").append("distance", 30.0)))
+                .append("results_2", List.of(
+                        new Document("_id", "event3").append("distance", 80.0),
+                        new Document("_id", "event2").append("distance", 45.0),
+                        new Document("_id", "event1").append("distance", 30.0)));
+        mockAggregation(facets);
+
+        GeoPage<Event> result = searchingEventRepository.searchEventsNear("Soccer", null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null, true, POINT, RADII_KM, pageable);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(45.0, result.getContent().getFirst().getDistance().getValue());
+        assertEquals(30.0, result.getContent().getLast().getDistance().getValue());
+
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(Event.class), eq(Document.class));
+        String pipeline = captor.getValue().toString();
+        assertTrue(pipeline.contains("results_2"));
+        assertTrue(pipeline.contains("likeCount"));
+        assertTrue(pipeline.contains("openSlots"));
+    }
+
+    @Test
+    void findSummariesNearWithinRadiiShouldOnlyProjectSummaryFieldsOfThePage() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "likeCount"));
+        Document facets = new Document("rings", List.of(new Document("within_0", 1)))
+                .append("results_0", List.of(new Document("_id", "event1").append("distance", 3.2)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+                .thenReturn(aggregationResults);
+        when(aggregationResults.getUniqueMappedResult()).thenReturn(facets);
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoConverter.read(eq(EventSummary.class), any(Document.class))).thenReturn(new EventSummary());
+
+        GeoPage<EventSummary> result = searchingEventRepository.findSummariesNearWithinRadii(POINT, List.of(25.0),
+                pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(3.2, result.getContent().getFirst().getDistance().getValue());
+        verify(mongoConverter, never()).read(eq(Event.class), any(Document.class));
+
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(Event.class), eq(Document.class));
+        Document facet = captor.getValue().toDocument("event", Aggregation.DEFAULT_CONTEXT)
+                .getList("pipeline", Document.class).getLast().get("$facet", Document.class);
+        List<Document> stages = facet.getList("results_0", Document.class);
+        assertTrue(stages.get(1).containsKey("$sort"));
+        Document projection = stages.getLast().get("$project", Document.class);
+        assertTrue(projection.containsKey("location.coordinates"));
+        assertTrue(projection.containsKey("distance"));
+        assertFalse(projection.containsKey("participants"));
+    }
+
+    private void mockAggregation(Document facets) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Event.class), eq(Document.class)))
+                .thenReturn(aggregationResults);
+        when(aggregationResults.getUniqueMappedResult()).thenReturn(facets);
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoConverter.read(eq(Event.class), any(Document.class))).thenReturn(new Event());
+    }
+}
@@ -0,0 +1,77 @@
+package app.sportahub.eventservice.repository;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SummarizingEventRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private SummarizingEventRepositoryImpl summarizingEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        summarizingEventRepository = new SummarizingEventRepositoryImpl(mongoTemplate);
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+    }
+
+    @Test
+    void findSummariesShouldOnlyFetchSummaryFields() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "date"));
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class), eq("event")))
+                .thenReturn(List.of(new EventSummary()));
+
+        Page<EventSummary> summaries = summarizingEventRepository.findSummariesByParticipantsUserId("user1", pageable);
+
+        assertEquals(1, summaries.getTotalElements());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Event.class));
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(EventSummary.class), eq("event"));
+        Query query = captor.getValue();
+        assertEquals("user1", query.getQueryObject().get("participants.userId"));
+        assertEquals(new Document("date", -1), query.getSortObject());
+        Document fields = query.getFieldsObject();
+        assertEquals(EventSummary.FIELDS.size(), fields.size());
+        assertTrue(fields.containsKey("location.coordinates"));
+        assertFalse(fields.containsKey("participants"));
+        assertFalse(fields.containsKey("location"));
+    }
+
+    @Test
+    void findSummariesShouldCountWhenPageIsFull() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class), eq("event")))
+                .thenReturn(List.of(new EventSummary()));
+        when(mongoTemplate.count(any(Query.class), eq(Event.class))).thenReturn(4L);
+
+        Page<EventSummary> summaries = summarizingEventRepository.findSummariesByCreatedBy("user1", pageable);
+
+        assertEquals(4, summaries.getTotalElements());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(captor.capture(), eq(Event.class));
+        assertEquals(new Document("createdBy", "user1"), captor.getValue().getQueryObject());
+    }
+}
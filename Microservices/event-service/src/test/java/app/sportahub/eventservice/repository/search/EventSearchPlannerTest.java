@@ -0,0 +1,91 @@
+package app.sportahub.eventservice.repository.search;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.Location;
+import app.sportahub.eventservice.model.event.SearchKeys;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchPlannerTest {
+
+    @Test
+    void keywordInputShouldBePlannedAsNormalizedEquality() {
+        EventSearchPlanner.SearchPredicate predicate = EventSearchPlanner.plan(EventSearchField.CITY, "  Montréal ");
+
+        assertEquals(EventSearchPlanner.Strategy.EQUALITY, predicate.strategy());
+        assertEquals(new Document("searchKeys.city", "montreal"), predicate.criteria().getCriteriaObject());
+    }
+
+    @Test
+    void keywordInputEndingWithWildcardShouldBePlannedAsAnchoredPrefix() {
+        EventSearchPlanner.SearchPredicate predicate = EventSearchPlanner.plan(EventSearchField.SPORT_TYPE, "Socc*");
+
+        assertEquals(EventSearchPlanner.Strategy.PREFIX, predicate.strategy());
+        Pattern pattern = (Pattern) predicate.criteria().getCriteriaObject().get("searchKeys.sportType");
+        assertEquals("^socc", pattern.pattern());
+        assertEquals(0, pattern.flags());
+    }
+
+    @Test
+    void nameInputShouldBePlannedAsTokenPrefixes() {
+        EventSearchPlanner.SearchPredicate singleToken = EventSearchPlanner.plan(EventSearchField.EVENT_NAME, "Soccer");
+        EventSearchPlanner.SearchPredicate manyTokens = EventSearchPlanner.plan(EventSearchField.LOCATION_NAME, "Central Pa");
+
+        assertEquals(EventSearchPlanner.Strategy.TOKEN_PREFIX, singleToken.strategy());
+        assertEquals("^soccer", ((Pattern) singleToken.criteria().getCriteriaObject()
+                .get("searchKeys.eventNameTokens")).pattern());
+
+        assertEquals(EventSearchPlanner.Strategy.TOKEN_PREFIX, manyTokens.strategy());
+        Document all = (Document) manyTokens.criteria().getCriteriaObject().get("searchKeys.locationNameTokens");
+        List<String> patterns = all.getList("$all", Pattern.class).stream().map(Pattern::pattern).toList();
+        assertEquals(List.of("^central", "^pa"), patterns);
+    }
+
+    @Test
+    void inputWithInnerWildcardShouldFallBackToEscapedRegex() {
+        EventSearchPlanner.SearchPredicate predicate = EventSearchPlanner.plan(EventSearchField.EVENT_TYPE, "Fr.e*dly");
+
+        assertEquals(EventSearchPlanner.Strategy.REGEX, predicate.strategy());
+        assertEquals("fr\\.e.*dly",
+                ((Pattern) predicate.criteria().getCriteriaObject().get("searchKeys.eventType")).pattern());
+    }
+
+    @Test
+    void blankInputShouldNotBePlanned() {
+        assertNull(EventSearchPlanner.plan(EventSearchField.EVENT_NAME, "   "));
+        assertNull(EventSearchPlanner.plan(EventSearchField.EVENT_NAME, "*"));
+        assertNull(EventSearchPlanner.plan(EventSearchField.EVENT_NAME, null));
+    }
+
+    @Test
+    void searchKeysShouldBeNormalizedLikeSearchInput() {
+        Event event = Event.builder()
+                .withEventName("Friday Night Soccer!")
+                .withEventType("Friendly")
+                .withSportType("SOCCER")
+                .withLocation(Location.builder()
+                        .withName("Parc Jean-Drapeau")
+                        .withCity("Montréal")
+                        .withProvince("Québec")
+                        .withCountry("Canada")
+                        .withPostalCode("H3C 1A9")
+                        .build())
+                .build();
+
+        SearchKeys searchKeys = SearchTextNormalizer.searchKeysOf(event);
+
+        assertEquals(List.of("friday", "night", "soccer"), searchKeys.getEventNameTokens());
+        assertEquals(List.of("parc", "jean", "drapeau"), searchKeys.getLocationNameTokens());
+        assertEquals("soccer", searchKeys.getSportType());
+        assertEquals("montreal", searchKeys.getCity());
+        assertEquals("quebec", searchKeys.getProvince());
+        assertEquals("h3c1a9", searchKeys.getPostalCode());
+        assertEquals(new Document("searchKeys.postalCode", "h3c1a9"),
+                EventSearchPlanner.plan(EventSearchField.POSTAL_CODE, "h3c 1a9").criteria().getCriteriaObject());
+    }
+}
@@ -2,11 +2,13 @@ package app.sportahub.eventservice.service.event;
 
 import app.sportahub.eventservice.dto.request.event.LocationRequest;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.dto.response.LocationResponse;
 import app.sportahub.eventservice.enums.SkillLevelEnum;
 import app.sportahub.eventservice.exception.event.NoSearchCriteriaProvidedException;
 import app.sportahub.eventservice.mapper.event.EventMapper;
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
 import app.sportahub.eventservice.model.event.Location;
 import app.sportahub.eventservice.repository.SearchingEventRepositoryImpl;
 import app.sportahub.eventservice.repository.event.EventRepository;
@@ -20,9 +22,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 
@@ -41,6 +47,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class EventSearchTest {
 
+    private static final GeoJsonPoint SEARCH_POINT = new GeoJsonPoint(45.52757745329691, -73.57033414232836);
+    private static final List<Double> SEARCH_RADII_KM = List.of(25.0, 50.0, 100.0);
+    private static final double EVENT_DISTANCE_KM = 0.5;
+
     @Mock
     private EventRepository eventRepository;
 
@@ -53,6 +63,9 @@ public class EventSearchTest {
     @Mock
     private MongoTemplate mongoTemplate;
 
+    @Mock
+    private OrchestrationServiceProducer orchestrationServiceProducer;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -62,9 +75,6 @@ public class EventSearchTest {
     private Location location;
     private LocationRequest locationRequest;
 
-    @Mock
-    private OrchestrationServiceProducer orchestrationServiceProducer;
-
     @BeforeEach
     void setUp() {
         eventService = new EventServiceImpl(eventRepository, eventMapper, orchestrationServiceProducer);
@@ -111,10 +121,10 @@ public class EventSearchTest {
                 .withRequiredSkillLevel(EnumSet.of(SkillLevelEnum.INTERMEDIATE))
                 .build();
 
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> mockEventPage = new PageImpl<>(events, pageable, events.size());
+        GeoPage<Event> mockEventPage = new GeoPage<>(new GeoResults<>(
+                List.of(new GeoResult<>(event, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1);
 
-        when(eventRepository.searchEvents("Soccer Match", "Friendly", "Soccer", "Central Park", "New York", "NY", "USA", "10001", "2023-10-15", "14:00", "16:00", "120", "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), pageable))
+        when(eventRepository.searchEventsNear("Soccer Match", "Friendly", "Soccer", "Central Park", "New York", "NY", "USA", "10001", "2023-10-15", "14:00", "16:00", "120", "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), null, SEARCH_POINT, SEARCH_RADII_KM, pageable))
                 .thenReturn(mockEventPage);
 
         LocationResponse locationResponse = new LocationResponse("Central Park", "", "", "New York", "NY", "USA", "10001", "", "", null);
@@ -140,17 +150,17 @@ public class EventSearchTest {
                 false,
                 Collections.emptyList(),
                 EnumSet.of(SkillLevelEnum.INTERMEDIATE),
-                Collections.emptyList(),
+                null,
                 null
         );
 
-        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+        when(eventMapper.eventToEventResponse(event, EVENT_DISTANCE_KM)).thenReturn(eventResponse);
 
         // Act
         Page<EventResponse> result = eventService.searchEvents("Soccer Match", "Friendly",
                 "Soccer", "Central Park", "New York", "NY", "USA",
                 "10001", "2023-10-15", "14:00", "16:00", "120",
-                "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), pageable,
+                "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), null, pageable,
                 45.52757745329691, -73.57033414232836);
 
         // Assert
@@ -178,8 +188,8 @@ public class EventSearchTest {
         Assertions.assertEquals(EnumSet.of(SkillLevelEnum.INTERMEDIATE), result.getContent().getFirst().requiredSkillLevel());
 
         // Verify interactions
-        verify(eventRepository, times(1)).searchEvents("Soccer Match", "Friendly", "Soccer", "Central Park", "New York", "NY", "USA", "10001", "2023-10-15", "14:00", "16:00", "120", "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), pageable);
-        verify(eventMapper, times(1)).eventToEventResponse(event);
+        verify(eventRepository, times(1)).searchEventsNear("Soccer Match", "Friendly", "Soccer", "Central Park", "New York", "NY", "USA", "10001", "2023-10-15", "14:00", "16:00", "120", "20", "user123", false, List.of(SkillLevelEnum.INTERMEDIATE), null, SEARCH_POINT, SEARCH_RADII_KM, pageable);
+        verify(eventMapper, times(1)).eventToEventResponse(event, EVENT_DISTANCE_KM);
     }
 
     @Test
@@ -191,13 +201,56 @@ public class EventSearchTest {
         Assertions.assertThrows(NoSearchCriteriaProvidedException.class, () -> {
             eventService.searchEvents(null, null, null, null, null,
                     null, null, null, null, null, null, null,
-                    null, null, null, null, pageable, -74,
+                    null, null, null, null, null, pageable, -74,
                     40);
         });
 
         // Verify interactions
-        verify(eventRepository, never()).searchEvents(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
-        verify(eventMapper, never()).eventToEventResponse(any());
+        verify(eventRepository, never()).searchEventsNear(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(eventMapper, never()).eventToEventResponse(any(), any());
+    }
+
+    @Test
+    void testSearchEventSummaries_WithPartialCriteria() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        EventSummary summary = EventSummary.builder()
+                .withId("event123")
+                .withEventName("Soccer Match")
+                .withSportType("Soccer")
+                .withLocation(location)
+                .build();
+        EventSummaryResponse summaryResponse = new EventSummaryResponse("event123", "Soccer Match", "Soccer",
+                "Central Park", location.getCoordinates(), null, null, 20, 3, 17, null, EVENT_DISTANCE_KM);
+
+        when(eventRepository.searchEventSummariesNear(null, null, "Soccer", null, "New York", null, null, null, null, null, null, null, null, null, null, null, true, SEARCH_POINT, SEARCH_RADII_KM, pageable))
+                .thenReturn(new GeoPage<>(new GeoResults<>(
+                        List.of(new GeoResult<>(summary, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1));
+        when(eventMapper.eventSummaryToEventSummaryResponse(summary, EVENT_DISTANCE_KM)).thenReturn(summaryResponse);
+
+        // Act
+        Page<EventSummaryResponse> result = eventService.searchEventSummaries(null, null, "Soccer", null,
+                "New York", null, null, null, null, null, null, null, null, null, null, null, true, pageable,
+                45.52757745329691, -73.57033414232836);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(summaryResponse, result.getContent().getFirst());
+
+        // Verify interactions
+        verify(eventRepository, never()).searchEventsNear(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(eventMapper, never()).eventToEventResponse(any(), any());
+    }
+
+    @Test
+    void testSearchEventSummaries_WithNoCriteria() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Assertions.assertThrows(NoSearchCriteriaProvidedException.class, () -> eventService.searchEventSummaries(
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                pageable, -74, 40));
+
+        verify(eventRepository, never()).searchEventSummariesNear(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -212,10 +265,10 @@ public class EventSearchTest {
                 .withDate(LocalDate.of(2023, 10, 15))
                 .build();
 
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> mockEventPage = new PageImpl<>(events, pageable, events.size());
+        GeoPage<Event> mockEventPage = new GeoPage<>(new GeoResults<>(
+                List.of(new GeoResult<>(event, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1);
 
-        when(eventRepository.searchEvents("Soccer Match", null, "Soccer", null, "New York", null, null, null, "2023-10-15", null, null, null, null, null, null, null, pageable))
+        when(eventRepository.searchEventsNear("Soccer Match", null, "Soccer", null, "New York", null, null, null, "2023-10-15", null, null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable))
                 .thenReturn(mockEventPage);
 
         LocationResponse locationResponse = new LocationResponse("Central Park", "", "", "New York", "NY", "USA", "10001", "", "", location.getCoordinates());
@@ -241,18 +294,18 @@ public class EventSearchTest {
                 false,
                 Collections.emptyList(), // whitelistedUsers
                 EnumSet.of(SkillLevelEnum.INTERMEDIATE),
-                Collections.emptyList(),
+                null,
                 null
         );
 
 
-        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+        when(eventMapper.eventToEventResponse(event, EVENT_DISTANCE_KM)).thenReturn(eventResponse);
 
         // Act
         Page<EventResponse> result = eventService.searchEvents("Soccer Match", null,
                 "Soccer", null, "New York", null, null, null,
                 "2023-10-15", null, null, null, null, null,
-                null, null, pageable, 45.52757745329691, -73.57033414232836);
+                null, null, null, pageable, 45.52757745329691, -73.57033414232836);
 
 
         // Assert
@@ -264,8 +317,8 @@ public class EventSearchTest {
         assertEquals(LocalDate.of(2023, 10, 15), result.getContent().getFirst().date());
 
         // Verify interactions
-        verify(eventRepository, times(1)).searchEvents("Soccer Match", null, "Soccer", null, "New York", null, null, null, "2023-10-15", null, null, null, null, null, null, null, pageable);
-        verify(eventMapper, times(1)).eventToEventResponse(event);
+        verify(eventRepository, times(1)).searchEventsNear("Soccer Match", null, "Soccer", null, "New York", null, null, null, "2023-10-15", null, null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable);
+        verify(eventMapper, times(1)).eventToEventResponse(event, EVENT_DISTANCE_KM);
     }
 
     @Test
@@ -280,14 +333,14 @@ public class EventSearchTest {
                 .withDate(LocalDate.of(2023, 10, 15))
                 .build();
 
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> mockEventPage = new PageImpl<>(events, pageable, events.size());
+        GeoPage<Event> mockEventPage = new GeoPage<>(new GeoResults<>(
+                List.of(new GeoResult<>(event, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1);
 
         LocationResponse locationResponse = new LocationResponse("Central Park", "", "", "New York", "NY", "USA", "10001", "", "", location.getCoordinates());
 
-        when(eventRepository.searchEvents(
+        when(eventRepository.searchEventsNear(
                 null, null, null, null, null, null, null, null,
-                "2023-10-15-2023-10-20", null, null, null, null, null, null, null, pageable
+                "2023-10-15-2023-10-20", null, null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         )).thenReturn(mockEventPage);
 
         EventResponse eventResponse = new EventResponse(
@@ -315,13 +368,13 @@ public class EventSearchTest {
                 null
         );
 
-        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+        when(eventMapper.eventToEventResponse(event, EVENT_DISTANCE_KM)).thenReturn(eventResponse);
 
         // Act
         Page<EventResponse> result = eventService.searchEvents(
                 null, null, null, null, null, null, null,
                 null, "2023-10-15-2023-10-20", null, null, null,
-                null, null, null, null, pageable, 45.52757745329691, -73.57033414232836
+                null, null, null, null, null, pageable, 45.52757745329691, -73.57033414232836
         );
 
         // Assert
@@ -332,11 +385,11 @@ public class EventSearchTest {
         assertEquals(LocalDate.of(2023, 10, 15), result.getContent().getFirst().date());
 
         // Verify interactions
-        verify(eventRepository, times(1)).searchEvents(
+        verify(eventRepository, times(1)).searchEventsNear(
                 null, null, null, null, null, null, null, null,
-                "2023-10-15-2023-10-20", null, null, null, null, null, null, null, pageable
+                "2023-10-15-2023-10-20", null, null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         );
-        verify(eventMapper, times(1)).eventToEventResponse(event);
+        verify(eventMapper, times(1)).eventToEventResponse(event, EVENT_DISTANCE_KM);
     }
 
     @Test
@@ -351,12 +404,12 @@ public class EventSearchTest {
                 .withStartTime(LocalTime.of(14, 0))
                 .build();
 
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> mockEventPage = new PageImpl<>(events, pageable, events.size());
+        GeoPage<Event> mockEventPage = new GeoPage<>(new GeoResults<>(
+                List.of(new GeoResult<>(event, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1);
 
-        when(eventRepository.searchEvents(
+        when(eventRepository.searchEventsNear(
                 null, null, null, null, null, null, null, null, null,
-                "14:00-16:00", null, null, null, null, null, null, pageable
+                "14:00-16:00", null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         )).thenReturn(mockEventPage);
 
         LocationResponse locationResponse = new LocationResponse("Central Park", "", "", "New York", "NY", "USA", "10001", "", "", location.getCoordinates());
@@ -386,13 +439,13 @@ public class EventSearchTest {
                 null
         );
 
-        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+        when(eventMapper.eventToEventResponse(event, EVENT_DISTANCE_KM)).thenReturn(eventResponse);
 
         // Act
         Page<EventResponse> result = eventService.searchEvents(
                 null, null, null, null, null, null, null,
                 null, null, "14:00-16:00", null, null, null,
-                null, null, null, pageable, 45.52757745329691, -73.57033414232836
+                null, null, null, null, pageable, 45.52757745329691, -73.57033414232836
         );
 
         // Assert
@@ -403,11 +456,11 @@ public class EventSearchTest {
         assertEquals(LocalTime.of(14, 0), result.getContent().getFirst().startTime());
 
         // Verify interactions
-        verify(eventRepository, times(1)).searchEvents(
+        verify(eventRepository, times(1)).searchEventsNear(
                 null, null, null, null, null, null, null, null, null,
-                "14:00-16:00", null, null, null, null, null, null, pageable
+                "14:00-16:00", null, null, null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         );
-        verify(eventMapper, times(1)).eventToEventResponse(event);
+        verify(eventMapper, times(1)).eventToEventResponse(event, EVENT_DISTANCE_KM);
     }
 
     @Test
@@ -422,12 +475,12 @@ public class EventSearchTest {
                 .withMaxParticipants(15)
                 .build();
 
-        List<Event> events = Collections.singletonList(event);
-        Page<Event> mockEventPage = new PageImpl<>(events, pageable, events.size());
+        GeoPage<Event> mockEventPage = new GeoPage<>(new GeoResults<>(
+                List.of(new GeoResult<>(event, new Distance(EVENT_DISTANCE_KM, Metrics.KILOMETERS)))), pageable, 1);
 
-        when(eventRepository.searchEvents(
+        when(eventRepository.searchEventsNear(
                 null, null, null, null, null, null, null, null, null, null, null,
-                "10-20", null, null, null, null, pageable
+                "10-20", null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         )).thenReturn(mockEventPage);
 
         LocationResponse locationResponse = new LocationResponse("Central Park", "", "", "New York", "NY", "USA", "10001", "", "", location.getCoordinates());
@@ -457,12 +510,12 @@ public class EventSearchTest {
                 null
         );
 
-        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+        when(eventMapper.eventToEventResponse(event, EVENT_DISTANCE_KM)).thenReturn(eventResponse);
 
         // Act
         Page<EventResponse> result = eventService.searchEvents(
                 null, null, null, null, null, null, null, null, null, null, null,
-                "10-20", null, null, null, null, pageable, 45.52757745329691, -73.57033414232836
+                "10-20", null, null, null, null, null, pageable, 45.52757745329691, -73.57033414232836
         );
 
         // Assert
@@ -473,10 +526,10 @@ public class EventSearchTest {
         assertEquals(15, result.getContent().getFirst().maxParticipants());
 
         // Verify interactions
-        verify(eventRepository, times(1)).searchEvents(
+        verify(eventRepository, times(1)).searchEventsNear(
                 null, null, null, null, null, null, null, null, null, null, null,
-                "10-20", null, null, null, null, pageable
+                "10-20", null, null, null, null, null, SEARCH_POINT, SEARCH_RADII_KM, pageable
         );
-        verify(eventMapper, times(1)).eventToEventResponse(event);
+        verify(eventMapper, times(1)).eventToEventResponse(event, EVENT_DISTANCE_KM);
     }
 }
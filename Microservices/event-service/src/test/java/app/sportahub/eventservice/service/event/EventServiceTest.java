@@ -4,7 +4,10 @@ import app.sportahub.eventservice.dto.request.event.EventCancellationRequest;
 import app.sportahub.eventservice.dto.request.event.EventRequest;
 import app.sportahub.eventservice.dto.request.event.LocationRequest;
 import app.sportahub.eventservice.dto.request.event.WhitelistRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.EventResponse;
+import app.sportahub.eventservice.dto.response.EventRingResponse;
+import app.sportahub.eventservice.dto.response.EventSummaryResponse;
 import app.sportahub.eventservice.dto.response.ParticipantResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.enums.EventSortingField;
@@ -13,16 +16,23 @@ import app.sportahub.eventservice.enums.SortDirection;
 import app.sportahub.eventservice.exception.event.*;
 import app.sportahub.eventservice.mapper.event.EventMapper;
 import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.EventSummary;
 import app.sportahub.eventservice.model.event.Location;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.model.event.outbox.ParticipationChange;
 import app.sportahub.eventservice.model.event.participant.Participant;
 import app.sportahub.eventservice.model.event.participant.ParticipantAttendStatus;
+import app.sportahub.eventservice.repository.EventWindow;
 import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
 import app.sportahub.eventservice.model.event.reactor.ReactionType;
 import app.sportahub.eventservice.model.event.reactor.Reaction;
-import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,7 +40,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Metrics;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.http.ResponseEntity;
@@ -43,9 +57,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -63,6 +82,12 @@ class EventServiceTest {
     @Mock
     private OrchestrationServiceProducer orchestrationServiceProducer;
 
+    @Captor
+    private ArgumentCaptor<Collection<String>> fieldsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxMessage>> outboxCaptor;
+
     @InjectMocks
     private EventServiceImpl eventServiceImpl;
 
@@ -134,7 +159,7 @@ class EventServiceTest {
                 false,
                 Collections.singletonList("user1"),
                 null,
-                new ArrayList<>(),
+                null,
                 null
         );
 
@@ -235,14 +260,12 @@ class EventServiceTest {
     @Test
     void getRelevantEventsShouldExpandRadiusAndReturnEvents() {
         GeoJsonPoint point = new GeoJsonPoint(0, 0);
-        Distance initialDistance = new Distance(25, Metrics.KILOMETERS);
-        Distance expandedDistance = new Distance(50, Metrics.KILOMETERS);
+        List<Double> radii = List.of(25.0, 50.0, 100.0);
         Pageable pageable = PageRequest.of(0, 5);
 
-        when(eventRepository.findByLocationCoordinatesNear(eq(point), eq(initialDistance), eq(pageable)))
-                .thenReturn(Page.empty());
-        when(eventRepository.findByLocationCoordinatesNear(eq(point), eq(expandedDistance), eq(pageable)))
-                .thenReturn(new PageImpl<>(Collections.singletonList(event)));
+        when(eventRepository.findNearWithinRadii(eq(point), eq(radii), eq(pageable)))
+                .thenReturn(new GeoPage<>(new GeoResults<>(List.of(
+                        new GeoResult<>(event, new Distance(30, Metrics.KILOMETERS)))), pageable, 1));
         when(eventMapper.eventToEventResponse(any(Event.class))).thenReturn(eventResponse);
 
         ResponseEntity<?> eventsResponse = eventServiceImpl.getRelevantEvents(0, 0, 25, true, true, 0, 5);
@@ -253,8 +276,80 @@ class EventServiceTest {
         assertFalse(eventsPage.isEmpty());
         assertEquals(1, eventsPage.getTotalElements());
         assertEquals(eventResponse, eventsPage.getContent().get(0));
-        verify(eventRepository, times(1)).findByLocationCoordinatesNear(eq(point), eq(initialDistance), eq(pageable));
-        verify(eventRepository, times(1)).findByLocationCoordinatesNear(eq(point), eq(expandedDistance), eq(pageable));
+        verify(eventRepository, times(1)).findNearWithinRadii(eq(point), eq(radii), eq(pageable));
+        verify(eventRepository, never()).findByLocationCoordinatesNear(any(GeoJsonPoint.class), any(Distance.class), any(Pageable.class));
+    }
+
+    @Test
+    void getRelevantEventsShouldRejectNonPositiveRadius() {
+        assertThrows(InvalidSearchRadiusException.class,
+                () -> eventServiceImpl.getRelevantEvents(0, 0, 0, true, false, 0, 5));
+        assertThrows(InvalidSearchRadiusException.class,
+                () -> eventServiceImpl.getRelevantEvents(0, 0, -25, false, true, 0, 5));
+        assertThrows(InvalidSearchRadiusException.class,
+                () -> eventServiceImpl.getRelevantEventSummaries(0, 0, 0, true, false, 0, 5));
+        assertThrows(InvalidSearchRadiusException.class,
+                () -> eventServiceImpl.getRelevantEventSummaries(0, 0, Double.NaN, true, true, 0, 5));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getRelevantEventSummariesShouldOnlyFetchSummariesWithinRadius() {
+        GeoJsonPoint point = new GeoJsonPoint(0, 0);
+        EventSummary summary = EventSummary.builder().withId("1").withEventName("Soccer Game").build();
+        EventSummaryResponse summaryResponse = new EventSummaryResponse("1", "Soccer Game", null, null, null, null,
+                null, null, null, null, null, 12.0);
+        when(eventRepository.findSummariesNearWithinRadii(eq(point), eq(List.of(25.0)), eq(Pageable.unpaged())))
+                .thenReturn(new GeoPage<>(new GeoResults<>(List.of(
+                        new GeoResult<>(summary, new Distance(12, Metrics.KILOMETERS)))), Pageable.unpaged(), 1));
+        when(eventMapper.eventSummaryToEventSummaryResponse(summary, 12.0)).thenReturn(summaryResponse);
+
+        ResponseEntity<?> summariesResponse = eventServiceImpl.getRelevantEventSummaries(0, 0, 25, false, false, 0, 5);
+
+        assertEquals(List.of(summaryResponse), summariesResponse.getBody());
+        verify(eventRepository, never()).findByLocationCoordinatesNear(any(GeoJsonPoint.class), any(Distance.class), any(Pageable.class));
+        verify(eventMapper, never()).eventToEventResponse(any(Event.class));
+    }
+
+    @Test
+    void getNearestEventsShouldGroupEventsByRing() {
+        GeoJsonPoint point = new GeoJsonPoint(0, 0);
+        Event farEvent = event.toBuilder().withId("2").build();
+
+        when(eventRepository.findNearestEvents(point, 100, 50))
+                .thenReturn(new GeoResults<>(List.of(
+                        new GeoResult<>(event, new Distance(3, Metrics.KILOMETERS)),
+                        new GeoResult<>(farEvent, new Distance(35, Metrics.KILOMETERS)))));
+        when(eventMapper.eventToEventResponse(any(Event.class), anyDouble())).thenReturn(eventResponse);
+
+        List<EventRingResponse> rings = eventServiceImpl.getNearestEvents(0, 0, 50);
+
+        assertEquals(List.of(5.0, 10.0, 20.0, 40.0, 80.0, 100.0),
+                rings.stream().map(EventRingResponse::radiusKm).toList());
+        assertEquals(1, rings.get(0).events().size());
+        assertTrue(rings.get(1).events().isEmpty());
+        assertTrue(rings.get(2).events().isEmpty());
+        assertEquals(1, rings.get(3).events().size());
+        verify(eventRepository, times(1)).findNearestEvents(point, 100, 50);
+        verify(eventMapper).eventToEventResponse(event, 3.0);
+        verify(eventMapper).eventToEventResponse(farEvent, 35.0);
+    }
+
+    @Test
+    void getNearestEventsShouldRejectLimitLessThanOne() {
+        assertThrows(InvalidPageSizeException.class, () -> eventServiceImpl.getNearestEvents(0, 0, 0));
+        assertThrows(InvalidPageSizeException.class, () -> eventServiceImpl.getNearestEvents(0, 0, -1));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getNearestEventsShouldCapTheLimit() {
+        GeoJsonPoint point = new GeoJsonPoint(0, 0);
+        when(eventRepository.findNearestEvents(point, 100, 200)).thenReturn(new GeoResults<>(List.of()));
+
+        eventServiceImpl.getNearestEvents(0, 0, 10_000);
+
+        verify(eventRepository).findNearestEvents(point, 100, 200);
     }
 
     @Test
@@ -269,7 +364,27 @@ class EventServiceTest {
         assertNotNull(response);
         assertEquals(eventResponse, response);
         verify(eventRepository, times(1)).findEventByEventName(eventRequest.eventName());
-        verify(eventRepository, times(1)).save(any(Event.class));
+        ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepository, times(1)).save(eventCaptor.capture());
+        assertEquals(1, eventCaptor.getValue().getParticipantCount());
+        assertEquals(0, eventCaptor.getValue().getLikeCount());
+        assertEquals(9, eventCaptor.getValue().getOpenSlots());
+    }
+
+    @Test
+    void createEventShouldQueueTheJoinsOfItsParticipants() {
+        when(eventRepository.findEventByEventName(anyString())).thenReturn(Optional.empty());
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class))).thenReturn(event);
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+
+        eventServiceImpl.createEvent(eventRequest);
+
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepository).save(captor.capture());
+        assertEquals(List.of(new ParticipationChange("creatorId", true)), captor.getValue().getOutbox().stream()
+                .map(OutboxMessage::getParticipationChange)
+                .toList());
+        assertTrue(captor.getValue().getParticipationsPublished());
     }
 
     @Test
@@ -279,6 +394,29 @@ class EventServiceTest {
         assertThrows(EventAlreadyExistsException.class, () -> eventServiceImpl.createEvent(eventRequest));
     }
 
+    @Test
+    void createEventShouldStoreTheCutOffTimeInItsCanonicalFormat() {
+        when(eventRepository.findEventByEventName(anyString())).thenReturn(Optional.empty());
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class)))
+                .thenReturn(event.toBuilder().withCutOffTime("2025-01-31T18:00").build());
+
+        eventServiceImpl.createEvent(eventRequest);
+
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepository).save(captor.capture());
+        assertEquals("2025-01-31T18:00:00", captor.getValue().getCutOffTime());
+    }
+
+    @Test
+    void createEventShouldThrowInvalidCutOffTimeException() {
+        when(eventRepository.findEventByEventName(anyString())).thenReturn(Optional.empty());
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class)))
+                .thenReturn(event.toBuilder().withCutOffTime("18:00").build());
+
+        assertThrows(InvalidCutOffTimeException.class, () -> eventServiceImpl.createEvent(eventRequest));
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
     @Test
     void updateEventShouldSuccessfullyUpdateEvent() {
         List<Participant> participants = List.of(
@@ -296,16 +434,108 @@ class EventServiceTest {
 
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
         when(eventMapper.eventRequestToEvent(any(EventRequest.class))).thenReturn(event);
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(event));
         when(eventMapper.eventToEventResponse(any(Event.class))).thenReturn(eventResponse);
 
         EventResponse response = eventServiceImpl.updateEvent("1", eventRequest);
 
         assertEquals(eventResponse, response);
         verify(eventRepository).findById("1");
-        verify(eventRepository).save(any(Event.class));
+        verify(eventRepository, never()).save(any(Event.class));
+
+        verify(eventRepository).updateFields(any(Event.class), anyCollection(), outboxCaptor.capture());
+        OutboxMessage message = outboxCaptor.getValue().getFirst();
+        assertEquals(List.of("user123"), message.getUserIds());
+        assertEquals("Event Updated", message.getMessageTitle());
     }
 
+    @Test
+    void updateEventShouldQueueOneNotificationForAllParticipants() {
+        List<Participant> participants = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            participants.add(Participant.builder()
+                    .withUserId("user" + i)
+                    .withAttendStatus(ParticipantAttendStatus.JOINED)
+                    .withJoinedOn(LocalDate.now())
+                    .build());
+        }
+        event = event.toBuilder().withParticipants(participants).build();
+
+        when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class))).thenReturn(event);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(event));
+
+        eventServiceImpl.updateEvent("1", eventRequest);
+
+        verify(eventRepository).updateFields(any(Event.class), anyCollection(), outboxCaptor.capture());
+        assertEquals(1, outboxCaptor.getValue().size());
+        OutboxMessage message = outboxCaptor.getValue().getFirst();
+        assertEquals(200, message.getUserIds().size());
+        assertEquals(Map.of("eventId", "1"), message.getData());
+    }
+
+    @Test
+    void updateEventShouldOnlyAppendToTheOutbox() {
+        OutboxMessage pending = OutboxMessage.builder()
+                .withMessageId("pending-message")
+                .withUserIds(List.of("user123"))
+                .build();
+        Event existingEvent = event.toBuilder()
+                .withOutbox(List.of(pending))
+                .build();
+        Event requestedEvent = event.toBuilder()
+                .withParticipants(List.of(Participant.builder()
+                        .withUserId("user123")
+                        .withAttendStatus(ParticipantAttendStatus.JOINED)
+                        .withJoinedOn(LocalDate.now())
+                        .build()))
+                .build();
+
+        when(eventRepository.findById(anyString())).thenReturn(Optional.of(existingEvent));
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class))).thenReturn(requestedEvent);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(requestedEvent));
+
+        eventServiceImpl.updateEvent("1", eventRequest);
+
+        verify(eventRepository).updateFields(any(Event.class), fieldsCaptor.capture(), outboxCaptor.capture());
+        assertFalse(fieldsCaptor.getValue().contains("outbox"));
+        assertFalse(fieldsCaptor.getValue().contains("reactions"));
+        assertFalse(fieldsCaptor.getValue().contains("participationsPublished"));
+        assertEquals(1, outboxCaptor.getValue().size());
+        assertEquals("Event Updated", outboxCaptor.getValue().getFirst().getMessageTitle());
+    }
+
+
+    @Test
+    void updateEventShouldQueueTheParticipantsWhoJoinedOrLeft() {
+        Event requestedEvent = event.toBuilder()
+                .withParticipants(List.of(participant, Participant.builder()
+                        .withUserId("user456")
+                        .withAttendStatus(ParticipantAttendStatus.JOINED)
+                        .withJoinedOn(LocalDate.now())
+                        .build()))
+                .build();
+        Event existingEvent = event.toBuilder()
+                .withParticipants(List.of(participant, Participant.builder()
+                        .withUserId("user789")
+                        .withAttendStatus(ParticipantAttendStatus.JOINED)
+                        .withJoinedOn(LocalDate.now())
+                        .build()))
+                .build();
+
+        when(eventRepository.findById(anyString())).thenReturn(Optional.of(existingEvent));
+        when(eventMapper.eventRequestToEvent(any(EventRequest.class))).thenReturn(requestedEvent);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(requestedEvent));
+
+        eventServiceImpl.updateEvent("1", eventRequest);
+
+        verify(eventRepository).updateFields(any(Event.class), anyCollection(), outboxCaptor.capture());
+        assertEquals(List.of(new ParticipationChange("user456", true), new ParticipationChange("user789", false)),
+                outboxCaptor.getValue().stream()
+                        .map(OutboxMessage::getParticipationChange)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
 
     @Test
     void updateEventShouldThrowEventDoesNotExistException() {
@@ -318,7 +548,7 @@ class EventServiceTest {
     void patchEventShouldSuccessfullyPatchEvent() {
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
         doNothing().when(eventMapper).patchEventFromRequest(any(EventRequest.class), any(Event.class));
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(event));
         when(eventMapper.eventToEventResponse(any(Event.class))).thenReturn(eventResponse);
 
         EventResponse response = eventServiceImpl.patchEvent("1", eventRequest);
@@ -326,7 +556,21 @@ class EventServiceTest {
         assertEquals(eventResponse, response);
         verify(eventRepository).findById("1");
         verify(eventMapper).patchEventFromRequest(any(EventRequest.class), any(Event.class));
-        verify(eventRepository).save(any(Event.class));
+        verify(eventRepository).updateFields(any(Event.class), anyCollection(), anyList());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void patchEventShouldOnlyWriteTheProvidedFields() {
+        EventRequest descriptionPatch = new EventRequest(null, null, null, null, null, null, null, null, null, null,
+                null, null, null, "New description", null, null, null, null);
+        when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(event));
+
+        eventServiceImpl.patchEvent("1", descriptionPatch);
+
+        verify(eventRepository).updateFields(any(Event.class), fieldsCaptor.capture(), anyList());
+        assertEquals(Set.of("description", "updatedAt"), Set.copyOf(fieldsCaptor.getValue()));
     }
 
     @Test
@@ -341,10 +585,18 @@ class EventServiceTest {
         when(eventRepository.findEventById(anyString())).thenReturn(Optional.of(event));
         doNothing().when(eventRepository).delete(any(Event.class));
 
+        when(orchestrationServiceProducer.sendParticipationChangedEvent(any(ParticipationChangedEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
         eventServiceImpl.deleteEvent("1");
 
         verify(eventRepository, times(1)).findEventById("1");
         verify(eventRepository, times(1)).delete(any(Event.class));
+        ArgumentCaptor<ParticipationChangedEvent> captor = ArgumentCaptor.forClass(ParticipationChangedEvent.class);
+        verify(orchestrationServiceProducer).sendParticipationChangedEvent(captor.capture());
+        assertEquals("1", captor.getValue().getSportEventId());
+        assertEquals("user123", captor.getValue().getUserId());
+        assertFalse(captor.getValue().isJoined());
     }
 
     @Test
@@ -384,15 +636,7 @@ class EventServiceTest {
 
     @Test
     void joinEventShouldSuccessfullyAddParticipantToEvent() {
-        event = event.toBuilder()
-                .withIsPrivate(false)
-                .withCutOffTime(LocalDateTime.now().plusDays(1).toString())
-                .withParticipants(new ArrayList<>())
-                .withMaxParticipants(10)
-                .build();
-
-        when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.addParticipant(eq("1"), any(Participant.class), any(LocalDateTime.class))).thenReturn(true);
 
         ParticipantResponse response = eventServiceImpl.joinEvent("1", "newUser");
 
@@ -400,31 +644,29 @@ class EventServiceTest {
         assertEquals("newUser", response.userId());
         assertEquals(ParticipantAttendStatus.JOINED, response.attendStatus());
 
-        verify(eventRepository).findById("1");
-        verify(eventRepository).save(event);
+        verify(eventRepository).addParticipant(eq("1"),
+                argThat(participant -> participant.getUserId().equals("newUser")
+                        && participant.getAttendStatus() == ParticipantAttendStatus.JOINED),
+                any(LocalDateTime.class));
+        verify(eventRepository, never()).findById(anyString());
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
     void joinEventShouldAllowWhitelistedUserToJoin() {
-        event = event.toBuilder()
-                .withIsPrivate(true)
-                .withWhitelistedUsers(Collections.singletonList("whitelistedUser"))
-                .withParticipants(new ArrayList<>())
-                .build();
-
-        when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.addParticipant(eq("1"), any(Participant.class), any(LocalDateTime.class))).thenReturn(true);
 
         ParticipantResponse response = eventServiceImpl.joinEvent("1", "whitelistedUser");
 
         assertNotNull(response);
         assertEquals("whitelistedUser", response.userId());
-        verify(eventRepository, times(1)).findById("1");
-        verify(eventRepository, times(1)).save(event);
+        verify(eventRepository, times(1)).addParticipant(eq("1"), any(Participant.class), any(LocalDateTime.class));
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
     void joinEventShouldThrowEventDoesNotExistException() {
+        when(eventRepository.addParticipant(anyString(), any(Participant.class), any(LocalDateTime.class))).thenReturn(false);
         when(eventRepository.findById(anyString())).thenReturn(Optional.empty());
 
         assertThrows(EventDoesNotExistException.class, () -> eventServiceImpl.joinEvent("1", "newUser"));
@@ -433,6 +675,7 @@ class EventServiceTest {
     @Test
     void joinEventShouldThrowUserIsNotEventWhitelistedException() {
         event = event.toBuilder().withIsPrivate(true).withWhitelistedUsers(Collections.emptyList()).build();
+        when(eventRepository.addParticipant(anyString(), any(Participant.class), any(LocalDateTime.class))).thenReturn(false);
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
 
         assertThrows(UserIsNotEventWhitelistedException.class, () -> eventServiceImpl.joinEvent("1", "newUser"));
@@ -441,6 +684,7 @@ class EventServiceTest {
     @Test
     void joinEventShouldThrowEventRegistrationClosedException() {
         event = event.toBuilder().withCutOffTime(LocalDateTime.now().minusDays(1).toString()).build();
+        when(eventRepository.addParticipant(anyString(), any(Participant.class), any(LocalDateTime.class))).thenReturn(false);
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
 
         assertThrows(EventRegistrationClosedException.class, () -> eventServiceImpl.joinEvent("1", "newUser"));
@@ -449,6 +693,7 @@ class EventServiceTest {
     @Test
     void joinEventShouldThrowEventFullException() {
         event = event.toBuilder().withMaxParticipants(1).withParticipants(Collections.singletonList(participant)).build();
+        when(eventRepository.addParticipant(anyString(), any(Participant.class), any(LocalDateTime.class))).thenReturn(false);
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
 
         assertThrows(EventFullException.class, () -> eventServiceImpl.joinEvent("1", "newUser"));
@@ -456,6 +701,7 @@ class EventServiceTest {
 
     @Test
     void joinEventShouldThrowUserAlreadyParticipantException() {
+        when(eventRepository.addParticipant(anyString(), any(Participant.class), any(LocalDateTime.class))).thenReturn(false);
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
 
         assertThrows(UserAlreadyParticipantException.class, () -> eventServiceImpl.joinEvent("1", "user123"));
@@ -517,6 +763,67 @@ class EventServiceTest {
         verify(eventRepository, times(1)).findByCreatedBy(eq("creatorId"), any(Pageable.class));
     }
 
+    @Test
+    void scrollEventsByParticipantIdShouldReturnWindowWithNextCursor() {
+        when(eventRepository.scrollByParticipant("user123", EventSortingField.DATE, Sort.Direction.DESC, null, 5))
+                .thenReturn(new EventWindow(List.of(event), "next"));
+        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+
+        CursorPageResponse<EventResponse> events = eventServiceImpl.scrollEventsByParticipantId("user123", null, 5,
+                SortDirection.DESC, EventSortingField.DATE);
+
+        assertEquals(List.of(eventResponse), events.content());
+        assertEquals("next", events.nextCursor());
+        assertTrue(events.hasNext());
+        verify(eventRepository, never()).findByParticipantsUserId(any(), any());
+    }
+
+    @Test
+    void scrollEventsCreatedByUserIdShouldReturnLastWindowWithoutCursor() {
+        when(eventRepository.scrollByCreator("creatorId", EventSortingField.EVENT_NAME, Sort.Direction.ASC, "cursor", 5))
+                .thenReturn(new EventWindow(List.of(event), null));
+        when(eventMapper.eventToEventResponse(event)).thenReturn(eventResponse);
+
+        CursorPageResponse<EventResponse> events = eventServiceImpl.scrollEventsCreatedByUserId("creatorId", "cursor", 5,
+                SortDirection.ASC, EventSortingField.EVENT_NAME);
+
+        assertEquals(1, events.content().size());
+        assertNull(events.nextCursor());
+        assertFalse(events.hasNext());
+    }
+
+    @Test
+    void getEventSummariesByParticipantIdShouldReturnSortedSummaries() {
+        EventSummary summary = EventSummary.builder().withId("1").build();
+        EventSummaryResponse summaryResponse = new EventSummaryResponse("1", null, null, null, null, null, null,
+                null, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "date"));
+        when(eventRepository.findSummariesByParticipantsUserId("user123", pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        when(eventMapper.eventSummaryToEventSummaryResponse(summary)).thenReturn(summaryResponse);
+
+        Page<EventSummaryResponse> summaries = eventServiceImpl.getEventSummariesByParticipantId("user123", 0, 5,
+                SortDirection.ASC, EventSortingField.DATE);
+
+        assertEquals(List.of(summaryResponse), summaries.getContent());
+        verify(eventRepository, never()).findByParticipantsUserId(any(), any());
+    }
+
+    @Test
+    void getEventSummariesCreatedByUserIdShouldReturnSortedSummaries() {
+        EventSummary summary = EventSummary.builder().withId("1").build();
+        Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "date"));
+        when(eventRepository.findSummariesByCreatedBy("creatorId", pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 6));
+
+        Page<EventSummaryResponse> summaries = eventServiceImpl.getEventSummariesCreatedByUserId("creatorId", 1, 5,
+                SortDirection.DESC, EventSortingField.DATE);
+
+        assertEquals(6, summaries.getTotalElements());
+        verify(eventMapper).eventSummaryToEventSummaryResponse(summary);
+        verify(eventRepository, never()).findByCreatedBy(any(), any());
+    }
+
     @Test
     void leaveEvent_SuccessfullyLeavesEvent() {
         // Arrange
@@ -532,7 +839,8 @@ class EventServiceTest {
         event.setCutOffTime(cutOffTime.toString());
         event.setParticipants(new ArrayList<>(List.of(participant)));
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
+        when(eventRepository.removeParticipant(eventId, userId)).thenReturn(true);
 
         // Act
         ParticipantResponse response = eventServiceImpl.leaveEvent(eventId, userId);
@@ -541,7 +849,8 @@ class EventServiceTest {
         assertNotNull(response);
         assertEquals(userId, response.userId());
         assertEquals(ParticipantAttendStatus.LEFT, response.attendStatus());
-        verify(eventRepository).save(event);
+        verify(eventRepository).removeParticipant(eventId, userId);
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
@@ -550,7 +859,7 @@ class EventServiceTest {
         String eventId = "event123";
         String userId = "user456";
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EventDoesNotExistException.class, () -> eventServiceImpl.leaveEvent(eventId, userId));
@@ -567,7 +876,7 @@ class EventServiceTest {
         event.setCutOffTime(LocalDateTime.now().plusHours(1).toString());
         event.setParticipants(new ArrayList<>());
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
 
         // Act & Assert
         assertThrows(UserNotAParticipantException.class, () -> eventServiceImpl.leaveEvent(eventId, userId));
@@ -585,7 +894,7 @@ class EventServiceTest {
         event.setCutOffTime(LocalDateTime.now().minusDays(2).toString());
         event.setParticipants(new ArrayList<>(List.of(new Participant(userId, ParticipantAttendStatus.JOINED, LocalDate.now()))));
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
 
         // Act & Assert
         assertThrows(EventAlreadyStartedException.class, () -> eventServiceImpl.leaveEvent(eventId, userId));
@@ -602,12 +911,30 @@ class EventServiceTest {
         event.setCutOffTime(LocalDateTime.now().toString());
         event.setParticipants(new ArrayList<>(List.of(new Participant(userId, ParticipantAttendStatus.JOINED, LocalDate.now()))));
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
 
         // Act & Assert
         assertThrows(EventCreatorCannotLeaveEventException.class, () -> eventServiceImpl.leaveEvent(eventId, userId));
     }
 
+    @Test
+    void leaveEvent_ConcurrentlyRemoved_ThrowsException() {
+        // Arrange
+        String eventId = "event123";
+        String userId = "user456";
+        Event event = new Event();
+        event.setId(eventId);
+        event.setDate(LocalDate.now().plusDays(1));
+        event.setCutOffTime(LocalDateTime.now().plusHours(1).toString());
+        event.setParticipants(new ArrayList<>(List.of(new Participant(userId, ParticipantAttendStatus.JOINED, LocalDate.now()))));
+
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
+        when(eventRepository.removeParticipant(eventId, userId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UserNotAParticipantException.class, () -> eventServiceImpl.leaveEvent(eventId, userId));
+    }
+
     @Test
     void leaveEvent_AfterCutOffTime_SetsCancelledStatus() {
         // Arrange
@@ -623,7 +950,8 @@ class EventServiceTest {
         event.setCutOffTime(pastCutOffTime.toString());
         event.setParticipants(new ArrayList<>(List.of(participant)));
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findParticipation(eventId, userId)).thenReturn(Optional.of(event));
+        when(eventRepository.cancelParticipant(eventId, userId)).thenReturn(true);
 
         // Act
         ParticipantResponse response = eventServiceImpl.leaveEvent(eventId, userId);
@@ -632,13 +960,14 @@ class EventServiceTest {
         assertNotNull(response);
         assertEquals(userId, response.userId());
         assertEquals(ParticipantAttendStatus.CANCELLED, response.attendStatus());
-        verify(eventRepository).save(event);
+        verify(eventRepository).cancelParticipant(eventId, userId);
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
     void cancelEventShouldSuccessfullyCancelEvent() {
         when(eventRepository.findById(anyString())).thenReturn(Optional.of(event));
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.updateFields(any(Event.class), anyCollection(), anyList())).thenReturn(Optional.of(event));
         when(eventMapper.eventToEventResponse(any(Event.class))).thenReturn(eventResponse);
 
         Authentication authentication = mock(Authentication.class);
@@ -655,7 +984,10 @@ class EventServiceTest {
         assertEquals("adminUser", event.getCancellation().getCancelledBy());
         assertEquals("Weather conditions", event.getCancellation().getReason());
 
-        verify(eventRepository).save(event);
+        verify(eventRepository).updateFields(eq(event), fieldsCaptor.capture(), outboxCaptor.capture());
+        assertEquals(Set.of("state", "updatedAt", "cancellation"), Set.copyOf(fieldsCaptor.getValue()));
+        assertEquals(1, outboxCaptor.getValue().size());
+        assertEquals("Event Cancelled", outboxCaptor.getValue().getFirst().getMessageTitle());
     }
 
     @Test
@@ -681,20 +1013,19 @@ class EventServiceTest {
         when(authentication.getName()).thenReturn("user456");
         SecurityContextHolder.setContext(securityContext);
 
-        Event event = new Event();
-        event.setId("event123");
-        event.setReactions(new ArrayList<>());
-
-        when(eventRepository.findEventById("event123")).thenReturn(Optional.of(event));
+        when(eventRepository.addReaction(eq("event123"), any(Reaction.class))).thenReturn(true);
 
         ReactionResponse response = eventServiceImpl.reactToEvent("event123",  ReactionType.LIKE);
 
         assertNotNull(response);
         assertEquals("user456", response.userId());
         assertEquals(ReactionType.LIKE, response.reactionType());
-        assertEquals(1, event.getReactions().size());
 
-        verify(eventRepository).findEventById("event123");
+        ArgumentCaptor<Reaction> reactionCaptor = ArgumentCaptor.forClass(Reaction.class);
+        verify(eventRepository).addReaction(eq("event123"), reactionCaptor.capture());
+        assertEquals("user456", reactionCaptor.getValue().getUserId());
+        assertEquals(ReactionType.LIKE, reactionCaptor.getValue().getReactionType());
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
@@ -705,37 +1036,50 @@ class EventServiceTest {
         when(authentication.getName()).thenReturn("user456");
         SecurityContextHolder.setContext(securityContext);
 
-        Event event = new Event();
-        event.setId("event123");
-        Reaction reactor = new Reaction("user456", ReactionType.LIKE, LocalDateTime.now());
-        event.setReactions(new ArrayList<>(List.of(reactor)));
-
-        when(eventRepository.findEventById("event123")).thenReturn(Optional.of(event));
+        when(eventRepository.removeReaction("event123", "user456")).thenReturn(true);
 
         ReactionResponse response = eventServiceImpl.reactToEvent("event123",  ReactionType.NO_REACTION);
 
         assertNotNull(response);
         assertEquals("user456", response.userId());
         assertEquals(ReactionType.NO_REACTION, response.reactionType());
-        assertEquals(0, event.getReactions().size());
 
-        verify(eventRepository).findEventById("event123");
+        verify(eventRepository).removeReaction("event123", "user456");
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
     void testReactToEvent_AlreadyReacted_ThrowsException() {
-        Event event = new Event();
-        event.setId("event123");
-        Reaction reactor = new Reaction("user456", ReactionType.LIKE, LocalDateTime.now());
-        event.setReactions(new ArrayList<>(List.of(reactor)));
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("user456");
+        SecurityContextHolder.setContext(securityContext);
 
-        when(eventRepository.findEventById("event123")).thenReturn(Optional.of(event));
+        when(eventRepository.addReaction(eq("event123"), any(Reaction.class))).thenReturn(false);
+        when(eventRepository.existsById("event123")).thenReturn(true);
 
         assertThrows(ReactionAlreadySubmittedException.class,
                 () -> eventServiceImpl.reactToEvent("event123",  ReactionType.LIKE)
         );
 
-        verify(eventRepository).findEventById("event123");
+        verify(eventRepository).existsById("event123");
+    }
+
+    @Test
+    void testReactToEvent_RemoveMissingReaction_ThrowsException() {
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn("user456");
+        SecurityContextHolder.setContext(securityContext);
+
+        when(eventRepository.removeReaction("event123", "user456")).thenReturn(false);
+        when(eventRepository.existsById("event123")).thenReturn(true);
+
+        assertThrows(ReactionAlreadySubmittedException.class,
+                () -> eventServiceImpl.reactToEvent("event123",  ReactionType.NO_REACTION)
+        );
     }
 
     @Test
@@ -759,13 +1103,14 @@ class EventServiceTest {
         when(authentication.getName()).thenReturn("user456");
         SecurityContextHolder.setContext(securityContext);
 
-        when(eventRepository.findEventById("event123")).thenReturn(Optional.empty());
+        when(eventRepository.addReaction(eq("event123"), any(Reaction.class))).thenReturn(false);
+        when(eventRepository.existsById("event123")).thenReturn(false);
 
         assertThrows(EventDoesNotExistException.class,
                 () -> eventServiceImpl.reactToEvent("event123", ReactionType.LIKE)
         );
 
-        verify(eventRepository).findEventById("event123");
+        verify(eventRepository).existsById("event123");
     }
 
     @Test
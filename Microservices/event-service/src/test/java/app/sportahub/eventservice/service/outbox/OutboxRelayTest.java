@@ -0,0 +1,192 @@
+package app.sportahub.eventservice.service.outbox;
+
+import app.sportahub.eventservice.model.event.Event;
+import app.sportahub.eventservice.model.event.outbox.OutboxMessage;
+import app.sportahub.eventservice.repository.event.EventRepository;
+import app.sportahub.eventservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private OrchestrationServiceProducer orchestrationServiceProducer;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(eventRepository, orchestrationServiceProducer, 2, 1000, LEASE.toMillis());
+    }
+
+    @Test
+    void drainShouldSendMessagesAndRemoveThemFromTheOutbox() {
+        Event event = eventWithOutbox("event1", message("message1"), message("message2"));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of(event));
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
+        outboxRelay.drain();
+
+        ArgumentCaptor<BatchNotificationEvent> captor = ArgumentCaptor.forClass(BatchNotificationEvent.class);
+        verify(orchestrationServiceProducer, times(2)).sendBatchNotificationEvent(captor.capture());
+        BatchNotificationEvent sent = captor.getAllValues().getFirst();
+        assertEquals("message1", sent.getEventId());
+        assertEquals(List.of("user1", "user2"), sent.getUserIds());
+        assertEquals("Event Updated", sent.getMessageTitle());
+        assertEquals(Map.of("eventId", "event1"), sent.getData());
+        verify(eventRepository).removeOutboxMessages("event1", List.of("message1", "message2"));
+    }
+
+    @Test
+    void drainShouldSendParticipationChangesKeyedByTheirEvent() {
+        OutboxMessage joined = OutboxMessage.participationChanged("user1", true);
+        Event event = eventWithOutbox("event1", joined);
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of(event));
+        when(orchestrationServiceProducer.sendParticipationChangedEvent(any(ParticipationChangedEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
+        outboxRelay.drain();
+
+        ArgumentCaptor<ParticipationChangedEvent> captor = ArgumentCaptor.forClass(ParticipationChangedEvent.class);
+        verify(orchestrationServiceProducer).sendParticipationChangedEvent(captor.capture());
+        assertEquals(joined.getMessageId(), captor.getValue().getEventId());
+        assertEquals(joined.getCreatedAt(), captor.getValue().getTimestamp());
+        assertEquals("event1", captor.getValue().getSportEventId());
+        assertEquals("user1", captor.getValue().getUserId());
+        assertTrue(captor.getValue().isJoined());
+        verify(orchestrationServiceProducer, never()).sendBatchNotificationEvent(any());
+        verify(eventRepository).removeOutboxMessages("event1", List.of(joined.getMessageId()));
+    }
+
+    @Test
+    void drainShouldKeepMessagesThatWereNotAcknowledged() {
+        Event event = eventWithOutbox("event1", message("message1"), message("message2"));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of(event));
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.drain();
+
+        verify(eventRepository).removeOutboxMessages("event1", List.of("message1"));
+    }
+
+    @Test
+    void drainShouldKeepMessagesThatFailedToBeSent() {
+        Event event = eventWithOutbox("event1", message("message1"));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of(event));
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenThrow(new IllegalStateException("Serialization failed"));
+
+        outboxRelay.drain();
+
+        verify(eventRepository).removeOutboxMessages("event1", List.of());
+    }
+
+    @Test
+    void drainShouldKeepMessagesThatTimedOut() {
+        outboxRelay = new OutboxRelay(eventRepository, orchestrationServiceProducer, 2, 10, LEASE.toMillis());
+        Event event = eventWithOutbox("event1", message("message1"));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of(event));
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenAnswer(invocation -> new CompletableFuture<>());
+
+        outboxRelay.drain();
+
+        verify(eventRepository).removeOutboxMessages("event1", List.of());
+    }
+
+    @Test
+    void drainShouldFetchAnotherBatchAfterAFullOne() {
+        List<Event> fullBatch = List.of(eventWithOutbox("event1", message("message1")),
+                eventWithOutbox("event2", message("message2")));
+        List<Event> lastBatch = List.of(eventWithOutbox("event3", message("message3")));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(fullBatch, lastBatch);
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
+        outboxRelay.drain();
+
+        verify(eventRepository, times(2)).claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE));
+        verify(orchestrationServiceProducer, times(3)).sendBatchNotificationEvent(any(BatchNotificationEvent.class));
+        verify(eventRepository).removeOutboxMessages("event3", List.of("message3"));
+    }
+
+    @Test
+    void drainShouldStopWhenNothingInAFullBatchIsRelayed() {
+        List<Event> fullBatch = List.of(eventWithOutbox("event1", message("message1")),
+                eventWithOutbox("event2", message("message2")));
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(fullBatch);
+        when(orchestrationServiceProducer.sendBatchNotificationEvent(any(BatchNotificationEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxRelay.drain();
+
+        verify(eventRepository, times(1)).claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE));
+    }
+
+    @Test
+    void drainShouldDoNothingWhenTheOutboxIsEmpty() {
+        when(eventRepository.claimPendingOutboxes(eq(2), any(Instant.class), eq(LEASE))).thenReturn(List.of());
+
+        outboxRelay.drain();
+
+        verifyNoInteractions(orchestrationServiceProducer);
+        verify(eventRepository, never()).removeOutboxMessages(anyString(), anyCollection());
+    }
+
+    @Test
+    void constructorShouldRejectEmptyBatches() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OutboxRelay(eventRepository, orchestrationServiceProducer, 0, 1000, LEASE.toMillis()));
+    }
+
+    @Test
+    void constructorShouldRejectLeasesThatCouldExpireBeforeTheSendsTimeOut() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OutboxRelay(eventRepository, orchestrationServiceProducer, 2, 1000, 1000));
+    }
+
+    private static Event eventWithOutbox(String eventId, OutboxMessage... messages) {
+        return Event.builder()
+                .withId(eventId)
+                .withOutbox(List.of(messages))
+                .build();
+    }
+
+    private static OutboxMessage message(String messageId) {
+        return OutboxMessage.builder()
+                .withMessageId(messageId)
+                .withCreatedAt(Instant.now())
+                .withUserIds(List.of("user1", "user2"))
+                .withMessageTitle("Event Updated")
+                .withMessageBody("The event 'Soccer' has been updated.")
+                .withData(Map.of("eventId", "event1"))
+                .withClickAction("/events/event1")
+                .withIcon("https://example.com/icons/event-updated.png")
+                .build();
+    }
+}
@@ -2,9 +2,11 @@ package app.sportahub.eventservice.service.social;
 
 import app.sportahub.eventservice.dto.request.social.CommentRequest;
 import app.sportahub.eventservice.dto.request.social.PostRequest;
+import app.sportahub.eventservice.dto.response.CursorPageResponse;
 import app.sportahub.eventservice.dto.response.ReactionResponse;
 import app.sportahub.eventservice.dto.response.social.CommentResponse;
 import app.sportahub.eventservice.dto.response.social.PostResponse;
+import app.sportahub.eventservice.exception.event.CommentDoesNotExistException;
 import app.sportahub.eventservice.exception.event.EventDoesNotExistException;
 import app.sportahub.eventservice.exception.event.InvalidReactionException;
 import app.sportahub.eventservice.exception.event.PostDoesNotExistException;
@@ -16,6 +18,7 @@ import app.sportahub.eventservice.model.event.reactor.Reaction;
 import app.sportahub.eventservice.model.event.reactor.ReactionType;
 import app.sportahub.eventservice.model.social.Comment;
 import app.sportahub.eventservice.model.social.Post;
+import app.sportahub.eventservice.repository.PostWindow;
 import app.sportahub.eventservice.repository.event.EventRepository;
 import app.sportahub.eventservice.repository.social.CommentRepository;
 import app.sportahub.eventservice.repository.social.PostRepository;
@@ -43,6 +46,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -68,7 +72,6 @@ public class PostServiceImplTest {
 
     private PostRequest postRequest;
     private Post post;
-    private Event event;
     private CommentRequest commentRequest;
     private Comment comment;
 
@@ -85,14 +88,10 @@ public class PostServiceImplTest {
         commentRequest = new CommentRequest("comment content", "user1");
         comment = Comment.builder()
                 .withId("comment1")
+                .withPostId("post1")
                 .withContent("comment content")
                 .withCreatedBy("user1")
                 .build();
-
-        event = new Event();
-        event.setId("event1");
-        event.setPosts(new ArrayList<>(List.of(post)));
-        post.setComments(new ArrayList<>(List.of(comment)));
     }
 
     @Test
@@ -105,13 +104,14 @@ public class PostServiceImplTest {
         when(authentication.getName()).thenReturn("user1");
         SecurityContextHolder.setContext(securityContext);
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.existsById(eventId)).thenReturn(true);
         when(postMapper.postRequestToPost(postRequest)).thenReturn(post);
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
         PostResponse createdPost = postService.createPost(eventId, postRequest);
 
-        verify(eventRepository).findEventById(eventId);
+        verify(eventRepository).existsById(eventId);
+        verify(eventRepository, never()).save(any(Event.class));
         verify(postMapper).postRequestToPost(postRequest);
         verify(postRepository).save(any(Post.class));
 
@@ -130,13 +130,13 @@ public class PostServiceImplTest {
     void testCreatePostWhenEventDoesNotExistShouldThrowException() {
         String eventId = "1";
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(false);
 
         assertThatThrownBy(() -> postService.createPost(eventId, postRequest))
                 .isInstanceOf(EventDoesNotExistException.class)
                 .hasMessageContaining(eventId);
 
-        verify(eventRepository).findEventById(eventId);
+        verify(eventRepository).existsById(eventId);
         verify(postMapper, never()).postRequestToPost(any(PostRequest.class));
         verify(postRepository, never()).save(any(Post.class));
     }
@@ -145,7 +145,7 @@ public class PostServiceImplTest {
     void createPost_WhenEventNotFound_ShouldThrowException() {
         String eventId = "nonexistent";
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(false);
 
         assertThatThrownBy(() -> postService.createPost(eventId, postRequest))
                 .isInstanceOf(EventDoesNotExistException.class)
@@ -157,21 +157,55 @@ public class PostServiceImplTest {
         String eventId = "event1";
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByEventId(eq(eventId), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(post), invocation.getArgument(1), 1));
 
         Page<PostResponse> result = postService.getAllPostsOrderedByCreationDateInDesc(eventId, pageable);
 
-        verify(eventRepository).findById(eventId);
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(postRepository).findByEventId(eq(eventId), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getSort())
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "creationDate", "_id"));
+        verifyNoInteractions(eventRepository);
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().getFirst()).isEqualTo(postMapper.postToPostResponse(post));
     }
 
+    @Test
+    void scrollPosts_ShouldReturnWindowWithNextCursor() {
+        String eventId = "event1";
+        PostResponse expectedResponse = new PostResponse("event1", "post1", "content", null, null, null, null);
+
+        when(postRepository.scrollByEventId(eventId, null, 1)).thenReturn(new PostWindow(List.of(post), "next"));
+        when(postMapper.postToPostResponse(post)).thenReturn(expectedResponse);
+
+        CursorPageResponse<PostResponse> result = postService.scrollPosts(eventId, null, 1);
+
+        assertThat(result.content()).containsExactly(expectedResponse);
+        assertThat(result.nextCursor()).isEqualTo("next");
+        assertThat(result.hasNext()).isTrue();
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void scrollPosts_WhenEventNotFound_ShouldThrowException() {
+        String eventId = "nonexistent";
+
+        when(postRepository.scrollByEventId(eventId, null, 10)).thenReturn(new PostWindow(List.of(), null));
+        when(eventRepository.existsById(eventId)).thenReturn(false);
+
+        assertThatThrownBy(() -> postService.scrollPosts(eventId, null, 10))
+                .isInstanceOf(EventDoesNotExistException.class)
+                .hasMessageContaining(eventId);
+    }
+
     @Test
     void getAllPostsOrderedByCreationDateInDesc_WhenEventNotFound_ShouldThrowException() {
         String eventId = "nonexistent";
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+        when(postRepository.findByEventId(eq(eventId), any(Pageable.class))).thenReturn(Page.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(false);
 
         assertThatThrownBy(() -> postService.getAllPostsOrderedByCreationDateInDesc(eventId, pageable))
                 .isInstanceOf(EventDoesNotExistException.class)
@@ -184,12 +218,12 @@ public class PostServiceImplTest {
         String postId = "post1";
         PostResponse expectedResponse = new PostResponse("post1", null, "content", null, null, null, null);
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.of(post));
         when(postMapper.postToPostResponse(post)).thenReturn(expectedResponse);
 
         PostResponse result = postService.getPost(eventId, postId);
 
-        verify(eventRepository).findEventById(eventId);
+        verifyNoInteractions(eventRepository);
         verify(postMapper).postToPostResponse(post);
         assertThat(result).isEqualTo(expectedResponse);
     }
@@ -199,7 +233,8 @@ public class PostServiceImplTest {
         String eventId = "event1";
         String postId = "nonexistent";
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(true);
 
         assertThatThrownBy(() -> postService.getPost(eventId, postId))
                 .isInstanceOf(PostDoesNotExistException.class)
@@ -212,70 +247,162 @@ public class PostServiceImplTest {
         String postId = "post1";
         PostResponse expectedResponse = new PostResponse("post1", null, "content", null, null, null, null);
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.of(post));
         when(postMapper.postToPostResponse(post)).thenReturn(expectedResponse);
 
         PostResponse result = postService.deletePost(eventId, postId);
 
-        verify(eventRepository).findEventById(eventId);
         verify(postRepository).deleteById(postId);
-        verify(eventRepository).save(event);
+        verify(commentRepository).deleteByPostId(postId);
+        verifyNoInteractions(eventRepository);
         verify(postMapper).postToPostResponse(post);
 
         assertThat(result).isEqualTo(expectedResponse);
-        assertThat(event.getPosts()).doesNotContain(post);
     }
 
     @Test
-    void createComment_ShouldAddCommentToPost() {
+    void getComments_ShouldReturnCommentsOldestFirst() {
         String eventId = "event1";
         String postId = "post1";
         CommentResponse expectedResponse = new CommentResponse("comment1", null, "content", "user1", null);
 
-        Authentication auth = mock(Authentication.class);
-        SecurityContext securityContext = mock(SecurityContext.class);
-        when(securityContext.getAuthentication()).thenReturn(auth);
-        when(auth.getName()).thenReturn("user1");
-        SecurityContextHolder.setContext(securityContext);
+        when(postRepository.existsByIdAndEventId(postId, eventId)).thenReturn(true);
+        when(commentRepository.findByPostId(eq(postId), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(comment), invocation.getArgument(1), 1));
+        when(commentMapper.commentToCommentResponse(comment, eventId, postId)).thenReturn(expectedResponse);
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        Page<CommentResponse> result = postService.getComments(eventId, postId, PageRequest.of(0, 10));
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(commentRepository).findByPostId(eq(postId), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getSort())
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "creationDate", "_id"));
+        verifyNoInteractions(eventRepository);
+        assertThat(result.getContent()).containsExactly(expectedResponse);
+    }
+
+    @Test
+    void getComments_WhenPostNotFound_ShouldThrowException() {
+        String eventId = "event1";
+        String postId = "nonexistent";
+
+        when(postRepository.existsByIdAndEventId(postId, eventId)).thenReturn(false);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+
+        assertThatThrownBy(() -> postService.getComments(eventId, postId, PageRequest.of(0, 10)))
+                .isInstanceOf(PostDoesNotExistException.class)
+                .hasMessageContaining(postId);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void getComments_WhenPostWithCommentsBelongsToAnotherEvent_ShouldThrowException() {
+        String eventId = "otherEvent";
+        String postId = "post1";
+
+        lenient().when(commentRepository.findByPostId(eq(postId), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(comment), invocation.getArgument(1), 1));
+        when(postRepository.existsByIdAndEventId(postId, eventId)).thenReturn(false);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+
+        assertThatThrownBy(() -> postService.getComments(eventId, postId, PageRequest.of(0, 10)))
+                .isInstanceOf(PostDoesNotExistException.class)
+                .hasMessageContaining(postId);
+        verify(commentRepository, never()).findByPostId(any(), any());
+    }
+
+    @Test
+    void createComment_ShouldInsertCommentAndIncrementCount() {
+        String eventId = "event1";
+        String postId = "post1";
+        CommentResponse expectedResponse = new CommentResponse("comment1", null, "content", "user1", null);
+
+        mockAuthentication("user1");
         when(commentMapper.commentRequestToComment(commentRequest)).thenReturn(comment);
-        when(commentMapper.commentToCommentResponse(comment, eventId, postId))
+        when(postRepository.incrementCommentCount(eventId, postId, 1)).thenReturn(true);
+        when(commentRepository.insert(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(commentMapper.commentToCommentResponse(any(Comment.class), eq(eventId), eq(postId)))
                 .thenReturn(expectedResponse);
-        when(commentRepository.save(comment)).thenReturn(comment);
 
         CommentResponse result = postService.createComment(eventId, postId, commentRequest);
 
-        verify(eventRepository).findEventById(eventId);
-        verify(commentMapper).commentRequestToComment(commentRequest);
-        verify(commentRepository).save(comment);
-        verify(postRepository).save(post);
-        verify(eventRepository).save(event);
+        ArgumentCaptor<Comment> commentCaptor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).insert(commentCaptor.capture());
+        Comment inserted = commentCaptor.getValue();
+        assertThat(inserted.getPostId()).isEqualTo(postId);
+        assertThat(inserted.getCreatedBy()).isEqualTo("user1");
+        assertThat(inserted.getCreationDate()).isNotNull();
+        verify(postRepository, never()).findByIdAndEventId(any(), any());
+        verify(postRepository, never()).save(any(Post.class));
+        verifyNoInteractions(eventRepository);
 
         assertThat(result).isEqualTo(expectedResponse);
-        assertThat(post.getComments()).contains(comment);
     }
 
     @Test
-    void deleteComment_ShouldRemoveComment() {
+    void createComment_WhenPostNotFound_ShouldThrowWithoutInserting() {
+        String eventId = "event1";
+        String postId = "nonexistent";
+
+        mockAuthentication("user1");
+        when(commentMapper.commentRequestToComment(commentRequest)).thenReturn(comment);
+        when(postRepository.incrementCommentCount(eventId, postId, 1)).thenReturn(false);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+
+        assertThatThrownBy(() -> postService.createComment(eventId, postId, commentRequest))
+                .isInstanceOf(PostDoesNotExistException.class)
+                .hasMessageContaining(postId);
+        verify(commentRepository, never()).insert(any(Comment.class));
+    }
+
+    @Test
+    void createComment_WhenInsertFails_ShouldUndoIncrement() {
+        String eventId = "event1";
+        String postId = "post1";
+
+        mockAuthentication("user1");
+        when(commentMapper.commentRequestToComment(commentRequest)).thenReturn(comment);
+        when(postRepository.incrementCommentCount(eventId, postId, 1)).thenReturn(true);
+        when(commentRepository.insert(any(Comment.class))).thenThrow(new IllegalStateException("Insert failed"));
+
+        assertThrows(IllegalStateException.class, () -> postService.createComment(eventId, postId, commentRequest));
+        verify(postRepository).incrementCommentCount(eventId, postId, -1);
+    }
+
+    @Test
+    void deleteComment_ShouldRemoveCommentAndDecrementCount() {
         String eventId = "event1";
         String postId = "post1";
         String commentId = "comment1";
         CommentResponse expectedResponse = new CommentResponse("comment1", null, "content", "user1", null);
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.incrementCommentCount(eventId, postId, -1)).thenReturn(true);
+        when(commentRepository.deleteByIdAndPostId(commentId, postId)).thenReturn(comment);
         when(commentMapper.commentToCommentResponse(comment, eventId, postId))
                 .thenReturn(expectedResponse);
 
         CommentResponse result = postService.deleteComment(eventId, postId, commentId);
 
-        verify(eventRepository).findEventById(eventId);
-        verify(commentRepository).deleteById(commentId);
-        verify(postRepository).save(post);
-        verify(eventRepository).save(event);
+        verify(postRepository, never()).incrementCommentCount(eventId, postId, 1);
+        verify(postRepository, never()).save(any(Post.class));
+        verifyNoInteractions(eventRepository);
 
         assertThat(result).isEqualTo(expectedResponse);
-        assertThat(post.getComments()).doesNotContain(comment);
+    }
+
+    @Test
+    void deleteComment_WhenCommentNotFound_ShouldUndoDecrement() {
+        String eventId = "event1";
+        String postId = "post1";
+        String commentId = "nonexistent";
+
+        when(postRepository.incrementCommentCount(eventId, postId, -1)).thenReturn(true);
+        when(commentRepository.deleteByIdAndPostId(commentId, postId)).thenReturn(null);
+
+        assertThatThrownBy(() -> postService.deleteComment(eventId, postId, commentId))
+                .isInstanceOf(CommentDoesNotExistException.class)
+                .hasMessageContaining(commentId);
+        verify(postRepository).incrementCommentCount(eventId, postId, 1);
     }
 
     @Test
@@ -291,13 +418,11 @@ public class PostServiceImplTest {
         when(authentication.getName()).thenReturn(userId);
         SecurityContextHolder.setContext(securityContext);
 
-        Event event = new Event();
         Post post = new Post();
         post.setId(postId);
         post.setReactions(new ArrayList<>());
-        event.setPosts(new ArrayList<>(List.of(post)));
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.of(post));
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
         // Execute
@@ -308,7 +433,7 @@ public class PostServiceImplTest {
         assertThat(response.reactionType()).isEqualTo(ReactionType.LIKE);
         assertThat(post.getReactions()).hasSize(1);
         verify(postRepository).save(post);
-        verify(eventRepository).save(event);
+        verifyNoInteractions(eventRepository);
     }
 
     @Test
@@ -318,14 +443,12 @@ public class PostServiceImplTest {
         String postId = "post1";
         String userId = "user1";
 
-        Event event = new Event();
         Post post = new Post();
         post.setId(postId);
         Reaction existingReaction = new Reaction(userId, ReactionType.LIKE, LocalDateTime.now());
         post.setReactions(new ArrayList<>(List.of(existingReaction)));
-        event.setPosts(new ArrayList<>(List.of(post)));
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.of(post));
         when(postRepository.save(any(Post.class))).thenReturn(post);
 
         // Execute
@@ -336,7 +459,7 @@ public class PostServiceImplTest {
         assertThat(response.reactionType()).isEqualTo(ReactionType.NO_REACTION);
         assertThat(post.getReactions()).isEmpty();
         verify(postRepository).save(post);
-        verify(eventRepository).save(event);
+        verifyNoInteractions(eventRepository);
     }
 
     @Test
@@ -346,14 +469,12 @@ public class PostServiceImplTest {
         String postId = "post1";
         String userId = "user1";
 
-        Event event = new Event();
         Post post = new Post();
         post.setId(postId);
         Reaction existingReaction = new Reaction(userId, ReactionType.LIKE, LocalDateTime.now());
         post.setReactions(new ArrayList<>(List.of(existingReaction)));
-        event.setPosts(new ArrayList<>(List.of(post)));
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId(postId, eventId)).thenReturn(Optional.of(post));
 
         // Execute & Verify
         assertThatThrownBy(() -> postService.reactToPost(eventId, postId, ReactionType.LIKE))
@@ -374,7 +495,8 @@ public class PostServiceImplTest {
     void reactToPost_EventNotFound_ShouldThrowException() {
 
         String eventId = "nonexistent";
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.empty());
+        when(postRepository.findByIdAndEventId("post1", eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(false);
 
         // Execute & Verify
         assertThatThrownBy(() -> postService.reactToPost(eventId, "post1", ReactionType.LIKE))
@@ -385,14 +507,21 @@ public class PostServiceImplTest {
     @Test
     void reactToPost_PostNotFound_ShouldThrowException() {
         String eventId = "event1";
-        Event event = new Event();
-        event.setPosts(new ArrayList<>()); // No posts
 
-        when(eventRepository.findEventById(eventId)).thenReturn(Optional.of(event));
+        when(postRepository.findByIdAndEventId("nonexistent", eventId)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(eventId)).thenReturn(true);
 
         // Execute & Verify
         assertThatThrownBy(() -> postService.reactToPost(eventId, "nonexistent", ReactionType.LIKE))
                 .isInstanceOf(PostDoesNotExistException.class)
                 .hasMessageContaining("nonexistent");
     }
+
+    private static void mockAuthentication(String userId) {
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(userId);
+        SecurityContextHolder.setContext(securityContext);
+    }
 }
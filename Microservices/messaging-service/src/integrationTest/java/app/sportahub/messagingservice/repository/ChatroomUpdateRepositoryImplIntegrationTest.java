@@ -0,0 +1,122 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.config.MongoConfig;
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+import app.sportahub.messagingservice.model.MessagePreview;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class ChatroomUpdateRepositoryImplIntegrationTest {
+
+    private static final Member CREATOR = new Member("creator", "Creator", null);
+    private static final Member MEMBER = new Member("member", "Member", null);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static ChatroomUpdateRepositoryImpl chatroomUpdateRepository;
+    private static LastMessageRepositoryImpl lastMessageRepository;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        SimpleMongoClientDatabaseFactory databaseFactory =
+                new SimpleMongoClientDatabaseFactory(mongoClient, "messaging-service-it");
+        MongoCustomConversions conversions = new MongoConfig().customConversions();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(databaseFactory),
+                mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        mongoTemplate = new MongoTemplate(databaseFactory, converter);
+
+        chatroomUpdateRepository = new ChatroomUpdateRepositoryImpl(mongoTemplate);
+        lastMessageRepository = new LastMessageRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clearChatrooms() {
+        mongoTemplate.dropCollection(Chatroom.class);
+    }
+
+    @Test
+    void membershipChangesShouldKeepTheLastMessageSavedSinceTheChatroomWasRead() {
+        Chatroom chatroom = mongoTemplate.insert(Chatroom.builder()
+                .chatroomName("Team")
+                .createdBy(CREATOR.getUserId())
+                .createdAt(Timestamp.valueOf(LocalDateTime.now()))
+                .members(Set.of(CREATOR, MEMBER))
+                .build());
+        MessagePreview lastMessage = MessagePreview.builder()
+                .withMessageId("message")
+                .withSenderId(MEMBER.getUserId())
+                .withContent("See you there")
+                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                .build();
+        lastMessageRepository.updateLastMessage(chatroom.getChatroomId(), lastMessage);
+
+        Member newcomer = new Member("newcomer", "Newcomer", null);
+        Chatroom added = chatroomUpdateRepository.addMembers(chatroom.getChatroomId(), List.of(MEMBER, newcomer))
+                .orElseThrow();
+        assertEquals(Set.of("creator", "member", "newcomer"), userIds(added));
+        assertEquals(3, added.getMembers().size());
+        assertEquals("message", added.getLastMessage().getMessageId());
+
+        Chatroom removed = chatroomUpdateRepository.removeMembers(chatroom.getChatroomId(), Set.of("member"))
+                .orElseThrow();
+        assertEquals(Set.of("creator", "newcomer"), userIds(removed));
+        assertEquals("message", removed.getLastMessage().getMessageId());
+
+        chatroom.setChatroomName("Renamed team");
+        Chatroom renamed = chatroomUpdateRepository.updateFields(chatroom, List.of("chatroomName")).orElseThrow();
+        assertEquals("Renamed team", renamed.getChatroomName());
+        assertEquals(Set.of("creator", "newcomer"), userIds(renamed));
+        assertEquals("message", renamed.getLastMessage().getMessageId());
+    }
+
+    @Test
+    void updatesShouldReturnEmptyIfTheChatroomDoesNotExist() {
+        String missingChatroomId = "507f1f77bcf86cd799439011";
+
+        assertTrue(chatroomUpdateRepository.addMembers(missingChatroomId, List.of(MEMBER)).isEmpty());
+        assertTrue(chatroomUpdateRepository.removeMembers(missingChatroomId, Set.of("member")).isEmpty());
+        assertEquals(0, mongoTemplate.count(new Query(), Chatroom.class));
+    }
+
+    private static Set<String> userIds(Chatroom chatroom) {
+        return chatroom.getMembers().stream().map(Member::getUserId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,219 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.config.MongoConfig;
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.InboxChatroom;
+import app.sportahub.messagingservice.model.InboxEntry;
+import app.sportahub.messagingservice.model.Member;
+import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class InboxRepositoryImplIntegrationTest {
+
+    private static final int CHATROOM_COUNT = 45;
+    private static final int WINDOW_SIZE = 10;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static InboxActivityRepositoryImpl inboxActivityRepository;
+    private static InboxListingRepositoryImpl inboxListingRepository;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        SimpleMongoClientDatabaseFactory databaseFactory =
+                new SimpleMongoClientDatabaseFactory(mongoClient, "messaging-service-it");
+        MongoCustomConversions conversions = new MongoConfig().customConversions();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(databaseFactory),
+                mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        mongoTemplate = new MongoTemplate(databaseFactory, converter);
+
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(InboxEntry.class)
+                .forEach(mongoTemplate.indexOps(InboxEntry.class)::ensureIndex);
+        inboxActivityRepository = new InboxActivityRepositoryImpl(mongoTemplate);
+        inboxListingRepository = new InboxListingRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        mongoTemplate.remove(new Query(), InboxEntry.class);
+        mongoTemplate.remove(new Query(), Chatroom.class);
+    }
+
+    @Test
+    void messagesShouldBeUnreadForEveryMemberButTheirSender() {
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("alice", "bob", "carol"), at(0));
+
+        inboxActivityRepository.recordMessages("chatroom1", List.of(message("alice", 1), message("bob", 2),
+                message("alice", 3)));
+        inboxActivityRepository.recordMessages("chatroom1", List.of(message("carol", 4)));
+
+        assertEquals(2, entry("chatroom1", "alice").getUnreadCount());
+        assertEquals(3, entry("chatroom1", "bob").getUnreadCount());
+        assertEquals(3, entry("chatroom1", "carol").getUnreadCount());
+        assertEquals(at(4), entry("chatroom1", "carol").getLastActivityAt());
+    }
+
+    @Test
+    void recordingABatchAgainShouldOnlyCountItsNewMessages() {
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("alice", "bob"), at(0));
+        Message first = message("alice", 1);
+        Message second = message("alice", 2);
+        inboxActivityRepository.recordMessages("chatroom1", List.of(first, second));
+
+        inboxActivityRepository.recordMessages("chatroom1", List.of(first, second));
+        inboxActivityRepository.recordMessages("chatroom1", List.of(first, second, message("alice", 3)));
+
+        assertEquals(3, entry("chatroom1", "bob").getUnreadCount());
+        assertEquals(0, entry("chatroom1", "alice").getUnreadCount());
+        assertEquals(at(3), entry("chatroom1", "bob").getLastActivityAt());
+    }
+
+    @Test
+    void messagesCreatedAtTheSameTimeShouldBeCountedAcrossBatches() {
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("alice", "bob"), at(0));
+        Message first = message("alice", 1);
+        Message second = message("alice", 1);
+        inboxActivityRepository.recordMessages("chatroom1", List.of(first));
+
+        inboxActivityRepository.recordMessages("chatroom1", List.of(first, second));
+
+        assertEquals(2, entry("chatroom1", "bob").getUnreadCount());
+    }
+
+    @Test
+    void readingShouldResetTheUnreadCountOfTheReaderOnly() {
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("alice", "bob"), at(0));
+        inboxActivityRepository.recordMessages("chatroom1", List.of(message("alice", 1), message("alice", 2)));
+
+        assertTrue(inboxActivityRepository.markRead("chatroom1", "bob", at(5)));
+        assertFalse(inboxActivityRepository.markRead("chatroom1", "mallory", at(5)));
+
+        assertEquals(0, entry("chatroom1", "bob").getUnreadCount());
+        assertEquals(at(5), entry("chatroom1", "bob").getLastReadAt());
+        assertEquals(at(2), entry("chatroom1", "bob").getLastActivityAt());
+    }
+
+    @Test
+    void syncingMembersShouldKeepTheReadStateOfRemainingMembers() {
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("alice", "bob"), at(0));
+        inboxActivityRepository.recordMessages("chatroom1", List.of(message("alice", 1)));
+
+        inboxActivityRepository.syncMembers("chatroom1", Set.of("bob", "carol"), at(1));
+
+        assertNull(entry("chatroom1", "alice"));
+        assertEquals(1, entry("chatroom1", "bob").getUnreadCount());
+        assertEquals(0, entry("chatroom1", "carol").getUnreadCount());
+        assertEquals(at(1), entry("chatroom1", "carol").getLastActivityAt());
+    }
+
+    @Test
+    void scrollingShouldVisitEveryChatroomOnceMostRecentlyActiveFirst() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < CHATROOM_COUNT; i++) {
+            Set<Member> members = new HashSet<>(List.of(member("alice"), member("bob")));
+            if (i % 2 == 0) {
+                members.add(member("carol"));
+            }
+            Chatroom chatroom = mongoTemplate.insert(Chatroom.builder()
+                    .chatroomName("Chatroom " + i)
+                    .createdBy("alice")
+                    .createdAt(at(0))
+                    .members(members)
+                    .lastMessage(MessagePreview.builder().withContent("Message " + i).withCreatedAt(at(i / 3)).build())
+                    .build());
+            // Several chatrooms share each last activity, so windows regularly end in the middle of a tie.
+            inboxActivityRepository.syncMembers(chatroom.getChatroomId(),
+                    members.stream().map(Member::getUserId).collect(Collectors.toSet()), at(i / 3));
+            expected.addFirst(chatroom.getChatroomId());
+        }
+        // An entry left behind by a chatroom deleted while it was being read is skipped.
+        inboxActivityRepository.syncMembers(new ObjectId().toHexString(), Set.of("alice"), at(CHATROOM_COUNT));
+
+        List<InboxChatroom> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            InboxWindow window = inboxListingRepository.scrollByUserId("alice", cursor, WINDOW_SIZE);
+            visited.addAll(window.chatrooms());
+            cursor = window.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(CHATROOM_COUNT, visited.size());
+        assertEquals(Set.copyOf(expected), Set.copyOf(visited.stream().map(InboxChatroom::getChatroomId).toList()));
+        for (int i = 1; i < visited.size(); i++) {
+            assertFalse(visited.get(i).getLastActivityAt().after(visited.get(i - 1).getLastActivityAt()));
+        }
+        for (InboxChatroom chatroom : visited) {
+            int index = Integer.parseInt(chatroom.getLastMessage().getContent().substring("Message ".length()));
+            assertEquals(index % 2 == 0 ? "Chatroom " + index : "bob", chatroom.getChatroomName());
+            assertEquals(0, chatroom.getUnreadCount());
+        }
+    }
+
+    private static InboxEntry entry(String chatroomId, String userId) {
+        return mongoTemplate.findOne(new Query(Criteria.where("chatroomId").is(chatroomId).and("userId").is(userId)),
+                InboxEntry.class);
+    }
+
+    private static Message message(String senderId, int minutes) {
+        return Message.builder()
+                .withMessageId(new ObjectId().toHexString())
+                .withChatroomId("chatroom1")
+                .withSenderId(senderId)
+                .withContent("content")
+                .withCreatedAt(at(minutes))
+                .build();
+    }
+
+    private static Member member(String userId) {
+        return new Member(userId, userId, null);
+    }
+
+    private static Timestamp at(int minutes) {
+        return Timestamp.valueOf(START.plusMinutes(minutes));
+    }
+}
@@ -0,0 +1,211 @@
+package app.sportahub.messagingservice.service.broker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two instances of the service side by side, each with its own simple broker and subscribers, and checks that a
+ * message sent on one instance reaches the subscribers of the other through Kafka.
+ */
+class KafkaChatroomBroadcasterIntegrationTest {
+
+    private static final String TOPIC = "messaging.chatroom.broadcast";
+    private static final int LATENCY_MESSAGES = 1000;
+
+    private static EmbeddedKafkaBroker kafkaBroker;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeAll
+    static void startKafka() {
+        kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        kafkaBroker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopKafka() {
+        kafkaBroker.destroy();
+    }
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node();
+        nodeB = new Node();
+        nodeA.subscribe("a1", "chatroom1");
+        nodeB.subscribe("b1", "chatroom1");
+        nodeB.subscribe("b2", "chatroom2");
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void messageShouldReachTheSubscribersOfEveryInstanceOnce() throws IOException {
+        nodeA.broadcaster.broadcast("chatroom1", Map.of("content", "hello"));
+
+        await(() -> nodeB.received("b1").size() == 1);
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(1, nodeA.received("a1").size());
+        assertEquals(1, nodeB.received("b1").size());
+        assertTrue(nodeB.received("b2").isEmpty());
+        assertEquals("hello", objectMapper.readTree((byte[]) nodeB.received("b1").get(0).message().getPayload())
+                .get("content").asText());
+        assertEquals(1, nodeB.meterRegistry.get("messaging.broker.relay.delivered").counter().count());
+        assertEquals(0, nodeA.meterRegistry.get("messaging.broker.relay.delivered").counter().count());
+    }
+
+    @Test
+    void messagesShouldKeepTheirOrderAcrossInstances() throws IOException {
+        for (int i = 0; i < LATENCY_MESSAGES; i++) {
+            nodeA.broadcaster.broadcast("chatroom1", Map.of("sequence", i, "sentAt", System.nanoTime()));
+        }
+
+        await(() -> nodeB.received("b1").size() == LATENCY_MESSAGES);
+
+        List<Long> local = latencies(nodeA.received("a1"));
+        List<Long> relayed = latencies(nodeB.received("b1"));
+        System.out.printf("KafkaChatroomBroadcasterIntegrationTest: local delivery mean %.3f ms, max %.3f ms%n",
+                mean(local), max(local));
+        System.out.printf("KafkaChatroomBroadcasterIntegrationTest: cross-instance delivery mean %.3f ms, max %.3f ms%n",
+                mean(relayed), max(relayed));
+
+        List<Integer> sequence = new ArrayList<>();
+        for (Delivery delivery : nodeB.received("b1")) {
+            sequence.add(objectMapper.readTree((byte[]) delivery.message().getPayload()).get("sequence").asInt());
+        }
+        for (int i = 0; i < LATENCY_MESSAGES; i++) {
+            assertEquals(i, sequence.get(i));
+        }
+    }
+
+    private List<Long> latencies(List<Delivery> deliveries) throws IOException {
+        List<Long> latencies = new ArrayList<>();
+        for (Delivery delivery : deliveries) {
+            JsonNode payload = objectMapper.readTree((byte[]) delivery.message().getPayload());
+            latencies.add(delivery.receivedAt() - payload.get("sentAt").asLong());
+        }
+        return latencies;
+    }
+
+    private static double mean(List<Long> nanos) {
+        return nanos.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000d;
+    }
+
+    private static double max(List<Long> nanos) {
+        return nanos.stream().mapToLong(Long::longValue).max().orElse(0) / 1_000_000d;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private record Delivery(Message<?> message, long receivedAt) {
+    }
+
+    /**
+     * One instance of the service: the channels and simple broker that Spring sets up for the websocket endpoint, and
+     * a broadcaster connected to the shared Kafka broker.
+     */
+    private static class Node {
+
+        private final ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        private final ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        private final SimpleBrokerMessageHandler simpleBroker =
+                new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        private final Map<String, List<Delivery>> deliveries = new ConcurrentHashMap<>();
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+        private final KafkaChatroomBroadcaster broadcaster;
+
+        Node() {
+            clientOutbound.subscribe(message -> {
+                long receivedAt = System.nanoTime();
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                deliveries.computeIfAbsent(sessionId, id -> new CopyOnWriteArrayList<>())
+                        .add(new Delivery(message, receivedAt));
+            });
+            simpleBroker.start();
+
+            producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                    ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                    ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                    ProducerConfig.LINGER_MS_CONFIG, 1));
+            DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                    ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+            broadcaster = new KafkaChatroomBroadcaster(TOPIC, "messaging-service-relay-it",
+                    new SimpMessagingTemplate(brokerChannel), new KafkaTemplate<>(producerFactory), consumerFactory,
+                    meterRegistry);
+            broadcaster.start();
+            ContainerTestUtils.waitForAssignment(broadcaster.getContainer(), kafkaBroker.getPartitionsPerTopic());
+        }
+
+        void subscribe(String sessionId, String chatroomId) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId("sub-" + sessionId);
+            accessor.setDestination(ChatroomBroadcaster.DESTINATION_PREFIX + chatroomId);
+            simpleBroker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+
+        List<Delivery> received(String sessionId) {
+            return deliveries.getOrDefault(sessionId, List.of());
+        }
+
+        void stop() {
+            broadcaster.stop();
+            simpleBroker.stop();
+            producerFactory.destroy();
+        }
+    }
+}
@@ -4,11 +4,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,28 +21,27 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.messaging.access.intercept.MessageAuthorizationContext;
 import org.springframework.security.messaging.access.intercept.MessageMatcherDelegatingAuthorizationManager;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.SecurityFilterChain;
 
-import app.sportahub.messagingservice.utils.KeycloakJwtAuthenticationConverter;
+import app.sportahub.security.CachingJwtAuthenticationProvider;
+import app.sportahub.security.KeycloakSecurityConfiguration;
 import lombok.SneakyThrows;
 
 import java.util.List;
 import java.util.Map;
 
 @Configuration
+@Import(KeycloakSecurityConfiguration.class)
 @EnableWebSecurity
 @EnableWebSocketSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
-    private final JwtAuthenticationProvider authenticationProvider;
+    private final CachingJwtAuthenticationProvider authenticationProvider;
 
-    public SecurityConfig(JwtDecoder jwtDecoder) {
-        this.authenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+    public SecurityConfig(CachingJwtAuthenticationProvider authenticationProvider) {
+        this.authenticationProvider = authenticationProvider;
     }
 
      @Bean
@@ -83,11 +84,6 @@ public class SecurityConfig {
         }
     }
 
-    @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        return KeycloakJwtAuthenticationConverter.jwtAuthenticationConverter();
-    }
-
     @SneakyThrows
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) {
@@ -107,8 +103,7 @@ public class SecurityConfig {
                 .oauth2Login(Customizer.withDefaults())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt
-                                .jwtAuthenticationConverter(
-                                        jwtAuthenticationConverter())))
+                                .authenticationManager(new ProviderManager(authenticationProvider))))
                 .build();
     }
 }
@@ -0,0 +1,62 @@
+package app.sportahub.messagingservice.config;
+
+import app.sportahub.security.CachingJwtAuthenticationProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * Authenticates the bearer token of the STOMP {@code CONNECT} frame and makes it the user of the session, so that the
+ * messages sent over the session carry the authenticated user as their {@link java.security.Principal}. Ordered ahead
+ * of the Spring Security interceptors, which then see the session user on every frame.
+ */
+@Slf4j
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE + 99)
+@RequiredArgsConstructor
+public class WebSocketAuthenticationConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final CachingJwtAuthenticationProvider authenticationProvider;
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    authenticate(accessor);
+                }
+                return message;
+            }
+        });
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return;
+        }
+        try {
+            accessor.setUser(authenticationProvider.authenticate(
+                    new BearerTokenAuthenticationToken(authorization.substring(BEARER_PREFIX.length()))));
+        } catch (AuthenticationException e) {
+            log.debug("WebSocketAuthenticationConfig::authenticate: token of the connecting session was rejected: {}",
+                    e.getMessage());
+        }
+    }
+}
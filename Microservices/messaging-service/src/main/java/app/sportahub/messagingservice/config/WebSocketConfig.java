@@ -28,6 +28,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
+        // The simple broker only serves the sockets of this instance, ChatroomBroadcaster fans out to the others
         registry.enableSimpleBroker("/topic");
         registry.setUserDestinationPrefix("/user");
     }
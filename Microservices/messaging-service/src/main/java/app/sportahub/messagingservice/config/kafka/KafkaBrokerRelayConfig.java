@@ -0,0 +1,79 @@
+package app.sportahub.messagingservice.config.kafka;
+
+import app.sportahub.messagingservice.service.broker.KafkaChatroomBroadcaster;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "messaging.broker.mode", havingValue = "kafka")
+public class KafkaBrokerRelayConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${messaging.broker.kafka.topic:messaging.chatroom.broadcast}")
+    private String topic;
+
+    @Value("${messaging.broker.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${messaging.broker.kafka.group-id-prefix:messaging-service-relay}")
+    private String groupIdPrefix;
+
+    @Bean
+    public NewTopic chatroomBroadcastTopic() {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> relayProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "1");
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConsumerFactory<String, byte[]> relayConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaChatroomBroadcaster kafkaChatroomBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                                             ProducerFactory<String, byte[]> relayProducerFactory,
+                                                             ConsumerFactory<String, byte[]> relayConsumerFactory,
+                                                             MeterRegistry meterRegistry) {
+        return new KafkaChatroomBroadcaster(topic, groupIdPrefix, messagingTemplate,
+                new KafkaTemplate<>(relayProducerFactory), relayConsumerFactory, meterRegistry);
+    }
+}
@@ -2,7 +2,9 @@ package app.sportahub.messagingservice.controller;
 
 import app.sportahub.messagingservice.dto.request.message.MessageRequest;
 import app.sportahub.messagingservice.dto.request.chatroom.ChatroomRequest;
+import app.sportahub.messagingservice.dto.response.CursorPageResponse;
 import app.sportahub.messagingservice.dto.response.chatroom.ChatroomResponse;
+import app.sportahub.messagingservice.dto.response.chatroom.InboxChatroomResponse;
 import app.sportahub.messagingservice.dto.response.message.MessageResponse;
 import app.sportahub.messagingservice.model.Member;
 import app.sportahub.messagingservice.service.MessagingService;
@@ -55,9 +57,23 @@ public class MessagingRESTController {
     @PreAuthorize("authentication.name == #userId || hasRole('ROLE_ADMIN')")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Retrieve a user's chatrooms",
-            description = "Retrieves all the chatrooms for which the given user is a member.")
-    public List<ChatroomResponse> getChatrooms(@PathVariable("userId") String userId) {
-        return messagingService.getChatrooms(userId);
+            description = "Retrieves the chatrooms for which the given user is a member, most recently active first, " +
+                    "with their last message and unread count, one window at a time using the cursor returned with " +
+                    "the previous window")
+    public CursorPageResponse<InboxChatroomResponse> getChatrooms(@PathVariable("userId") String userId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        return messagingService.getChatrooms(userId, cursor, size);
+    }
+
+    @PostMapping("/chatroom/mark-read/{chatroomId}/{userId}")
+    @PreAuthorize("authentication.name == #userId || hasRole('ROLE_ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Marks a chatroom as read",
+            description = "Marks the messages of the chatroom as read by the given user, resetting their unread count.")
+    public void markChatroomRead(@PathVariable("chatroomId") String chatroomId,
+                                 @PathVariable("userId") String userId) {
+        messagingService.markChatroomRead(chatroomId, userId);
     }
 
     @PostMapping("/chatroom")
@@ -71,9 +87,12 @@ public class MessagingRESTController {
     @GetMapping("/chatrooms/messages/{chatroomId}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Retrieve a chatroom's messages",
-            description = "Retrieves messages sent in a chatroom")
-    public List<MessageResponse> getMessages(@PathVariable("chatroomId") String chatroomId) {
-        return messagingService.getMessages(chatroomId);
+            description = "Retrieves messages sent in a chatroom, newest first, one window at a time using the cursor " +
+                    "returned with the previous window to load older messages")
+    public CursorPageResponse<MessageResponse> getMessages(@PathVariable("chatroomId") String chatroomId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int size) {
+        return messagingService.getMessages(chatroomId, cursor, size);
     }
 
     @PatchMapping("/chatroom/message/{messageId}")
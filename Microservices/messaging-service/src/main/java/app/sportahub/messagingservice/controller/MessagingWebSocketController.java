@@ -9,6 +9,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.security.Principal;
+
 @Controller
 @RequestMapping("/messaging")
 @RequiredArgsConstructor
@@ -18,8 +20,7 @@ public class MessagingWebSocketController {
     private final MessagingService messagingService;
 
     @MessageMapping("/message")
-    public void processMessage(@Payload MessageRequest messageRequest) {
-        System.out.println("Message received: " + messageRequest);
-        messagingService.processMessage(messageRequest);
+    public void processMessage(@Payload MessageRequest messageRequest, Principal principal) {
+        messagingService.processMessage(messageRequest, principal != null ? principal.getName() : null);
     }
 }
@@ -0,0 +1,12 @@
+package app.sportahub.messagingservice.dto.response.chatroom;
+
+import app.sportahub.messagingservice.model.MessagePreview;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.sql.Timestamp;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InboxChatroomResponse(String chatroomId, String chatroomName, Boolean isEvent,
+                                    MessagePreview lastMessage, Timestamp lastActivityAt, Timestamp lastReadAt,
+                                    Long unreadCount) {
+}
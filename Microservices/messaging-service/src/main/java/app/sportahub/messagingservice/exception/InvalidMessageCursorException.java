@@ -0,0 +1,13 @@
+package app.sportahub.messagingservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Cursor is invalid for the message history.")
+public class InvalidMessageCursorException extends ResponseStatusException {
+
+    public InvalidMessageCursorException(String cursor) {
+        super(HttpStatus.BAD_REQUEST, "Cursor: " + cursor + " is invalid for the message history.");
+    }
+}
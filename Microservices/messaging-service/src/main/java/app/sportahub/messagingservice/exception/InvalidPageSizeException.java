@@ -0,0 +1,13 @@
+package app.sportahub.messagingservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Page size must be at least one.")
+public class InvalidPageSizeException extends ResponseStatusException {
+
+    public InvalidPageSizeException(int size) {
+        super(HttpStatus.BAD_REQUEST, "Size: " + size + " is invalid, it must be at least one.");
+    }
+}
@@ -0,0 +1,14 @@
+package app.sportahub.messagingservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many messages are waiting to be saved.")
+public class MessageBacklogFullException extends ResponseStatusException {
+
+    public MessageBacklogFullException(String chatroomId) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Message to chatroom with id: " + chatroomId
+                + " was rejected because too many messages are waiting to be saved.");
+    }
+}
@@ -0,0 +1,14 @@
+package app.sportahub.messagingservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ResponseStatus(code = HttpStatus.FORBIDDEN, reason = "Messages can only be sent on behalf of the authenticated user.")
+public class SenderIsNotTheAuthenticatedUserException extends ResponseStatusException {
+
+    public SenderIsNotTheAuthenticatedUserException(String senderId, String userId) {
+        super(HttpStatus.FORBIDDEN, "User with id " + userId + " cannot send a message on behalf of the user with id: "
+                + senderId);
+    }
+}
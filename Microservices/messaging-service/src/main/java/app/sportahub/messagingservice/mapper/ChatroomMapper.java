@@ -2,7 +2,9 @@ package app.sportahub.messagingservice.mapper;
 
 import app.sportahub.messagingservice.dto.request.chatroom.ChatroomRequest;
 import app.sportahub.messagingservice.dto.response.chatroom.ChatroomResponse;
+import app.sportahub.messagingservice.dto.response.chatroom.InboxChatroomResponse;
 import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.InboxChatroom;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true))
@@ -10,10 +12,5 @@ public interface ChatroomMapper {
 
     ChatroomResponse chatroomToChatroomResponse(Chatroom chatroom);
     Chatroom chatroomRequestToChatroom(ChatroomRequest chatroomRequest);
-
-    @Mapping(target = "chatroomId", ignore = true)
-    @Mapping(target = "createdAt", ignore = true)
-    @Mapping(target = "messages", ignore = true)
-    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-    void patchChatroomFromRequest(ChatroomRequest chatroomRequest, @MappingTarget Chatroom chatroom);
+    InboxChatroomResponse inboxChatroomToInboxChatroomResponse(InboxChatroom inboxChatroom);
 }
\ No newline at end of file
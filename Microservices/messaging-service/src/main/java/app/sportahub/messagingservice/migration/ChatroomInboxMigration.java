@@ -0,0 +1,102 @@
+package app.sportahub.messagingservice.migration;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.InboxEntry;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Gives the members of every chatroom without inbox entries an entry of their own, then drops the {@code unread} flag
+ * that chatrooms used to share between all their members. Since that flag cannot tell who read what, members start
+ * with nothing unread, and the last activity of the chatroom is its last message, or its creation if it has none. It
+ * runs after {@link ChatroomMessagesMigration}, which sets the last message. Entries are only inserted, so members who
+ * already have one keep it. The migration can be disabled with {@code migration.chatroom-inbox.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(2)
+@ConditionalOnProperty(name = "migration.chatroom-inbox.enabled", havingValue = "true", matchIfMissing = true)
+public class ChatroomInboxMigration implements ApplicationRunner {
+
+    static final String UNREAD_FIELD = "unread";
+    private static final String INBOX_FIELD = "inbox";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> chatrooms = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Chatroom.class));
+        MongoCollection<Document> inbox = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(InboxEntry.class));
+
+        List<Document> withoutInbox = List.of(
+                new Document("$lookup", new Document("from", inbox.getNamespace().getCollectionName())
+                        .append("let", new Document("chatroomId", new Document("$toString", "$_id")))
+                        .append("pipeline", List.of(
+                                new Document("$match", new Document("$expr",
+                                        new Document("$eq", List.of("$chatroomId", "$$chatroomId")))),
+                                new Document("$limit", 1),
+                                new Document("$project", new Document("_id", 1))))
+                        .append("as", INBOX_FIELD)),
+                new Document("$match", new Document(INBOX_FIELD, new Document("$size", 0))),
+                new Document("$project", new Document("members.userId", 1)
+                        .append("createdAt", 1)
+                        .append("lastMessage.createdAt", 1)));
+
+        long migrated = 0;
+        for (Document chatroom : chatrooms.aggregate(withoutInbox)) {
+            List<Document> entries = entries(chatroom);
+            if (entries.isEmpty()) {
+                continue;
+            }
+            inbox.bulkWrite(entries.stream()
+                    .map(entry -> new UpdateOneModel<Document>(
+                            Filters.and(Filters.eq("chatroomId", entry.get("chatroomId")),
+                                    Filters.eq("userId", entry.get("userId"))),
+                            new Document("$setOnInsert", entry), new UpdateOptions().upsert(true)))
+                    .toList(), new BulkWriteOptions().ordered(false));
+            migrated++;
+        }
+        chatrooms.updateMany(Filters.exists(UNREAD_FIELD), Updates.unset(UNREAD_FIELD));
+        log.info("ChatroomInboxMigration::run: created the inbox entries of {} chatrooms", migrated);
+    }
+
+    /**
+     * Builds an inbox entry with nothing unread for each member of the chatroom.
+     */
+    static List<Document> entries(Document chatroom) {
+        String chatroomId = chatroom.getObjectId("_id").toHexString();
+        Document lastMessage = chatroom.get("lastMessage", Document.class);
+        Date lastActivityAt = lastMessage != null && lastMessage.getDate("createdAt") != null
+                ? lastMessage.getDate("createdAt")
+                : chatroom.getDate("createdAt");
+        return chatroom.getList("members", Document.class, List.of()).stream()
+                .map(member -> member.getString("userId"))
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(userId -> new Document("chatroomId", chatroomId)
+                        .append("userId", userId)
+                        .append("lastActivityAt", lastActivityAt)
+                        .append("unreadCount", 0L))
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package app.sportahub.messagingservice.migration;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves the messages embedded in {@code messages} of each chatroom into the {@code message} collection, then replaces
+ * the array with a {@code lastMessage} preview of the newest message. Messages keep their id, and a message already
+ * in the collection is left as it is, since sending a message used to write it to both places. The migration is a
+ * no-op once it has run and can be disabled with {@code migration.chatroom-messages.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(1)
+@ConditionalOnProperty(name = "migration.chatroom-messages.enabled", havingValue = "true", matchIfMissing = true)
+public class ChatroomMessagesMigration implements ApplicationRunner {
+
+    static final String MESSAGES_FIELD = "messages";
+    static final String LAST_MESSAGE_FIELD = "lastMessage";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> chatrooms = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Chatroom.class));
+        MongoCollection<Document> messages = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Message.class));
+
+        long migrated = 0;
+        for (Document chatroom : chatrooms.find(Filters.exists(MESSAGES_FIELD))) {
+            String chatroomId = chatroom.getObjectId("_id").toHexString();
+            List<Document> embedded = messages(chatroomId, chatroom.getList(MESSAGES_FIELD, Document.class, List.of()));
+            if (!embedded.isEmpty()) {
+                messages.bulkWrite(embedded.stream()
+                        .map(message -> new UpdateOneModel<Document>(Filters.eq("_id", message.get("_id")),
+                                new Document("$setOnInsert", message), new UpdateOptions().upsert(true)))
+                        .toList(), new BulkWriteOptions().ordered(false));
+            }
+
+            Document lastMessage = chatroom.get(LAST_MESSAGE_FIELD, Document.class) != null
+                    ? chatroom.get(LAST_MESSAGE_FIELD, Document.class)
+                    : preview(embedded);
+            Bson update = lastMessage != null
+                    ? Updates.combine(Updates.unset(MESSAGES_FIELD), Updates.set(LAST_MESSAGE_FIELD, lastMessage))
+                    : Updates.unset(MESSAGES_FIELD);
+            chatrooms.updateOne(Filters.eq("_id", chatroom.get("_id")), update);
+            migrated++;
+        }
+        log.info("ChatroomMessagesMigration::run: moved the messages of {} chatrooms", migrated);
+    }
+
+    /**
+     * Gives each embedded message an id, if it was saved without one, and the id of the chatroom it is embedded in.
+     */
+    static List<Document> messages(String chatroomId, List<Document> embedded) {
+        return embedded.stream()
+                .map(message -> {
+                    Document copy = new Document(message);
+                    copy.putIfAbsent("_id", new ObjectId());
+                    copy.put("chatroomId", chatroomId);
+                    return copy;
+                })
+                .toList();
+    }
+
+    /**
+     * Builds the preview of the newest of the given messages, or returns null if there are none.
+     */
+    static Document preview(List<Document> messages) {
+        return messages.stream()
+                .max(Comparator.comparing((Document message) -> message.getDate("createdAt"),
+                        Comparator.nullsFirst(Comparator.<Date>naturalOrder())))
+                .map(newest -> new Document("messageId", Objects.toString(newest.get("_id"), null))
+                        .append("senderId", newest.getString("senderId"))
+                        .append("senderName", newest.getString("senderName"))
+                        .append("content", MessagePreview.truncate(newest.getString("content")))
+                        .append("createdAt", newest.getDate("createdAt")))
+                .orElse(null);
+    }
+}
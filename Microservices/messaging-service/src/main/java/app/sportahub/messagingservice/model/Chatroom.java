@@ -12,8 +12,6 @@ import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
 import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 
 @Document("chatroom")
@@ -38,14 +36,9 @@ public class Chatroom {
     @Size(min = 1, max = 255)
     private Set<Member> members;
 
-    @Builder.Default
-    private List<Message> messages = new ArrayList<>();
+    private MessagePreview lastMessage;
 
     @NotNull
     @Builder.Default
     private Boolean isEvent = false;
-
-    @NotNull
-    @Builder.Default
-    private Boolean unread = true;
 }
@@ -0,0 +1,33 @@
+package app.sportahub.messagingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * A chatroom as listed in the inbox of a member: its {@link InboxEntry read state} joined with the fields of the
+ * chatroom the list shows. One-on-one chatrooms are named after the other member.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder(setterPrefix = "with")
+public class InboxChatroom {
+
+    private String chatroomId;
+
+    private String chatroomName;
+
+    private Boolean isEvent;
+
+    private MessagePreview lastMessage;
+
+    private Timestamp lastActivityAt;
+
+    private Timestamp lastReadAt;
+
+    private Long unreadCount;
+}
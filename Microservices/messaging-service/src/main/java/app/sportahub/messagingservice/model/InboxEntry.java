@@ -0,0 +1,54 @@
+package app.sportahub.messagingservice.model;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.sql.Timestamp;
+
+/**
+ * The read state of a chatroom for one of its members: when the member last read it, how many messages from other
+ * members were saved since, and when the chatroom last had activity, which orders the member's inbox. The creation date
+ * and id of the newest message counted keep a message from being counted twice.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("inbox")
+@CompoundIndexes({
+        @CompoundIndex(name = "chatroom_user_idx", def = "{'chatroomId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "user_activity_idx", def = "{'userId': 1, 'lastActivityAt': -1, '_id': -1}")
+})
+@Data
+@Builder(setterPrefix = "with")
+public class InboxEntry {
+
+    @MongoId(FieldType.OBJECT_ID)
+    private String inboxEntryId;
+
+    @NotNull
+    private String chatroomId;
+
+    @NotNull
+    private String userId;
+
+    private Timestamp lastActivityAt;
+
+    private Timestamp lastReadAt;
+
+    private Timestamp lastCountedAt;
+
+    @Field(targetType = FieldType.OBJECT_ID)
+    private String lastCountedMessageId;
+
+    @NotNull
+    @Builder.Default
+    private Long unreadCount = 0L;
+}
@@ -0,0 +1,47 @@
+package app.sportahub.messagingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * The latest message of a chatroom, kept on the chatroom so chatroom lists can show it without reading the message
+ * history. The content is cut to {@value #MAX_CONTENT_LENGTH} characters.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder(setterPrefix = "with")
+public class MessagePreview {
+
+    public static final int MAX_CONTENT_LENGTH = 100;
+
+    private String messageId;
+
+    private String senderId;
+
+    private String senderName;
+
+    private String content;
+
+    private Timestamp createdAt;
+
+    public static MessagePreview of(Message message) {
+        return MessagePreview.builder()
+                .withMessageId(message.getMessageId())
+                .withSenderId(message.getSenderId())
+                .withSenderName(message.getSenderName())
+                .withContent(truncate(message.getContent()))
+                .withCreatedAt(message.getCreatedAt())
+                .build();
+    }
+
+    public static String truncate(String content) {
+        return content != null && content.length() > MAX_CONTENT_LENGTH
+                ? content.substring(0, MAX_CONTENT_LENGTH)
+                : content;
+    }
+}
@@ -0,0 +1,16 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface ChatroomUpdateRepository {
+
+    Optional<Chatroom> addMembers(String chatroomId, Collection<Member> members);
+
+    Optional<Chatroom> removeMembers(String chatroomId, Collection<String> userIds);
+
+    Optional<Chatroom> updateFields(Chatroom chatroom, Collection<String> fields);
+}
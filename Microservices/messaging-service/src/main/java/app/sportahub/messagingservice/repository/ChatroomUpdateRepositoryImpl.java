@@ -0,0 +1,79 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Changes the members and settings of a chatroom with single-document updates that only touch the fields they
+ * change, so that they never write back a stale {@link Chatroom#getLastMessage() last message} or undo members added
+ * or removed concurrently.
+ */
+@RequiredArgsConstructor
+public class ChatroomUpdateRepositoryImpl implements ChatroomUpdateRepository {
+
+    private static final String MEMBERS_FIELD = "members";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Adds members to a chatroom with {@code $addToSet}, skipping those it already has.
+     *
+     * @return the chatroom as it is after the update, or an empty {@link Optional} if it does not exist
+     */
+    @Override
+    public Optional<Chatroom> addMembers(String chatroomId, Collection<Member> members) {
+        Update update = new Update().addToSet(MEMBERS_FIELD).each(members.toArray());
+        return modify(byId(chatroomId), update);
+    }
+
+    /**
+     * Removes the members with the given user ids from a chatroom with {@code $pull}.
+     *
+     * @return the chatroom as it is after the update, or an empty {@link Optional} if it does not exist
+     */
+    @Override
+    public Optional<Chatroom> removeMembers(String chatroomId, Collection<String> userIds) {
+        Update update = new Update().pull(MEMBERS_FIELD, Query.query(Criteria.where("userId").in(userIds)));
+        return modify(byId(chatroomId), update);
+    }
+
+    /**
+     * Writes the given fields of a chatroom with {@code $set}, leaving the others as they are.
+     *
+     * @param chatroom the chatroom with the new values of the fields
+     * @param fields   the names of the fields to write
+     * @return the chatroom as it is after the update, or an empty {@link Optional} if it does not exist
+     */
+    @Override
+    public Optional<Chatroom> updateFields(Chatroom chatroom, Collection<String> fields) {
+        Query query = byId(chatroom.getChatroomId());
+        if (fields.isEmpty()) {
+            return Optional.ofNullable(mongoTemplate.findOne(query, Chatroom.class));
+        }
+
+        Document document = new Document();
+        mongoTemplate.getConverter().write(chatroom, document);
+        Update update = new Update();
+        fields.forEach(field -> update.set(field, document.get(field)));
+        return modify(query, update);
+    }
+
+    private static Query byId(String chatroomId) {
+        return new Query(Criteria.where("_id").is(chatroomId));
+    }
+
+    private Optional<Chatroom> modify(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Chatroom.class));
+    }
+}
@@ -0,0 +1,16 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Message;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+public interface InboxActivityRepository {
+
+    void recordMessages(String chatroomId, List<Message> messages);
+
+    boolean markRead(String chatroomId, String userId, Timestamp readAt);
+
+    void syncMembers(String chatroomId, Set<String> memberIds, Timestamp lastActivityAt);
+}
@@ -0,0 +1,128 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.InboxEntry;
+import app.sportahub.messagingservice.model.Message;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the {@link InboxEntry inbox entries} of the members of a chatroom up to date. Every change is a single
+ * update per entry, so that counters are never read and written back: messages from other members are added to
+ * {@code unreadCount} by an aggregation pipeline update, and reading the chatroom resets it. Each entry remembers the
+ * newest message it counted, so that a message is counted once however many times it is recorded.
+ */
+@RequiredArgsConstructor
+public class InboxActivityRepositoryImpl implements InboxActivityRepository {
+
+    private static final String CHATROOM_ID_FIELD = "chatroomId";
+    private static final String USER_ID_FIELD = "userId";
+    private static final String LAST_ACTIVITY_AT_FIELD = "lastActivityAt";
+    private static final String LAST_READ_AT_FIELD = "lastReadAt";
+    private static final String UNREAD_COUNT_FIELD = "unreadCount";
+    private static final String LAST_COUNTED_AT_FIELD = "lastCountedAt";
+    private static final String LAST_COUNTED_MESSAGE_ID_FIELD = "lastCountedMessageId";
+    private static final String SENDER_ID_FIELD = "senderId";
+    private static final String CREATED_AT_FIELD = "createdAt";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Counts the given messages as unread for every member of the chatroom but their sender, and moves the last
+     * activity of the chatroom forward to the newest of them.
+     * <p>
+     * Each entry remembers the newest message it has counted, by creation date and then id, and only messages newer
+     * than that one are counted. Recording a batch again after a failed flush, even with more messages behind it,
+     * therefore leaves the entries that were already updated with the count they had.
+     * </p>
+     *
+     * @param messages messages with their id and creation date set
+     */
+    @Override
+    public void recordMessages(String chatroomId, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<Document> counted = messages.stream()
+                .map(message -> new Document("_id", new ObjectId(message.getMessageId()))
+                        .append(SENDER_ID_FIELD, message.getSenderId())
+                        .append(CREATED_AT_FIELD, new Date(message.getCreatedAt().getTime())))
+                .toList();
+        Document newest = counted.stream()
+                .max(Comparator.<Document, Date>comparing(message -> message.getDate(CREATED_AT_FIELD))
+                        .thenComparing(message -> message.getObjectId("_id")))
+                .orElseThrow();
+
+        Document received = new Document("$size", new Document("$filter", new Document("input",
+                new Document("$literal", counted))
+                .append("as", "message")
+                .append("cond", new Document("$and", List.of(
+                        new Document("$ne", List.of("$$message." + SENDER_ID_FIELD, "$" + USER_ID_FIELD)),
+                        isNotCountedYet("$$message." + CREATED_AT_FIELD, "$$message._id"))))));
+        Document unreadCount = new Document("$ifNull", List.of("$" + UNREAD_COUNT_FIELD, 0L));
+        Document newestIsNotCountedYet = isNotCountedYet(newest.getDate(CREATED_AT_FIELD), newest.getObjectId("_id"));
+        Document set = new Document(UNREAD_COUNT_FIELD, new Document("$add", List.of(unreadCount, received)))
+                .append(LAST_ACTIVITY_AT_FIELD, new Document("$max",
+                        List.of("$" + LAST_ACTIVITY_AT_FIELD, newest.getDate(CREATED_AT_FIELD))))
+                .append(LAST_COUNTED_AT_FIELD, new Document("$cond", List.of(newestIsNotCountedYet,
+                        newest.getDate(CREATED_AT_FIELD), "$" + LAST_COUNTED_AT_FIELD)))
+                .append(LAST_COUNTED_MESSAGE_ID_FIELD, new Document("$cond", List.of(newestIsNotCountedYet,
+                        newest.getObjectId("_id"), "$" + LAST_COUNTED_MESSAGE_ID_FIELD)));
+
+        mongoTemplate.updateMulti(new Query(Criteria.where(CHATROOM_ID_FIELD).is(chatroomId)),
+                AggregationUpdate.from(List.of(context -> new Document("$set", set))), InboxEntry.class);
+    }
+
+    /**
+     * Whether a message created at the given date with the given id is newer than the last one counted by the entry.
+     * Entries that have not counted any message yet count every message.
+     */
+    private static Document isNotCountedYet(Object createdAt, Object messageId) {
+        return new Document("$or", List.of(
+                new Document("$gt", List.of(createdAt, "$" + LAST_COUNTED_AT_FIELD)),
+                new Document("$and", List.of(
+                        new Document("$eq", List.of(createdAt, "$" + LAST_COUNTED_AT_FIELD)),
+                        new Document("$gt", List.of(messageId, "$" + LAST_COUNTED_MESSAGE_ID_FIELD))))));
+    }
+
+    /**
+     * Marks the chatroom as read by the member.
+     *
+     * @return false if the user has no inbox entry for the chatroom, that is if they are not one of its members
+     */
+    @Override
+    public boolean markRead(String chatroomId, String userId, Timestamp readAt) {
+        Query query = new Query(Criteria.where(CHATROOM_ID_FIELD).is(chatroomId).and(USER_ID_FIELD).is(userId));
+        Update update = new Update().set(UNREAD_COUNT_FIELD, 0L).max(LAST_READ_AT_FIELD, readAt);
+        return mongoTemplate.updateFirst(query, update, InboxEntry.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Gives every member of the chatroom an inbox entry and removes the entries of former members. Members who already
+     * have an entry keep their read state.
+     *
+     * @param lastActivityAt the last activity of the chatroom, shown to members who did not have an entry yet
+     */
+    @Override
+    public void syncMembers(String chatroomId, Set<String> memberIds, Timestamp lastActivityAt) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InboxEntry.class);
+        bulkOperations.remove(new Query(Criteria.where(CHATROOM_ID_FIELD).is(chatroomId)
+                .and(USER_ID_FIELD).nin(memberIds)));
+        memberIds.forEach(memberId -> bulkOperations.upsert(
+                new Query(Criteria.where(CHATROOM_ID_FIELD).is(chatroomId).and(USER_ID_FIELD).is(memberId)),
+                new Update().setOnInsert(LAST_ACTIVITY_AT_FIELD, lastActivityAt).setOnInsert(UNREAD_COUNT_FIELD, 0L)));
+        bulkOperations.execute();
+    }
+}
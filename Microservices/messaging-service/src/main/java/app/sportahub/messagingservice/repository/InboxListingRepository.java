@@ -0,0 +1,6 @@
+package app.sportahub.messagingservice.repository;
+
+public interface InboxListingRepository {
+
+    InboxWindow scrollByUserId(String userId, String cursor, int limit);
+}
@@ -0,0 +1,150 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.exception.InvalidInboxCursorException;
+import app.sportahub.messagingservice.exception.InvalidPageSizeException;
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.InboxChatroom;
+import app.sportahub.messagingservice.model.InboxEntry;
+import app.sportahub.messagingservice.model.MessagePreview;
+import lombok.RequiredArgsConstructor;
+import org.bson.BSONException;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination of the inbox of a member, most recently active chatrooms first.
+ * <p>
+ * Inbox entries are read through the {@code user_activity_idx} index on {@code (userId, lastActivityAt desc,
+ * _id desc)}, and each window seeks past the last entry of the previous one. Only the entries of the window are joined
+ * with their chatroom, projected down to the name, type and last message preview, so members lists never leave the
+ * database. As for the message history, the cursor is the Base64 encoded extended JSON of the last activity and id of
+ * that entry, and one extra entry is fetched to know whether another window follows.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class InboxListingRepositoryImpl implements InboxListingRepository {
+
+    private static final String ID_FIELD = "_id";
+    private static final String LAST_ACTIVITY_AT_FIELD = "lastActivityAt";
+    private static final String CHATROOM_FIELD = "chatroom";
+    private static final String VALUE_KEY = "v";
+    private static final String ID_KEY = "id";
+    private static final JsonWriterSettings CURSOR_JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public InboxWindow scrollByUserId(String userId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageSizeException(limit);
+        }
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (cursor != null) {
+            Document position = decode(cursor);
+            criteria = criteria.andOperator(after(position.get(VALUE_KEY), position.get(ID_KEY)));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, LAST_ACTIVITY_AT_FIELD, ID_FIELD)),
+                Aggregation.limit(limit + 1),
+                context -> new Document("$lookup", chatroomLookup(userId)),
+                context -> new Document("$unwind", new Document("path", "$" + CHATROOM_FIELD)
+                        .append("preserveNullAndEmptyArrays", true)));
+
+        List<Document> documents = mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(InboxEntry.class), Document.class).getMappedResults();
+        boolean hasNext = documents.size() > limit;
+        List<Document> window = hasNext ? documents.subList(0, limit) : documents;
+
+        List<InboxChatroom> chatrooms = window.stream()
+                .filter(document -> document.get(CHATROOM_FIELD) != null)
+                .map(this::inboxChatroom)
+                .toList();
+        return new InboxWindow(chatrooms, hasNext ? encode(window.getLast()) : null);
+    }
+
+    /**
+     * Joins an entry with its chatroom. A chatroom with two members is named after the member who is not the reader.
+     */
+    private Document chatroomLookup(String userId) {
+        Document others = new Document("$filter", new Document("input", "$members")
+                .append("cond", new Document("$ne", List.of("$$this.userId", new Document("$literal", userId)))));
+        Document otherMemberName = new Document("$let", new Document("vars", new Document("others", others))
+                .append("in", new Document("$arrayElemAt", List.of("$$others.username", 0))));
+        Document memberCount = new Document("$size", new Document("$ifNull", List.of("$members", List.of())));
+        Document chatroomName = new Document("$cond", List.of(
+                new Document("$eq", List.of(memberCount, 2)), otherMemberName, "$chatroomName"));
+
+        return new Document("from", mongoTemplate.getCollectionName(Chatroom.class))
+                .append("let", new Document("chatroomId", new Document("$toObjectId", "$chatroomId")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr",
+                                new Document("$eq", List.of("$_id", "$$chatroomId")))),
+                        new Document("$project", new Document("chatroomName", chatroomName)
+                                .append("isEvent", 1)
+                                .append("lastMessage", 1))))
+                .append("as", CHATROOM_FIELD);
+    }
+
+    private InboxChatroom inboxChatroom(Document document) {
+        InboxEntry entry = mongoTemplate.getConverter().read(InboxEntry.class, document);
+        Document chatroom = document.get(CHATROOM_FIELD, Document.class);
+        Document lastMessage = chatroom.get("lastMessage", Document.class);
+        return InboxChatroom.builder()
+                .withChatroomId(entry.getChatroomId())
+                .withChatroomName(chatroom.getString("chatroomName"))
+                .withIsEvent(chatroom.getBoolean("isEvent"))
+                .withLastMessage(lastMessage != null
+                        ? mongoTemplate.getConverter().read(MessagePreview.class, lastMessage)
+                        : null)
+                .withLastActivityAt(entry.getLastActivityAt())
+                .withLastReadAt(entry.getLastReadAt())
+                .withUnreadCount(entry.getUnreadCount())
+                .build();
+    }
+
+    /**
+     * Matches the entries ordered after the given position in the inbox. Entries without a last activity sort last,
+     * and are matched separately since range operators never match them.
+     */
+    private static Criteria after(Object lastActivityAt, Object id) {
+        Criteria tieBreak = Criteria.where(LAST_ACTIVITY_AT_FIELD).is(lastActivityAt).and(ID_FIELD).lt(id);
+        if (lastActivityAt == null) {
+            return tieBreak;
+        }
+        return new Criteria().orOperator(Criteria.where(LAST_ACTIVITY_AT_FIELD).lt(lastActivityAt),
+                Criteria.where(LAST_ACTIVITY_AT_FIELD).is(null), tieBreak);
+    }
+
+    private static String encode(Document last) {
+        Document position = new Document(VALUE_KEY, last.get(LAST_ACTIVITY_AT_FIELD))
+                .append(ID_KEY, last.get(ID_FIELD));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson(CURSOR_JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException | BSONException e) {
+            throw new InvalidInboxCursorException(cursor);
+        }
+        if (!position.containsKey(VALUE_KEY) || position.get(ID_KEY) == null) {
+            throw new InvalidInboxCursorException(cursor);
+        }
+        return position;
+    }
+}
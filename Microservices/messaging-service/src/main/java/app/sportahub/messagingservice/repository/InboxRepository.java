@@ -0,0 +1,12 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.InboxEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InboxRepository extends MongoRepository<InboxEntry, String>, InboxActivityRepository,
+        InboxListingRepository {
+
+    void deleteAllByChatroomId(String chatroomId);
+}
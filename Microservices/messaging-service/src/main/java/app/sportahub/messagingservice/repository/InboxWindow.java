@@ -0,0 +1,15 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.InboxChatroom;
+
+import java.util.List;
+
+/**
+ * A window of the keyset-paginated inbox of a member, with the cursor of the next window if there is one.
+ */
+public record InboxWindow(List<InboxChatroom> chatrooms, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
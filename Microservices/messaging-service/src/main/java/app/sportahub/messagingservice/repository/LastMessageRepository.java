@@ -0,0 +1,10 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.MessagePreview;
+
+public interface LastMessageRepository {
+
+    void updateLastMessage(String chatroomId, MessagePreview lastMessage);
+
+    void replaceLastMessage(String chatroomId, String messageId, MessagePreview lastMessage);
+}
@@ -0,0 +1,50 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.MessagePreview;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Keeps the {@link MessagePreview last message preview} of a chatroom up to date with single-document updates, so
+ * sending, editing or deleting a message never rewrites the rest of the chatroom.
+ */
+@RequiredArgsConstructor
+public class LastMessageRepositoryImpl implements LastMessageRepository {
+
+    private static final String LAST_MESSAGE_FIELD = "lastMessage";
+    private static final String LAST_MESSAGE_CREATED_AT_FIELD = "lastMessage.createdAt";
+    private static final String LAST_MESSAGE_ID_FIELD = "lastMessage.messageId";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Makes the given message the last message of the chatroom, unless the chatroom already shows a newer one, so
+     * that messages saved out of order do not roll the preview back.
+     */
+    @Override
+    public void updateLastMessage(String chatroomId, MessagePreview lastMessage) {
+        Query query = new Query(Criteria.where("_id").is(chatroomId)
+                .orOperator(Criteria.where(LAST_MESSAGE_FIELD).is(null),
+                        Criteria.where(LAST_MESSAGE_CREATED_AT_FIELD).lte(lastMessage.getCreatedAt())));
+        mongoTemplate.updateFirst(query, new Update().set(LAST_MESSAGE_FIELD, lastMessage), Chatroom.class);
+    }
+
+    /**
+     * Replaces the last message of the chatroom if it is still the message with the given id, to be called when that
+     * message is edited or deleted.
+     *
+     * @param lastMessage the new preview, or null to clear it when the chatroom has no messages left
+     */
+    @Override
+    public void replaceLastMessage(String chatroomId, String messageId, MessagePreview lastMessage) {
+        Query query = new Query(Criteria.where("_id").is(chatroomId).and(LAST_MESSAGE_ID_FIELD).is(messageId));
+        Update update = lastMessage != null
+                ? new Update().set(LAST_MESSAGE_FIELD, lastMessage)
+                : new Update().unset(LAST_MESSAGE_FIELD);
+        mongoTemplate.updateFirst(query, update, Chatroom.class);
+    }
+}
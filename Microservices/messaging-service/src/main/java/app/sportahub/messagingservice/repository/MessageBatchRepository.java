@@ -0,0 +1,10 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Message;
+
+import java.util.List;
+
+public interface MessageBatchRepository {
+
+    void insertBatch(List<Message> messages);
+}
@@ -0,0 +1,38 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Inserts messages that already carry their id in a single unordered bulk insert. Inserting a batch again after
+ * a failure is safe: the messages that made it the first time are rejected as duplicates, which are ignored, and the
+ * rest are inserted.
+ */
+@RequiredArgsConstructor
+public class MessageBatchRepositoryImpl implements MessageBatchRepository {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void insertBatch(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message.class)
+                    .insert(messages)
+                    .execute();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY_ERROR_CODE)) {
+                throw e;
+            }
+        }
+    }
+}
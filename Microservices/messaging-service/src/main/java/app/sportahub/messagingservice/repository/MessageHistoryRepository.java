@@ -0,0 +1,6 @@
+package app.sportahub.messagingservice.repository;
+
+public interface MessageHistoryRepository {
+
+    MessageWindow scrollByChatroomId(String chatroomId, String cursor, int limit);
+}
@@ -0,0 +1,98 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.exception.InvalidMessageCursorException;
+import app.sportahub.messagingservice.exception.InvalidPageSizeException;
+import app.sportahub.messagingservice.model.Message;
+import lombok.RequiredArgsConstructor;
+import org.bson.BSONException;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination of the message history of a chatroom, newest messages first.
+ * <p>
+ * Messages are read through the {@code chatroom_created_idx} index on {@code (chatroomId, createdAt desc, _id desc)},
+ * and each window seeks past the oldest message of the previous one, so loading older messages costs the same however
+ * far back the history goes. The cursor is the Base64 encoded extended JSON of the creation date and id of that
+ * message, and one extra message is fetched to know whether an older window follows.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class MessageHistoryRepositoryImpl implements MessageHistoryRepository {
+
+    private static final String ID_FIELD = "_id";
+    private static final String CREATED_AT_FIELD = "createdAt";
+    private static final String VALUE_KEY = "v";
+    private static final String ID_KEY = "id";
+    private static final JsonWriterSettings CURSOR_JSON = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public MessageWindow scrollByChatroomId(String chatroomId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new InvalidPageSizeException(limit);
+        }
+        Query query = new Query(Criteria.where("chatroomId").is(chatroomId));
+        if (cursor != null) {
+            Document position = decode(cursor);
+            query.addCriteria(before(position.get(VALUE_KEY), position.get(ID_KEY)));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, CREATED_AT_FIELD, ID_FIELD)).limit(limit + 1);
+
+        List<Document> documents = mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(Message.class));
+        boolean hasNext = documents.size() > limit;
+        List<Document> window = hasNext ? documents.subList(0, limit) : documents;
+
+        List<Message> messages = window.stream()
+                .map(document -> mongoTemplate.getConverter().read(Message.class, document))
+                .toList();
+        return new MessageWindow(messages, hasNext ? encode(window.getLast()) : null);
+    }
+
+    /**
+     * Matches the messages ordered after the given position in the history. Messages without a creation date sort
+     * last, and are matched separately since range operators never match them.
+     */
+    private static Criteria before(Object createdAt, Object id) {
+        Criteria tieBreak = Criteria.where(CREATED_AT_FIELD).is(createdAt).and(ID_FIELD).lt(id);
+        if (createdAt == null) {
+            return tieBreak;
+        }
+        return new Criteria().orOperator(Criteria.where(CREATED_AT_FIELD).lt(createdAt),
+                Criteria.where(CREATED_AT_FIELD).is(null), tieBreak);
+    }
+
+    private static String encode(Document last) {
+        Document position = new Document(VALUE_KEY, last.get(CREATED_AT_FIELD))
+                .append(ID_KEY, last.get(ID_FIELD));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.toJson(CURSOR_JSON).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Document decode(String cursor) {
+        Document position;
+        try {
+            position = Document.parse(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException | BSONException e) {
+            throw new InvalidMessageCursorException(cursor);
+        }
+        if (!position.containsKey(VALUE_KEY) || position.get(ID_KEY) == null) {
+            throw new InvalidMessageCursorException(cursor);
+        }
+        return position;
+    }
+}
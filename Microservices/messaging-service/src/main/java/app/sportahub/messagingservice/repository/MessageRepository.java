@@ -9,8 +9,13 @@ import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface MessageRepository extends MongoRepository<Message, String> {
+public interface MessageRepository extends MongoRepository<Message, String>, MessageHistoryRepository,
+        MessageBatchRepository {
     List<Message> findAllBySenderId(String senderId);
 
     Optional<Message> findByMessageId(String messageId);
+
+    Optional<Message> findFirstByChatroomIdOrderByCreatedAtDescMessageIdDesc(String chatroomId);
+
+    void deleteAllByChatroomId(String chatroomId);
 }
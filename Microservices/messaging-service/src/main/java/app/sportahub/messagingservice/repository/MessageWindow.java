@@ -0,0 +1,16 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.model.Message;
+
+import java.util.List;
+
+/**
+ * A window of the keyset-paginated message history of a chatroom, with the cursor of the older window if there is
+ * one.
+ */
+public record MessageWindow(List<Message> messages, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
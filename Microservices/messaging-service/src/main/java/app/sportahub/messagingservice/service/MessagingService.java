@@ -2,7 +2,9 @@ package app.sportahub.messagingservice.service;
 
 import app.sportahub.messagingservice.dto.request.message.MessageRequest;
 import app.sportahub.messagingservice.dto.request.chatroom.ChatroomRequest;
+import app.sportahub.messagingservice.dto.response.CursorPageResponse;
 import app.sportahub.messagingservice.dto.response.chatroom.ChatroomResponse;
+import app.sportahub.messagingservice.dto.response.chatroom.InboxChatroomResponse;
 import app.sportahub.messagingservice.dto.response.message.MessageResponse;
 import app.sportahub.messagingservice.model.Member;
 
@@ -10,11 +12,13 @@ import java.util.List;
 
 public interface MessagingService {
 
-    void processMessage(MessageRequest messageRequest);
+    void processMessage(MessageRequest messageRequest, String userId);
 
-    List<MessageResponse> getMessages(String chatroomId);
+    CursorPageResponse<MessageResponse> getMessages(String chatroomId, String cursor, int size);
 
-    List<ChatroomResponse> getChatrooms(String senderId);
+    CursorPageResponse<InboxChatroomResponse> getChatrooms(String userId, String cursor, int size);
+
+    void markChatroomRead(String chatroomId, String userId);
 
     ChatroomResponse createChatroom(ChatroomRequest chatroomRequest);
 
@@ -2,7 +2,9 @@ package app.sportahub.messagingservice.service;
 
 import app.sportahub.messagingservice.dto.request.message.MessageRequest;
 import app.sportahub.messagingservice.dto.request.chatroom.ChatroomRequest;
+import app.sportahub.messagingservice.dto.response.CursorPageResponse;
 import app.sportahub.messagingservice.dto.response.chatroom.ChatroomResponse;
+import app.sportahub.messagingservice.dto.response.chatroom.InboxChatroomResponse;
 import app.sportahub.messagingservice.dto.response.message.MessageResponse;
 import app.sportahub.messagingservice.exception.*;
 import app.sportahub.messagingservice.mapper.ChatroomMapper;
@@ -10,11 +12,18 @@ import app.sportahub.messagingservice.mapper.MessageMapper;
 import app.sportahub.messagingservice.model.Chatroom;
 import app.sportahub.messagingservice.model.Member;
 import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
 import app.sportahub.messagingservice.repository.ChatroomRepository;
+import app.sportahub.messagingservice.repository.InboxRepository;
+import app.sportahub.messagingservice.repository.InboxWindow;
 import app.sportahub.messagingservice.repository.MessageRepository;
+import app.sportahub.messagingservice.repository.MessageWindow;
+import app.sportahub.messagingservice.service.broker.ChatroomBroadcaster;
+import app.sportahub.messagingservice.service.membership.ChatroomMembershipCache;
+import app.sportahub.messagingservice.service.writebehind.MessageWriteBehind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,84 +41,113 @@ import java.util.stream.Collectors;
 public class MessagingServiceImpl  implements MessagingService {
 
     private final MessageRepository messageRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatroomBroadcaster chatroomBroadcaster;
     private final ChatroomRepository chatroomRepository;
     private final ChatroomMapper chatroomMapper;
     private final MessageMapper messageMapper;
+    private final MessageWriteBehind messageWriteBehind;
+    private final ChatroomMembershipCache chatroomMembershipCache;
+    private final InboxRepository inboxRepository;
 
 
     /**
      * This method is how the backend routes the messages it receives from the /app/message websocket endpoint
      * to the appropriate topic following this format: 'topic/chatroom/{chatroomId}, based off the chatroom id of the message.
+     * The sender must be the authenticated user of the websocket session and is checked against the members held by
+     * {@link ChatroomMembershipCache}, then the message is given its id and broadcast right away through
+     * {@link ChatroomBroadcaster}, and {@link MessageWriteBehind} saves it in the background with the other messages
+     * of its chatroom.
      *
      * @param messageRequest the message that was received from a user through a websocket connection.
+     * @param userId         the unique identifier of the authenticated user of the websocket session, or
+     *                       {@code null} if the session is not authenticated
+     * @throws SenderIsNotTheAuthenticatedUserException if the sender of the message is not the authenticated user
      * @throws ChatroomDoesNotExistException if no chatroom with the specified chatroom id is found
+     * @throws UserIsNotAChatroomMemberException if the sender is not a member of the chatroom
+     * @throws MessageBacklogFullException if too many messages are waiting to be saved
      */
     @Override
-    public void processMessage(MessageRequest messageRequest) {
+    public void processMessage(MessageRequest messageRequest, String userId) {
+        if (userId == null || !userId.equals(messageRequest.senderId())) {
+            throw new SenderIsNotTheAuthenticatedUserException(messageRequest.senderId(), userId);
+        }
         Message message = messageMapper.messageRequestToMessage(messageRequest)
                 .toBuilder()
+                .withMessageId(new ObjectId().toHexString())
                 .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
                 .build();
-        String chatroomId;
-
-        chatroomId = message.getChatroomId();
+        String chatroomId = message.getChatroomId();
 
-        Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId).orElseThrow(() ->
-                new ChatroomDoesNotExistException(chatroomId));
+        Set<String> memberIds = chatroomMembershipCache.findMemberIds(chatroomId)
+                .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
+        if (!memberIds.contains(message.getSenderId())) {
+            throw new UserIsNotAChatroomMemberException(chatroomId, message.getSenderId());
+        }
 
-        Message savedMessage = messageRepository.save(message);
-        List<Message> messages = chatroom.getMessages();
-        messages.addFirst(savedMessage);
-        chatroom.setMessages(messages);
-        chatroomRepository.save(chatroom);
-        messagingTemplate.convertAndSend("/topic/chatroom/" + chatroomId, savedMessage);
+        messageWriteBehind.enqueue(message);
+        chatroomBroadcaster.broadcast(chatroomId, message);
     }
 
     /**
-     * This method will retrieve all the messages stored within the chatroom associated with the specified chatroomId
+     * Retrieves a window of the message history of a chatroom, newest messages first, using keyset pagination:
+     * loading older messages costs the same however far back the history goes.
      *
      * @param chatroomId the unique identifier representing the chatroom who's messages we want to retrieve
-     * @return a list of {@link MessageResponse} objects representing the messages found within the chatroom object
-     * @throws ChatroomDoesNotExistException if no chatroom object with the specified id was found
+     * @param cursor     the cursor returned with the previous window, or {@code null} for the newest messages
+     * @param size       the number of messages per window
+     * @return a {@link CursorPageResponse} of the messages, with the cursor of the older window if there is one
+     * @throws ChatroomDoesNotExistException if the first window is empty and no chatroom with the specified id exists
+     * @throws InvalidMessageCursorException if the cursor is malformed
      */
     @Override
-    public List<MessageResponse> getMessages(String chatroomId) {
-        Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId).orElseThrow(() ->
-                new ChatroomDoesNotExistException(chatroomId));
-
-        List<Message> messages = chatroom.getMessages();
+    public CursorPageResponse<MessageResponse> getMessages(String chatroomId, String cursor, int size) {
+        MessageWindow window = messageRepository.scrollByChatroomId(chatroomId, cursor, size);
+        if (cursor == null && window.messages().isEmpty() && !chatroomRepository.existsById(chatroomId)) {
+            throw new ChatroomDoesNotExistException(chatroomId);
+        }
 
-        return messages.stream()
-                .map(messageMapper::MessageToMessageResponse).toList();
+        return new CursorPageResponse<>(window.messages().stream().map(messageMapper::MessageToMessageResponse).toList(),
+                window.nextCursor(), window.hasNext());
     }
 
     /**
-     * This method returns all chatrooms for which the specified user is a member
+     * Retrieves a window of the inbox of a user: the chatrooms they are a member of, most recently active first, with
+     * the preview of their last message and the number of messages the user has not read yet. One-on-one chatrooms
+     * are named after the other member.
      *
      * @param userId the unique identifier of the user who's chatrooms we want to retrieve
-     * @return a list of {@link ChatroomResponse} objects representing the chatrooms that the user is a member of.
+     * @param cursor the cursor returned with the previous window, or {@code null} for the most recent chatrooms
+     * @param size   the number of chatrooms per window
+     * @return a {@link CursorPageResponse} of the chatrooms, with the cursor of the next window if there is one.
      * Can be empty if the user is not part of any chatrooms.
+     * @throws InvalidInboxCursorException if the cursor is malformed
      */
     @Override
-    public List<ChatroomResponse> getChatrooms(String userId) {
-        List<Chatroom> chatrooms = chatroomRepository.findAllByMembers_UserId(userId);
-
-        chatrooms = chatrooms.stream().peek(chatroom -> {
-            if (chatroom.getMembers().size() == 2) {
-                Set<Member> memberSet;
-                memberSet = chatroom.getMembers().stream().peek(member -> {
-                    if (!member.getUserId().equals(userId)) {
-                        chatroom.setChatroomName(member.getUsername());
-                    }
-                }).collect(Collectors.toSet());
-                chatroom.setMembers(memberSet);
-            }
-        }).toList();
+    public CursorPageResponse<InboxChatroomResponse> getChatrooms(String userId, String cursor, int size) {
+        InboxWindow window = inboxRepository.scrollByUserId(userId, cursor, size);
 
-        return chatrooms.stream()
-                .map(chatroomMapper::chatroomToChatroomResponse)
-                .toList();
+        return new CursorPageResponse<>(window.chatrooms().stream()
+                .map(chatroomMapper::inboxChatroomToInboxChatroomResponse)
+                .toList(), window.nextCursor(), window.hasNext());
+    }
+
+    /**
+     * Marks every message of a chatroom saved so far as read by the specified user.
+     *
+     * @param chatroomId the unique identifier of the chatroom
+     * @param userId the unique identifier of the user
+     * @throws ChatroomDoesNotExistException if no chatroom with the specified chatroom id is found
+     * @throws UserIsNotAChatroomMemberException if the user is not a member of the chatroom
+     */
+    @Override
+    public void markChatroomRead(String chatroomId, String userId) {
+        if (inboxRepository.markRead(chatroomId, userId, Timestamp.valueOf(LocalDateTime.now()))) {
+            return;
+        }
+        if (!chatroomRepository.existsById(chatroomId)) {
+            throw new ChatroomDoesNotExistException(chatroomId);
+        }
+        throw new UserIsNotAChatroomMemberException(chatroomId, userId);
     }
 
     /**
@@ -144,6 +182,7 @@ public class MessagingServiceImpl  implements MessagingService {
         newChatroom.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
 
         Chatroom savedChatroom = chatroomRepository.save(newChatroom);
+        syncInbox(savedChatroom);
         return chatroomMapper.chatroomToChatroomResponse(savedChatroom);
     }
 
@@ -164,7 +203,7 @@ public class MessagingServiceImpl  implements MessagingService {
 
     /**
      * Partially updates an existing chatroom with the specified chatroomId. This method updates only the fields
-     * provided in the {@link ChatroomRequest}, leaving all other fields unchanged.
+     * provided in the {@link ChatroomRequest}, leaving all other fields, such as the last message, unchanged.
      *
      * @param chatroomId the unique identifier of the chatroom to patch
      * @param chatroomRequest the partial data to update the message with
@@ -173,18 +212,36 @@ public class MessagingServiceImpl  implements MessagingService {
      */
     @Override
     public ChatroomResponse patchChatroom(String chatroomId, ChatroomRequest chatroomRequest) {
-        Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId)
-                .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
+        Chatroom chatroom = chatroomMapper.chatroomRequestToChatroom(chatroomRequest);
+        chatroom.setChatroomId(chatroomId);
+        Set<String> fields = new HashSet<>();
+        if (chatroomRequest.createdBy() != null) {
+            fields.add("createdBy");
+        }
+        if (chatroomRequest.chatroomName() != null) {
+            fields.add("chatroomName");
+        }
+        if (chatroomRequest.members() != null) {
+            fields.add("members");
+        }
+        if (chatroomRequest.isEvent() != null) {
+            fields.add("isEvent");
+        }
 
-        chatroomMapper.patchChatroomFromRequest(chatroomRequest, chatroom);
-        Chatroom savedChatroom = chatroomRepository.save(chatroom);
+        Chatroom savedChatroom = chatroomRepository.updateFields(chatroom, fields)
+                .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
+        chatroomMembershipCache.evict(chatroomId);
+        if (chatroomRequest.members() != null) {
+            syncInbox(savedChatroom);
+        }
         log.info("patchChatroom: Chatroom with id: {} was successfully patched", savedChatroom.getChatroomId());
         return chatroomMapper.chatroomToChatroomResponse(savedChatroom);
     }
 
 
     /**
-     * Deletes a chatroom from the database using the chatroom id
+     * Deletes a chatroom and its message history from the database using the chatroom id. Messages of the chatroom
+     * that have not been saved yet are discarded, and a batch being saved is waited for, before the history is deleted.
      *
      * @param chatroomId The id of the chatroom to be deleted
      * @throws ChatroomDoesNotExistException if there is no chatroom associated with the provided id
@@ -195,13 +252,17 @@ public class MessagingServiceImpl  implements MessagingService {
         Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId).orElseThrow(() ->
                 new ChatroomDoesNotExistException(chatroomId));
         chatroomRepository.delete(chatroom);
+        chatroomMembershipCache.evict(chatroomId);
+        messageWriteBehind.discard(chatroomId);
+        messageRepository.deleteAllByChatroomId(chatroomId);
+        inboxRepository.deleteAllByChatroomId(chatroomId);
         log.info("deleteChatroom: Chatroom with id: {} was successfully deleted", chatroomId);
     }
 
     /**
      * Partially updates an existing message with the specified messageId. This method updates only
      * the fields provided in the {@link MessageRequest}, leaving all other fields unchanged.
-     * It will also modify and save the messages list in the related chatroom Object.
+     * If the message is the last message of its chatroom, the preview on the chatroom is updated as well.
      *
      * @param messageId the unique identifier of the message to patch
      * @param messageRequest the partial data to update the message with
@@ -218,28 +279,15 @@ public class MessagingServiceImpl  implements MessagingService {
         Message savedMessage = messageRepository.save(message);
         log.info("patchMessage: Message with id: {} was successfully patched", savedMessage.getMessageId());
 
-        Optional<Chatroom> chatroom = chatroomRepository.findByChatroomId(message.getChatroomId());
-        chatroom.ifPresent(cr -> {
-            List<Message> chatroomMessages = cr.getMessages();
-            chatroomMessages = chatroomMessages.stream()
-                    .peek(m -> {
-                        if (m.getMessageId().equals(savedMessage.getMessageId())) {
-                            messageMapper.patchMessageFromRequest(messageRequest, m);
-                            log.info("patchMessage: Message with id: {} was successfully found in the chatroom with id: {}",
-                                    m.getMessageId(), cr.getChatroomId());
-                        }
-                    })
-                    .collect(Collectors.toList());
-            cr.setMessages(chatroomMessages);
-            Chatroom savedChatroom = chatroomRepository.save(cr);
-            log.info("patchMessage: Chatroom with id: {} was successfully updated", savedChatroom.getChatroomId());
-        });
+        chatroomRepository.replaceLastMessage(savedMessage.getChatroomId(), savedMessage.getMessageId(),
+                MessagePreview.of(savedMessage));
         return messageMapper.MessageToMessageResponse(savedMessage);
     }
 
 
     /**
-     * Deletes a message from the database using the message id and updates the related chatroom
+     * Deletes a message from the database using the message id. If it was the last message of its chatroom, the
+     * preview on the chatroom moves to the message sent before it.
      *
      * @param messageId The id of the message to be deleted
      * @throws MessageDoesNotExistException if there is no message associated with the provided id
@@ -253,20 +301,16 @@ public class MessagingServiceImpl  implements MessagingService {
         messageRepository.delete(message);
         log.info("deleteMessage: Message with id: {} was successfully deleted", messageId);
 
-        Optional<Chatroom> chatroom = chatroomRepository.findByChatroomId(message.getChatroomId());
-        chatroom.ifPresent(cr -> {
-            List<Message> chatroomMessages = cr.getMessages();
-            chatroomMessages.remove(message);
-            cr.setMessages(chatroomMessages);
-            chatroomRepository.save(cr);
-            log.info("deleteMessage: Message with id: {} was successfully removed from chatroom with id: {}",
-                    messageId, cr.getChatroomId());
-        });
+        MessagePreview previousMessage = messageRepository
+                .findFirstByChatroomIdOrderByCreatedAtDescMessageIdDesc(message.getChatroomId())
+                .map(MessagePreview::of)
+                .orElse(null);
+        chatroomRepository.replaceLastMessage(message.getChatroomId(), messageId, previousMessage);
     }
 
     /**
      * This method adds the list of passed userIds to a chatroom based on the specified chatroomId.
-     * This method will convert the passed list into a set, removing duplicates and allowing for set operations
+     * Members the chatroom already has are skipped, and the rest of the chatroom is left untouched.
      *
      * @param chatroomId the unique identifier of the chatroom who's members you want to modify
      * @param membersToAdd the unique identifiers of the users you want to add to the chatroom
@@ -275,13 +319,10 @@ public class MessagingServiceImpl  implements MessagingService {
      */
     @Override
     public ChatroomResponse addMembers(String chatroomId, List<Member> membersToAdd) {
-        Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId)
+        Chatroom savedChatroom = chatroomRepository.addMembers(chatroomId, new HashSet<>(membersToAdd))
                 .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
-
-        Set<Member> memberSet = new HashSet<>(membersToAdd);
-        memberSet.addAll(chatroom.getMembers());
-        chatroom.setMembers(memberSet);
-        Chatroom savedChatroom = chatroomRepository.save(chatroom);
+        chatroomMembershipCache.evict(chatroomId);
+        syncInbox(savedChatroom);
         log.info("MessagingServiceImpl::addMembers: Successfully added new members to the chatroom with id: {}",
                 savedChatroom.getChatroomId());
         return chatroomMapper.chatroomToChatroomResponse(savedChatroom);
@@ -289,8 +330,7 @@ public class MessagingServiceImpl  implements MessagingService {
 
     /**
      * This method allows the chatroom's creator to remove the list of passed userIds from a chatroom based on the
-     * specified chatroomId.
-     * This method will convert the passed list into a set, removing duplicates and allowing for set operations.
+     * specified chatroomId. Members are removed by user id, and the rest of the chatroom is left untouched.
      *
      * @param chatroomId the unique identifier of the chatroom who's members you want to modify
      * @param membersToRemove    the unique identifiers of the users you want to remove from the chatroom
@@ -303,15 +343,15 @@ public class MessagingServiceImpl  implements MessagingService {
         Chatroom chatroom = chatroomRepository.findByChatroomId(chatroomId)
                 .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
 
-        Set<Member> paramMembers = new HashSet<>(membersToRemove);
-        Set<Member> existingMembers = chatroom.getMembers();
+        Set<String> userIds = membersToRemove.stream().map(Member::getUserId).collect(Collectors.toSet());
 
-        if (paramMembers.stream().anyMatch(m -> m.getUserId().equals(chatroom.getCreatedBy())))
+        if (userIds.contains(chatroom.getCreatedBy()))
             throw new ChatroomCreatorTryingToRemoveThemselvesFromChatroomException(chatroomId, chatroom.getCreatedBy());
 
-        existingMembers.removeAll(paramMembers);
-        chatroom.setMembers(existingMembers);
-        Chatroom savedChatroom = chatroomRepository.save(chatroom);
+        Chatroom savedChatroom = chatroomRepository.removeMembers(chatroomId, userIds)
+                .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
+        chatroomMembershipCache.evict(chatroomId);
+        syncInbox(savedChatroom);
         log.info("MessagingServiceImpl::removeMembers: Successfully removed members from the chatroom with id: {}",
                 savedChatroom.getChatroomId());
 
@@ -342,9 +382,10 @@ public class MessagingServiceImpl  implements MessagingService {
         if(userId.equals(chatroom.getCreatedBy())) {
             throw new ChatroomCreatorTryingToRemoveThemselvesFromChatroomException(chatroomId, chatroom.getCreatedBy());
         }
-        existingMembers.removeIf(m -> m.getUserId().equals(userId));
-        chatroom.setMembers(existingMembers);
-        Chatroom savedChatroom = chatroomRepository.save(chatroom);
+        Chatroom savedChatroom = chatroomRepository.removeMembers(chatroomId, Set.of(userId))
+                .orElseThrow(() -> new ChatroomDoesNotExistException(chatroomId));
+        chatroomMembershipCache.evict(chatroomId);
+        syncInbox(savedChatroom);
         log.info("MessagingServiceImpl::leaveChatroom: Successfully removed the user with id: {} " +
                 "from the chatroom with id: {}.", userId, savedChatroom.getChatroomId());
 
@@ -381,4 +422,15 @@ public class MessagingServiceImpl  implements MessagingService {
                 .map(message -> message.getSenderId().equals(userId))
                 .orElseThrow(() -> new MessageDoesNotExistException(messageId));
     }
+
+    /**
+     * Brings the inbox entries of the chatroom in line with its members.
+     */
+    private void syncInbox(Chatroom chatroom) {
+        Timestamp lastActivityAt = chatroom.getLastMessage() != null
+                ? chatroom.getLastMessage().getCreatedAt()
+                : chatroom.getCreatedAt();
+        inboxRepository.syncMembers(chatroom.getChatroomId(),
+                chatroom.getMembers().stream().map(Member::getUserId).collect(Collectors.toSet()), lastActivityAt);
+    }
 }
@@ -0,0 +1,13 @@
+package app.sportahub.messagingservice.service.broker;
+
+/**
+ * Delivers messages to the subscribers of a chatroom topic, {@code /topic/chatroom/{chatroomId}}. Which
+ * implementation is used is chosen with {@code messaging.broker.mode}: {@code simple} only reaches the sockets
+ * connected to this instance, {@code kafka} reaches the subscribers of every instance.
+ */
+public interface ChatroomBroadcaster {
+
+    String DESTINATION_PREFIX = "/topic/chatroom/";
+
+    void broadcast(String chatroomId, Object payload);
+}
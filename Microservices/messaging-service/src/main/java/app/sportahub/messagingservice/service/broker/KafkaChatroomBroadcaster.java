@@ -0,0 +1,159 @@
+package app.sportahub.messagingservice.service.broker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Fans chatroom messages out to every instance through Kafka, so that any number of replicas can run behind the
+ * gateway.
+ * <p>
+ * A message is serialized once, delivered right away to the subscribers connected to this instance and published to
+ * {@code topic}, keyed by chatroom id so that the messages of a chatroom keep their order. Every instance consumes the
+ * topic in a consumer group of its own, starting from the latest offset, and hands the records published by other
+ * instances to its simple broker, which only knows about its local subscribers. Records published by this instance
+ * are skipped, as they were already delivered locally. Delivery between instances is at most once: a record that
+ * fails to publish is logged and counted, and the other instances do not see it.
+ * </p>
+ */
+@Slf4j
+public class KafkaChatroomBroadcaster implements ChatroomBroadcaster, SmartLifecycle {
+
+    static final String ORIGIN_HEADER = "origin";
+
+    private final String topic;
+    private final byte[] instanceId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    private final SimpMessagingTemplate messagingTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaMessageListenerContainer<String, byte[]> container;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Counter relayed;
+    private final Timer relayLag;
+
+    public KafkaChatroomBroadcaster(String topic,
+                                    String groupIdPrefix,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    KafkaTemplate<String, byte[]> kafkaTemplate,
+                                    ConsumerFactory<String, byte[]> consumerFactory,
+                                    MeterRegistry meterRegistry) {
+        this.topic = topic;
+        this.messagingTemplate = messagingTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setGroupId(groupIdPrefix + "-" + new String(instanceId, StandardCharsets.UTF_8));
+        containerProperties.setPollTimeout(Duration.ofMillis(500).toMillis());
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        containerProperties.setKafkaConsumerProperties(consumerProperties);
+        containerProperties.setMessageListener((MessageListener<String, byte[]>) this::relay);
+        this.container = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+
+        this.published = Counter.builder("messaging.broker.relay.published")
+                .description("Chatroom messages published to the other instances")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("messaging.broker.relay.published")
+                .description("Chatroom messages published to the other instances")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.relayed = Counter.builder("messaging.broker.relay.delivered")
+                .description("Chatroom messages from other instances delivered to local subscribers")
+                .register(meterRegistry);
+        this.relayLag = Timer.builder("messaging.broker.relay.lag")
+                .description("Time from publishing a chatroom message to delivering it on another instance")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void broadcast(String chatroomId, Object payload) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Chatroom message could not be serialized", e);
+        }
+        deliverLocally(chatroomId, json);
+
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, chatroomId, json);
+        record.headers().add(ORIGIN_HEADER, instanceId);
+        kafkaTemplate.send(record).whenComplete((result, e) -> {
+            if (e != null) {
+                publishFailures.increment();
+                log.warn("KafkaChatroomBroadcaster::broadcast: message to chatroom {} could not be published to " +
+                        "the other instances", chatroomId, e);
+            } else {
+                published.increment();
+            }
+        });
+    }
+
+    private void relay(ConsumerRecord<String, byte[]> record) {
+        Header origin = record.headers().lastHeader(ORIGIN_HEADER);
+        if (origin != null && Arrays.equals(origin.value(), instanceId)) {
+            return;
+        }
+        deliverLocally(record.key(), record.value());
+        relayed.increment();
+        relayLag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - record.timestamp())));
+    }
+
+    /**
+     * Hands the already serialized message to the simple broker, bypassing the message converters.
+     */
+    private void deliverLocally(String chatroomId, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(DESTINATION_PREFIX + chatroomId,
+                MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+
+    @Override
+    public void start() {
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+
+    /**
+     * Exposes the listener container, for callers that need to wait until the topic has been assigned.
+     */
+    public KafkaMessageListenerContainer<String, byte[]> getContainer() {
+        return container;
+    }
+}
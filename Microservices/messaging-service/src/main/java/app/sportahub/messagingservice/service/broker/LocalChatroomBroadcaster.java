@@ -0,0 +1,22 @@
+package app.sportahub.messagingservice.service.broker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends chatroom messages to the simple broker of this instance only, for deployments with a single replica.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "messaging.broker.mode", havingValue = "simple", matchIfMissing = true)
+public class LocalChatroomBroadcaster implements ChatroomBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void broadcast(String chatroomId, Object payload) {
+        messagingTemplate.convertAndSend(DESTINATION_PREFIX + chatroomId, payload);
+    }
+}
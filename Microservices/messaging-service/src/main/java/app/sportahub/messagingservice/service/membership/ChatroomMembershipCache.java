@@ -0,0 +1,88 @@
+package app.sportahub.messagingservice.service.membership;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+import app.sportahub.messagingservice.repository.ChatroomRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-process cache of the ids of the members of each chatroom, used to authorize and route messages sent over the
+ * websocket without reading the chatroom. Missing or expired entries are loaded with a projection of the member ids
+ * only. Changes to the members made on this instance evict the chatroom right away; changes made by other instances
+ * are picked up once it expires, so the ttl bounds how long a removed member can keep sending. The cache is a Caffeine
+ * cache of at most {@code maxSize} chatrooms, whose statistics are published as the {@code cache.*} meters of the
+ * {@code messaging.membership} cache.
+ */
+@Slf4j
+@Component
+public class ChatroomMembershipCache {
+
+    private final ChatroomRepository chatroomRepository;
+    private final Cache<String, Set<String>> members;
+
+    @Autowired
+    public ChatroomMembershipCache(ChatroomRepository chatroomRepository,
+                                   @Value("${messaging.membership-cache.ttl:PT1M}") Duration ttl,
+                                   @Value("${messaging.membership-cache.max-size:10000}") int maxSize,
+                                   MeterRegistry meterRegistry) {
+        this(chatroomRepository, ttl, maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    ChatroomMembershipCache(ChatroomRepository chatroomRepository, Duration ttl, int maxSize,
+                            MeterRegistry meterRegistry, Ticker ticker) {
+        this.chatroomRepository = chatroomRepository;
+        this.members = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, members, "messaging.membership");
+    }
+
+    /**
+     * Looks up the ids of the members of a chatroom.
+     *
+     * @param chatroomId the id of the chatroom
+     * @return the ids of its members, or an empty optional if the chatroom does not exist
+     */
+    public Optional<Set<String>> findMemberIds(String chatroomId) {
+        return Optional.ofNullable(members.get(chatroomId, this::load));
+    }
+
+    /**
+     * Drops the cached members of a chatroom, to be called whenever its members change or it is deleted.
+     */
+    public void evict(String chatroomId) {
+        members.invalidate(chatroomId);
+    }
+
+    /**
+     * Reads the ids of the members of a chatroom, or {@code null}, which is not cached, if it does not exist.
+     */
+    private Set<String> load(String chatroomId) {
+        log.debug("ChatroomMembershipCache::load: loading the members of chatroom {}", chatroomId);
+        return chatroomRepository.findMembersByChatroomId(chatroomId)
+                .map(ChatroomMembershipCache::memberIds)
+                .orElse(null);
+    }
+
+    private static Set<String> memberIds(Chatroom chatroom) {
+        return chatroom.getMembers() == null ? Set.of() : chatroom.getMembers().stream()
+                .map(Member::getUserId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,402 @@
+package app.sportahub.messagingservice.service.writebehind;
+
+import app.sportahub.messagingservice.exception.MessageBacklogFullException;
+import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
+import app.sportahub.messagingservice.repository.ChatroomRepository;
+import app.sportahub.messagingservice.repository.InboxRepository;
+import app.sportahub.messagingservice.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saves the messages sent over the websocket in the background, so they can be broadcast as soon as they are accepted.
+ * <p>
+ * Each chatroom has its own queue, saved in the order its messages were accepted by one bulk insert of up to
+ * {@code messaging.write-behind.batch-size} messages, followed by a single update of the last message preview and one
+ * of the unread counts of its members, so a message is counted as unread once it can be read. A queue is flushed as
+ * soon as it holds a full batch, or once its oldest message has waited {@code messaging.write-behind.linger-ms}. Only
+ * one flush per chatroom runs at a time, and a batch that fails to save stays at the head of its queue and is retried
+ * on the next tick. Messages get their id before they are accepted, so inserting a batch again never duplicates them,
+ * and recording it again never counts them twice as unread.
+ * </p>
+ * <p>
+ * At most {@code messaging.write-behind.capacity} messages wait to be saved. Once the backlog is full, senders wait up to
+ * {@code messaging.write-behind.offer-timeout-ms} for room and are then rejected with a
+ * {@link MessageBacklogFullException}. On shutdown, the queues are flushed after the web server has stopped taking
+ * messages, for up to {@code messaging.write-behind.shutdown-timeout-ms}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MessageWriteBehind implements SmartLifecycle {
+
+    private final MessageRepository messageRepository;
+    private final ChatroomRepository chatroomRepository;
+    private final InboxRepository inboxRepository;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final int flushThreads;
+    private final int capacity;
+    private final Semaphore permits;
+    private final ConcurrentMap<String, ChatroomQueue> queues = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Timer flushSuccess;
+    private final Timer flushFailure;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+    private final Counter rejected;
+
+    private volatile ScheduledExecutorService ticker;
+    private volatile ExecutorService flushExecutor;
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    public MessageWriteBehind(MessageRepository messageRepository,
+                              ChatroomRepository chatroomRepository,
+                              InboxRepository inboxRepository,
+                              @Value("${messaging.write-behind.batch-size:500}") int batchSize,
+                              @Value("${messaging.write-behind.linger-ms:50}") long lingerMs,
+                              @Value("${messaging.write-behind.capacity:50000}") int capacity,
+                              @Value("${messaging.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+                              @Value("${messaging.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                              @Value("${messaging.write-behind.flush-threads:4}") int flushThreads,
+                              MeterRegistry meterRegistry) {
+        if (batchSize < 1 || lingerMs < 1 || capacity < batchSize || flushThreads < 1) {
+            throw new IllegalArgumentException("Message write-behind needs a positive batch size, linger and number " +
+                    "of flush threads, and a capacity of at least one batch");
+        }
+        this.messageRepository = messageRepository;
+        this.chatroomRepository = chatroomRepository;
+        this.inboxRepository = inboxRepository;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.capacity = capacity;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.flushThreads = flushThreads;
+        this.permits = new Semaphore(capacity);
+        this.meterRegistry = meterRegistry;
+        this.flushSuccess = Timer.builder("messaging.writebehind.flush")
+                .description("Time taken to save a batch of messages")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.flushFailure = Timer.builder("messaging.writebehind.flush")
+                .description("Time taken to save a batch of messages")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("messaging.writebehind.batch.size")
+                .description("Number of messages saved per batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("messaging.writebehind.lag")
+                .description("Time from accepting a message to saving it")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("messaging.writebehind.rejected")
+                .description("Messages rejected because the backlog was full")
+                .register(meterRegistry);
+        Gauge.builder("messaging.writebehind.pending", this, MessageWriteBehind::pending)
+                .description("Messages accepted but not saved yet")
+                .register(meterRegistry);
+        Gauge.builder("messaging.writebehind.chatrooms", queues, ConcurrentMap::size)
+                .description("Chatrooms with messages waiting to be saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a message to be saved, waiting for room in the backlog if it is full.
+     *
+     * @param message a message with its id and creation date already set
+     * @throws MessageBacklogFullException if the backlog stays full for longer than the offer timeout
+     */
+    public void enqueue(Message message) {
+        String chatroomId = message.getChatroomId();
+        if (!acquirePermit()) {
+            rejected.increment();
+            throw new MessageBacklogFullException(chatroomId);
+        }
+        Pending pending = new Pending(message, System.nanoTime());
+        ChatroomQueue queue = queues.compute(chatroomId, (id, existing) -> {
+            ChatroomQueue chatroomQueue = existing != null ? existing : new ChatroomQueue();
+            chatroomQueue.add(pending);
+            return chatroomQueue;
+        });
+        if (queue.size() >= batchSize) {
+            scheduleFlush(chatroomId, queue);
+        }
+    }
+
+    /**
+     * Drops the messages of a chatroom that have not been saved yet, to be called when the chatroom is deleted. A batch
+     * of the chatroom being saved at that time is waited for, so that once this returns no message of the chatroom
+     * accepted before can still be inserted, and deleting its messages removes them all.
+     */
+    public void discard(String chatroomId) {
+        ChatroomQueue queue = queues.computeIfPresent(chatroomId, (id, existing) -> {
+            permits.release(existing.clear());
+            return existing;
+        });
+        if (queue == null) {
+            return;
+        }
+        // Any batch read after the queue was cleared is empty, so the one being saved is the last to wait for.
+        queue.lockWrites();
+        queue.unlockWrites();
+        queues.computeIfPresent(chatroomId, (id, existing) ->
+                existing == queue && queue.isEmpty() && !queue.isFlushing() ? null : existing);
+    }
+
+    /**
+     * Returns the number of messages accepted but not saved yet.
+     */
+    public int pending() {
+        return capacity - permits.availablePermits();
+    }
+
+    @Override
+    public void start() {
+        flushExecutor = Executors.newFixedThreadPool(flushThreads,
+                Thread.ofPlatform().name("message-flush-", 0).daemon().factory());
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("message-flush-ticker").daemon().factory());
+        long tickNanos = Math.max(lingerNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+        ticker.scheduleWithFixedDelay(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        draining = false;
+        running = true;
+    }
+
+    /**
+     * Flushes every queue until the backlog is empty or the shutdown timeout is reached. Messages still waiting by then
+     * are lost, and logged as such.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        ticker.shutdownNow();
+        draining = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        while (pending() > 0 && System.nanoTime() < deadline) {
+            queues.forEach(this::scheduleFlush);
+            LockSupport.parkNanos(Math.min(lingerNanos, Math.max(0, deadline - System.nanoTime())));
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int lost = pending();
+        if (lost > 0) {
+            log.error("MessageWriteBehind::stop: {} messages could not be saved before shutdown", lost);
+        } else {
+            log.info("MessageWriteBehind::stop: all accepted messages were saved");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, which stops at {@code DEFAULT_PHASE - 2048}, so that no message is accepted once
+     * the final flush has started.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        queues.forEach((chatroomId, queue) -> {
+            if (queue.isDue(now, lingerNanos)) {
+                scheduleFlush(chatroomId, queue);
+            }
+        });
+    }
+
+    private void scheduleFlush(String chatroomId, ChatroomQueue queue) {
+        ExecutorService executor = flushExecutor;
+        if (executor == null || !queue.startFlushing()) {
+            return;
+        }
+        try {
+            executor.execute(() -> flush(chatroomId, queue));
+        } catch (RejectedExecutionException e) {
+            queue.stopFlushing();
+        }
+    }
+
+    /**
+     * Saves the queue of a chatroom batch by batch, stopping at the first failure, or once less than a full batch is
+     * left unless the service is shutting down.
+     */
+    private void flush(String chatroomId, ChatroomQueue queue) {
+        try {
+            boolean saved;
+            do {
+                saved = saveHead(chatroomId, queue);
+            } while (saved && (draining || queue.size() >= batchSize));
+        } finally {
+            queue.stopFlushing();
+            queues.computeIfPresent(chatroomId, (id, existing) ->
+                    existing == queue && queue.isEmpty() && !queue.isFlushing() ? null : existing);
+        }
+    }
+
+    /**
+     * Saves the batch at the head of the queue of a chatroom. The batch is read and written while holding the write
+     * lock of the queue, so that {@link #discard(String)} can wait for it.
+     *
+     * @return {@code true} if a batch was saved, {@code false} if the queue was empty or the batch failed to save
+     */
+    private boolean saveHead(String chatroomId, ChatroomQueue queue) {
+        queue.lockWrites();
+        try {
+            List<Pending> batch = queue.head(batchSize);
+            if (batch.isEmpty() || !write(chatroomId, batch)) {
+                return false;
+            }
+            permits.release(queue.removeSaved(batch));
+            return true;
+        } finally {
+            queue.unlockWrites();
+        }
+    }
+
+    private boolean write(String chatroomId, List<Pending> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<Message> messages = batch.stream().map(Pending::message).toList();
+            messageRepository.insertBatch(messages);
+            chatroomRepository.updateLastMessage(chatroomId, MessagePreview.of(messages.getLast()));
+            inboxRepository.recordMessages(chatroomId, messages);
+            sample.stop(flushSuccess);
+            batchSizes.record(batch.size());
+            lag.record(System.nanoTime() - batch.getFirst().acceptedAt(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RuntimeException e) {
+            sample.stop(flushFailure);
+            log.warn("MessageWriteBehind::flush: {} messages of chatroom {} could not be saved and will be retried",
+                    batch.size(), chatroomId, e);
+            return false;
+        }
+    }
+
+    private record Pending(Message message, long acceptedAt) {
+    }
+
+    /**
+     * The messages of one chatroom waiting to be saved, oldest first.
+     */
+    private static final class ChatroomQueue {
+
+        private final Deque<Pending> messages = new ArrayDeque<>();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        synchronized void add(Pending pending) {
+            messages.addLast(pending);
+        }
+
+        synchronized int size() {
+            return messages.size();
+        }
+
+        synchronized boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        synchronized boolean isDue(long now, long lingerNanos) {
+            return !messages.isEmpty() && now - messages.getFirst().acceptedAt() >= lingerNanos;
+        }
+
+        synchronized List<Pending> head(int limit) {
+            List<Pending> head = new ArrayList<>(Math.min(limit, messages.size()));
+            Iterator<Pending> iterator = messages.iterator();
+            while (iterator.hasNext() && head.size() < limit) {
+                head.add(iterator.next());
+            }
+            return head;
+        }
+
+        /**
+         * Removes the saved batch from the head of the queue, unless it was discarded while it was being saved.
+         *
+         * @return the number of messages removed
+         */
+        synchronized int removeSaved(List<Pending> batch) {
+            int removed = 0;
+            for (Pending pending : batch) {
+                if (messages.peekFirst() != pending) {
+                    break;
+                }
+                messages.removeFirst();
+                removed++;
+            }
+            return removed;
+        }
+
+        synchronized int clear() {
+            int cleared = messages.size();
+            messages.clear();
+            return cleared;
+        }
+
+        void lockWrites() {
+            writeLock.lock();
+        }
+
+        void unlockWrites() {
+            writeLock.unlock();
+        }
+
+        boolean startFlushing() {
+            return flushing.compareAndSet(false, true);
+        }
+
+        void stopFlushing() {
+            flushing.set(false);
+        }
+
+        boolean isFlushing() {
+            return flushing.get();
+        }
+    }
+}
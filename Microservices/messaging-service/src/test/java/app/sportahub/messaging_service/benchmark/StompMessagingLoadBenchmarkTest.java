@@ -0,0 +1,257 @@
+package app.sportahub.messaging_service.benchmark;
+
+import app.sportahub.messagingservice.MessagingServiceApplication;
+import app.sportahub.messagingservice.dto.request.message.MessageRequest;
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+import app.sportahub.messagingservice.repository.ChatroomRepository;
+import app.sportahub.messagingservice.repository.MessageRepository;
+import app.sportahub.messagingservice.service.writebehind.MessageWriteBehind;
+import app.sportahub.security.CachingJwtAuthenticationProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.reflect.Type;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives messages through STOMP clients connected to the in-process server, at a paced rate of several thousand
+ * messages per second spread over a few chatrooms, and measures how long the broadcast takes to reach a subscriber and
+ * how long the write-behind takes to save everything. Tokens are accepted by a mocked authentication provider.
+ * <p>
+ * Run with {@code ./gradlew benchmark}.
+ * </p>
+ */
+@Slf4j
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest(classes = MessagingServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "KEYCLOAK_CLIENT_ID=messaging-service-benchmark",
+                "KEYCLOAK_CLIENT_SECRET=secret",
+                "spring.security.oauth2.resourceserver.jwt.jwk-set-uri=http://localhost:1/certs",
+                "logging.level.org.springframework.web=info"
+        })
+class StompMessagingLoadBenchmarkTest {
+
+    private static final int CHATROOMS = 20;
+    private static final int SENDERS = 4;
+    private static final int MESSAGES_PER_SENDER = 5_000;
+    private static final int MESSAGES_PER_SECOND_PER_SENDER = 2_000;
+    private static final int TOTAL_MESSAGES = SENDERS * MESSAGES_PER_SENDER;
+    private static final String AUTHORIZATION = "Bearer benchmark";
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> mongoDBContainer.getReplicaSetUrl("messaging-service-benchmark"));
+    }
+
+    @TestConfiguration
+    static class OAuth2ClientConfiguration {
+
+        @Bean
+        ClientRegistrationRepository clientRegistrationRepository() {
+            return new InMemoryClientRegistrationRepository(ClientRegistration.withRegistrationId("keycloak")
+                    .clientId("messaging-service-benchmark")
+                    .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                    .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                    .authorizationUri("http://localhost:1/auth")
+                    .tokenUri("http://localhost:1/token")
+                    .build());
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private CachingJwtAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private ChatroomRepository chatroomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageWriteBehind messageWriteBehind;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void messagesShouldBeBroadcastRightAwayAndAllSaved() throws Exception {
+        when(authenticationProvider.authenticate(any()))
+                .thenReturn(new TestingAuthenticationToken("sender", "benchmark", "ROLE_USER"));
+        Member sender = new Member("sender", "Sender", null);
+        Set<Member> members = Set.of(sender, new Member("receiver", "Receiver", null));
+        List<String> chatroomIds = new ArrayList<>(CHATROOMS);
+        for (int i = 0; i < CHATROOMS; i++) {
+            chatroomIds.add(chatroomRepository.save(Chatroom.builder()
+                    .chatroomName("Benchmark " + i)
+                    .createdBy(sender.getUserId())
+                    .createdAt(new Timestamp(System.currentTimeMillis()))
+                    .members(members)
+                    .build()).getChatroomId());
+        }
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setDefaultHeartbeat(new long[]{0, 0});
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+
+        Timer broadcastLatency = Timer.builder("benchmark.broadcast.latency").register(new SimpleMeterRegistry());
+        CountDownLatch received = new CountDownLatch(TOTAL_MESSAGES);
+        StompSession subscriber = connect(stompClient);
+        for (String chatroomId : chatroomIds) {
+            StompHeaders subscribeHeaders = new StompHeaders();
+            subscribeHeaders.setDestination("/topic/chatroom/" + chatroomId);
+            subscribeHeaders.add("Authorization", AUTHORIZATION);
+            subscriber.subscribe(subscribeHeaders, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    long sentAt = Long.parseLong((String) ((Map<?, ?>) payload).get("content"));
+                    broadcastLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                    received.countDown();
+                }
+            });
+        }
+        // Subscriptions are registered asynchronously, give the broker a moment to see them all
+        Thread.sleep(500);
+
+        List<StompSession> senders = new ArrayList<>(SENDERS);
+        for (int i = 0; i < SENDERS; i++) {
+            senders.add(connect(stompClient));
+        }
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService sending = Executors.newFixedThreadPool(SENDERS)) {
+            List<Future<?>> sends = new ArrayList<>(SENDERS);
+            for (int i = 0; i < SENDERS; i++) {
+                StompSession session = senders.get(i);
+                int senderIndex = i;
+                sends.add(sending.submit(() -> send(session, senderIndex, chatroomIds, sender, members)));
+            }
+            for (Future<?> send : sends) {
+                send.get(2, TimeUnit.MINUTES);
+            }
+        }
+        long sentIn = System.nanoTime() - startedAt;
+        assertTrue(received.await(1, TimeUnit.MINUTES), "Only " + (TOTAL_MESSAGES - received.getCount())
+                + " of " + TOTAL_MESSAGES + " messages were broadcast");
+        long broadcastIn = System.nanoTime() - startedAt;
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (messageWriteBehind.pending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long savedIn = System.nanoTime() - startedAt;
+
+        assertEquals(0, messageWriteBehind.pending());
+        assertEquals(TOTAL_MESSAGES, messageRepository.count());
+        for (String chatroomId : chatroomIds) {
+            assertEquals(TOTAL_MESSAGES / CHATROOMS,
+                    messageRepository.scrollByChatroomId(chatroomId, null, TOTAL_MESSAGES).messages().size());
+            assertNotNull(chatroomRepository.findByChatroomId(chatroomId).orElseThrow().getLastMessage());
+        }
+        assertEquals(0, meterRegistry.get("messaging.writebehind.rejected").counter().count());
+
+        DistributionSummary batchSizes = meterRegistry.get("messaging.writebehind.batch.size").summary();
+        Timer lag = meterRegistry.get("messaging.writebehind.lag").timer();
+        log.info("StompMessagingLoadBenchmarkTest: {} messages to {} chatrooms sent at {} msg/s, all broadcast after {} ms "
+                        + "({} ms mean, {} ms max latency), all saved after {} ms in {} batches of {} messages on "
+                        + "average ({} ms mean, {} ms max save lag)",
+                TOTAL_MESSAGES, CHATROOMS, String.format("%.0f", TOTAL_MESSAGES / (sentIn / 1e9)),
+                TimeUnit.NANOSECONDS.toMillis(broadcastIn),
+                String.format("%.1f", broadcastLatency.mean(TimeUnit.MILLISECONDS)),
+                String.format("%.1f", broadcastLatency.max(TimeUnit.MILLISECONDS)),
+                TimeUnit.NANOSECONDS.toMillis(savedIn), batchSizes.count(),
+                String.format("%.1f", batchSizes.mean()),
+                String.format("%.1f", lag.mean(TimeUnit.MILLISECONDS)),
+                String.format("%.1f", lag.max(TimeUnit.MILLISECONDS)));
+
+        subscriber.disconnect();
+        senders.forEach(StompSession::disconnect);
+    }
+
+    private StompSession connect(WebSocketStompClient stompClient) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", AUTHORIZATION);
+        return stompClient.connectAsync("ws://localhost:" + port + "/api/messaging-service/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                        })
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends the messages of one sender round-robin over the chatrooms, paced to its share of the target rate. Each
+     * message carries the time it was sent as its content, to measure the broadcast latency.
+     */
+    private static void send(StompSession session, int senderIndex, List<String> chatroomIds, Member sender,
+                             Set<Member> members) {
+        StompHeaders sendHeaders = new StompHeaders();
+        sendHeaders.setDestination("/app/message");
+        sendHeaders.add("Authorization", AUTHORIZATION);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / MESSAGES_PER_SECOND_PER_SENDER;
+        long nextAt = System.nanoTime();
+        for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+            String chatroomId = chatroomIds.get((senderIndex * MESSAGES_PER_SENDER + i) % chatroomIds.size());
+            session.send(sendHeaders, new MessageRequest(chatroomId, sender.getUserId(), sender.getUsername(), null,
+                    members, String.valueOf(System.nanoTime()), null));
+            nextAt += intervalNanos;
+            LockSupport.parkNanos(nextAt - System.nanoTime());
+        }
+    }
+}
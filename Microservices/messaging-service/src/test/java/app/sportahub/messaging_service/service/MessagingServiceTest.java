@@ -2,28 +2,42 @@ package app.sportahub.messaging_service.service;
 
 import app.sportahub.messagingservice.dto.request.chatroom.ChatroomRequest;
 import app.sportahub.messagingservice.dto.request.message.MessageRequest;
+import app.sportahub.messagingservice.dto.response.CursorPageResponse;
 import app.sportahub.messagingservice.dto.response.chatroom.ChatroomResponse;
+import app.sportahub.messagingservice.dto.response.chatroom.InboxChatroomResponse;
 import app.sportahub.messagingservice.dto.response.message.MessageResponse;
 import app.sportahub.messagingservice.exception.ChatroomAlreadyExistsException;
 import app.sportahub.messagingservice.exception.ChatroomCreatorTryingToRemoveThemselvesFromChatroomException;
 import app.sportahub.messagingservice.exception.ChatroomDoesNotExistException;
+import app.sportahub.messagingservice.exception.MessageBacklogFullException;
 import app.sportahub.messagingservice.exception.MessageDoesNotExistException;
+import app.sportahub.messagingservice.exception.SenderIsNotTheAuthenticatedUserException;
+import app.sportahub.messagingservice.exception.UserIsNotAChatroomMemberException;
 import app.sportahub.messagingservice.mapper.ChatroomMapper;
 import app.sportahub.messagingservice.mapper.MessageMapper;
 import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.InboxChatroom;
 import app.sportahub.messagingservice.model.Member;
 import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
 import app.sportahub.messagingservice.repository.ChatroomRepository;
+import app.sportahub.messagingservice.repository.InboxRepository;
+import app.sportahub.messagingservice.repository.InboxWindow;
 import app.sportahub.messagingservice.repository.MessageRepository;
+import app.sportahub.messagingservice.repository.MessageWindow;
 import app.sportahub.messagingservice.service.MessagingServiceImpl;
+import app.sportahub.messagingservice.service.broker.ChatroomBroadcaster;
+import app.sportahub.messagingservice.service.membership.ChatroomMembershipCache;
+import app.sportahub.messagingservice.service.writebehind.MessageWriteBehind;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -42,7 +56,16 @@ public class MessagingServiceTest {
     private MessageRepository messageRepository;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private ChatroomBroadcaster chatroomBroadcaster;
+
+    @Mock
+    private MessageWriteBehind messageWriteBehind;
+
+    @Mock
+    private ChatroomMembershipCache chatroomMembershipCache;
+
+    @Mock
+    private InboxRepository inboxRepository;
 
     @InjectMocks
     private MessagingServiceImpl messagingService;
@@ -55,13 +78,13 @@ public class MessagingServiceTest {
 
     @BeforeEach
     void setUp() {
-        messagingService = new MessagingServiceImpl(messageRepository, messagingTemplate, chatroomRepository,
-                chatroomMapper, messageMapper);
+        messagingService = new MessagingServiceImpl(messageRepository, chatroomBroadcaster, chatroomRepository,
+                chatroomMapper, messageMapper, messageWriteBehind, chatroomMembershipCache, inboxRepository);
 
         chatroom = getChatroom();
 
         chatroomRequest = new ChatroomRequest(chatroom.getCreatedBy(), chatroom.getChatroomName(), chatroom.getMembers(),
-                chatroom.getMessages(), chatroom.getIsEvent(), chatroom.getUnread());
+                chatroom.getIsEvent());
 
         receivers = chatroom.getMembers();
     }
@@ -115,16 +138,39 @@ public class MessagingServiceTest {
                 "testContent");
         MessageRequest messageRequest = getMessageRequest(message);
 
-        when(messageRepository.save(any())).thenReturn(messageMapper.messageRequestToMessage(messageRequest));
-        when(chatroomRepository.findByChatroomId(any())).thenReturn(Optional.of(chatroom));
-        when(chatroomRepository.save(any())).thenReturn(chatroom);
+        when(chatroomMembershipCache.findMemberIds(chatroom.getChatroomId()))
+                .thenReturn(Optional.of(Set.of("testSenderId", "testReceiverId1")));
 
         // Act
-        messagingService.processMessage(messageRequest);
+        messagingService.processMessage(messageRequest, messageRequest.senderId());
 
         // Assert
-        verify(messageRepository, times(1)).save(any());
-        verify(chatroomRepository, times(1)).save(any());
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messageWriteBehind, times(1)).enqueue(captor.capture());
+        Message accepted = captor.getValue();
+        assertTrue(ObjectId.isValid(accepted.getMessageId()));
+        assertNotNull(accepted.getCreatedAt());
+        assertEquals(message.getContent(), accepted.getContent());
+        verify(chatroomBroadcaster, times(1)).broadcast(chatroom.getChatroomId(), accepted);
+        verify(messageRepository, never()).save(any());
+        verifyNoInteractions(chatroomRepository);
+    }
+
+    @Test
+    public void processMessageShouldNotBroadcastWhenTheBacklogIsFull() {
+        // Arrange
+        Message message = getMessage(chatroom.getChatroomId(), "testSenderId", receivers,
+                "testContent");
+        MessageRequest messageRequest = getMessageRequest(message);
+        when(chatroomMembershipCache.findMemberIds(chatroom.getChatroomId()))
+                .thenReturn(Optional.of(Set.of("testSenderId")));
+        doThrow(new MessageBacklogFullException(chatroom.getChatroomId())).when(messageWriteBehind).enqueue(any());
+
+        // Act
+        assertThrows(MessageBacklogFullException.class, () -> messagingService.processMessage(messageRequest, messageRequest.senderId()));
+
+        // Assert
+        verify(chatroomBroadcaster, never()).broadcast(anyString(), any());
     }
 
     @Test
@@ -134,17 +180,54 @@ public class MessagingServiceTest {
                 "testContent");
         MessageRequest messageRequest = getMessageRequest(message);
 
-        when(chatroomRepository.findByChatroomId(messageRequest.chatroomId())).thenReturn(Optional.empty());
+        when(chatroomMembershipCache.findMemberIds(messageRequest.chatroomId())).thenReturn(Optional.empty());
 
         // Act
-        assertThrows(ChatroomDoesNotExistException.class, () -> messagingService.processMessage(messageRequest));
+        assertThrows(ChatroomDoesNotExistException.class, () -> messagingService.processMessage(messageRequest, messageRequest.senderId()));
 
         // Assert
-        verify(messageRepository, times(0)).save(any());
-        verify(chatroomRepository, times(0)).save(any());
+        verify(messageWriteBehind, never()).enqueue(any());
+        verify(chatroomBroadcaster, never()).broadcast(anyString(), any());
 
     }
 
+    @Test
+    public void processMessageShouldRejectASpoofedSenderId() {
+        // Arrange
+        Message message = getMessage(chatroom.getChatroomId(), "testReceiverId1", receivers,
+                "testContent");
+        MessageRequest messageRequest = getMessageRequest(message);
+
+        // Act
+        assertThrows(SenderIsNotTheAuthenticatedUserException.class,
+                () -> messagingService.processMessage(messageRequest, "outsiderId"));
+        assertThrows(SenderIsNotTheAuthenticatedUserException.class,
+                () -> messagingService.processMessage(messageRequest, null));
+
+        // Assert
+        verifyNoInteractions(chatroomMembershipCache);
+        verify(messageWriteBehind, never()).enqueue(any());
+        verify(chatroomBroadcaster, never()).broadcast(anyString(), any());
+    }
+
+    @Test
+    public void processMessageShouldThrowUserIsNotAChatroomMemberException() {
+        // Arrange
+        Message message = getMessage(chatroom.getChatroomId(), "outsiderId", receivers,
+                "testContent");
+        MessageRequest messageRequest = getMessageRequest(message);
+
+        when(chatroomMembershipCache.findMemberIds(messageRequest.chatroomId()))
+                .thenReturn(Optional.of(Set.of("testSenderId", "testReceiverId1")));
+
+        // Act
+        assertThrows(UserIsNotAChatroomMemberException.class, () -> messagingService.processMessage(messageRequest, messageRequest.senderId()));
+
+        // Assert
+        verify(messageWriteBehind, never()).enqueue(any());
+        verify(chatroomBroadcaster, never()).broadcast(anyString(), any());
+    }
+
     @Test
     public void getMessagesShouldSucceed() {
         //Arrange
@@ -152,66 +235,127 @@ public class MessagingServiceTest {
                "testContent1");
        Message message2 = getMessage(chatroom.getChatroomId(), "testSenderId2", receivers,
                "testContent2");
-       chatroom.setMessages(List.of(message1,message2));
-       MessageResponse messageResponse1 = messageMapper.MessageToMessageResponse(message1);
-       MessageResponse messageResponse2 = messageMapper.MessageToMessageResponse(message2);
-       List<MessageResponse> messages = List.of(messageResponse1,messageResponse2);
-
-        when(chatroomRepository.findByChatroomId(chatroom.getChatroomId())).thenReturn(Optional.of(chatroom));
+        when(messageRepository.scrollByChatroomId(chatroom.getChatroomId(), null, 2))
+                .thenReturn(new MessageWindow(List.of(message1, message2), "nextCursor"));
 
         //Act
-        List<MessageResponse> messageResponses = messagingService.getMessages(chatroom.getChatroomId());
+        CursorPageResponse<MessageResponse> messageResponses = messagingService.getMessages(chatroom.getChatroomId(),
+                null, 2);
 
         //Assert
         assertNotNull(messageResponses);
-        assertEquals(messages.size(), messageResponses.size());
-        assertEquals(message1.getSenderId(), messageResponses.get(0).senderId());
-        assertEquals(message2.getSenderId(), messageResponses.get(1).senderId());
+        assertEquals(2, messageResponses.content().size());
+        assertEquals(message1.getSenderId(), messageResponses.content().get(0).senderId());
+        assertEquals(message2.getSenderId(), messageResponses.content().get(1).senderId());
+        assertEquals("nextCursor", messageResponses.nextCursor());
+        assertTrue(messageResponses.hasNext());
+        verify(chatroomRepository, never()).findByChatroomId(any());
+    }
+
+    @Test
+    public void getMessagesShouldReturnEmptyPageForExistingChatroomWithoutMessages() {
+        // Arrange
+        when(messageRepository.scrollByChatroomId(chatroom.getChatroomId(), null, 50))
+                .thenReturn(new MessageWindow(List.of(), null));
+        when(chatroomRepository.existsById(chatroom.getChatroomId())).thenReturn(true);
+
+        // Act
+        CursorPageResponse<MessageResponse> messageResponses = messagingService.getMessages(chatroom.getChatroomId(),
+                null, 50);
+
+        // Assert
+        assertTrue(messageResponses.content().isEmpty());
+        assertNull(messageResponses.nextCursor());
+        assertFalse(messageResponses.hasNext());
     }
 
     @Test
     public void getMessagesShouldThrowChatroomNotFoundException() {
         // Arrange
-        when(chatroomRepository.findByChatroomId(any())).thenReturn(Optional.empty());
+        when(messageRepository.scrollByChatroomId("badChatroomId", null, 50))
+                .thenReturn(new MessageWindow(List.of(), null));
+        when(chatroomRepository.existsById("badChatroomId")).thenReturn(false);
 
         // Act
-        assertThrows(ChatroomDoesNotExistException.class, () -> messagingService.getMessages(any()));
+        assertThrows(ChatroomDoesNotExistException.class, () -> messagingService.getMessages("badChatroomId", null, 50));
 
         //Assert
-        verify(chatroomRepository, times(1)).findByChatroomId(any());
+        verify(chatroomRepository, times(1)).existsById("badChatroomId");
 
     }
 
     @Test
     public void getChatroomsShouldSucceed() {
         // Arrange
-        List<Chatroom> chatrooms = List.of(chatroom);
+        InboxChatroom inboxChatroom = InboxChatroom.builder()
+                .withChatroomId(chatroom.getChatroomId())
+                .withChatroomName(chatroom.getChatroomName())
+                .withIsEvent(false)
+                .withUnreadCount(3L)
+                .build();
+        when(inboxRepository.scrollByUserId(chatroom.getCreatedBy(), null, 20))
+                .thenReturn(new InboxWindow(List.of(inboxChatroom), "nextCursor"));
 
-        when(chatroomRepository.findAllByMembers_UserId(chatroom.getCreatedBy())).thenReturn(chatrooms);
+        // Act
+        CursorPageResponse<InboxChatroomResponse> chatroomResponses =
+                messagingService.getChatrooms(chatroom.getCreatedBy(), null, 20);
+
+        //Assert
+        verify(inboxRepository, times(1)).scrollByUserId(chatroom.getCreatedBy(), null, 20);
+        assertEquals(chatroom.getChatroomId(), chatroomResponses.content().getFirst().chatroomId());
+        assertEquals(3L, chatroomResponses.content().getFirst().unreadCount());
+        assertEquals("nextCursor", chatroomResponses.nextCursor());
+        assertTrue(chatroomResponses.hasNext());
+        verifyNoInteractions(chatroomRepository);
+    }
+
+    @Test
+    public void getChatroomsShouldReturnEmptyPageWhenNoChatroomsAreFound() {
+        // Arrange
+        when(inboxRepository.scrollByUserId("1", null, 20)).thenReturn(new InboxWindow(List.of(), null));
 
         // Act
-        List<ChatroomResponse> chatroomResponses = messagingService.getChatrooms(chatroom.getCreatedBy());
+        CursorPageResponse<InboxChatroomResponse> chatroomResponses = messagingService.getChatrooms("1", null, 20);
 
         //Assert
-        verify(chatroomRepository, times(1))
-                .findAllByMembers_UserId(chatroom.getCreatedBy());
         assertNotNull(chatroomResponses);
-        assertEquals(chatroomResponses.getFirst().chatroomId(), chatrooms.getFirst().getChatroomId());
+        assertEquals(0, chatroomResponses.content().size());
+        assertFalse(chatroomResponses.hasNext());
+    }
+
+    @Test
+    public void markChatroomReadShouldSucceed() {
+        // Arrange
+        when(inboxRepository.markRead(eq(chatroom.getChatroomId()), eq("testReceiverId1"), any())).thenReturn(true);
+
+        // Act
+        messagingService.markChatroomRead(chatroom.getChatroomId(), "testReceiverId1");
 
+        // Assert
+        verify(inboxRepository, times(1)).markRead(eq(chatroom.getChatroomId()), eq("testReceiverId1"), any());
+        verifyNoInteractions(chatroomRepository);
     }
 
     @Test
-    public void getChatroomsShouldReturnEmptyListWhenNoChatroomsAreFound() {
+    public void markChatroomReadShouldThrowUserIsNotAChatroomMemberException() {
         // Arrange
-        when(chatroomRepository.findAllByMembers_UserId(any(String.class))).thenReturn(List.of());
+        when(inboxRepository.markRead(eq(chatroom.getChatroomId()), eq("outsiderId"), any())).thenReturn(false);
+        when(chatroomRepository.existsById(chatroom.getChatroomId())).thenReturn(true);
 
         // Act
-        List<ChatroomResponse> chatroomResponses = messagingService.getChatrooms("1");
+        assertThrows(UserIsNotAChatroomMemberException.class, () ->
+                messagingService.markChatroomRead(chatroom.getChatroomId(), "outsiderId"));
+    }
 
-        //Assert
-        assertNotNull(chatroomResponses);
-        assertEquals(0, chatroomResponses.size());
+    @Test
+    public void markChatroomReadShouldThrowChatroomDoesNotExistException() {
+        // Arrange
+        when(inboxRepository.markRead(eq("badChatroomId"), eq("testReceiverId1"), any())).thenReturn(false);
+        when(chatroomRepository.existsById("badChatroomId")).thenReturn(false);
 
+        // Act
+        assertThrows(ChatroomDoesNotExistException.class, () ->
+                messagingService.markChatroomRead("badChatroomId", "testReceiverId1"));
     }
 
     @Test
@@ -232,6 +376,9 @@ public class MessagingServiceTest {
         verify(chatroomRepository, times(1))
                 .findByCreatedByAndChatroomNameAndMembersEquals(chatroomRequest.createdBy(), chatroomRequest.chatroomName(),
                         chatroomRequest.members());
+        verify(inboxRepository, times(1)).syncMembers(chatroom.getChatroomId(),
+                Set.of("testSenderId", "testReceiverId1", "testReceiverId2", "testReceiverId3"),
+                chatroom.getCreatedAt());
     }
 
     @Test
@@ -279,8 +426,7 @@ public class MessagingServiceTest {
     @Test
     public void patchChatroomShouldSucceed() {
         // Arrange
-        when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.of(chatroom));
-        when(chatroomRepository.save(any(Chatroom.class))).thenReturn(chatroom);
+        when(chatroomRepository.updateFields(any(Chatroom.class), anyCollection())).thenReturn(Optional.of(chatroom));
 
         // Act
         ChatroomResponse chatroomResponse = messagingService.patchChatroom(chatroom.getChatroomId(), chatroomRequest);
@@ -290,22 +436,42 @@ public class MessagingServiceTest {
         assertEquals(chatroomResponse.createdBy(), chatroom.getCreatedBy());
         assertEquals(chatroomResponse.chatroomName(), chatroom.getChatroomName());
         assertEquals(chatroomResponse.members(), chatroom.getMembers());
-        verify(chatroomRepository, times(1)).findByChatroomId(chatroom.getChatroomId());
-        verify(chatroomRepository, times(1)).save(any(Chatroom.class));
+        verify(chatroomRepository, times(1)).updateFields(
+                argThat(changes -> changes.getChatroomId().equals(chatroom.getChatroomId())),
+                eq(Set.of("createdBy", "chatroomName", "members", "isEvent")));
+        verify(chatroomRepository, never()).save(any(Chatroom.class));
+        verify(chatroomMembershipCache, times(1)).evict(chatroom.getChatroomId());
+        verify(inboxRepository, times(1)).syncMembers(chatroom.getChatroomId(),
+                Set.of("testSenderId", "testReceiverId1", "testReceiverId2", "testReceiverId3"),
+                chatroom.getCreatedAt());
+    }
+
+    @Test
+    public void patchChatroomShouldOnlyWriteTheProvidedFields() {
+        // Arrange
+        ChatroomRequest renameRequest = new ChatroomRequest(null, "renamedChatroom", null, null);
+        when(chatroomRepository.updateFields(any(Chatroom.class), anyCollection())).thenReturn(Optional.of(chatroom));
+
+        // Act
+        messagingService.patchChatroom(chatroom.getChatroomId(), renameRequest);
+
+        // Assert
+        verify(chatroomRepository, times(1)).updateFields(any(Chatroom.class), eq(Set.of("chatroomName")));
+        verify(inboxRepository, never()).syncMembers(anyString(), anySet(), any());
     }
 
     @Test
     public void patchChatroomShouldThrowChatroomDoesNotExistException() {
         //Arrange
-        when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.empty());
+        when(chatroomRepository.updateFields(any(Chatroom.class), anyCollection())).thenReturn(Optional.empty());
 
         //Act
         assertThrows(ChatroomDoesNotExistException.class, () ->
                 messagingService.patchChatroom(chatroom.getChatroomId(), chatroomRequest));
 
         // Assert
-        verify(chatroomRepository, times(1)).findByChatroomId(anyString());
-
+        verify(chatroomRepository, times(1)).updateFields(any(Chatroom.class), anyCollection());
+        verify(chatroomMembershipCache, never()).evict(anyString());
     }
 
     @Test
@@ -320,6 +486,10 @@ public class MessagingServiceTest {
         // Assert
         verify(chatroomRepository, times(1)).findByChatroomId(chatroom.getChatroomId());
         verify(chatroomRepository, times(1)).delete(any(Chatroom.class));
+        verify(messageWriteBehind, times(1)).discard(chatroom.getChatroomId());
+        verify(chatroomMembershipCache, times(1)).evict(chatroom.getChatroomId());
+        verify(messageRepository, times(1)).deleteAllByChatroomId(chatroom.getChatroomId());
+        verify(inboxRepository, times(1)).deleteAllByChatroomId(chatroom.getChatroomId());
     }
 
     @Test
@@ -355,6 +525,8 @@ public class MessagingServiceTest {
         assertEquals(messageRequest.content(), messageResponse.content());
         verify(messageRepository, times(1)).findByMessageId(message.getMessageId());
         verify(messageRepository, times(1)).save(any(Message.class));
+        verify(chatroomRepository, times(1)).replaceLastMessage(chatroom.getChatroomId(), message.getMessageId(),
+                MessagePreview.of(message));
     }
 
     @Test
@@ -384,6 +556,26 @@ public class MessagingServiceTest {
         // Assert
         verify(messageRepository, times(1)).findByMessageId(message.getMessageId());
         verify(messageRepository, times(1)).delete(any(Message.class));
+        verify(chatroomRepository, times(1)).replaceLastMessage(chatroom.getChatroomId(), message.getMessageId(), null);
+    }
+
+    @Test
+    public void deleteMessageShouldMoveThePreviewToThePreviousMessage() {
+        // Arrange
+        Message message = getMessage(chatroom.getChatroomId(), "testSenderId", receivers,
+                "testContent" );
+        Message previousMessage = getMessage(chatroom.getChatroomId(), "testReceiverId1", receivers,
+                "previousContent").toBuilder().withMessageId("previousMessageId").build();
+        when(messageRepository.findByMessageId(anyString())).thenReturn(Optional.of(message));
+        when(messageRepository.findFirstByChatroomIdOrderByCreatedAtDescMessageIdDesc(chatroom.getChatroomId()))
+                .thenReturn(Optional.of(previousMessage));
+
+        // Act
+        messagingService.deleteMessage(message.getMessageId());
+
+        // Assert
+        verify(chatroomRepository, times(1)).replaceLastMessage(chatroom.getChatroomId(), message.getMessageId(),
+                MessagePreview.of(previousMessage));
     }
 
     @Test
@@ -408,8 +600,12 @@ public class MessagingServiceTest {
         Member newMember2 = new Member("newMemberId2", "newMemberUsername2", null);
         newMembers.add(newMember1);
         newMembers.add(newMember2);
-        when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.of(chatroom));
-        when(chatroomRepository.save(any(Chatroom.class))).thenReturn(chatroom);
+        Set<Member> modifiedMembers = new HashSet<>(existingMembers);
+        modifiedMembers.addAll(newMembers);
+        Chatroom modifiedChatroom = getChatroom();
+        modifiedChatroom.setCreatedAt(chatroom.getCreatedAt());
+        modifiedChatroom.setMembers(modifiedMembers);
+        when(chatroomRepository.addMembers(anyString(), anyCollection())).thenReturn(Optional.of(modifiedChatroom));
 
         // Act
         ChatroomResponse chatroomResponse = messagingService.addMembers(chatroom.getChatroomId(), newMembers);
@@ -417,22 +613,26 @@ public class MessagingServiceTest {
         // Assert
         assertNotNull(chatroomResponse);
         assertNotEquals(chatroomResponse.members(), existingMembers);
-        assertEquals(chatroomResponse.members(), chatroom.getMembers());
-        verify(chatroomRepository, times(1)).findByChatroomId(anyString());
-        verify(chatroomRepository, times(1)).save(any(Chatroom.class));
+        assertEquals(chatroomResponse.members(), modifiedMembers);
+        verify(chatroomRepository, times(1)).addMembers(chatroom.getChatroomId(), Set.of(newMember1, newMember2));
+        verify(chatroomRepository, never()).save(any(Chatroom.class));
+        verify(chatroomMembershipCache, times(1)).evict(chatroom.getChatroomId());
+        verify(inboxRepository, times(1)).syncMembers(eq(chatroom.getChatroomId()),
+                argThat(memberIds -> memberIds.containsAll(Set.of("newMemberId1", "newMemberId2"))),
+                eq(chatroom.getCreatedAt()));
     }
 
     @Test
     public void addMembersShouldThrowChatroomDoesNotExistException() {
         // Arrange
-        when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.empty());
+        when(chatroomRepository.addMembers(anyString(), anyCollection())).thenReturn(Optional.empty());
 
         // Act
         assertThrows(ChatroomDoesNotExistException.class, () ->
-                messagingService.addMembers("badChatroomId", any()));
+                messagingService.addMembers("badChatroomId", List.of(new Member("newMemberId1", "newMember1", null))));
 
         // Assert
-        verify(chatroomRepository, times(1)).findByChatroomId(anyString());
+        verify(chatroomRepository, times(1)).addMembers(eq("badChatroomId"), anyCollection());
     }
 
     @Test
@@ -447,7 +647,10 @@ public class MessagingServiceTest {
         membersToRemove.add(memberToRemove2);
         modifiedMembers.removeAll(membersToRemove);
         when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.of(chatroom));
-        when(chatroomRepository.save(any(Chatroom.class))).thenReturn(chatroom);
+        Chatroom modifiedChatroom = getChatroom();
+        modifiedChatroom.setCreatedAt(chatroom.getCreatedAt());
+        modifiedChatroom.setMembers(modifiedMembers);
+        when(chatroomRepository.removeMembers(anyString(), anyCollection())).thenReturn(Optional.of(modifiedChatroom));
 
 
         // Act
@@ -458,7 +661,12 @@ public class MessagingServiceTest {
         assertNotEquals(chatroomResponse.members(), existingMembers);
         assertEquals(chatroomResponse.members(), modifiedMembers);
         verify(chatroomRepository, times(1)).findByChatroomId(anyString());
-        verify(chatroomRepository, times(1)).save(any(Chatroom.class));
+        verify(chatroomRepository, times(1)).removeMembers(chatroom.getChatroomId(),
+                Set.of("testReceiverId1", "testReceiverId2"));
+        verify(chatroomRepository, never()).save(any(Chatroom.class));
+        verify(chatroomMembershipCache, times(1)).evict(chatroom.getChatroomId());
+        verify(inboxRepository, times(1)).syncMembers(chatroom.getChatroomId(),
+                Set.of("testSenderId", "testReceiverId3"), chatroom.getCreatedAt());
     }
 
     @Test
@@ -498,7 +706,10 @@ public class MessagingServiceTest {
         Member memberToRemove = new Member("testReceiverId1", "testReceiverName1", null);
         modifiedMembers.remove(memberToRemove);
         when(chatroomRepository.findByChatroomId(anyString())).thenReturn(Optional.of(chatroom));
-        when(chatroomRepository.save(any(Chatroom.class))).thenReturn(chatroom);
+        Chatroom modifiedChatroom = getChatroom();
+        modifiedChatroom.setCreatedAt(chatroom.getCreatedAt());
+        modifiedChatroom.setMembers(modifiedMembers);
+        when(chatroomRepository.removeMembers(anyString(), anyCollection())).thenReturn(Optional.of(modifiedChatroom));
 
         // Act
         ChatroomResponse chatroomResponse = messagingService.leaveChatroom(chatroom.getChatroomId(), "testReceiverId1");
@@ -508,6 +719,10 @@ public class MessagingServiceTest {
         assertNotEquals(chatroomResponse.members(), existingMembers);
         assertEquals(chatroomResponse.members(), modifiedMembers);
         verify(chatroomRepository, times(1)).findByChatroomId(anyString());
-        verify(chatroomRepository, times(1)).save(any(Chatroom.class));
+        verify(chatroomRepository, times(1)).removeMembers(chatroom.getChatroomId(), Set.of("testReceiverId1"));
+        verify(chatroomRepository, never()).save(any(Chatroom.class));
+        verify(chatroomMembershipCache, times(1)).evict(chatroom.getChatroomId());
+        verify(inboxRepository, times(1)).syncMembers(chatroom.getChatroomId(),
+                Set.of("testSenderId", "testReceiverId2", "testReceiverId3"), chatroom.getCreatedAt());
     }
 }
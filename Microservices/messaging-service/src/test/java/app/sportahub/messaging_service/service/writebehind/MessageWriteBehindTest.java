@@ -0,0 +1,215 @@
+package app.sportahub.messaging_service.service.writebehind;
+
+import app.sportahub.messagingservice.exception.MessageBacklogFullException;
+import app.sportahub.messagingservice.model.Message;
+import app.sportahub.messagingservice.model.MessagePreview;
+import app.sportahub.messagingservice.repository.ChatroomRepository;
+import app.sportahub.messagingservice.repository.InboxRepository;
+import app.sportahub.messagingservice.repository.MessageRepository;
+import app.sportahub.messagingservice.service.writebehind.MessageWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageWriteBehindTest {
+
+    private static final long LONG_LINGER_MS = 60_000;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ChatroomRepository chatroomRepository;
+
+    @Mock
+    private InboxRepository inboxRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MessageWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind != null && writeBehind.isRunning()) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void fullBatchShouldBeInsertedInOrderWithoutWaitingForTheLinger() {
+        writeBehind = start(3, LONG_LINGER_MS, 10, 0);
+        List<Message> messages = List.of(message("chatroom1", "m1", 1), message("chatroom1", "m2", 2),
+                message("chatroom1", "m3", 3));
+
+        messages.forEach(writeBehind::enqueue);
+
+        verify(messageRepository, timeout(1000)).insertBatch(messages);
+        verify(chatroomRepository, timeout(1000)).updateLastMessage("chatroom1", MessagePreview.of(messages.get(2)));
+        verify(inboxRepository, timeout(1000)).recordMessages("chatroom1", messages);
+        awaitPending(0);
+        assertEquals(1, meterRegistry.get("messaging.writebehind.flush").tag("outcome", "success").timer().count());
+        assertEquals(3, meterRegistry.get("messaging.writebehind.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void partialBatchShouldBeInsertedOnceItHasLingered() {
+        writeBehind = start(100, 20, 1000, 0);
+        Message first = message("chatroom1", "m1", 1);
+        Message other = message("chatroom2", "m2", 2);
+
+        writeBehind.enqueue(first);
+        writeBehind.enqueue(other);
+
+        verify(messageRepository, timeout(1000)).insertBatch(List.of(first));
+        verify(messageRepository, timeout(1000)).insertBatch(List.of(other));
+        verify(chatroomRepository, timeout(1000)).updateLastMessage("chatroom2", MessagePreview.of(other));
+        await(() -> writeBehind.pending() == 0
+                && meterRegistry.get("messaging.writebehind.chatrooms").gauge().value() == 0);
+    }
+
+    @Test
+    void failedBatchShouldBeRetriedUntilItIsSaved() {
+        writeBehind = start(100, 20, 1000, 0);
+        Message message = message("chatroom1", "m1", 1);
+        doThrow(new DataAccessResourceFailureException("Timed out"))
+                .doNothing()
+                .when(messageRepository).insertBatch(List.of(message));
+
+        writeBehind.enqueue(message);
+
+        verify(messageRepository, timeout(1000).times(2)).insertBatch(List.of(message));
+        awaitPending(0);
+        assertEquals(1, meterRegistry.get("messaging.writebehind.flush").tag("outcome", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("messaging.writebehind.flush").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void fullBacklogShouldRejectMessages() throws Exception {
+        writeBehind = start(2, LONG_LINGER_MS, 2, 10);
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            insertStarted.countDown();
+            releaseInsert.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messageRepository).insertBatch(anyList());
+
+        writeBehind.enqueue(message("chatroom1", "m1", 1));
+        writeBehind.enqueue(message("chatroom1", "m2", 2));
+        assertTrue(insertStarted.await(1, TimeUnit.SECONDS));
+
+        assertThrows(MessageBacklogFullException.class, () -> writeBehind.enqueue(message("chatroom1", "m3", 3)));
+        assertEquals(1, meterRegistry.get("messaging.writebehind.rejected").counter().count());
+        assertEquals(2, meterRegistry.get("messaging.writebehind.pending").gauge().value());
+
+        releaseInsert.countDown();
+        awaitPending(0);
+        writeBehind.enqueue(message("chatroom1", "m4", 4));
+    }
+
+    @Test
+    void stopShouldSaveEveryAcceptedMessage() {
+        writeBehind = start(100, LONG_LINGER_MS, 1000, 0);
+        Message first = message("chatroom1", "m1", 1);
+        Message second = message("chatroom1", "m2", 2);
+        writeBehind.enqueue(first);
+        writeBehind.enqueue(second);
+
+        writeBehind.stop();
+
+        verify(messageRepository).insertBatch(List.of(first, second));
+        verify(chatroomRepository).updateLastMessage("chatroom1", MessagePreview.of(second));
+        verify(inboxRepository).recordMessages("chatroom1", List.of(first, second));
+        assertEquals(0, writeBehind.pending());
+    }
+
+    @Test
+    void discardShouldDropTheMessagesOfADeletedChatroom() {
+        writeBehind = start(100, LONG_LINGER_MS, 1000, 0);
+        writeBehind.enqueue(message("chatroom1", "m1", 1));
+
+        writeBehind.discard("chatroom1");
+        writeBehind.stop();
+
+        verify(messageRepository, never()).insertBatch(anyList());
+        verify(inboxRepository, never()).recordMessages(anyString(), anyList());
+        assertEquals(0, writeBehind.pending());
+    }
+
+    @Test
+    void discardShouldWaitForTheBatchBeingSaved() throws Exception {
+        writeBehind = start(1, LONG_LINGER_MS, 1000, 0);
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch releaseInsert = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            insertStarted.countDown();
+            releaseInsert.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messageRepository).insertBatch(anyList());
+        writeBehind.enqueue(message("chatroom1", "m1", 1));
+        assertTrue(insertStarted.await(1, TimeUnit.SECONDS));
+
+        CountDownLatch discarded = new CountDownLatch(1);
+        Thread.ofPlatform().start(() -> {
+            writeBehind.discard("chatroom1");
+            discarded.countDown();
+        });
+
+        assertFalse(discarded.await(100, TimeUnit.MILLISECONDS));
+        releaseInsert.countDown();
+        assertTrue(discarded.await(1, TimeUnit.SECONDS));
+        verify(messageRepository, times(1)).insertBatch(anyList());
+        assertEquals(0, writeBehind.pending());
+    }
+
+    private MessageWriteBehind start(int batchSize, long lingerMs, int capacity, long offerTimeoutMs) {
+        MessageWriteBehind messageWriteBehind = new MessageWriteBehind(messageRepository, chatroomRepository,
+                inboxRepository, batchSize, lingerMs, capacity, offerTimeoutMs, 5000, 2, meterRegistry);
+        messageWriteBehind.start();
+        return messageWriteBehind;
+    }
+
+    private void awaitPending(int expected) {
+        await(() -> writeBehind.pending() == expected);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static Message message(String chatroomId, String messageId, long createdAt) {
+        return Message.builder()
+                .withMessageId(messageId)
+                .withChatroomId(chatroomId)
+                .withSenderId("sender")
+                .withContent("content " + messageId)
+                .withCreatedAt(new Timestamp(createdAt))
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package app.sportahub.messagingservice.controller;
+
+import app.sportahub.messagingservice.dto.request.message.MessageRequest;
+import app.sportahub.messagingservice.service.MessagingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessagingWebSocketControllerTest {
+
+    @Mock
+    private MessagingService messagingService;
+
+    @InjectMocks
+    private MessagingWebSocketController messagingWebSocketController;
+
+    @Test
+    void processMessageShouldCheckTheSenderAgainstThePrincipalOfTheSession() {
+        MessageRequest spoofed = new MessageRequest("chatroom1", "victim", "Victim", null, Set.of(), "hello", null);
+
+        messagingWebSocketController.processMessage(spoofed, new TestingAuthenticationToken("attacker", null));
+
+        verify(messagingService).processMessage(spoofed, "attacker");
+    }
+
+    @Test
+    void processMessageShouldPassNoUserForAnUnauthenticatedSession() {
+        MessageRequest request = new MessageRequest("chatroom1", "sender", "Sender", null, Set.of(), "hello", null);
+
+        messagingWebSocketController.processMessage(request, null);
+
+        verify(messagingService).processMessage(request, null);
+    }
+}
@@ -0,0 +1,39 @@
+package app.sportahub.messagingservice.migration;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatroomInboxMigrationTest {
+
+    @Test
+    void entriesShouldStartWithNothingUnreadAtTheLastMessage() {
+        ObjectId id = new ObjectId();
+
+        List<Document> entries = ChatroomInboxMigration.entries(new Document("_id", id)
+                .append("createdAt", new Date(1000))
+                .append("lastMessage", new Document("createdAt", new Date(2000)))
+                .append("members", List.of(new Document("userId", "user1"), new Document("userId", "user2"),
+                        new Document("userId", "user1"))));
+
+        assertEquals(List.of("user1", "user2"), entries.stream().map(entry -> entry.getString("userId")).toList());
+        assertTrue(entries.stream().allMatch(entry -> id.toHexString().equals(entry.getString("chatroomId"))));
+        assertTrue(entries.stream().allMatch(entry -> new Date(2000).equals(entry.getDate("lastActivityAt"))));
+        assertTrue(entries.stream().allMatch(entry -> entry.getLong("unreadCount") == 0));
+    }
+
+    @Test
+    void entriesShouldFallBackToTheCreationOfAChatroomWithoutMessages() {
+        List<Document> entries = ChatroomInboxMigration.entries(new Document("_id", new ObjectId())
+                .append("createdAt", new Date(1000))
+                .append("members", List.of(new Document("userId", "user1"))));
+
+        assertEquals(new Date(1000), entries.getFirst().getDate("lastActivityAt"));
+        assertTrue(ChatroomInboxMigration.entries(new Document("_id", new ObjectId())).isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package app.sportahub.messagingservice.migration;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatroomMessagesMigrationTest {
+
+    @Test
+    void messagesShouldKeepIdsAndSetTheChatroom() {
+        ObjectId id = new ObjectId();
+
+        List<Document> messages = ChatroomMessagesMigration.messages("chatroomId", List.of(
+                new Document("_id", id).append("content", "first"),
+                new Document("content", "second")));
+
+        assertEquals(id, messages.get(0).get("_id"));
+        assertNotNull(messages.get(1).get("_id"));
+        assertTrue(messages.stream().allMatch(message -> "chatroomId".equals(message.getString("chatroomId"))));
+    }
+
+    @Test
+    void previewShouldDescribeTheNewestMessage() {
+        ObjectId newest = new ObjectId();
+
+        Document preview = ChatroomMessagesMigration.preview(List.of(
+                new Document("_id", new ObjectId()).append("content", "undated"),
+                new Document("_id", newest).append("senderId", "sender").append("content", "x".repeat(150))
+                        .append("createdAt", new Date(2000)),
+                new Document("_id", new ObjectId()).append("content", "older").append("createdAt", new Date(1000))));
+
+        assertEquals(newest.toHexString(), preview.getString("messageId"));
+        assertEquals("sender", preview.getString("senderId"));
+        assertEquals(100, preview.getString("content").length());
+        assertEquals(new Date(2000), preview.getDate("createdAt"));
+        assertNull(ChatroomMessagesMigration.preview(List.of()));
+    }
+}
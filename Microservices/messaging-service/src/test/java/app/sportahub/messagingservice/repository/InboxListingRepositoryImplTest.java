@@ -0,0 +1,29 @@
+package app.sportahub.messagingservice.repository;
+
+import app.sportahub.messagingservice.exception.InvalidPageSizeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InboxListingRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private InboxListingRepositoryImpl inboxListingRepository;
+
+    @Test
+    void scrollShouldRejectSizeLessThanOne() {
+        assertThrows(InvalidPageSizeException.class,
+                () -> inboxListingRepository.scrollByUserId("alice", null, 0));
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,103 @@
+package app.sportahub.messagingservice.service.membership;
+
+import app.sportahub.messagingservice.model.Chatroom;
+import app.sportahub.messagingservice.model.Member;
+import app.sportahub.messagingservice.repository.ChatroomRepository;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatroomMembershipCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Mock
+    private ChatroomRepository chatroomRepository;
+
+    private MutableTicker ticker;
+    private SimpleMeterRegistry meterRegistry;
+    private ChatroomMembershipCache chatroomMembershipCache;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new MutableTicker();
+        meterRegistry = new SimpleMeterRegistry();
+        chatroomMembershipCache = new ChatroomMembershipCache(chatroomRepository, TTL, 2, meterRegistry, ticker);
+    }
+
+    @Test
+    void findMemberIdsShouldServeCachedMembersUntilTheyExpire() {
+        when(chatroomRepository.findMembersByChatroomId("chatroom1")).thenReturn(Optional.of(chatroom("user1", "user2")));
+
+        assertEquals(Optional.of(Set.of("user1", "user2")), chatroomMembershipCache.findMemberIds("chatroom1"));
+        ticker.advance(TTL.minusSeconds(1));
+        assertEquals(Optional.of(Set.of("user1", "user2")), chatroomMembershipCache.findMemberIds("chatroom1"));
+        verify(chatroomRepository, times(1)).findMembersByChatroomId("chatroom1");
+
+        ticker.advance(Duration.ofSeconds(1));
+        chatroomMembershipCache.findMemberIds("chatroom1");
+        verify(chatroomRepository, times(2)).findMembersByChatroomId("chatroom1");
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "messaging.membership", "result", "hit")
+                .functionCounter().count());
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", "messaging.membership", "result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void evictShouldReloadTheMembersOnTheNextLookup() {
+        when(chatroomRepository.findMembersByChatroomId("chatroom1"))
+                .thenReturn(Optional.of(chatroom("user1", "user2")))
+                .thenReturn(Optional.of(chatroom("user1")));
+
+        chatroomMembershipCache.findMemberIds("chatroom1");
+        chatroomMembershipCache.evict("chatroom1");
+
+        assertEquals(Optional.of(Set.of("user1")), chatroomMembershipCache.findMemberIds("chatroom1"));
+    }
+
+    @Test
+    void findMemberIdsShouldNotCacheChatroomsThatDoNotExist() {
+        when(chatroomRepository.findMembersByChatroomId("missing")).thenReturn(Optional.empty());
+
+        assertTrue(chatroomMembershipCache.findMemberIds("missing").isEmpty());
+        assertTrue(chatroomMembershipCache.findMemberIds("missing").isEmpty());
+
+        verify(chatroomRepository, times(2)).findMembersByChatroomId("missing");
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "messaging.membership").gauge().value());
+    }
+
+    private static Chatroom chatroom(String... userIds) {
+        Set<Member> members = new HashSet<>();
+        for (String userId : userIds) {
+            members.add(new Member(userId, userId + "name", null));
+        }
+        return Chatroom.builder().members(members).build();
+    }
+
+    private static final class MutableTicker implements Ticker {
+
+        private volatile long nanos;
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package app.sportahub.orchestrationservice.config;
 
 import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.requestreply.KafkaRequestReplyClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,9 +13,6 @@ import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.listener.ContainerProperties;
-import org.springframework.kafka.listener.KafkaMessageListenerContainer;
-import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.time.Duration;
@@ -42,19 +41,13 @@ public class KafkaProducerConfig {
     }
 
     @Bean
-    public ReplyingKafkaTemplate<String, Object, Object> replyingKafkaTemplate(
+    public KafkaRequestReplyClient joinedEventsRequestReplyClient(
             ProducerFactory<String, Object> producerFactory,
-            KafkaMessageListenerContainer<String, Object> replyContainer) {
-        ReplyingKafkaTemplate<String, Object, Object> template = new ReplyingKafkaTemplate<>(producerFactory, replyContainer);
-        template.setDefaultReplyTimeout(Duration.ofSeconds(6));
-        return template;
-    }
-
-    @Bean
-    public KafkaMessageListenerContainer<String, Object> replyContainer(
-            ConsumerFactory<String, Object> consumerFactory) {
-        ContainerProperties containerProperties = new ContainerProperties(SportaKafkaEvents.FETCHED_TOPIC);
-        containerProperties.setGroupId("UserServiceKafkaConsumer");
-        return new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+            ConsumerFactory<String, Object> consumerFactory,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.request-reply.timeout:PT5S}") Duration timeout,
+            @Value("${kafka.request-reply.max-in-flight:256}") int maxInFlight) {
+        return new KafkaRequestReplyClient("orchestration-service-joined-events", producerFactory, consumerFactory,
+                SportaKafkaEvents.FETCHED_TOPIC, timeout, maxInFlight, meterRegistry);
     }
 }
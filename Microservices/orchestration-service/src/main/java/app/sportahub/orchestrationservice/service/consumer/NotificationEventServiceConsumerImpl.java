@@ -2,6 +2,7 @@ package app.sportahub.orchestrationservice.service.consumer;
 
 import app.sportahub.kafka.events.BaseEvent;
 import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
 import app.sportahub.kafka.events.notification.NotificationEvent;
 import app.sportahub.orchestrationservice.service.producer.NotificationServiceProducer;
 import lombok.RequiredArgsConstructor;
@@ -44,4 +45,39 @@ public class NotificationEventServiceConsumerImpl {
 
         notificationServiceProducer.sendNotification(outbound);
     }
+
+    /**
+     * Expands a notification addressed to several users into one notification per user. All of them share the
+     * correlation id of the batch, so they can be traced back to the change that caused them.
+     */
+    @KafkaListener(topics = SportaKafkaEvents.NOTIFICATION_BATCH_REQUEST_TOPIC, groupId = "OrchestrationServiceKafkaConsumer")
+    public void listenForBatchNotificationRequest(BatchNotificationEvent event) {
+        log.info("NotificationEventServiceConsumerImpl:: Received BatchNotificationEvent request for {} users", event.getUserIds().size());
+
+        String correlationId = event.getBaseEvent() == null || event.getBaseEvent().getCorrelationId() == null
+                ? UUID.randomUUID().toString()
+                : event.getBaseEvent().getCorrelationId();
+        Instant now = Instant.now();
+
+        for (String userId : event.getUserIds()) {
+            notificationServiceProducer.sendNotification(new NotificationEvent(
+                    new BaseEvent(
+                            UUID.randomUUID().toString(),
+                            "send",
+                            "orchestration-service",
+                            now,
+                            correlationId
+                    ),
+                    userId,
+                    event.getMessageTitle(),
+                    event.getMessageBody(),
+                    event.getData(),
+                    event.getClickAction(),
+                    event.getIcon(),
+                    event.getMessageSubtitle(),
+                    event.getBadgeCount(),
+                    event.getPlaySound()
+            ));
+        }
+    }
 }
@@ -5,29 +5,22 @@ import app.sportahub.kafka.events.SportaKafkaEvents;
 import app.sportahub.kafka.events.forgotpassword.ForgotPasswordRequestedEvent;
 import app.sportahub.kafka.events.forgotpassword.ForgotPasswordSendEmailEvent;
 import app.sportahub.kafka.events.joinsporteventevent.*;
+import app.sportahub.kafka.events.requestreply.KafkaRequestReplyClient;
 import app.sportahub.orchestrationservice.service.producer.EmailServiceProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.errors.TimeoutException;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
-import org.springframework.kafka.requestreply.RequestReplyFuture;
 import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -36,7 +29,7 @@ public class UserServiceConsumerImpl{
 
     private final EmailServiceProducer emailServiceProducer;
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ReplyingKafkaTemplate<String, Object, Object> replyingKafkaTemplate;
+    private final KafkaRequestReplyClient joinedEventsRequestReplyClient;
 
     @SneakyThrows
     @KafkaListener(topics = SportaKafkaEvents.SEND_REQUEST_TOPIC, groupId ="UserServiceKafkaConsumer")
@@ -57,8 +50,7 @@ public class UserServiceConsumerImpl{
         emailServiceProducer.sendForgotPasswordSendEmailEvent(forgotPasswordSendEmailEvent);
     }
 
-    @SneakyThrows
-    @KafkaListener(topics = {SportaKafkaEvents.REQUEST_TOPIC, SportaKafkaEvents.FETCHED_TOPIC} , groupId = "UserServiceKafkaConsumer")
+    @KafkaListener(topics = SportaKafkaEvents.REQUEST_TOPIC, groupId = "UserServiceKafkaConsumer")
     public void listenForJoinedEventsByUserRequestEvent(
             @Payload JoinedEventsByUserRequestEvent requestEvent,
             @Header(KafkaHeaders.CORRELATION_ID) byte[] correlationId){
@@ -73,63 +65,31 @@ public class UserServiceConsumerImpl{
                 Instant.now(),
                 requestEvent.getBaseEvent().getCorrelationId()
         );
-
-        try{
-            replyingKafkaTemplate.start();
-
-            JoinedEventsByUserFetchEvent fetchEvent = new JoinedEventsByUserFetchEvent(fetchBaseEvent, userId);
-            ProducerRecord<String, Object> record = new ProducerRecord<>(
-                    SportaKafkaEvents.FETCH_TOPIC,
-                    fetchEvent
-            );
-            record.headers().add(new RecordHeader(KafkaHeaders.REPLY_TOPIC, SportaKafkaEvents.FETCHED_TOPIC.getBytes()));
-            record.headers().add(new RecordHeader(KafkaHeaders.CORRELATION_ID, correlationId));
-
-            RequestReplyFuture<String, Object, Object> future =
-                    replyingKafkaTemplate.sendAndReceive(record);
-            log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: sent fetch request for event ids for user with id: {}", fetchEvent.getUserId());
-
-            SendResult<String, Object> sendResult = future.getSendFuture().get();
-            sendResult.getProducerRecord().headers().forEach(header -> System.out.println(header.key() + ":" + header.value().toString()));
-
-            ConsumerRecord<String, Object> response = future.get(5, TimeUnit.SECONDS);
-            log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: received reply for event ids for user with id: {}", fetchEvent.getUserId());
-
-            if (response.value() instanceof JoinedEventsByUserFetchedEvent fetchedEvent
-                    &&
-                    Objects.equals(fetchedEvent.getBaseEvent().getCorrelationId(), fetchEvent.getBaseEvent().getCorrelationId()))
-            {
-                log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: received response for event ids for user with id: {}", requestEvent.getUserId());
-            }
-            else{
-                throw new RuntimeException("Invalid response received");
-            }
-
-            BaseEvent fetchedBaseEvent = new BaseEvent(
-                    UUID.randomUUID().toString(),
-                    "response",
-                    "orchestration-service",
-                    Instant.now(),
-                    fetchedEvent.getBaseEvent().getCorrelationId()
-            );
-            JoinedEventsByUserResponseEvent responseEvent = new JoinedEventsByUserResponseEvent(fetchedBaseEvent, fetchedEvent.getEventIds());
-
-            ProducerRecord<String, Object> responseRecord = new ProducerRecord<>(SportaKafkaEvents.RESPONSE_TOPIC, responseEvent);
-            responseRecord.headers().add(new RecordHeader(KafkaHeaders.CORRELATION_ID, correlationId));
-
-            kafkaTemplate.send(responseRecord);
-            log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: sent response to user-service for user with id : {}", userId);
-
-        } catch (InterruptedException e) {
-            log.error(e.getMessage());
-        } catch (ExecutionException e) {
-            log.error(e.getMessage());
-        } catch (TimeoutException e) {
-            log.error(e.getMessage());
-        } catch (Exception e) {
-            log.error(e.getMessage());
-        } finally {
-            replyingKafkaTemplate.stop();
-        }
+        JoinedEventsByUserFetchEvent fetchEvent = new JoinedEventsByUserFetchEvent(fetchBaseEvent, userId);
+
+        joinedEventsRequestReplyClient.request(SportaKafkaEvents.FETCH_TOPIC, userId, fetchEvent, JoinedEventsByUserFetchedEvent.class)
+                .thenAccept(fetchedEvent -> {
+                    log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: received response for event ids for user with id: {}", userId);
+
+                    BaseEvent fetchedBaseEvent = new BaseEvent(
+                            UUID.randomUUID().toString(),
+                            "response",
+                            "orchestration-service",
+                            Instant.now(),
+                            fetchedEvent.getBaseEvent().getCorrelationId()
+                    );
+                    JoinedEventsByUserResponseEvent responseEvent = new JoinedEventsByUserResponseEvent(fetchedBaseEvent, fetchedEvent.getEventIds());
+
+                    ProducerRecord<String, Object> responseRecord = new ProducerRecord<>(SportaKafkaEvents.RESPONSE_TOPIC, userId, responseEvent);
+                    responseRecord.headers().add(new RecordHeader(KafkaHeaders.CORRELATION_ID, correlationId));
+
+                    kafkaTemplate.send(responseRecord);
+                    log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: sent response to user-service for user with id : {}", userId);
+                })
+                .exceptionally(e -> {
+                    log.error("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: could not fetch event ids for user with id: {}: {}", userId, e.getMessage());
+                    return null;
+                });
+        log.info("UserServiceConsumerImpl::listenForJoinedEventsByUserRequestEvent: sent fetch request for event ids for user with id: {}", userId);
     }
 }
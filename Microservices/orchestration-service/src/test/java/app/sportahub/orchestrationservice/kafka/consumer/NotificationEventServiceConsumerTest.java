@@ -0,0 +1,71 @@
+package app.sportahub.orchestrationservice.kafka.consumer;
+
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.notification.BatchNotificationEvent;
+import app.sportahub.kafka.events.notification.NotificationEvent;
+import app.sportahub.orchestrationservice.service.consumer.NotificationEventServiceConsumerImpl;
+import app.sportahub.orchestrationservice.service.producer.NotificationServiceProducer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+public class NotificationEventServiceConsumerTest {
+    @Mock
+    private NotificationServiceProducer notificationServiceProducer;
+
+    @InjectMocks
+    private NotificationEventServiceConsumerImpl notificationEventServiceConsumer;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testListenForBatchNotificationRequestSendsOneNotificationPerUser() {
+        BaseEvent baseEvent = new BaseEvent("batch-id", "request", "event-service", Instant.now(), "correlation-id");
+        BatchNotificationEvent event = new BatchNotificationEvent(
+                baseEvent,
+                List.of("user1", "user2", "user3"),
+                "Event Updated",
+                "The event 'Soccer' has been updated.",
+                Map.of("eventId", "event1"),
+                "/events/event1",
+                "https://example.com/icons/event-updated.png",
+                null,
+                null,
+                true);
+
+        notificationEventServiceConsumer.listenForBatchNotificationRequest(event);
+
+        ArgumentCaptor<NotificationEvent> captor = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(notificationServiceProducer, times(3)).sendNotification(captor.capture());
+        List<NotificationEvent> sent = captor.getAllValues();
+        Assertions.assertEquals(List.of("user1", "user2", "user3"), sent.stream().map(NotificationEvent::getUserId).toList());
+        for (NotificationEvent notification : sent) {
+            Assertions.assertEquals("Event Updated", notification.getMessageTitle());
+            Assertions.assertEquals(Map.of("eventId", "event1"), notification.getData());
+            Assertions.assertEquals("orchestration-service", notification.getBaseEvent().getSource());
+            Assertions.assertEquals("correlation-id", notification.getBaseEvent().getCorrelationId());
+        }
+        Assertions.assertEquals(3, sent.stream().map(notification -> notification.getBaseEvent().getEventId()).distinct().count());
+    }
+
+    @Test
+    public void testListenForBatchNotificationRequestWithoutRecipientsSendsNothing() {
+        BatchNotificationEvent event = new BatchNotificationEvent(
+                new BaseEvent("batch-id", "request", "event-service", Instant.now(), "correlation-id"),
+                null, "Title", "Body", Map.of(), null, null, null, null, true);
+
+        notificationEventServiceConsumer.listenForBatchNotificationRequest(event);
+
+        verifyNoInteractions(notificationServiceProducer);
+    }
+}
@@ -3,22 +3,42 @@ package app.sportahub.orchestrationservice.kafka.consumer;
 import app.sportahub.kafka.events.BaseEvent;
 import app.sportahub.kafka.events.forgotpassword.ForgotPasswordRequestedEvent;
 import app.sportahub.kafka.events.forgotpassword.ForgotPasswordSendEmailEvent;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserFetchEvent;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserFetchedEvent;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserRequestEvent;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserResponseEvent;
+import app.sportahub.kafka.events.requestreply.KafkaRequestReplyClient;
 import app.sportahub.orchestrationservice.service.consumer.UserServiceConsumerImpl;
 import app.sportahub.orchestrationservice.service.producer.EmailServiceProducer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.mockito.*;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.support.KafkaHeaders;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class UserServiceConsumerTest {
     @Mock
     private EmailServiceProducer emailServiceProducer;
 
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private KafkaRequestReplyClient joinedEventsRequestReplyClient;
+
     @InjectMocks
     private UserServiceConsumerImpl userServiceConsumer;
 
@@ -67,4 +87,43 @@ public class UserServiceConsumerTest {
 
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListenForJoinedEventsByUserRequestEventRepliesWithTheFetchedEventIds() {
+        byte[] correlationId = "correlationId".getBytes(StandardCharsets.UTF_8);
+        JoinedEventsByUserRequestEvent requestEvent = new JoinedEventsByUserRequestEvent(new BaseEvent(
+                UUID.randomUUID().toString(), "request", "user-service", Instant.now(), "requestCorrelationId"), "user123");
+        JoinedEventsByUserFetchedEvent fetchedEvent = new JoinedEventsByUserFetchedEvent(new BaseEvent(
+                UUID.randomUUID().toString(), "response", "event-service", Instant.now(), "requestCorrelationId"),
+                List.of("event1", "event2"));
+        when(joinedEventsRequestReplyClient.request(eq("joined-events-by-user.fetch"), eq("user123"),
+                any(JoinedEventsByUserFetchEvent.class), eq(JoinedEventsByUserFetchedEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(fetchedEvent));
+
+        userServiceConsumer.listenForJoinedEventsByUserRequestEvent(requestEvent, correlationId);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor =
+                ArgumentCaptor.forClass((Class<ProducerRecord<String, Object>>) (Class<?>) ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, Object> response = captor.getValue();
+        Assertions.assertEquals("joined-events-by-user.response", response.topic());
+        Assertions.assertArrayEquals(correlationId, response.headers().lastHeader(KafkaHeaders.CORRELATION_ID).value());
+        JoinedEventsByUserResponseEvent responseEvent = (JoinedEventsByUserResponseEvent) response.value();
+        Assertions.assertEquals(List.of("event1", "event2"), responseEvent.getEventIds());
+        Assertions.assertEquals("requestCorrelationId", responseEvent.getBaseEvent().getCorrelationId());
+    }
+
+    @Test
+    public void testListenForJoinedEventsByUserRequestEventSendsNoReplyWhenTheFetchTimesOut() {
+        JoinedEventsByUserRequestEvent requestEvent = new JoinedEventsByUserRequestEvent(new BaseEvent(
+                UUID.randomUUID().toString(), "request", "user-service", Instant.now(), "requestCorrelationId"), "user123");
+        when(joinedEventsRequestReplyClient.request(eq("joined-events-by-user.fetch"), eq("user123"),
+                any(JoinedEventsByUserFetchEvent.class), eq(JoinedEventsByUserFetchedEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaReplyTimeoutException("Reply timed out")));
+
+        userServiceConsumer.listenForJoinedEventsByUserRequestEvent(requestEvent,
+                "correlationId".getBytes(StandardCharsets.UTF_8));
+
+        verifyNoInteractions(kafkaTemplate);
+    }
 }
@@ -0,0 +1,188 @@
+package app.sportahub.orchestrationservice.kafka.requestreply;
+
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserFetchEvent;
+import app.sportahub.kafka.events.joinsporteventevent.JoinedEventsByUserFetchedEvent;
+import app.sportahub.kafka.events.requestreply.KafkaRequestReplyClient;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends joined event fetches through an embedded Kafka broker to a stand-in for the event service, and checks that
+ * 500 concurrent callers sharing one request/reply client each get their own reply, and that the in-flight limit,
+ * timeouts and late replies are accounted for.
+ */
+class KafkaRequestReplyClientLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final Duration LATE_REPLY_DELAY = Duration.ofSeconds(2);
+
+    private static EmbeddedKafkaBroker kafkaBroker;
+    private static DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private static DefaultKafkaConsumerFactory<String, Object> consumerFactory;
+    private static KafkaTemplate<String, Object> kafkaTemplate;
+    private static ConcurrentMessageListenerContainer<String, Object> responder;
+    private static ScheduledExecutorService lateReplies;
+    private static SimpleMeterRegistry meterRegistry;
+    private static KafkaRequestReplyClient client;
+    private static SimpleMeterRegistry limitedMeterRegistry;
+    private static KafkaRequestReplyClient limitedClient;
+
+    @BeforeAll
+    static void setUp() {
+        kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, SportaKafkaEvents.FETCH_TOPIC, SportaKafkaEvents.FETCHED_TOPIC);
+        kafkaBroker.afterPropertiesSet();
+
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class));
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                JsonDeserializer.TRUSTED_PACKAGES, "*"),
+                new StringDeserializer(), new JsonDeserializer<>(Object.class));
+
+        lateReplies = Executors.newSingleThreadScheduledExecutor();
+        ContainerProperties containerProperties = new ContainerProperties(SportaKafkaEvents.FETCH_TOPIC);
+        containerProperties.setGroupId("event-service-it");
+        containerProperties.setMessageListener((MessageListener<String, Object>) record -> {
+            JoinedEventsByUserFetchEvent request = (JoinedEventsByUserFetchEvent) record.value();
+            ProducerRecord<String, Object> reply = new ProducerRecord<>(SportaKafkaEvents.FETCHED_TOPIC,
+                    request.getUserId(), new JoinedEventsByUserFetchedEvent(new BaseEvent(UUID.randomUUID().toString(),
+                    "response", "event-service", Instant.now(), request.getBaseEvent().getCorrelationId()),
+                    List.of(request.getUserId() + "-event")));
+            reply.headers().add(record.headers().lastHeader(KafkaHeaders.CORRELATION_ID));
+            if (request.getUserId().startsWith("late")) {
+                lateReplies.schedule(() -> kafkaTemplate.send(reply), LATE_REPLY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                kafkaTemplate.send(reply);
+            }
+        });
+        responder = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        responder.setConcurrency(3);
+        responder.start();
+        ContainerTestUtils.waitForAssignment(responder, 3);
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new KafkaRequestReplyClient("load-it", producerFactory, consumerFactory,
+                SportaKafkaEvents.FETCHED_TOPIC, Duration.ofSeconds(30), CONCURRENT_REQUESTS, meterRegistry);
+        client.start();
+        limitedMeterRegistry = new SimpleMeterRegistry();
+        limitedClient = new KafkaRequestReplyClient("limited-it", producerFactory, consumerFactory,
+                SportaKafkaEvents.FETCHED_TOPIC, Duration.ofMillis(500), 2, limitedMeterRegistry);
+        limitedClient.start();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.stop();
+        client.destroy();
+        limitedClient.stop();
+        limitedClient.destroy();
+        responder.stop();
+        lateReplies.shutdownNow();
+        producerFactory.destroy();
+        kafkaBroker.destroy();
+    }
+
+    @Test
+    void concurrentRequestsShouldEachReceiveTheirOwnReply() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> replies = new ArrayList<>(CONCURRENT_REQUESTS);
+
+        long elapsed;
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String userId = "user" + i;
+                replies.add(callers.submit(() -> {
+                    start.await();
+                    return client.request(SportaKafkaEvents.FETCH_TOPIC, userId, request(userId),
+                            JoinedEventsByUserFetchedEvent.class).join().getEventIds();
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                assertEquals(List.of("user" + i + "-event"), replies.get(i).get(60, TimeUnit.SECONDS));
+            }
+            elapsed = System.nanoTime() - startedAt;
+        }
+
+        Timer latency = meterRegistry.get("kafka.request.reply").tag("outcome", "success").timer();
+        System.out.printf("%d concurrent requests: %d ms in total, %.1f ms mean, %.1f ms max latency%n",
+                CONCURRENT_REQUESTS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                latency.mean(TimeUnit.MILLISECONDS), latency.max(TimeUnit.MILLISECONDS));
+        assertEquals(CONCURRENT_REQUESTS, latency.count());
+        assertNull(meterRegistry.find("kafka.request.reply").tag("outcome", "timeout").timer());
+        assertEquals(0, meterRegistry.get("kafka.request.reply.rejected").counter().count());
+        assertEquals(0, meterRegistry.get("kafka.request.reply.orphaned").counter().count());
+        assertEquals(0, meterRegistry.get("kafka.request.reply.in.flight").gauge().value());
+    }
+
+    @Test
+    void requestsBeyondTheLimitShouldBeRejectedAndLateRepliesCountedAsOrphaned() throws Exception {
+        CompletableFuture<JoinedEventsByUserFetchedEvent> first = limitedClient.request(SportaKafkaEvents.FETCH_TOPIC,
+                "late1", request("late1"), JoinedEventsByUserFetchedEvent.class);
+        CompletableFuture<JoinedEventsByUserFetchedEvent> second = limitedClient.request(SportaKafkaEvents.FETCH_TOPIC,
+                "late2", request("late2"), JoinedEventsByUserFetchedEvent.class);
+        CompletableFuture<JoinedEventsByUserFetchedEvent> third = limitedClient.request(SportaKafkaEvents.FETCH_TOPIC,
+                "late3", request("late3"), JoinedEventsByUserFetchedEvent.class);
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        for (CompletableFuture<JoinedEventsByUserFetchedEvent> timedOut : List.of(first, second)) {
+            ExecutionException timeout = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(KafkaReplyTimeoutException.class, timeout.getCause());
+        }
+
+        long deadline = System.nanoTime() + LATE_REPLY_DELAY.plusSeconds(10).toNanos();
+        while (limitedMeterRegistry.get("kafka.request.reply.orphaned").counter().count() < 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(1, limitedMeterRegistry.get("kafka.request.reply.rejected").counter().count());
+        assertEquals(2, limitedMeterRegistry.get("kafka.request.reply").tag("outcome", "timeout").timer().count());
+        assertEquals(2, limitedMeterRegistry.get("kafka.request.reply.orphaned").counter().count());
+        assertEquals(0, limitedMeterRegistry.get("kafka.request.reply.in.flight").gauge().value());
+    }
+
+    private static JoinedEventsByUserFetchEvent request(String userId) {
+        return new JoinedEventsByUserFetchEvent(new BaseEvent(UUID.randomUUID().toString(), "request",
+                "orchestration-service", Instant.now(), UUID.randomUUID().toString()), userId);
+    }
+}
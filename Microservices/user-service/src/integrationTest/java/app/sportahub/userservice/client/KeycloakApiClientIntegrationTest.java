@@ -0,0 +1,126 @@
+package app.sportahub.userservice.client;
+
+import app.sportahub.userservice.config.auth.KeycloakConfig;
+import app.sportahub.userservice.model.user.keycloak.KeycloakUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link KeycloakApiClient} against a WireMock stand-in for Keycloak, and checks that concurrent admin calls
+ * share a single fetch of the service account token, that the token is fetched again before it expires and that a
+ * failed fetch is retried by the next call.
+ */
+class KeycloakApiClientIntegrationTest {
+
+    private static final String REALM = "sporta";
+    private static final String TOKEN_PATH = "/realms/" + REALM + "/protocol/openid-connect/token";
+    private static final int CONCURRENT_CALLS = 1000;
+
+    private static WireMockServer keycloak;
+
+    private KeycloakApiClient keycloakApiClient;
+
+    @BeforeAll
+    static void startKeycloak() {
+        keycloak = new WireMockServer(options().dynamicPort().containerThreads(200));
+        keycloak.start();
+    }
+
+    @AfterAll
+    static void stopKeycloak() {
+        keycloak.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        keycloak.resetAll();
+        keycloak.stubFor(get(urlPathMatching("/admin/realms/" + REALM + "/users/[^/]+"))
+                .withHeader("Authorization", matching("Bearer service-token-.*"))
+                .willReturn(okJson("{\"id\": \"keycloak-user\", \"username\": \"username\"}")));
+
+        KeycloakConfig keycloakConfig = new KeycloakConfig();
+        keycloakConfig.setAuthServerUrl(keycloak.baseUrl());
+        keycloakConfig.setRealm(REALM);
+        keycloakConfig.setAdminClientId("user-service");
+        keycloakConfig.setAdminClientSecret("secret");
+        keycloakApiClient = new KeycloakApiClient(WebClient.builder(), keycloakConfig, new ObjectMapper());
+    }
+
+    @Test
+    void concurrentCallsShouldShareOneTokenFetch() throws Exception {
+        keycloak.stubFor(post(urlEqualTo(TOKEN_PATH))
+                .withRequestBody(containing("grant_type=client_credentials"))
+                .willReturn(okJson("{\"access_token\": \"service-token-1\", \"expires_in\": 300}")
+                        .withFixedDelay(200)));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<KeycloakUser>> users = new ArrayList<>(CONCURRENT_CALLS);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                String userId = "user" + i;
+                users.add(callers.submit(() -> {
+                    start.await();
+                    return keycloakApiClient.getUserById(userId).block();
+                }));
+            }
+            start.countDown();
+            for (Future<KeycloakUser> user : users) {
+                assertEquals("keycloak-user", user.get(60, TimeUnit.SECONDS).getId());
+            }
+        }
+
+        keycloak.verify(1, postRequestedFor(urlEqualTo(TOKEN_PATH)));
+        keycloak.verify(CONCURRENT_CALLS, getRequestedFor(urlPathMatching("/admin/realms/" + REALM + "/users/.*"))
+                .withHeader("Authorization", equalTo("Bearer service-token-1")));
+    }
+
+    @Test
+    void tokenShouldBeFetchedAgainAfterEightyPercentOfItsLifetime() throws Exception {
+        keycloak.stubFor(post(urlEqualTo(TOKEN_PATH))
+                .willReturn(okJson("{\"access_token\": \"service-token-1\", \"expires_in\": 2}")));
+
+        keycloakApiClient.getUserById("user1").block();
+        keycloakApiClient.getUserById("user2").block();
+        keycloak.verify(1, postRequestedFor(urlEqualTo(TOKEN_PATH)));
+
+        Thread.sleep(1800);
+        keycloakApiClient.getUserById("user3").block();
+        keycloak.verify(2, postRequestedFor(urlEqualTo(TOKEN_PATH)));
+    }
+
+    @Test
+    void failedTokenFetchShouldBeRetriedByTheNextCall() {
+        keycloak.stubFor(post(urlEqualTo(TOKEN_PATH)).inScenario("token")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(serverError())
+                .willSetStateTo("recovered"));
+        keycloak.stubFor(post(urlEqualTo(TOKEN_PATH)).inScenario("token")
+                .whenScenarioStateIs("recovered")
+                .willReturn(okJson("{\"access_token\": \"service-token-2\", \"expires_in\": 300}")));
+
+        assertThrows(RuntimeException.class, () -> keycloakApiClient.getUserById("user1").block());
+        assertEquals("keycloak-user", keycloakApiClient.getUserById("user1").block().getId());
+
+        keycloak.verify(2, postRequestedFor(urlEqualTo(TOKEN_PATH)));
+        keycloak.verify(1, getRequestedFor(urlPathMatching("/admin/realms/" + REALM + "/users/.*"))
+                .withHeader("Authorization", equalTo("Bearer service-token-2")));
+    }
+}
@@ -0,0 +1,125 @@
+package app.sportahub.userservice.repository.friendship;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.user.Friendship;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class TransitioningFriendshipRepositoryImplIntegrationTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static TransitioningFriendshipRepositoryImpl friendshipRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "user-service-it");
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(Friendship.class)
+                .forEach(mongoTemplate.indexOps(Friendship.class)::ensureIndex);
+        friendshipRepository = new TransitioningFriendshipRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        mongoTemplate.remove(new Query(), Friendship.class);
+    }
+
+    @Test
+    void transitionShouldOnlyChangeEdgesWithTheExpectedStatus() {
+        insert("user1", "user2", FriendRequestStatusEnum.RECEIVED);
+
+        assertFalse(friendshipRepository.transition("user1", "user2", FriendRequestStatusEnum.SENT,
+                FriendRequestStatusEnum.ACCEPTED));
+        assertTrue(friendshipRepository.transition("user1", "user2", FriendRequestStatusEnum.RECEIVED,
+                FriendRequestStatusEnum.ACCEPTED));
+        assertEquals(FriendRequestStatusEnum.ACCEPTED, find("user1", "user2").getFriendRequestStatus());
+    }
+
+    @Test
+    void transitionShouldLetOnlyOneOfManyConcurrentAcceptsSucceed() throws Exception {
+        insert("user1", "user2", FriendRequestStatusEnum.RECEIVED);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return friendshipRepository.transition("user1", "user2", FriendRequestStatusEnum.RECEIVED,
+                            FriendRequestStatusEnum.ACCEPTED);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                succeeded += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deletePendingShouldKeepAcceptedEdges() {
+        insert("user1", "user2", FriendRequestStatusEnum.ACCEPTED);
+        insert("user1", "user3", FriendRequestStatusEnum.SENT);
+
+        assertFalse(friendshipRepository.deletePending("user1", "user2"));
+        assertTrue(friendshipRepository.deletePending("user1", "user3"));
+        assertNotNull(find("user1", "user2"));
+        assertNull(find("user1", "user3"));
+    }
+
+    @Test
+    void uniqueIndexShouldRejectASecondEdgeBetweenTheSameUsers() {
+        insert("user1", "user2", FriendRequestStatusEnum.SENT);
+
+        assertThrows(DuplicateKeyException.class, () -> insert("user1", "user2", FriendRequestStatusEnum.SENT));
+    }
+
+    private static void insert(String userId, String friendId, FriendRequestStatusEnum status) {
+        mongoTemplate.insert(Friendship.builder()
+                .withUserId(userId)
+                .withFriendId(friendId)
+                .withFriendRequestStatus(status)
+                .build());
+    }
+
+    private static Friendship find(String userId, String friendId) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("userId").is(userId).and("friendId").is(friendId)),
+                Friendship.class);
+    }
+}
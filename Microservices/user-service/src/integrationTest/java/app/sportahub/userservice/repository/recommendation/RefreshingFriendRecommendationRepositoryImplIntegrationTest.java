@@ -0,0 +1,130 @@
+package app.sportahub.userservice.repository.recommendation;
+
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+class RefreshingFriendRecommendationRepositoryImplIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static RefreshingFriendRecommendationRepositoryImpl friendRecommendationRepository;
+
+    @BeforeAll
+    static void setUp() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "user-service-it");
+        friendRecommendationRepository = new RefreshingFriendRecommendationRepositoryImpl(mongoTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        mongoTemplate.remove(new Query(), FriendRecommendation.class);
+    }
+
+    @Test
+    void markStaleShouldCreateMissingRecommendationsAndKeepTheFirstStaleTime() {
+        friendRecommendationRepository.markStale(List.of("user1"), NOW);
+        friendRecommendationRepository.markStale(List.of("user1", "user2"), NOW.plusSeconds(30));
+
+        assertEquals(NOW, find("user1").getStaleSince());
+        assertEquals(NOW.plusSeconds(30), find("user2").getStaleSince());
+        assertNull(find("user1").getComputedAt());
+    }
+
+    @Test
+    void claimNextShouldNotHandOutClaimedRecommendationsUntilTheLeaseEnds() {
+        friendRecommendationRepository.markStale(List.of("user1"), NOW);
+
+        assertEquals("user1", friendRecommendationRepository.claimNext(NOW, NOW.minus(Duration.ofHours(6)), LEASE)
+                .orElseThrow().getUserId());
+        assertTrue(friendRecommendationRepository.claimNext(NOW.plusSeconds(30), NOW.minus(Duration.ofHours(6)), LEASE)
+                .isEmpty());
+        assertTrue(friendRecommendationRepository.claimNext(NOW.plus(LEASE), NOW.minus(Duration.ofHours(6)), LEASE)
+                .isPresent());
+    }
+
+    @Test
+    void claimNextShouldPreferNeverComputedThenOldestRecommendations() {
+        mongoTemplate.insert(recommendation("recent", NOW.minus(Duration.ofHours(7)), NOW));
+        mongoTemplate.insert(recommendation("old", NOW.minus(Duration.ofHours(9)), null));
+        mongoTemplate.insert(recommendation("fresh", NOW.minus(Duration.ofMinutes(5)), null));
+        friendRecommendationRepository.markStale(List.of("new"), NOW);
+
+        Instant computedBefore = NOW.minus(Duration.ofHours(6));
+        assertEquals("new", friendRecommendationRepository.claimNext(NOW, computedBefore, LEASE).orElseThrow().getUserId());
+        assertEquals("old", friendRecommendationRepository.claimNext(NOW, computedBefore, LEASE).orElseThrow().getUserId());
+        assertEquals("recent", friendRecommendationRepository.claimNext(NOW, computedBefore, LEASE).orElseThrow().getUserId());
+        assertTrue(friendRecommendationRepository.claimNext(NOW, computedBefore, LEASE).isEmpty());
+    }
+
+    @Test
+    void completeShouldClearStalenessAndReleaseTheClaim() {
+        friendRecommendationRepository.markStale(List.of("user1"), NOW);
+        FriendRecommendation claimed = friendRecommendationRepository.claimNext(NOW, NOW, LEASE).orElseThrow();
+
+        friendRecommendationRepository.complete(claimed, List.of("user2", "user3"), NOW.plusSeconds(1));
+
+        FriendRecommendation completed = find("user1");
+        assertEquals(List.of("user2", "user3"), completed.getRecommendedUserIds());
+        assertEquals(NOW.plusSeconds(1), completed.getComputedAt());
+        assertNull(completed.getStaleSince());
+        assertNull(completed.getClaimedUntil());
+    }
+
+    @Test
+    void completeShouldKeepRecommendationsMarkedStaleWhileBeingRecomputed() {
+        mongoTemplate.insert(recommendation("user1", NOW.minus(Duration.ofHours(7)), null));
+        FriendRecommendation claimed = friendRecommendationRepository.claimNext(NOW, NOW.minus(Duration.ofHours(6)), LEASE)
+                .orElseThrow();
+        friendRecommendationRepository.markStale(List.of("user1"), NOW.plusSeconds(1));
+
+        friendRecommendationRepository.complete(claimed, List.of("user2"), NOW.plusSeconds(2));
+
+        FriendRecommendation completed = find("user1");
+        assertEquals(List.of("user2"), completed.getRecommendedUserIds());
+        assertEquals(NOW.plusSeconds(1), completed.getStaleSince());
+        assertNull(completed.getClaimedUntil());
+    }
+
+    private static FriendRecommendation find(String userId) {
+        return mongoTemplate.findById(userId, FriendRecommendation.class);
+    }
+
+    private static FriendRecommendation recommendation(String userId, Instant computedAt, Instant staleSince) {
+        return FriendRecommendation.builder()
+                .withUserId(userId)
+                .withRecommendedUserIds(List.of())
+                .withComputedAt(computedAt)
+                .withStaleSince(staleSince)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package app.sportahub.userservice.repository.user;
+
+import app.sportahub.userservice.model.user.Profile;
+import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.model.user.UserSummary;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares looking up the friends of a user one {@code findById} at a time, as getFriends and getFriendRequests used
+ * to, with a single {@link SummarizingUserRepository#findSummariesByIdIn} query, as the friend count grows. The
+ * median latency of each is printed per friend count.
+ */
+@Testcontainers
+class FriendLookupBenchmarkIntegrationTest {
+
+    private static final int[] FRIEND_COUNTS = {10, 50, 100, 300, 1000};
+    private static final int RUNS = 7;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static SummarizingUserRepositoryImpl summarizingUserRepository;
+    private static List<String> userIds;
+
+    @BeforeAll
+    static void seed() {
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "user-service-it");
+        summarizingUserRepository = new SummarizingUserRepositoryImpl(mongoTemplate);
+
+        int maxFriends = Arrays.stream(FRIEND_COUNTS).max().orElseThrow();
+        List<User> users = IntStream.range(0, maxFriends)
+                .mapToObj(i -> User.builder()
+                        .withKeycloakId("keycloak-" + i)
+                        .withEmail("user" + i + "@example.com")
+                        .withUsername("user" + i)
+                        .withProfile(Profile.builder()
+                                .withFirstName("First" + i)
+                                .withLastName("Last" + i)
+                                .withProfilePicture("https://example.com/user" + i + ".jpg")
+                                .build())
+                        .build())
+                .toList();
+        userIds = mongoTemplate.insertAll(users).stream().map(User::getId).toList();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void batchedLookupShouldStayFlatAsFriendCountGrows() {
+        System.out.printf("%-8s %18s %18s%n", "friends", "one-by-one (ms)", "batched (ms)");
+        double oneByOneAtMax = 0;
+        double batchedAtMax = 0;
+        for (int friendCount : FRIEND_COUNTS) {
+            List<String> friendIds = userIds.subList(0, friendCount);
+
+            double oneByOne = medianMillis(() -> {
+                List<User> friends = new ArrayList<>(friendCount);
+                friendIds.forEach(id -> friends.add(mongoTemplate.findById(id, User.class)));
+                return friends.size();
+            });
+            double batched = medianMillis(() -> {
+                List<UserSummary> friends = summarizingUserRepository.findSummariesByIdIn(friendIds);
+                assertEquals(friendCount, friends.size());
+                return friends.size();
+            });
+            System.out.printf("%-8d %18.2f %18.2f%n", friendCount, oneByOne, batched);
+            oneByOneAtMax = oneByOne;
+            batchedAtMax = batched;
+        }
+
+        assertTrue(batchedAtMax < oneByOneAtMax,
+                "Batched lookup of " + FRIEND_COUNTS[FRIEND_COUNTS.length - 1] + " friends should beat one query per friend");
+    }
+
+    @Test
+    void findSummariesByIdInShouldOnlyReadSummaryFields() {
+        UserSummary summary = summarizingUserRepository.findSummariesByIdIn(List.of(userIds.getFirst())).getFirst();
+
+        assertEquals(userIds.getFirst(), summary.getId());
+        assertEquals("user0", summary.getUsername());
+        assertEquals("https://example.com/user0.jpg", summary.getProfilePicture());
+        assertTrue(summarizingUserRepository.findSummariesByIdIn(List.of()).isEmpty());
+    }
+
+    private static double medianMillis(Supplier<Integer> lookup) {
+        lookup.get();
+        long[] timings = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            lookup.get();
+            timings[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,209 @@
+package app.sportahub.userservice.service.kafka.consumer;
+
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import app.sportahub.userservice.model.participation.EventParticipation;
+import app.sportahub.userservice.repository.participation.ApplyingEventParticipationRepositoryImpl;
+import app.sportahub.userservice.repository.participation.EventParticipationRepository;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Publishes a history of joins and leaves, with redelivered and late duplicates mixed in, through an embedded Kafka
+ * broker, and checks that the local view of joined events converges to the latest change of every user and event.
+ */
+@Testcontainers
+class EventParticipationConvergenceIntegrationTest {
+
+    private static final int USERS = 20;
+    private static final int EVENTS = 10;
+    private static final int CHANGES = 600;
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:latest"));
+
+    private static EmbeddedKafkaBroker kafkaBroker;
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static EventParticipationRepository eventParticipationRepository;
+    private static DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private static KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final AtomicInteger consumed = new AtomicInteger();
+    private KafkaMessageListenerContainer<String, Object> listenerContainer;
+
+    @BeforeAll
+    static void setUp() {
+        kafkaBroker = new EmbeddedKafkaKraftBroker(1, 3, SportaKafkaEvents.PARTICIPATION_CHANGED_TOPIC);
+        kafkaBroker.afterPropertiesSet();
+
+        mongoClient = MongoClients.create(mongoDBContainer.getConnectionString());
+        mongoTemplate = new MongoTemplate(mongoClient, "user-service-it");
+        new MongoPersistentEntityIndexResolver(new MongoMappingContext()).resolveIndexFor(EventParticipation.class)
+                .forEach(mongoTemplate.indexOps(EventParticipation.class)::ensureIndex);
+        eventParticipationRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+                EventParticipationRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new ApplyingEventParticipationRepositoryImpl(mongoTemplate)));
+
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class));
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        producerFactory.destroy();
+        mongoClient.close();
+        kafkaBroker.destroy();
+    }
+
+    @BeforeEach
+    void startConsumer() {
+        mongoTemplate.remove(new Query(), EventParticipation.class);
+
+        EventServiceConsumerImpl eventServiceConsumer = new EventServiceConsumerImpl(eventParticipationRepository,
+                mock(FriendRecommendationService.class));
+        DefaultKafkaConsumerFactory<String, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaBroker.getBrokersAsString(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                JsonDeserializer.TRUSTED_PACKAGES, "*"),
+                new StringDeserializer(), new JsonDeserializer<>(Object.class));
+        ContainerProperties containerProperties = new ContainerProperties(SportaKafkaEvents.PARTICIPATION_CHANGED_TOPIC);
+        containerProperties.setGroupId("participation-it-" + System.nanoTime());
+        containerProperties.setMessageListener((MessageListener<String, Object>) record -> {
+            eventServiceConsumer.handleParticipationChanged((ParticipationChangedEvent) record.value());
+            consumed.incrementAndGet();
+        });
+        listenerContainer = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+        listenerContainer.start();
+        ContainerTestUtils.waitForAssignment(listenerContainer, 3);
+    }
+
+    @AfterEach
+    void stopConsumer() {
+        listenerContainer.stop();
+    }
+
+    @Test
+    void viewShouldConvergeDespiteRedeliveredAndLateChanges() {
+        Random random = new Random(42);
+        Instant start = Instant.parse("2025-01-01T12:00:00Z");
+        List<ParticipationChangedEvent> history = new ArrayList<>(CHANGES);
+        Map<String, Set<String>> expected = new HashMap<>();
+        for (int i = 0; i < CHANGES; i++) {
+            String userId = "user" + random.nextInt(USERS);
+            String eventId = "event" + random.nextInt(EVENTS);
+            boolean joined = random.nextBoolean();
+            history.add(change(userId, eventId, joined, start.plusMillis(i)));
+
+            Set<String> joinedEvents = expected.computeIfAbsent(userId, ignored -> new HashSet<>());
+            if (joined) {
+                joinedEvents.add(eventId);
+            } else {
+                joinedEvents.remove(eventId);
+            }
+        }
+
+        history.forEach(this::send);
+        // The outbox relay sends changes again after a crash, so older changes can arrive after newer ones.
+        List<ParticipationChangedEvent> redelivered = new ArrayList<>(history.subList(0, CHANGES / 2));
+        Collections.shuffle(redelivered, random);
+        redelivered.forEach(this::send);
+        kafkaTemplate.flush();
+
+        Map<String, Set<String>> actual = Map.of();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            actual = joinedEventsOf(expected.keySet());
+            if (consumed.get() >= history.size() + redelivered.size() && actual.equals(expected)) {
+                break;
+            }
+            sleep();
+        }
+
+        assertEquals(history.size() + redelivered.size(), consumed.get());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void readingTheViewShouldNotNeedARoundTrip() {
+        for (int i = 0; i < EVENTS; i++) {
+            eventParticipationRepository.apply("reader", "event" + i, true, Instant.now());
+        }
+
+        long start = System.nanoTime();
+        int runs = 1000;
+        for (int run = 0; run < runs; run++) {
+            assertEquals(EVENTS, eventParticipationRepository.findJoinedEventIds("reader").size());
+        }
+        System.out.printf("findJoinedEventIds: %.1f us per read%n", (System.nanoTime() - start) / 1000.0 / runs);
+    }
+
+    private void send(ParticipationChangedEvent change) {
+        kafkaTemplate.send(SportaKafkaEvents.PARTICIPATION_CHANGED_TOPIC, change.getUserId(), change);
+    }
+
+    private static Map<String, Set<String>> joinedEventsOf(Collection<String> userIds) {
+        Map<String, Set<String>> joinedEvents = new HashMap<>();
+        userIds.forEach(userId -> joinedEvents.put(userId,
+                new HashSet<>(eventParticipationRepository.findJoinedEventIds(userId))));
+        return joinedEvents;
+    }
+
+    private static ParticipationChangedEvent change(String userId, String eventId, boolean joined, Instant changedAt) {
+        String messageId = UUID.randomUUID().toString();
+        return new ParticipationChangedEvent(new BaseEvent(messageId, "request", "event-service", changedAt,
+                messageId), eventId, userId, joined);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+    }
+}
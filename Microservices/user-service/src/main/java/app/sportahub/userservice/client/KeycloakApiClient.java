@@ -18,11 +18,11 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
+import java.time.Duration;
 
 /**
  * A client for communicating with Keycloak to perform CRUD operations on users, as well as login functionality.
- * Handles token management by caching the access token until expiration.
+ * Admin API calls share one cached access token of the service account, which is refreshed before it expires.
  */
 @Slf4j
 @Component
@@ -32,13 +32,14 @@ public class KeycloakApiClient {
     private final WebClient webClient;
     private final KeycloakConfig keycloakConfig;
     private final ObjectMapper objectMapper;
-    private String cachedAccessToken;
-    private Instant tokenExpirationTime;
+    private final Mono<ServiceToken> serviceToken;
 
     public KeycloakApiClient(WebClient.Builder webClientBuilder, KeycloakConfig keycloakConfig, ObjectMapper objectMapper) {
         this.webClient = webClientBuilder.build();
         this.keycloakConfig = keycloakConfig;
         this.objectMapper = objectMapper;
+        this.serviceToken = Mono.defer(this::fetchServiceToken)
+                .cache(ServiceToken::refreshAfter, error -> Duration.ZERO, () -> Duration.ZERO);
     }
 
     /**
@@ -57,12 +58,11 @@ public class KeycloakApiClient {
                 .path("/admin/realms/" + keycloakConfig.getRealm() + "/users")
                 .toUriString();
 
-        log.debug("Attempting to create user with token: {}", getAccessToken());
         log.debug("User creation URL: {}", userCreationUrl);
 
-        return webClient.post()
+        return getAccessToken().flatMap(token -> webClient.post()
                 .uri(userCreationUrl)
-                .header("Authorization", "Bearer " + getAccessToken())
+                .header("Authorization", "Bearer " + token)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(userRequest)
                 .exchangeToMono(response -> {
@@ -71,7 +71,7 @@ public class KeycloakApiClient {
                     } else {
                         return handleErrorResponse(response);
                     }
-                });
+                }));
     }
 
     /**
@@ -89,12 +89,11 @@ public class KeycloakApiClient {
      *                                        or if the user is not found, with the appropriate HTTP status code and message.
      */
     public Mono<KeycloakUser> getUserById(String userId) {
-        String token = getAccessToken();
         String userUrl = UriComponentsBuilder.fromHttpUrl(keycloakConfig.getAuthServerUrl())
                 .path("/admin/realms/" + keycloakConfig.getRealm() + "/users/" + userId)
                 .toUriString();
 
-        return webClient.get()
+        return getAccessToken().flatMap(token -> webClient.get()
                 .uri(userUrl)
                 .header("Authorization", "Bearer " + token)
                 .exchangeToMono(response -> {
@@ -103,7 +102,7 @@ public class KeycloakApiClient {
                     } else {
                         return handleErrorResponse(response).cast(KeycloakUser.class);
                     }
-                });
+                }));
     }
 
     /**
@@ -124,9 +123,9 @@ public class KeycloakApiClient {
                 .queryParam("username", username)
                 .toUriString();
 
-        return webClient.get()
+        return getAccessToken().flatMap(token -> webClient.get()
                 .uri(userUrl)
-                .header("Authorization", "Bearer " + getAccessToken())
+                .header("Authorization", "Bearer " + token)
                 .exchangeToMono(response -> {
                     if (response.statusCode().is2xxSuccessful()) {
                         return response.bodyToMono(JsonNode.class)
@@ -145,7 +144,7 @@ public class KeycloakApiClient {
                     } else {
                         return handleErrorResponse(response).cast(KeycloakUser.class);
                     }
-                });
+                }));
     }
 
     /**
@@ -172,9 +171,9 @@ public class KeycloakApiClient {
                 .path("/admin/realms/" + keycloakConfig.getRealm() + "/users/" + userId)
                 .toUriString();
 
-        return webClient.put()
+        return getAccessToken().flatMap(token -> webClient.put()
                 .uri(userUrl)
-                .header("Authorization", "Bearer " + getAccessToken())
+                .header("Authorization", "Bearer " + token)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(updateUserRequest)
                 .exchangeToMono(response -> {
@@ -184,7 +183,7 @@ public class KeycloakApiClient {
                         return handleErrorResponse(response).then(Mono.error(
                                 new KeycloakCommunicationException((HttpStatus) response.statusCode(), "Failed to update user.")));
                     }
-                });
+                }));
     }
 
     /**
@@ -210,16 +209,16 @@ public class KeycloakApiClient {
                 .path("/admin/realms/" + keycloakConfig.getRealm() + "/users/" + userId)
                 .toUriString();
 
-        return webClient.delete()
+        return getAccessToken().flatMap(token -> webClient.delete()
                 .uri(userUrl)
-                .header("Authorization", "Bearer " + getAccessToken())
+                .header("Authorization", "Bearer " + token)
                 .exchangeToMono(response -> {
                     if (response.statusCode().is2xxSuccessful()) {
                         return Mono.empty();
                     } else {
                         return handleErrorResponse(response).then(Mono.empty());
                     }
-                });
+                }));
     }
 
     /**
@@ -362,55 +361,57 @@ public class KeycloakApiClient {
                 .path(path)
                 .toUriString();
 
-        return webClient.put()
+        return getAccessToken().flatMap(token -> webClient.put()
                 .uri(emailUrl)
-                .header("Authorization", "Bearer " + getAccessToken())
+                .header("Authorization", "Bearer " + token)
                 .exchangeToMono(response -> {
                     if(response.statusCode().is2xxSuccessful()) {
                         return Mono.empty();
                     } else {
                         return handleErrorResponse(response).then(Mono.empty());
                     }
-                });
+                }));
+    }
+
+    /**
+     * Returns the access token of the service account, used to call the Keycloak admin API.
+     * The token is fetched once and shared by all callers, including concurrent ones, and is fetched again once
+     * 80% of its lifetime has passed, while it is still valid. A failed fetch is not cached, so the next call
+     * tries again.
+     *
+     * @return A {@code Mono<String>} emitting a valid access token.
+     */
+    private Mono<String> getAccessToken() {
+        return serviceToken.map(ServiceToken::value);
     }
 
     /**
      * Retrieves an access token using client credentials.
-     * Caches the token and reuses it until it expires.
      *
-     * @return A valid access token as a String.
+     * @return A {@code Mono<ServiceToken>} emitting the token and how long it can be reused.
      * @throws RuntimeException If token retrieval or parsing fails.
      */
-    private String getAccessToken() {
-        if (cachedAccessToken != null && Instant.now().isBefore(tokenExpirationTime)) {
-            return cachedAccessToken;
-        }
-
+    private Mono<ServiceToken> fetchServiceToken() {
         String tokenUrl = UriComponentsBuilder.fromHttpUrl(keycloakConfig.getAuthServerUrl())
                 .path("/realms/" + keycloakConfig.getRealm() + "/protocol/openid-connect/token")
                 .toUriString();
 
-        String response = webClient.post()
+        return webClient.post()
                 .uri(tokenUrl)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
                 .bodyValue("grant_type=client_credentials" +
                         "&client_id=" + keycloakConfig.getAdminClientId() +
                         "&client_secret=" + keycloakConfig.getAdminClientSecret())
                 .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-        try {
-            JsonNode jsonNode = objectMapper.readTree(response);
-            cachedAccessToken = jsonNode.get("access_token").asText();
-            int expiresIn = jsonNode.get("expires_in").asInt();
-            tokenExpirationTime = Instant.now().plusSeconds(expiresIn);
-        } catch (Exception e) {
-            log.error("Failed to parse access token response", e);
-            throw new RuntimeException("Failed to obtain access token", e);
-        }
-
-        return cachedAccessToken;
+                .bodyToMono(JsonNode.class)
+                .map(response -> new ServiceToken(response.get("access_token").asText(),
+                        Duration.ofSeconds(response.get("expires_in").asLong()).multipliedBy(4).dividedBy(5)))
+                .doOnNext(token -> log.debug("KeycloakApiClient::fetchServiceToken: fetched a new access token, "
+                        + "refreshing it in {}", token.refreshAfter()))
+                .onErrorMap(e -> {
+                    log.error("Failed to obtain access token", e);
+                    return new RuntimeException("Failed to obtain access token", e);
+                });
     }
 
     /**
@@ -470,9 +471,9 @@ public class KeycloakApiClient {
                 .toUriString();
 
         String[] actions = {"UPDATE_PASSWORD"};
-        return webClient.put()
+        return getAccessToken().flatMap(token -> webClient.put()
                 .uri(emailUrl)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .bodyValue(actions)
                 .exchangeToMono(response -> {
@@ -481,6 +482,9 @@ public class KeycloakApiClient {
                     } else {
                         return handleErrorResponse(response).then(Mono.empty());
                     }
-                });
+                }));
+    }
+
+    private record ServiceToken(String value, Duration refreshAfter) {
     }
 }
@@ -12,6 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/auth")
@@ -26,7 +27,7 @@ public class AuthController {
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Register a new user",
             description = "Creates a new user account based on the provided registration details.")
-    public UserResponse registerUser(@RequestBody RegistrationRequest registrationRequest) {
+    public Mono<UserResponse> registerUser(@RequestBody RegistrationRequest registrationRequest) {
         return authService.registerUser(registrationRequest);
     }
 
@@ -1,14 +1,10 @@
 package app.sportahub.userservice.dto.request.user;
 
-import app.sportahub.userservice.model.user.Friend;
-import app.sportahub.userservice.model.user.FriendRequest;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
-import java.util.List;
-
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record UserRequest(String keycloakId,
 
@@ -26,10 +22,5 @@ public record UserRequest(String keycloakId,
                           ProfileRequest profile,
 
                           @Nullable
-                          PreferencesRequest preferences,
-
-                          @Nullable List<FriendRequest> friendRequestList,
-
-                          @Nullable
-                          List<Friend> friendList) {
+                          PreferencesRequest preferences) {
 }
@@ -0,0 +1,84 @@
+package app.sportahub.userservice.migration;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.user.Friendship;
+import app.sportahub.userservice.model.user.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves the friends and friend requests embedded in {@code friendList} and {@code friendRequestList} of each user
+ * into the {@code friendship} collection, one edge per entry, then removes both lists from the user. Edges keep the
+ * id of the entry they come from, so the friend and friend request ids already known to clients stay valid. An edge
+ * that already exists is left as it is, and friends are written before friend requests, so an accepted friendship
+ * wins over a stale request between the same users. The migration is a no-op once it has run and can be disabled
+ * with {@code migration.friendships.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.friendships.enabled", havingValue = "true", matchIfMissing = true)
+public class FriendshipMigration implements ApplicationRunner {
+
+    static final String FRIEND_LIST_FIELD = "friendList";
+    static final String FRIEND_REQUEST_LIST_FIELD = "friendRequestList";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> users = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class));
+        MongoCollection<Document> friendships = mongoTemplate.getCollection(
+                mongoTemplate.getCollectionName(Friendship.class));
+
+        long migrated = 0;
+        for (Document user : users.find(Filters.or(Filters.exists(FRIEND_LIST_FIELD), Filters.exists(FRIEND_REQUEST_LIST_FIELD)))
+                .projection(Projections.include(FRIEND_LIST_FIELD, FRIEND_REQUEST_LIST_FIELD))) {
+            List<Document> edges = edges(user.getObjectId("_id").toHexString(),
+                    user.getList(FRIEND_LIST_FIELD, Document.class, List.of()),
+                    user.getList(FRIEND_REQUEST_LIST_FIELD, Document.class, List.of()));
+            if (!edges.isEmpty()) {
+                friendships.bulkWrite(edges.stream()
+                        .map(edge -> new UpdateOneModel<Document>(
+                                Filters.and(Filters.eq("userId", edge.get("userId")),
+                                        Filters.eq("friendId", edge.get("friendId"))),
+                                new Document("$setOnInsert", edge),
+                                new UpdateOptions().upsert(true)))
+                        .toList(), new BulkWriteOptions().ordered(true));
+            }
+            users.updateOne(Filters.eq("_id", user.get("_id")),
+                    Updates.combine(Updates.unset(FRIEND_LIST_FIELD), Updates.unset(FRIEND_REQUEST_LIST_FIELD)));
+            migrated++;
+        }
+        log.info("FriendshipMigration::run: moved the friends and friend requests of {} users", migrated);
+    }
+
+    static List<Document> edges(String userId, List<Document> friends, List<Document> friendRequests) {
+        List<Document> edges = new ArrayList<>(friends.size() + friendRequests.size());
+        friends.forEach(friend -> edges.add(edge(userId, friend, FriendRequestStatusEnum.ACCEPTED.name())));
+        friendRequests.forEach(friendRequest -> edges.add(edge(userId, friendRequest,
+                friendRequest.getString("friendRequestStatus"))));
+        return edges;
+    }
+
+    private static Document edge(String userId, Document entry, String friendRequestStatus) {
+        return new Document("_id", entry.get("_id") != null ? entry.get("_id") : new ObjectId())
+                .append("userId", userId)
+                .append("friendId", entry.getString("userId"))
+                .append("friendRequestStatus", friendRequestStatus)
+                .append("createdAt", entry.get("createdAt"))
+                .append("updatedAt", entry.get("updatedAt"));
+    }
+}
@@ -0,0 +1,77 @@
+package app.sportahub.userservice.migration;
+
+import app.sportahub.userservice.model.user.User;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the {@code user_badge} references held in {@code profile.badges} with the badge assignments themselves,
+ * now that they are embedded in the profile by value. References to assignments that no longer exist are dropped.
+ * Profiles already holding embedded assignments are left as they are, so the migration is a no-op once it has run.
+ * It can be disabled with {@code migration.user-badges.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "migration.user-badges.enabled", havingValue = "true", matchIfMissing = true)
+public class UserBadgesMigration implements ApplicationRunner {
+
+    static final String BADGES_FIELD = "profile.badges";
+    static final String USER_BADGE_COLLECTION = "user_badge";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> users = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class));
+        MongoCollection<Document> userBadges = mongoTemplate.getCollection(USER_BADGE_COLLECTION);
+
+        long migrated = 0;
+        for (Document user : users.find(Filters.exists(BADGES_FIELD + ".0")).projection(Projections.include(BADGES_FIELD))) {
+            List<Object> badges = user.get("profile", Document.class).getList("badges", Object.class);
+            List<Object> referencedIds = badges.stream()
+                    .filter(badge -> badge instanceof DBRef)
+                    .map(badge -> ((DBRef) badge).getId())
+                    .toList();
+            if (referencedIds.isEmpty()) {
+                continue;
+            }
+
+            Map<Object, Document> assignments = new HashMap<>();
+            userBadges.find(Filters.in("_id", referencedIds))
+                    .forEach(assignment -> assignments.put(assignment.get("_id"), assignment));
+            users.updateOne(Filters.eq("_id", user.get("_id")), Updates.set(BADGES_FIELD, embed(badges, assignments)));
+            migrated++;
+        }
+        log.info("UserBadgesMigration::run: embedded the badges of {} users", migrated);
+    }
+
+    static List<Document> embed(List<Object> badges, Map<Object, Document> assignments) {
+        List<Document> embedded = new ArrayList<>(badges.size());
+        for (Object badge : badges) {
+            Document assignment = badge instanceof DBRef dbRef ? assignments.get(dbRef.getId())
+                    : badge instanceof Document document ? document : null;
+            if (assignment != null) {
+                embedded.add(new Document("badgeId", assignment.get("badgeId"))
+                        .append("giverId", assignment.get("giverId")));
+            }
+        }
+        return embedded;
+    }
+}
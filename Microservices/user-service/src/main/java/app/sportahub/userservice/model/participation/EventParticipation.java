@@ -0,0 +1,43 @@
+package app.sportahub.userservice.model.participation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Whether a user takes part in an event, as last published by the event service. Together these records are the
+ * local view of the events each user joined. A user leaving an event keeps its record with {@link #joined} unset, so
+ * that an older change delivered late cannot undo a newer one.
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("eventParticipation")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_event_idx", def = "{'userId': 1, 'eventId': 1}", unique = true),
+        @CompoundIndex(name = "user_joined_idx", def = "{'userId': 1, 'joined': 1, 'eventId': 1}")
+})
+@Data
+public class EventParticipation {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String eventId;
+
+    private boolean joined;
+
+    /**
+     * When the user joined or left the event, according to the event service.
+     */
+    private Instant changedAt;
+}
@@ -0,0 +1,55 @@
+package app.sportahub.userservice.model.recommendation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The precomputed friend recommendations of one user, ranked from best to worst match.
+ * <p>
+ * Recommendations are computed in the background. A change that affects them, such as a new friend or a new postal
+ * code, only sets {@link #staleSince}, and the refresh job recomputes them. Recommendations older than the configured
+ * maximum age are recomputed as well, which picks up changes nothing marked them stale for.
+ * </p>
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("friendRecommendation")
+@Data
+public class FriendRecommendation {
+
+    /**
+     * The id of the user the recommendations are for.
+     */
+    @Id
+    private String userId;
+
+    @Builder.Default
+    private List<String> recommendedUserIds = new ArrayList<>();
+
+    /**
+     * When the recommendations were last computed, absent if they never were.
+     */
+    @Indexed(name = "computed_at_idx")
+    private Instant computedAt;
+
+    /**
+     * When the recommendations first went stale since they were last computed, absent while they are up to date.
+     */
+    @Indexed(name = "stale_since_idx", sparse = true)
+    private Instant staleSince;
+
+    /**
+     * Until when a refresh job instance holds the recommendations to recompute them.
+     */
+    private Instant claimedUntil;
+}
@@ -0,0 +1,39 @@
+package app.sportahub.userservice.model.user;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.BaseEntity;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One side of a friendship between two users, as seen by {@code userId}. Every friend request and friendship is
+ * stored as a pair of edges: a pending request is {@code SENT} on the sender's edge and {@code RECEIVED} on the
+ * receiver's, and both edges become {@code ACCEPTED} once the request is accepted. The id of an edge is the id of the
+ * friend request, or of the friend, exposed to its user.
+ */
+@SuperBuilder(toBuilder = true, setterPrefix = "with")
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("friendship")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_friend_idx", def = "{'userId': 1, 'friendId': 1}", unique = true),
+        @CompoundIndex(name = "user_status_idx", def = "{'userId': 1, 'friendRequestStatus': 1, '_id': 1}")
+})
+@Data
+public class Friendship extends BaseEntity {
+
+    @NotBlank(message = "User id must be provided.")
+    private String userId;
+
+    @NotBlank(message = "User id of friend must be provided.")
+    private String friendId;
+
+    @NotNull(message = "Friend request status must be provided.")
+    private FriendRequestStatusEnum friendRequestStatus;
+}
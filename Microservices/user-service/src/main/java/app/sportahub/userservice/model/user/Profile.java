@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,7 +27,6 @@ public class Profile {
     @Builder.Default
     private List<SportLevel> sportsOfPreference = new ArrayList<>();
 
-    @DBRef
     @Builder.Default
     private List<UserBadge> badges = new ArrayList<>();
 }
@@ -7,9 +7,6 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder(toBuilder = true, setterPrefix = "with")
 @Document("user")
@@ -34,13 +31,4 @@ public class User extends BaseEntity {
 
     @Builder.Default
     private Preferences preferences = Preferences.builder().build();
-
-    @Builder.Default
-    private List<FriendRequest> friendRequestList = new ArrayList<>();
-
-    @Builder.Default
-    private List<Friend> friendList = new ArrayList<>();
-
-    @Builder.Default
-    private List<String> recommendedFriends = new ArrayList<>();
 }
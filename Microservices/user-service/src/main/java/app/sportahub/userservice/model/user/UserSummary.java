@@ -0,0 +1,34 @@
+package app.sportahub.userservice.model.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Read-only projection of a {@link User} for views that only show who another user is, such as friend lists and
+ * friend requests.
+ * <p>
+ * Only the {@link #FIELDS} are fetched from the {@code user} collection, so the friend lists, preferences and the
+ * rest of the profile are neither sent over the wire nor decoded.
+ * </p>
+ */
+@Builder(setterPrefix = "with")
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UserSummary {
+
+    /**
+     * The fields of a user document read into a summary, besides {@code _id}.
+     */
+    public static final List<String> FIELDS = List.of("username", "profile.profilePicture");
+
+    private String id;
+
+    private String username;
+
+    private String profilePicture;
+}
@@ -1,11 +0,0 @@
-package app.sportahub.userservice.repository;
-
-import app.sportahub.userservice.model.user.FriendRequest;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
-import java.util.Optional;
-
-@Repository
-public interface FriendRequestRepository extends MongoRepository<FriendRequest, String> {
-    Optional<FriendRequest> findFriendRequestById(String userId);
-}
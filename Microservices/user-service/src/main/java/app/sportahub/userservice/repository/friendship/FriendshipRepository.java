@@ -0,0 +1,24 @@
+package app.sportahub.userservice.repository.friendship;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.user.Friendship;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FriendshipRepository extends MongoRepository<Friendship, String>, TransitioningFriendshipRepository {
+
+    Optional<Friendship> findByUserIdAndFriendId(String userId, String friendId);
+
+    List<Friendship> findByUserIdAndFriendRequestStatusInOrderByIdAsc(String userId,
+                                                                      Collection<FriendRequestStatusEnum> statuses);
+
+    List<Friendship> findByUserIdAndFriendRequestStatusOrderByIdAsc(String userId,
+                                                                    FriendRequestStatusEnum friendRequestStatus);
+
+    void deleteByUserIdAndFriendId(String userId, String friendId);
+}
@@ -0,0 +1,9 @@
+package app.sportahub.userservice.repository.friendship;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+
+public interface TransitioningFriendshipRepository {
+    boolean transition(String userId, String friendId, FriendRequestStatusEnum from, FriendRequestStatusEnum to);
+
+    boolean deletePending(String userId, String friendId);
+}
@@ -0,0 +1,61 @@
+package app.sportahub.userservice.repository.friendship;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.user.Friendship;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of the {@link TransitioningFriendshipRepository} interface. Each change is a single conditional
+ * write on one edge, matched through the unique {@code (userId, friendId)} index, so two concurrent changes to the
+ * same edge cannot both succeed.
+ */
+@RequiredArgsConstructor
+public class TransitioningFriendshipRepositoryImpl implements TransitioningFriendshipRepository {
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Moves the edge from {@code userId} to {@code friendId} from one status to another, provided it still has the
+     * expected status.
+     *
+     * @param userId   the id of the user owning the edge
+     * @param friendId the id of the other user
+     * @param from     the status the edge is expected to have
+     * @param to       the status to set
+     * @return {@code true} if the edge was changed, {@code false} if it does not exist or no longer has status
+     * {@code from}
+     */
+    @Override
+    public boolean transition(String userId, String friendId, FriendRequestStatusEnum from,
+                              FriendRequestStatusEnum to) {
+        Query query = Query.query(edge(userId, friendId).and("friendRequestStatus").is(from));
+        Update update = new Update()
+                .set("friendRequestStatus", to)
+                .set("updatedAt", Timestamp.valueOf(LocalDateTime.now()));
+        return mongoTemplate.updateFirst(query, update, Friendship.class).getModifiedCount() == 1;
+    }
+
+    /**
+     * Deletes the edge from {@code userId} to {@code friendId} unless it has been accepted in the meantime.
+     *
+     * @param userId   the id of the user owning the edge
+     * @param friendId the id of the other user
+     * @return {@code true} if the edge was deleted, {@code false} if it does not exist or has been accepted
+     */
+    @Override
+    public boolean deletePending(String userId, String friendId) {
+        Query query = Query.query(edge(userId, friendId).and("friendRequestStatus")
+                .ne(FriendRequestStatusEnum.ACCEPTED));
+        return mongoTemplate.remove(query, Friendship.class).getDeletedCount() == 1;
+    }
+
+    private static Criteria edge(String userId, String friendId) {
+        return Criteria.where("userId").is(userId).and("friendId").is(friendId);
+    }
+}
@@ -0,0 +1,10 @@
+package app.sportahub.userservice.repository.participation;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ApplyingEventParticipationRepository {
+    boolean apply(String userId, String eventId, boolean joined, Instant changedAt);
+
+    List<String> findJoinedEventIds(String userId);
+}
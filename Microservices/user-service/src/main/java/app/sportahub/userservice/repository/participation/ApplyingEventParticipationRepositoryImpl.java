@@ -0,0 +1,63 @@
+package app.sportahub.userservice.repository.participation;
+
+import app.sportahub.userservice.model.participation.EventParticipation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Implementation of the {@link ApplyingEventParticipationRepository} interface. Participation changes may be
+ * delivered more than once and out of order, so each one is applied by a single conditional upsert that only wins
+ * over an older change, matched through the unique {@code (userId, eventId)} index.
+ */
+@RequiredArgsConstructor
+public class ApplyingEventParticipationRepositoryImpl implements ApplyingEventParticipationRepository {
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Records that a user joined or left an event, unless a change made at the same time or later was already
+     * recorded.
+     *
+     * @param userId    the id of the user
+     * @param eventId   the id of the event
+     * @param joined    {@code true} if the user joined the event, {@code false} if they left it
+     * @param changedAt when the user joined or left the event
+     * @return {@code true} if the change was recorded, {@code false} if it was older than the recorded one
+     */
+    @Override
+    public boolean apply(String userId, String eventId, boolean joined, Instant changedAt) {
+        Query olderChange = Query.query(Criteria.where("userId").is(userId)
+                .and("eventId").is(eventId)
+                .and("changedAt").lt(changedAt));
+        Update update = new Update()
+                .set("joined", joined)
+                .set("changedAt", changedAt);
+        try {
+            mongoTemplate.upsert(olderChange, update, EventParticipation.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Either a change made at the same time or later is recorded, or a concurrent change was inserted first.
+            return mongoTemplate.updateFirst(olderChange, update, EventParticipation.class).getMatchedCount() == 1;
+        }
+    }
+
+    /**
+     * Returns the ids of the events a user currently takes part in, read from the {@code user_joined_idx} index
+     * alone.
+     */
+    @Override
+    public List<String> findJoinedEventIds(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("joined").is(true));
+        query.fields().include("eventId").exclude("_id");
+
+        return mongoTemplate.find(query, EventParticipation.class).stream()
+                .map(EventParticipation::getEventId)
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package app.sportahub.userservice.repository.participation;
+
+import app.sportahub.userservice.model.participation.EventParticipation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventParticipationRepository extends MongoRepository<EventParticipation, String>,
+        ApplyingEventParticipationRepository {
+}
@@ -0,0 +1,16 @@
+package app.sportahub.userservice.repository.recommendation;
+
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FriendRecommendationRepository extends MongoRepository<FriendRecommendation, String>,
+        RefreshingFriendRecommendationRepository {
+
+    long countByStaleSinceIsNotNull();
+
+    Optional<FriendRecommendation> findFirstByStaleSinceIsNotNullOrderByStaleSinceAsc();
+}
@@ -0,0 +1,17 @@
+package app.sportahub.userservice.repository.recommendation;
+
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshingFriendRecommendationRepository {
+    void markStale(Collection<String> userIds, Instant now);
+
+    Optional<FriendRecommendation> claimNext(Instant now, Instant computedBefore, Duration lease);
+
+    void complete(FriendRecommendation claimed, List<String> recommendedUserIds, Instant computedAt);
+}
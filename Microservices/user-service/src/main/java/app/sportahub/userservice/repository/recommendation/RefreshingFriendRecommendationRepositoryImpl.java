@@ -0,0 +1,100 @@
+package app.sportahub.userservice.repository.recommendation;
+
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link RefreshingFriendRecommendationRepository} interface. Recommendations are claimed
+ * one at a time with a lease, so several instances of the refresh job can run side by side without computing the
+ * same recommendations twice, and recommendations claimed by an instance that died are picked up once the lease
+ * ends.
+ */
+@RequiredArgsConstructor
+public class RefreshingFriendRecommendationRepositoryImpl implements RefreshingFriendRecommendationRepository {
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Marks the recommendations of users as stale, creating them for users who have none yet. Recommendations that
+     * are already stale keep the time they first went stale.
+     *
+     * @param userIds the ids of the users whose recommendations went stale
+     * @param now     the current time
+     */
+    @Override
+    public void markStale(Collection<String> userIds, Instant now) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                FriendRecommendation.class);
+        userIds.forEach(userId -> bulkOperations.upsert(Query.query(Criteria.where("userId").is(userId)),
+                new Update().min("staleSince", now)));
+        bulkOperations.execute();
+    }
+
+    /**
+     * Claims the next recommendations to recompute: those that are stale or were computed before
+     * {@code computedBefore}, and are not claimed yet. Recommendations that were never computed come first, then
+     * the least recently computed ones.
+     *
+     * @param now            the current time
+     * @param computedBefore recommendations computed before this time are recomputed even when not stale
+     * @param lease          how long the claim holds
+     * @return the claimed recommendations, as they were before being claimed, or empty if there are none to recompute
+     */
+    @Override
+    public Optional<FriendRecommendation> claimNext(Instant now, Instant computedBefore, Duration lease) {
+        Query query = Query.query(new Criteria().andOperator(
+                        new Criteria().orOperator(
+                                Criteria.where("staleSince").exists(true),
+                                Criteria.where("computedAt").lt(computedBefore)),
+                        new Criteria().orOperator(
+                                Criteria.where("claimedUntil").exists(false),
+                                Criteria.where("claimedUntil").lte(now))))
+                .with(Sort.by(Sort.Direction.ASC, "computedAt"));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query,
+                new Update().set("claimedUntil", now.plus(lease)), FindAndModifyOptions.options().returnNew(false),
+                FriendRecommendation.class));
+    }
+
+    /**
+     * Stores recomputed recommendations and releases the claim. The recommendations only stop being stale if they
+     * were not marked stale again while being recomputed; otherwise they are recomputed once more on a later run.
+     *
+     * @param claimed            the recommendations as they were when claimed
+     * @param recommendedUserIds the recomputed recommendations
+     * @param computedAt         when the recommendations were computed
+     */
+    @Override
+    public void complete(FriendRecommendation claimed, List<String> recommendedUserIds, Instant computedAt) {
+        Criteria unchanged = claimed.getStaleSince() == null
+                ? Criteria.where("staleSince").exists(false)
+                : Criteria.where("staleSince").is(claimed.getStaleSince());
+        Query notMarkedAgain = Query.query(Criteria.where("userId").is(claimed.getUserId()).andOperator(unchanged));
+        if (mongoTemplate.updateFirst(notMarkedAgain, recomputed(recommendedUserIds, computedAt).unset("staleSince"),
+                FriendRecommendation.class).getMatchedCount() == 0) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("userId").is(claimed.getUserId())),
+                    recomputed(recommendedUserIds, computedAt), FriendRecommendation.class);
+        }
+    }
+
+    private static Update recomputed(List<String> recommendedUserIds, Instant computedAt) {
+        return new Update()
+                .set("recommendedUserIds", recommendedUserIds)
+                .set("computedAt", computedAt)
+                .unset("claimedUntil");
+    }
+}
@@ -1,7 +1,8 @@
 package app.sportahub.userservice.repository.user;
 
+import app.sportahub.search.filter.AgeCriteria;
+import app.sportahub.search.filter.RangeExpressionParser;
 import app.sportahub.userservice.model.user.User;
-import com.mongodb.BasicDBObject;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -11,10 +12,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Implementation of the {@link SearchingUserRepository} interface, providing custom
@@ -69,64 +67,12 @@ public class SearchingUserRepositoryImpl implements SearchingUserRepository {
             query.addCriteria(Criteria.where("profile.gender").is(gender));
         }
         if (age != null) {
-            applyAgeCriteria(query, age);
+            query.addCriteria(AgeCriteria.birthDateCriteria("profile.dateOfBirth",
+                    RangeExpressionParser.INTEGERS.parse(age), LocalDate.now().getYear()));
         }
         long total = mongoTemplate.count(query, User.class);
         query.with(pageable);
         List<User> users = mongoTemplate.find(query, User.class);
         return new PageImpl<>(users, pageable, total);
     }
-
-    /**
-     * Applies age-related filtering to the provided query.
-     * <p>
-     * Supports filtering by a specific age, a range of ages (e.g., "20-30"),
-     * or operator-based comparisons (e.g., "<25", ">=30").
-     *
-     * @param query the {@link Query} object to which age criteria will be added
-     * @param age the age or age range filter
-     * @throws IllegalArgumentException if the age format is invalid
-     */
-    private void applyAgeCriteria(Query query, String age) {
-        // Check if the age parameter is a range (e.g., "20-30")
-        Pattern rangePattern = Pattern.compile("(\\d+)-(\\d+)");
-        Matcher rangeMatcher = rangePattern.matcher(age);
-        if (rangeMatcher.matches()) { // Age range logic
-            int startAge = Integer.parseInt(rangeMatcher.group(1));
-            int endAge = Integer.parseInt(rangeMatcher.group(2));
-            int currentYear = LocalDate.now().getYear();
-            int startYear = currentYear - endAge; // Earlier year for the older age
-            int endYear = currentYear - startAge; // Later year for the younger age
-            query.addCriteria(Criteria.where("profile.dateOfBirth").gte(LocalDate.of(startYear, 1, 1)).lte(LocalDate.of(endYear, 12, 31)));
-        } else { // Single age or operator-based age logic
-            Pattern pattern = Pattern.compile("([<>=]{1,2})?(\\d+)");
-            Matcher matcher = pattern.matcher(age);
-            if (matcher.find()) {
-                String operator = matcher.group(1) != null ? matcher.group(1) : "=";
-                int ageValue = Integer.parseInt(matcher.group(2));
-                int cutoffYear = LocalDate.now().getYear() - ageValue;
-                switch (operator) {
-                    case "<":
-                        query.addCriteria(Criteria.where("$expr").gt(Arrays.asList(new BasicDBObject("$year", "$profile.dateOfBirth"), cutoffYear)));
-                        break;
-                    case ">":
-                        query.addCriteria(Criteria.where("$expr").lt(Arrays.asList(new BasicDBObject("$year", "$profile.dateOfBirth"), cutoffYear)));
-                        break;
-                    case "<=":
-                        query.addCriteria(Criteria.where("$expr").gte(Arrays.asList(new BasicDBObject("$year", "$profile.dateOfBirth"), cutoffYear)));
-                        break;
-                    case ">=":
-                        query.addCriteria(Criteria.where("$expr").lte(Arrays.asList(new BasicDBObject("$year", "$profile.dateOfBirth"), cutoffYear)));
-                        break;
-                    case "=":
-                        query.addCriteria(Criteria.where("$expr").is(new BasicDBObject("$eq", Arrays.asList(new BasicDBObject("$year", "$profile.dateOfBirth"), cutoffYear))));
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Unsupported operator in age filter: " + operator);
-                }
-            } else {
-                throw new IllegalArgumentException("Invalid age format: " + age);
-            }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package app.sportahub.userservice.repository.user;
+
+import app.sportahub.userservice.model.user.UserSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SummarizingUserRepository {
+    List<UserSummary> findSummariesByIdIn(Collection<String> ids);
+}
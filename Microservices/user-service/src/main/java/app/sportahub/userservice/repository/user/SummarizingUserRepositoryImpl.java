@@ -0,0 +1,43 @@
+package app.sportahub.userservice.repository.user;
+
+import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.model.user.UserSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the {@link SummarizingUserRepository} interface, looking up many users at once and reading
+ * only the fields of a {@link UserSummary}.
+ */
+@RequiredArgsConstructor
+public class SummarizingUserRepositoryImpl implements SummarizingUserRepository {
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Finds the summaries of the users with the given ids in a single {@code $in} query.
+     *
+     * @param ids the ids of the users
+     * @return the summaries of the users found, in no particular order; ids of users that do not exist are skipped
+     */
+    @Override
+    public List<UserSummary> findSummariesByIdIn(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        UserSummary.FIELDS.forEach(query.fields()::include);
+
+        return mongoTemplate.find(query, User.class).stream()
+                .map(user -> UserSummary.builder()
+                        .withId(user.getId())
+                        .withUsername(user.getUsername())
+                        .withProfilePicture(user.getProfile() == null ? null : user.getProfile().getProfilePicture())
+                        .build())
+                .toList();
+    }
+}
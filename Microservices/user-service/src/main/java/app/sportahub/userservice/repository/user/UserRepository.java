@@ -9,7 +9,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String>, SearchingUserRepository {
+public interface UserRepository extends MongoRepository<User, String>, SearchingUserRepository,
+        SummarizingUserRepository {
 
     Optional<User> findUserById(String id);
 
@@ -18,12 +19,17 @@ public interface UserRepository extends MongoRepository<User, String>, Searching
     Optional<User> findUserByUsername(String username);
 
     @Aggregation(pipeline = {
-            "{ $match: { _id: { $ne: ?0 }, 'profile.postalCode': ?1, 'profile.sportsOfPreference.name': { $in: ?2 }, 'profile.gender': ?3 } }",
-            "{ $addFields: { mutualFriendsCount: { $size: { $setIntersection: [ { $ifNull: ['$friendList.userId', []] }, ?4 ] } } } }",
-            "{ $addFields: { mutualEventsCount: { $size: { $setIntersection: [ { $ifNull: ['$eventIds', []] }, ?5 ] } } } }",
+            "{ $match: { 'profile.postalCode': ?1, 'profile.sportsOfPreference.name': { $in: ?2 }, 'profile.gender': ?3 } }",
+            "{ $addFields: { candidateId: { $toString: '$_id' } } }",
+            "{ $match: { candidateId: { $ne: ?0, $nin: ?4 } } }",
+            "{ $lookup: { from: 'friendship', localField: 'candidateId', foreignField: 'userId', pipeline: [ { $match: { friendRequestStatus: 'ACCEPTED', friendId: { $in: ?4 } } }, { $project: { _id: 1 } } ], as: 'mutualFriends' } }",
+            "{ $addFields: { mutualFriendsCount: { $size: '$mutualFriends' } } }",
+            "{ $lookup: { from: 'eventParticipation', localField: 'candidateId', foreignField: 'userId', pipeline: [ { $match: { joined: true, eventId: { $in: ?5 } } }, { $project: { _id: 1 } } ], as: 'mutualEvents' } }",
+            "{ $addFields: { mutualEventsCount: { $size: '$mutualEvents' } } }",
             "{ $addFields: { skillMatchScore: { $size: { $setIntersection: [ { $ifNull: ['$profile.sportsOfPreference.ranking', []] }, ?6 ] } } } }",
             "{ $sort: { mutualFriendsCount: -1, mutualEventsCount: -1, skillMatchScore: -1 } }",
-            "{ $limit: 10 }"
+            "{ $limit: 10 }",
+            "{ $unset: ['candidateId', 'mutualFriends', 'mutualEvents'] }"
     })
     List<User> recommendFriends(
             String userId,
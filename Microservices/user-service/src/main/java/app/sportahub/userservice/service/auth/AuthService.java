@@ -6,10 +6,11 @@ import app.sportahub.userservice.dto.request.auth.RegistrationRequest;
 import app.sportahub.userservice.dto.response.auth.LoginResponse;
 import app.sportahub.userservice.dto.response.auth.TokenResponse;
 import app.sportahub.userservice.dto.response.user.UserResponse;
+import reactor.core.publisher.Mono;
 
 public interface AuthService {
 
-    UserResponse registerUser(RegistrationRequest userRequest);
+    Mono<UserResponse> registerUser(RegistrationRequest userRequest);
 
     LoginResponse loginUser(LoginRequest loginRequest);
 
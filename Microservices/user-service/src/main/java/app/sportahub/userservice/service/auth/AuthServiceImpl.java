@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -28,9 +29,9 @@ import app.sportahub.userservice.model.user.User;
 import app.sportahub.userservice.repository.user.UserRepository;
 import app.sportahub.userservice.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Slf4j
 @Service
@@ -41,24 +42,26 @@ public class AuthServiceImpl implements AuthService {
     private final KeycloakApiClient keycloakApiClient;
     private final UserMapper userMapper;
 
-    @SneakyThrows
     @Override
-    public UserResponse registerUser(RegistrationRequest userRequest) {
-        userRepository.findUserByEmail(userRequest.email())
-                .ifPresent(user -> {
-                    throw new UserEmailAlreadyExistsException(userRequest.email());
-                });
-        userRepository.findUserByUsername(userRequest.username())
-                .ifPresent(user -> {
-                    throw new UsernameAlreadyExistsException(userRequest.username());
-                });
-
+    public Mono<UserResponse> registerUser(RegistrationRequest userRequest) {
         KeycloakRequest keycloakRequest = new KeycloakRequest(
                 userRequest.email(),
                 userRequest.username(),
                 userRequest.password());
 
-        String keycloakId = keycloakApiClient.createUserAndReturnCreatedId(keycloakRequest)
+        return onBoundedElastic(() -> {
+                    userRepository.findUserByEmail(userRequest.email())
+                            .ifPresent(user -> {
+                                throw new UserEmailAlreadyExistsException(userRequest.email());
+                            });
+                    userRepository.findUserByUsername(userRequest.username())
+                            .ifPresent(user -> {
+                                throw new UsernameAlreadyExistsException(userRequest.username());
+                            });
+                    return keycloakRequest;
+                })
+                // Step 1: Create user in keycloak
+                .flatMap(keycloakApiClient::createUserAndReturnCreatedId)
                 .flatMap(response -> {
                     if (response.has("keycloakId")) {
                         return Mono.just(response.get("keycloakId").asText());
@@ -67,46 +70,63 @@ public class AuthServiceImpl implements AuthService {
                                 "Failed to retrieve user ID from Keycloak response."));
                     }
                 })
-                .block();
-
-        // Step 2: Create user in mongodb
-        User user = userRepository.save(
-                User.builder()
-                        .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                        .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                        .withKeycloakId(keycloakId)
-                        .withEmail(userRequest.email())
-                        .withUsername(userRequest.username())
-                        .build());
-
-        try {
-            // Step 3: Update user in keycloak with userId
-            Map<String, List<String>> attributes = new HashMap<>();
-            attributes.put("userId", List.of(user.getId().toString()));
-            KeycloakRequest updateUserIdKeycloakRequest = new KeycloakRequest(
-                    keycloakRequest.email(),
-                    keycloakRequest.username(),
-                    keycloakRequest.firstName(),
-                    keycloakRequest.lastName(),
-                    keycloakRequest.enabled(),
-                    keycloakRequest.credentials(),
-                    attributes);
-            log.info("AuthServiceImpl::updating userId in keycloak for user with id:{}", user.getId());
-            keycloakApiClient.updateUser(keycloakId, updateUserIdKeycloakRequest).block();
-        } catch (Exception e) {
-            log.error("AuthServiceImpl::registerUser: Failed to update user with keycloak id:{} in keycloak. User registration cancelled", keycloakId);
-            userRepository.delete(user);
-            keycloakApiClient.deleteUser(keycloakId).block();
-            throw e;
-        }
-
-        log.info("AuthServiceImpl::registerUser: User with id:{} successfully registered", user.getId());
+                // Step 2: Create user in mongodb
+                .flatMap(keycloakId -> onBoundedElastic(() -> userRepository.save(
+                                User.builder()
+                                        .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                                        .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                                        .withKeycloakId(keycloakId)
+                                        .withEmail(userRequest.email())
+                                        .withUsername(userRequest.username())
+                                        .build()))
+                        // Step 3: Update user in keycloak with userId
+                        .flatMap(user -> linkKeycloakUser(user, keycloakRequest)))
+                .doOnNext(user -> log.info("AuthServiceImpl::registerUser: User with id:{} successfully registered", user.getId()))
+                .flatMap(user -> keycloakApiClient.sendVerificationEmail(user.getKeycloakId())
+                        .then(Mono.fromRunnable(() -> log.info(
+                                "AuthServiceImpl::registerUser: Verification email sent to {} for user with keycloak id:{}",
+                                user.getEmail(), user.getKeycloakId())))
+                        .thenReturn(user))
+                .map(userMapper::userToUserResponse);
+    }
 
-        keycloakApiClient.sendVerificationEmail(user.getKeycloakId()).block();
-        log.info("AuthServiceImpl::registerUser: Verification email sent to {} for user with keycloak id:{}",
-                user.getEmail(), user.getKeycloakId());
+    /**
+     * Stores the id of a newly registered user in its keycloak attributes. If that fails, the user is removed from
+     * both mongodb and keycloak and the registration fails with the original error.
+     */
+    private Mono<User> linkKeycloakUser(User user, KeycloakRequest keycloakRequest) {
+        Map<String, List<String>> attributes = new HashMap<>();
+        attributes.put("userId", List.of(user.getId()));
+        KeycloakRequest updateUserIdKeycloakRequest = new KeycloakRequest(
+                keycloakRequest.email(),
+                keycloakRequest.username(),
+                keycloakRequest.firstName(),
+                keycloakRequest.lastName(),
+                keycloakRequest.enabled(),
+                keycloakRequest.credentials(),
+                attributes);
+        log.info("AuthServiceImpl::updating userId in keycloak for user with id:{}", user.getId());
+
+        return keycloakApiClient.updateUser(user.getKeycloakId(), updateUserIdKeycloakRequest)
+                .thenReturn(user)
+                .onErrorResume(e -> {
+                    log.error("AuthServiceImpl::registerUser: Failed to update user with keycloak id:{} in keycloak. User registration cancelled",
+                            user.getKeycloakId());
+                    return onBoundedElastic(() -> {
+                                userRepository.delete(user);
+                                return user;
+                            })
+                            .then(keycloakApiClient.deleteUser(user.getKeycloakId()))
+                            .then(Mono.error(e));
+                });
+    }
 
-        return userMapper.userToUserResponse(user);
+    /**
+     * Runs a blocking repository call on the bounded elastic scheduler, so that it does not hold up the reactor
+     * thread the rest of the chain runs on.
+     */
+    private static <T> Mono<T> onBoundedElastic(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
     }
 
     @Override
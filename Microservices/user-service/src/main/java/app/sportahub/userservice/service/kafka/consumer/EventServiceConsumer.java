@@ -0,0 +1,8 @@
+package app.sportahub.userservice.service.kafka.consumer;
+
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+
+public interface EventServiceConsumer {
+
+    void handleParticipationChanged(ParticipationChangedEvent event);
+}
@@ -0,0 +1,42 @@
+package app.sportahub.userservice.service.kafka.consumer;
+
+import app.sportahub.kafka.events.SportaKafkaEvents;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import app.sportahub.userservice.repository.participation.EventParticipationRepository;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the local view of the events each user joined up to date from the participation changes published by the
+ * event service.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventServiceConsumerImpl implements EventServiceConsumer {
+
+    private final EventParticipationRepository eventParticipationRepository;
+    private final FriendRecommendationService friendRecommendationService;
+
+    /**
+     * Records that a user joined or left an event, and marks the friend recommendations of the user stale. Changes
+     * older than the one already recorded, such as redelivered ones, are ignored.
+     */
+    @Override
+    @KafkaListener(topics = SportaKafkaEvents.PARTICIPATION_CHANGED_TOPIC, groupId = "UserServiceParticipationConsumer")
+    public void handleParticipationChanged(@Payload ParticipationChangedEvent event) {
+        if (!eventParticipationRepository.apply(event.getUserId(), event.getSportEventId(), event.isJoined(),
+                event.getTimestamp())) {
+            log.debug("EventServiceConsumerImpl::handleParticipationChanged: ignored outdated change {} of user {} "
+                    + "in event {}", event.getEventId(), event.getUserId(), event.getSportEventId());
+            return;
+        }
+        friendRecommendationService.markStale(event.getUserId());
+        log.info("EventServiceConsumerImpl::handleParticipationChanged: user {} {} event {}", event.getUserId(),
+                event.isJoined() ? "joined" : "left", event.getSportEventId());
+    }
+}
@@ -0,0 +1,170 @@
+package app.sportahub.userservice.service.recommendation;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import app.sportahub.userservice.model.user.Friendship;
+import app.sportahub.userservice.model.user.Profile;
+import app.sportahub.userservice.model.user.SportLevel;
+import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.repository.friendship.FriendshipRepository;
+import app.sportahub.userservice.repository.participation.EventParticipationRepository;
+import app.sportahub.userservice.repository.recommendation.FriendRecommendationRepository;
+import app.sportahub.userservice.repository.user.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Computes friend recommendations in the background.
+ * <p>
+ * Every {@code friend-recommendation.refresh.interval-ms} the refresher recomputes up to
+ * {@code friend-recommendation.refresh.batch-size} recommendations that are stale or older than
+ * {@code friend-recommendation.refresh.max-age}. Each one is claimed for {@code friend-recommendation.refresh.lease}
+ * first, so instances do not compute the same recommendations, and a failed computation is retried once the lease
+ * ends. After each run the number of stale recommendations and the age of the oldest one are published as the
+ * {@code friend.recommendations.stale} and {@code friend.recommendations.stale.oldest.age} gauges.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "friend-recommendation.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class FriendRecommendationRefresher {
+
+    private final FriendRecommendationRepository friendRecommendationRepository;
+    private final UserRepository userRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final EventParticipationRepository eventParticipationRepository;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration maxAge;
+    private final Duration lease;
+    private final Clock clock;
+    private final AtomicLong staleCount = new AtomicLong();
+    private final AtomicReference<Instant> oldestStaleSince = new AtomicReference<>();
+
+    @Autowired
+    public FriendRecommendationRefresher(FriendRecommendationRepository friendRecommendationRepository,
+                                         UserRepository userRepository,
+                                         FriendshipRepository friendshipRepository,
+                                         EventParticipationRepository eventParticipationRepository,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${friend-recommendation.refresh.batch-size:50}") int batchSize,
+                                         @Value("${friend-recommendation.refresh.max-age:PT6H}") Duration maxAge,
+                                         @Value("${friend-recommendation.refresh.lease:PT1M}") Duration lease) {
+        this(friendRecommendationRepository, userRepository, friendshipRepository, eventParticipationRepository,
+                meterRegistry, batchSize, maxAge, lease, Clock.systemUTC());
+    }
+
+    FriendRecommendationRefresher(FriendRecommendationRepository friendRecommendationRepository,
+                                  UserRepository userRepository,
+                                  FriendshipRepository friendshipRepository,
+                                  EventParticipationRepository eventParticipationRepository,
+                                  MeterRegistry meterRegistry, int batchSize, Duration maxAge, Duration lease,
+                                  Clock clock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Friend recommendation refresh batch size must not be less than one");
+        }
+        this.friendRecommendationRepository = friendRecommendationRepository;
+        this.userRepository = userRepository;
+        this.friendshipRepository = friendshipRepository;
+        this.eventParticipationRepository = eventParticipationRepository;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAge = maxAge;
+        this.lease = lease;
+        this.clock = clock;
+        Gauge.builder("friend.recommendations.stale", staleCount, AtomicLong::get)
+                .description("Friend recommendations waiting to be recomputed")
+                .register(meterRegistry);
+        Gauge.builder("friend.recommendations.stale.oldest.age", this, FriendRecommendationRefresher::oldestStaleAgeSeconds)
+                .description("Seconds since the longest waiting friend recommendations went stale")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${friend-recommendation.refresh.interval-ms:5000}")
+    public void refresh() {
+        int refreshed = 0;
+        Optional<FriendRecommendation> claimed;
+        while (refreshed < batchSize && !Thread.currentThread().isInterrupted()
+                && (claimed = claimNext()).isPresent()) {
+            refresh(claimed.get());
+            refreshed++;
+        }
+
+        staleCount.set(friendRecommendationRepository.countByStaleSinceIsNotNull());
+        oldestStaleSince.set(friendRecommendationRepository.findFirstByStaleSinceIsNotNullOrderByStaleSinceAsc()
+                .map(FriendRecommendation::getStaleSince)
+                .orElse(null));
+        if (refreshed > 0) {
+            log.info("FriendRecommendationRefresher::refresh: refreshed the recommendations of {} users, {} still stale",
+                    refreshed, staleCount.get());
+        }
+    }
+
+    private Optional<FriendRecommendation> claimNext() {
+        Instant now = clock.instant();
+        return friendRecommendationRepository.claimNext(now, now.minus(maxAge), lease);
+    }
+
+    private void refresh(FriendRecommendation claimed) {
+        Optional<User> user = userRepository.findById(claimed.getUserId());
+        if (user.isEmpty()) {
+            friendRecommendationRepository.deleteById(claimed.getUserId());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            friendRecommendationRepository.complete(claimed, recommend(user.get()), clock.instant());
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.warn("FriendRecommendationRefresher::refresh: recommendations of user {} could not be computed and "
+                    + "will be retried", claimed.getUserId(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("friend.recommendations.refresh", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Ranks the users with the same postal code, gender and at least one sport in common, by mutual friends, then
+     * events in common, then matching skill levels.
+     *
+     * @return the ids of the recommended users, best match first
+     */
+    List<String> recommend(User user) {
+        Profile profile = Optional.ofNullable(user.getProfile()).orElse(Profile.builder().build());
+        List<String> sports = profile.getSportsOfPreference().stream().map(SportLevel::getName).toList();
+        List<String> skillLevels = profile.getSportsOfPreference().stream().map(SportLevel::getRanking).toList();
+        List<String> eventIds = eventParticipationRepository.findJoinedEventIds(user.getId());
+        List<String> friendIds = friendshipRepository
+                .findByUserIdAndFriendRequestStatusOrderByIdAsc(user.getId(), FriendRequestStatusEnum.ACCEPTED)
+                .stream().map(Friendship::getFriendId)
+                .toList();
+
+        return userRepository.recommendFriends(user.getId(), profile.getPostalCode(), sports, profile.getGender(),
+                        friendIds, eventIds, skillLevels)
+                .stream().map(User::getId)
+                .toList();
+    }
+
+    private double oldestStaleAgeSeconds() {
+        Instant oldest = oldestStaleSince.get();
+        return oldest == null ? 0 : Duration.between(oldest, clock.instant()).toMillis() / 1000.0;
+    }
+}
@@ -1,54 +1,98 @@
 package app.sportahub.userservice.service.recommendation;
 
 import app.sportahub.userservice.dto.response.user.UserResponse;
+import app.sportahub.userservice.exception.user.UserDoesNotExistException;
 import app.sportahub.userservice.mapper.user.UserMapper;
-import app.sportahub.userservice.model.user.Friend;
-import app.sportahub.userservice.model.user.SportLevel;
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
 import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.repository.recommendation.FriendRecommendationRepository;
 import app.sportahub.userservice.repository.user.UserRepository;
-import app.sportahub.userservice.service.kafka.producer.OrchestrationServiceProducer;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Serves the friend recommendations precomputed by the {@link FriendRecommendationRefresher}, and marks them stale
+ * when something they depend on changes.
+ */
 @Service
-@RequiredArgsConstructor
 public class FriendRecommendationService {
 
     private final UserMapper userMapper;
     private final UserRepository userRepository;
-    private final OrchestrationServiceProducer orchestrationServiceProducer;
-
-    public List<UserResponse> getFriendRecommendations(String userId) {
-        User currentUser = userRepository.findById(userId).orElseThrow();
+    private final FriendRecommendationRepository friendRecommendationRepository;
+    private final Clock clock;
+    private final Timer servedAge;
+    private final Counter misses;
 
-        List<String> sports = currentUser.getProfile().getSportsOfPreference()
-                .stream().map(SportLevel::getName)
-                .collect(Collectors.toList());
-
-        List<String> skillLevels = currentUser.getProfile().getSportsOfPreference()
-                .stream().map(SportLevel::getRanking)
-                .collect(Collectors.toList());
+    @Autowired
+    public FriendRecommendationService(UserMapper userMapper, UserRepository userRepository,
+                                       FriendRecommendationRepository friendRecommendationRepository,
+                                       MeterRegistry meterRegistry) {
+        this(userMapper, userRepository, friendRecommendationRepository, meterRegistry, Clock.systemUTC());
+    }
 
-        List<String> eventIds = orchestrationServiceProducer.getEventsJoinedByUser(userId);
+    FriendRecommendationService(UserMapper userMapper, UserRepository userRepository,
+                                FriendRecommendationRepository friendRecommendationRepository,
+                                MeterRegistry meterRegistry, Clock clock) {
+        this.userMapper = userMapper;
+        this.userRepository = userRepository;
+        this.friendRecommendationRepository = friendRecommendationRepository;
+        this.clock = clock;
+        this.servedAge = Timer.builder("friend.recommendations.served.age")
+                .description("Time since the friend recommendations served were computed")
+                .register(meterRegistry);
+        this.misses = Counter.builder("friend.recommendations.misses")
+                .description("Requests for friend recommendations that were not computed yet")
+                .register(meterRegistry);
+    }
 
-        List<String> friendIds = currentUser.getFriendList()
-                .stream().map(Friend::getUserId)
-                .collect(Collectors.toList());
+    /**
+     * Returns the recommended friends of a user, best match first. Recommendations that were never computed are
+     * queued for computation and an empty list is returned in the meantime.
+     *
+     * @param userId the id of the user
+     * @return the recommended users
+     * @throws UserDoesNotExistException if the user does not exist
+     */
+    public List<UserResponse> getFriendRecommendations(String userId) {
+        Optional<FriendRecommendation> recommendation = friendRecommendationRepository.findById(userId)
+                .filter(found -> found.getComputedAt() != null);
+        if (recommendation.isEmpty()) {
+            if (!userRepository.existsById(userId)) {
+                throw new UserDoesNotExistException(userId);
+            }
+            misses.increment();
+            markStale(userId);
+            return List.of();
+        }
 
-        List <User> users = userRepository.recommendFriends(
-                userId,
-                currentUser.getProfile().getPostalCode(),
-                sports,
-                currentUser.getProfile().getGender(),
-                friendIds,
-                eventIds,
-                skillLevels
-        );
+        servedAge.record(Duration.between(recommendation.get().getComputedAt(), clock.instant()));
+        List<String> recommendedUserIds = recommendation.get().getRecommendedUserIds();
+        Map<String, User> recommendedUsers = userRepository.findAllById(recommendedUserIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-        return users.stream()
+        return recommendedUserIds.stream()
+                .map(recommendedUsers::get)
+                .filter(Objects::nonNull)
                 .map(userMapper::userToUserResponse)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * Marks the recommendations of users as stale, so that they are recomputed on the next refresh.
+     *
+     * @param userIds the ids of the users whose recommendations are affected by a change
+     */
+    public void markStale(String... userIds) {
+        friendRecommendationRepository.markStale(Arrays.asList(userIds), clock.instant());
     }
-}
\ No newline at end of file
+}
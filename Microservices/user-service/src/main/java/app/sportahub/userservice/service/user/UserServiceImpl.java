@@ -32,29 +32,30 @@ import app.sportahub.userservice.exception.user.friendRequest.FriendRequestDoesN
 import app.sportahub.userservice.exception.user.friendRequest.GivenFriendUserIdDoesNotMatchFriendRequestFoundByIdException;
 import app.sportahub.userservice.exception.user.friendRequest.UserAlreadyInFriendRequestListException;
 import app.sportahub.userservice.exception.user.keycloak.KeycloakCommunicationException;
-import app.sportahub.userservice.mapper.user.FriendMapper;
 import app.sportahub.userservice.mapper.user.ProfileMapper;
 import app.sportahub.userservice.mapper.user.PublicProfileMapper;
 import app.sportahub.userservice.mapper.user.UserMapper;
 import app.sportahub.userservice.model.user.*;
-import app.sportahub.userservice.repository.BadgeRepository;
-import app.sportahub.userservice.repository.FriendRepository;
-import app.sportahub.userservice.repository.FriendRequestRepository;
+import app.sportahub.userservice.repository.friendship.FriendshipRepository;
 import app.sportahub.userservice.repository.user.UserRepository;
 import app.sportahub.userservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import app.sportahub.userservice.service.user.badge.BadgeCatalog;
+import app.sportahub.userservice.service.user.summary.UserSummaryCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 
@@ -64,15 +65,15 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final BadgeRepository badgeRepository;
+    private final BadgeCatalog badgeCatalog;
     private final KeycloakApiClient keycloakApiClient;
     private final UserMapper userMapper;
     private final ProfileMapper profileMapper;
-    private final FriendMapper friendMapper;
-    private final FriendRepository friendRepository;
-    private final FriendRequestRepository friendRequestRepository;
+    private final FriendshipRepository friendshipRepository;
     private final PublicProfileMapper publicProfileMapper;
     private final OrchestrationServiceProducer orchestrationServiceProducer;
+    private final UserSummaryCache userSummaryCache;
+    private final FriendRecommendationService friendRecommendationService;
 
     @Override
     public UserResponse createUser(UserRequest userRequest) {
@@ -117,6 +118,8 @@ public class UserServiceImpl implements UserService {
         user.setProfile(profileMapper.profileRequestToProfile(profileRequest));
 
         User savedUser = userRepository.save(user);
+        userSummaryCache.evict(savedUser.getId());
+        friendRecommendationService.markStale(savedUser.getId());
         Profile updatedProfile = savedUser.getProfile();
         keycloakApiClient.updateUser(savedUser.getKeycloakId(),
                 new KeycloakRequest(updatedProfile.getFirstName(), updatedProfile.getLastName())).block();
@@ -134,6 +137,8 @@ public class UserServiceImpl implements UserService {
 
         user.setProfile(profile);
         User savedUser = userRepository.save(user);
+        userSummaryCache.evict(savedUser.getId());
+        friendRecommendationService.markStale(savedUser.getId());
 
         if (profileRequest.firstName() != null || profileRequest.lastName() != null) {
             keycloakApiClient.updateUser(
@@ -186,13 +191,16 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserDoesNotExistException(userId));
         Profile profile = Optional.ofNullable(user.getProfile()).orElse(Profile.builder().build());
 
-        return profile.getBadges().stream()
+        Map<String, Integer> badgeCounts = profile.getBadges().stream()
                 .collect(Collectors.groupingBy(
                         UserBadge::getBadgeId,
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)))
-                .entrySet().stream()
+                        LinkedHashMap::new,
+                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)));
+        Map<String, Badge> badges = badgeCatalog.findAllById(badgeCounts.keySet());
+
+        return badgeCounts.entrySet().stream()
                 .map(entry -> {
-                    Badge badge = badgeRepository.findById(entry.getKey()).orElseThrow(() ->
+                    Badge badge = Optional.ofNullable(badges.get(entry.getKey())).orElseThrow(() ->
                             new BadgeNotFoundException(entry.getKey()));
                     return new BadgeWithCountResponse(
                             new BadgeResponse(badge.getName(), badge.getDescription(), badge.getIconUrl()),
@@ -217,6 +225,7 @@ public class UserServiceImpl implements UserService {
         keycloakApiClient.deleteUser(user.getKeycloakId())
                 .block();
         userRepository.deleteById(userId);
+        userSummaryCache.evict(userId);
         log.info("deleteUser: User with id: {} was successfully deleted", userId);
     }
 
@@ -227,46 +236,53 @@ public class UserServiceImpl implements UserService {
         User userReceiver = userRepository.findUserById(friendRequestRequest.receiverUserId())
                 .orElseThrow(() -> new UserDoesNotExistException(friendRequestRequest.receiverUserId()));
 
-        if (userSender.equals(userReceiver)) {
+        if (userSender.getId().equals(userReceiver.getId())) {
             throw new UserSentFriendRequestToSelfException();
         }
 
-        for (FriendRequest friendRequest : userSender.getFriendRequestList()) {
-            if (friendRequest.getUserId().equals(userReceiver.getId()))
-                throw new UserAlreadyInFriendRequestListException(userReceiver.getUsername(),
-                        friendRequest.getFriendRequestStatus());
-        }
+        friendshipRepository.findByUserIdAndFriendId(userSender.getId(), userReceiver.getId())
+                .ifPresent(friendship -> {
+                    throw alreadyRelated(userReceiver.getUsername(), friendship.getFriendRequestStatus());
+                });
 
-        for (Friend friend : userSender.getFriendList()) {
-            if (friend.getUserId().equals(userReceiver.getId()))
-                throw new UserAlreadyInFriendListException(userReceiver.getUsername(), friend.getFriendRequestStatus());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Friendship savedSenderFriendRequest;
+        try {
+            savedSenderFriendRequest = friendshipRepository.insert(Friendship.builder()
+                    .withCreatedAt(now)
+                    .withUpdatedAt(now)
+                    .withUserId(userSender.getId())
+                    .withFriendId(userReceiver.getId())
+                    .withFriendRequestStatus(FriendRequestStatusEnum.SENT)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            // Another request between the same two users was created concurrently
+            throw alreadyRelated(userReceiver.getUsername(), friendshipRepository
+                    .findByUserIdAndFriendId(userSender.getId(), userReceiver.getId())
+                    .map(Friendship::getFriendRequestStatus)
+                    .orElse(FriendRequestStatusEnum.SENT));
+        }
+        log.info("UserServiceImpl::sendFriendRequest: User with id: {} sent a new friend request", userSender.getId());
+
+        try {
+            friendshipRepository.insert(Friendship.builder()
+                    .withCreatedAt(now)
+                    .withUpdatedAt(now)
+                    .withUserId(userReceiver.getId())
+                    .withFriendId(userSender.getId())
+                    .withFriendRequestStatus(FriendRequestStatusEnum.RECEIVED)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            // The receiver already has an edge towards the sender, so undo the sender's side and report it as seen
+            // by the sender
+            friendshipRepository.deleteById(savedSenderFriendRequest.getId());
+            throw alreadyRelated(userReceiver.getUsername(), friendshipRepository
+                    .findByUserIdAndFriendId(userReceiver.getId(), userSender.getId())
+                    .map(friendship -> mirrorStatus(friendship.getFriendRequestStatus()))
+                    .orElse(FriendRequestStatusEnum.RECEIVED));
         }
-
-        FriendRequest newSenderFriendRequest = FriendRequest.builder()
-                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUserId(userReceiver.getId())
-                .withFriendRequestStatus(FriendRequestStatusEnum.SENT)
-                .build();
-        FriendRequest savedSenderFriendRequest = friendRequestRepository.save(newSenderFriendRequest);
-
-        FriendRequest newReceiverFriendRequest = FriendRequest.builder()
-                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUserId(userSender.getId())
-                .withFriendRequestStatus(FriendRequestStatusEnum.RECEIVED)
-                .build();
-        friendRequestRepository.save(newReceiverFriendRequest);
-
-        userSender.getFriendRequestList().add(newSenderFriendRequest);
-        userReceiver.getFriendRequestList().add(newReceiverFriendRequest);
-
-        User savedSenderUser = userRepository.save(userSender);
-        log.info("UserServiceImpl::sendFriendRequest: User with id: {} sent a new friend request", savedSenderUser.getId());
-
-        User savedReceiverUser = userRepository.save(userReceiver);
         log.info("UserServiceImpl::sendFriendRequest: User with id: {} received a new friend request",
-                savedReceiverUser.getId());
+                userReceiver.getId());
 
         NotificationEvent friendRequestNotification = new NotificationEvent(
                 new BaseEvent(UUID.randomUUID().toString(), "request", "user-service", Instant.now(), UUID.randomUUID().toString()),
@@ -291,123 +307,85 @@ public class UserServiceImpl implements UserService {
                 userReceiver.getProfile().getProfilePicture());
     }
 
+    /**
+     * Accepts or declines a friend request received by a user. Both edges of the request are changed with
+     * conditional single-document writes instead of rewriting the two users: the user's own edge is changed first
+     * and only if it is still pending, which guards against concurrent updates of the same request, and it is
+     * restored if the sender's edge turns out to have changed in the meantime.
+     *
+     * @param userId                     the id of the user who received the friend request
+     * @param requestId                  the id of the friend request, as exposed to that user
+     * @param updateFriendRequestRequest the id of the user who sent the request and the action to perform
+     * @return an {@link UpdateFriendRequestResponse} describing the outcome
+     */
     @Override
     public UpdateFriendRequestResponse updateFriendRequest(String userId, String requestId,
                                                            UpdateFriendRequestRequest updateFriendRequestRequest) {
-
-        // Find the user that is trying to update their received friend request
-        User user = userRepository.findUserById(userId).orElseThrow(() -> new UserDoesNotExistException(userId))
-                .toBuilder()
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
-
-        // Find the user who originally sent the request
-        User friendUser = userRepository.findUserById(updateFriendRequestRequest.friendRequestUserId())
-                .orElseThrow(() -> new UserDoesNotExistException(updateFriendRequestRequest.friendRequestUserId()))
-                .toBuilder()
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
+        String friendUserId = updateFriendRequestRequest.friendRequestUserId();
+        if (!userRepository.existsById(userId)) {
+            throw new UserDoesNotExistException(userId);
+        }
+        if (!userRepository.existsById(friendUserId)) {
+            throw new UserDoesNotExistException(friendUserId);
+        }
 
         // find the friend request, based on the given friend request id
-        FriendRequest friendRequest = friendRequestRepository.findFriendRequestById(requestId).orElseThrow(() ->
-                        new FriendRequestDoesNotExistException(requestId))
-                .toBuilder()
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
+        Friendship friendRequest = friendshipRepository.findById(requestId).orElseThrow(() ->
+                new FriendRequestDoesNotExistException(requestId));
 
         // Check to make sure the info sent with the request and the info found matches up
-        if (!friendRequest.getUserId().equals(friendUser.getId())) {
-            throw new GivenFriendUserIdDoesNotMatchFriendRequestFoundByIdException(friendUser.getId(), requestId);
+        if (!friendRequest.getFriendId().equals(friendUserId)) {
+            throw new GivenFriendUserIdDoesNotMatchFriendRequestFoundByIdException(friendUserId, requestId);
+        }
+        if (!friendRequest.getUserId().equals(userId)
+                || friendRequest.getFriendRequestStatus().equals(FriendRequestStatusEnum.ACCEPTED)) {
+            throw new FriendNotFoundInFriendRequestListException(userId, friendUserId);
         }
 
-        // The action the user wants to perform on the friend request in question
-        // ACCEPT: accept the friend request, add as a friend in both friend lists, remove from both friendRequest lists
-        // DECLINE: Delete the friend request, removing it from both friendRequest lists
+        // ACCEPT: mark both edges as ACCEPTED, which moves them from the friend requests to the friends
+        // DECLINE: delete both edges
         UpdateFriendRequestActionEnum action = updateFriendRequestRequest.action();
+        if (action.equals(UpdateFriendRequestActionEnum.ACCEPT)
+                && !friendRequest.getFriendRequestStatus().equals(FriendRequestStatusEnum.RECEIVED)) {
+            throw new TryingToAcceptInvalidFriendRequestException(userId, friendUserId,
+                    friendRequest.getFriendRequestStatus());
+        }
 
-        // Booleans flags to see if the friend request was found in both users' friend request lists
-        // If not found in either list, an error is thrown and no modifications are saved
-        AtomicBoolean isFriendFound1 = new AtomicBoolean(false);
-        AtomicBoolean isFriendFound2 = new AtomicBoolean(false);
-
-        List<FriendRequest> userFriendRequestList = user.getFriendRequestList();
-        List<Friend> userFriendList = user.getFriendList();
-
-        List<FriendRequest> friendUserFriendRequestList = friendUser.getFriendRequestList();
-        List<Friend> friendUserFriendList = friendUser.getFriendList();
-
-        // Iterate through the user's friendRequest list to find the relevant friendRequest based on given parameters
-        userFriendRequestList.stream().filter(e -> e.getUserId().equals(friendRequest.getUserId()))
-                .findAny().ifPresent(e -> {
-                    // Make sure the user isn't trying to accept a friend request that's not marked as RECEIVED
-                    if (!e.getFriendRequestStatus().equals(FriendRequestStatusEnum.RECEIVED) &&
-                            action.equals(UpdateFriendRequestActionEnum.ACCEPT)) {
-                        throw new TryingToAcceptInvalidFriendRequestException(user.getId(),
-                                friendUser.getId(), e.getFriendRequestStatus());
-                    }
-                    isFriendFound1.set(true);
-
-                    // If the action is ACCEPT, then we change the status of the friend request and move it to the friend list
-                    // If the action is DECLINE, we simply remove the friend request from the friend list
-                    if (action.equals(UpdateFriendRequestActionEnum.ACCEPT)) {
-                        userFriendRequestList.remove(e);
-                        e.setFriendRequestStatus(FriendRequestStatusEnum.ACCEPTED);
-                        Friend friend1 = friendMapper.friendRequestToFriend(e);
-                        userFriendList.add(friend1);
-                        friendRepository.save(friend1);
-                        friendRequestRepository.deleteById(e.getId());
-                    } else if (action.equals(UpdateFriendRequestActionEnum.DECLINE)) {
-                        userFriendRequestList.remove(e);
-                        friendRequestRepository.deleteById(e.getId());
-                    }
-
-                    // If the operation was successful for the user, we repeat the process for the user who original sent the friend request
-                    friendUserFriendRequestList.stream().filter(el -> el.getUserId().equals(user.getId())).findAny().ifPresent(el -> {
-                        isFriendFound2.set(true);
-                        if (action.equals(UpdateFriendRequestActionEnum.ACCEPT)) {
-                            friendUserFriendRequestList.remove(el);
-                            el.setFriendRequestStatus(FriendRequestStatusEnum.ACCEPTED);
-                            Friend friend2 = friendMapper.friendRequestToFriend(el);
-                            friendUserFriendList.add(friend2);
-                            friendRepository.save(friend2);
-                            friendRequestRepository.deleteById(el.getId());
-                        } else if (action.equals(UpdateFriendRequestActionEnum.DECLINE)) {
-                            friendUserFriendRequestList.remove(el);
-                            friendRequestRepository.deleteById(el.getId());
-                        }
-                    });
-                });
-
-        // These errors make sure we don't save any changes if the transaction was invalid
-        if (!isFriendFound1.get())
-            throw new FriendNotFoundInFriendRequestListException(user.getId(), friendUser.getId());
-        if (!isFriendFound2.get())
-            throw new FriendNotFoundInFriendRequestListException(friendUser.getId(), user.getId());
-
-        // Then we save the modifications to the database
-        user.setFriendList(userFriendList);
-        user.setFriendRequestList(userFriendRequestList);
-        userRepository.save(user);
-
-        friendUser.setFriendList(friendUserFriendList);
-        friendUser.setFriendRequestList(friendUserFriendRequestList);
-        userRepository.save(friendUser);
+        FriendRequestStatusEnum friendStatus = friendshipRepository.findByUserIdAndFriendId(friendUserId, userId)
+                .map(Friendship::getFriendRequestStatus)
+                .filter(status -> status.equals(mirrorStatus(friendRequest.getFriendRequestStatus())))
+                .orElseThrow(() -> new FriendNotFoundInFriendRequestListException(friendUserId, userId));
 
         String responseMessage;
 
         if (action.equals(UpdateFriendRequestActionEnum.ACCEPT)) {
+            if (!friendshipRepository.transition(userId, friendUserId, FriendRequestStatusEnum.RECEIVED,
+                    FriendRequestStatusEnum.ACCEPTED)) {
+                throw new FriendNotFoundInFriendRequestListException(userId, friendUserId);
+            }
+            if (!friendshipRepository.transition(friendUserId, userId, friendStatus,
+                    FriendRequestStatusEnum.ACCEPTED)) {
+                friendshipRepository.transition(userId, friendUserId, FriendRequestStatusEnum.ACCEPTED,
+                        FriendRequestStatusEnum.RECEIVED);
+                throw new FriendNotFoundInFriendRequestListException(friendUserId, userId);
+            }
+            friendRecommendationService.markStale(userId, friendUserId);
             log.info("UserServiceImpl::updateFriendRequest: User with id:{} accepted the friend request of user with id:{}",
-                    user.getId(), friendUser.getId());
+                    userId, friendUserId);
 
-            responseMessage = "User with id: " + user.getId()
-                    + " accepted the friend request of user with id: " + friendUser.getId() + " successfully";
+            responseMessage = "User with id: " + userId
+                    + " accepted the friend request of user with id: " + friendUserId + " successfully";
 
         } else if (action.equals(UpdateFriendRequestActionEnum.DECLINE)) {
+            if (!friendshipRepository.deletePending(userId, friendUserId)) {
+                throw new FriendNotFoundInFriendRequestListException(userId, friendUserId);
+            }
+            friendshipRepository.deletePending(friendUserId, userId);
             log.info("UserServiceImpl::updateFriendRequest: User with id:{} declined the friend request of user with id:{}",
-                    user.getId(), friendUser.getId());
+                    userId, friendUserId);
 
-            responseMessage = "User with id: " + user.getId()
-                    + " declined the friend request of user with id: " + friendUser.getId() + " successfully";
+            responseMessage = "User with id: " + userId
+                    + " declined the friend request of user with id: " + friendUserId + " successfully";
         } else {
             throw new UnexpectedUpdateFriendRequestActionException(action);
         }
@@ -427,21 +405,25 @@ public class UserServiceImpl implements UserService {
         if (typeList.contains(FriendRequestStatusEnum.ACCEPTED)) {
             throw new InvalidFriendRequestStatusTypeException(FriendRequestStatusEnum.ACCEPTED);
         }
+        if (!userRepository.existsById(userId)) {
+            throw new UserDoesNotExistException(userId);
+        }
 
-        User user = userRepository.findUserById(userId)
-                .orElseThrow(() -> new UserDoesNotExistException(userId));
-        List<FriendRequest> friendRequestList = user.getFriendRequestList();
+        List<Friendship> friendRequestList = friendshipRepository
+                .findByUserIdAndFriendRequestStatusInOrderByIdAsc(userId, typeList);
+        Map<String, UserSummary> friendRequestUsers = userSummaryCache.findAllById(
+                friendRequestList.stream().map(Friendship::getFriendId).toList());
 
         return friendRequestList.stream()
-                .filter(s -> typeList.contains(s.getFriendRequestStatus()))
+                .filter(friendRequest -> friendRequestUsers.containsKey(friendRequest.getFriendId()))
                 .map(friendRequest -> {
-                    Optional<User> friendRequestUser = userRepository.findUserById(friendRequest.getUserId());
-                    return friendRequestUser.map(value -> new ViewFriendRequestsResponse(
-                            value.getUsername(), friendRequest.getUserId(),
+                    UserSummary friendRequestUser = friendRequestUsers.get(friendRequest.getFriendId());
+                    return new ViewFriendRequestsResponse(
+                            friendRequestUser.getUsername(), friendRequest.getFriendId(),
                             friendRequest.getFriendRequestStatus(), friendRequest.getId(),
                             friendRequest.getCreatedAt().toLocalDateTime(),
-                            user.getProfile().getProfilePicture())).orElse(null);
-                }).filter(Objects::nonNull).toList();
+                            friendRequestUser.getProfilePicture());
+                }).toList();
     }
 
     /**
@@ -452,57 +434,58 @@ public class UserServiceImpl implements UserService {
      * @throws UserDoesNotExistException if the given user id doesn't correspond to a user in the database
      */
     @Override
-    @Transactional
     public List<ViewFriendResponse> getFriends(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserDoesNotExistException(userId);
+        }
 
-        User user = userRepository.findUserById(userId)
-                .orElseThrow(() -> new UserDoesNotExistException(userId));
-        List<Friend> friendList = user.getFriendList();
+        List<Friendship> friendList = friendshipRepository
+                .findByUserIdAndFriendRequestStatusOrderByIdAsc(userId, FriendRequestStatusEnum.ACCEPTED);
+        Map<String, UserSummary> friendUsers = userSummaryCache.findAllById(
+                friendList.stream().map(Friendship::getFriendId).toList());
 
         return friendList.stream()
-                .map(friend -> {
-                    Optional<User> friendUser = userRepository.findUserById(friend.getUserId());
-                    return friendUser.map(value -> new ViewFriendResponse(value.getUsername(), friend.getUserId(),
-                            friend.getId())).orElse(null);
-                }).filter(Objects::nonNull).toList();
+                .filter(friend -> friendUsers.containsKey(friend.getFriendId()))
+                .map(friend -> new ViewFriendResponse(friendUsers.get(friend.getFriendId()).getUsername(),
+                        friend.getFriendId(), friend.getId()))
+                .toList();
     }
 
-    @Transactional
     @Override
     public void deleteFriend(String userId, String friendId) {
-
-        User requester = userRepository.findUserById(userId)
-                .orElseThrow(() -> new UserDoesNotExistException(userId));
-        List<Friend> requesterFriendList = requester.getFriendList();
-
-        Friend requesterFriend = requesterFriendList.stream().filter(f -> f.getId().equals(friendId))
-                .findFirst().orElseThrow(() -> new FriendNotFoundInFriendListException(userId, friendId));
-
-        Friend friendFriend = null;
-        List<Friend> friendFriendList = null;
-
-        Optional<User> friend = userRepository.findUserById(requesterFriend.getUserId());
-        if (friend.isPresent()) {
-            friendFriendList = friend.get().getFriendList();
-            friendFriend = friendFriendList.stream().filter(friendF -> friendF.getUserId().equals(requester.getId()))
-                    .findFirst().orElse(null);
+        if (!userRepository.existsById(userId)) {
+            throw new UserDoesNotExistException(userId);
         }
 
-        requesterFriendList.remove(requesterFriend);
-        friendRepository.deleteById(requesterFriend.getId());
-        requester.setFriendList(requesterFriendList);
-        userRepository.save(requester);
+        Friendship requesterFriend = friendshipRepository.findById(friendId)
+                .filter(friendship -> friendship.getUserId().equals(userId)
+                        && friendship.getFriendRequestStatus().equals(FriendRequestStatusEnum.ACCEPTED))
+                .orElseThrow(() -> new FriendNotFoundInFriendListException(userId, friendId));
 
+        friendshipRepository.deleteById(requesterFriend.getId());
         log.info("deleteFriend: Friend with id: {} was successfully deleted", requesterFriend.getId());
 
-        if (friendFriend != null) {
-            friendFriendList.remove(friendFriend);
-            friendRepository.deleteById(friendFriend.getId());
-            friend.get().setFriendList(friendFriendList);
-            userRepository.save(friend.get());
-            log.info("deleteFriend: Friend with id: {} was successfully deleted", friendFriend.getId());
-        }
+        friendshipRepository.deleteByUserIdAndFriendId(requesterFriend.getFriendId(), userId);
+        friendRecommendationService.markStale(userId, requesterFriend.getFriendId());
+        log.info("deleteFriend: User with id: {} was removed from the friends of user with id: {}", userId,
+                requesterFriend.getFriendId());
+    }
+
+    private static ResponseStatusException alreadyRelated(String username, FriendRequestStatusEnum status) {
+        return status.equals(FriendRequestStatusEnum.ACCEPTED)
+                ? new UserAlreadyInFriendListException(username, status)
+                : new UserAlreadyInFriendRequestListException(username, status);
+    }
 
+    /**
+     * The status of the other edge of a friendship: a request SENT by one user is RECEIVED by the other.
+     */
+    private static FriendRequestStatusEnum mirrorStatus(FriendRequestStatusEnum status) {
+        return switch (status) {
+            case SENT -> FriendRequestStatusEnum.RECEIVED;
+            case RECEIVED -> FriendRequestStatusEnum.SENT;
+            case ACCEPTED -> FriendRequestStatusEnum.ACCEPTED;
+        };
     }
 
     @Override
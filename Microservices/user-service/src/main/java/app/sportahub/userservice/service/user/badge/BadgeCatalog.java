@@ -0,0 +1,66 @@
+package app.sportahub.userservice.service.user.badge;
+
+import app.sportahub.userservice.model.user.Badge;
+import app.sportahub.userservice.repository.BadgeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process cache of the badge catalog. Badges are few and rarely change, so each one is kept for {@code ttl}
+ * after it was read, and the badges that are missing or expired are loaded together in a single {@code $in} query.
+ * Nothing evicts a badge before then, so changes to the catalog are picked up once the cached copy expires. The
+ * cache is a Caffeine cache published as the {@code badge.catalog} cache.
+ */
+@Slf4j
+@Component
+public class BadgeCatalog {
+
+    private final BadgeRepository badgeRepository;
+    private final Cache<String, Badge> badges;
+
+    @Autowired
+    public BadgeCatalog(BadgeRepository badgeRepository, @Value("${badge.catalog.ttl:PT10M}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this(badgeRepository, ttl, meterRegistry, Ticker.systemTicker());
+    }
+
+    BadgeCatalog(BadgeRepository badgeRepository, Duration ttl, MeterRegistry meterRegistry, Ticker ticker) {
+        this.badgeRepository = badgeRepository;
+        this.badges = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, badges, "badge.catalog");
+    }
+
+    /**
+     * Looks up badges by id.
+     *
+     * @param badgeIds the ids of the badges to look up
+     * @return the badges found, keyed by id; ids of badges that do not exist are absent from the map
+     */
+    public Map<String, Badge> findAllById(Collection<String> badgeIds) {
+        return badges.getAll(badgeIds, this::load);
+    }
+
+    private Map<String, Badge> load(Set<? extends String> badgeIds) {
+        Map<String, Badge> loaded = new HashMap<>();
+        badgeRepository.findAllById(Set.copyOf(badgeIds)).forEach(badge -> loaded.put(badge.getId(), badge));
+        log.debug("BadgeCatalog::load: loaded {} of {} badges", loaded.size(), badgeIds.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,80 @@
+package app.sportahub.userservice.service.user.summary;
+
+import app.sportahub.userservice.model.user.UserSummary;
+import app.sportahub.userservice.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived in-process cache of {@link UserSummary user summaries}, shared by the read paths that show other
+ * users, such as friend lists and friend requests. Summaries that are missing or older than {@code ttl} are loaded
+ * together in a single {@code $in} query. Changes made on this instance evict the summary right away; changes made
+ * by other instances are picked up once it expires, so the ttl bounds how stale a username or picture can be.
+ * The cache is a Caffeine cache of at most {@code maxSize} summaries, published as the {@code user.summary} cache.
+ */
+@Slf4j
+@Component
+public class UserSummaryCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserSummary> summaries;
+
+    @Autowired
+    public UserSummaryCache(UserRepository userRepository,
+                            @Value("${user.summary-cache.ttl:PT30S}") Duration ttl,
+                            @Value("${user.summary-cache.max-size:10000}") int maxSize,
+                            MeterRegistry meterRegistry) {
+        this(userRepository, ttl, maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    UserSummaryCache(UserRepository userRepository, Duration ttl, int maxSize, MeterRegistry meterRegistry,
+                     Ticker ticker) {
+        this.userRepository = userRepository;
+        this.summaries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "user.summary");
+    }
+
+    /**
+     * Looks up the summaries of users by id.
+     *
+     * @param userIds the ids of the users to look up
+     * @return the summaries found, keyed by user id; ids of users that do not exist are absent from the map
+     */
+    public Map<String, UserSummary> findAllById(Collection<String> userIds) {
+        return summaries.getAll(userIds, this::load);
+    }
+
+    /**
+     * Drops the cached summary of a user, to be called whenever the username or profile picture of the user changes
+     * or the user is deleted.
+     */
+    public void evict(String userId) {
+        summaries.invalidate(userId);
+    }
+
+    private Map<String, UserSummary> load(Set<? extends String> userIds) {
+        Map<String, UserSummary> loaded = userRepository.findSummariesByIdIn(Set.copyOf(userIds)).stream()
+                .collect(Collectors.toMap(UserSummary::getId, Function.identity()));
+        log.debug("UserSummaryCache::load: loaded {} of {} user summaries", loaded.size(), userIds.size());
+        return loaded;
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
 import static org.mockito.Mockito.*;
 
@@ -44,7 +45,7 @@ class AuthControllerTest {
 
     @Test
     void registerUserShouldRunWithoutExceptions() {
-        when(authService.registerUser(registrationRequest)).thenReturn(mock(UserResponse.class));
+        when(authService.registerUser(registrationRequest)).thenReturn(Mono.just(mock(UserResponse.class)));
         authController.registerUser(registrationRequest);
         verify(authService).registerUser(registrationRequest);
     }
@@ -68,9 +68,9 @@ public class UserControllerTest {
     @BeforeEach
     public void setUp() {
         UserRequest userRequest = new UserRequest("keycloakId", "user@example.com", "username",
-                "password", null, null, null, null);
+                "password", null, null);
         UserResponse userResponse = new UserResponse("1", "keycloakId", "user@example.com",
-                "username", null, null, null, null);
+                "username", null, null);
         when(userService.createUser(any())).thenReturn(userResponse);
         when(userService.getUserById("1")).thenReturn(userResponse);
         doThrow(new UserDoesNotExistException("User does not exist")).when(userService).getUserById("999");
@@ -80,7 +80,7 @@ public class UserControllerTest {
     @Test
     public void shouldCreateUserSuccessfully() {
         UserRequest userRequest = new UserRequest("keycloakId", "user@example.com", "username",
-                "password", null, null, null, null);
+                "password", null, null);
 
         mockMvc.perform(post("/user")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -150,7 +150,7 @@ public class UserControllerTest {
     @Test
     public void assignBadgeSuccessfully() {
         UserResponse userResponse = new UserResponse("1", "keycloakId", "user@example.com",
-                "username", null, null, null, null);
+                "username", null, null);
         when(userService.assignBadge("1", "badgeId", "giverId")).thenReturn(userResponse);
 
         mockMvc.perform(post("/user/1/badge")
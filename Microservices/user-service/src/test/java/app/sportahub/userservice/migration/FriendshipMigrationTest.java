@@ -0,0 +1,43 @@
+package app.sportahub.userservice.migration;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FriendshipMigrationTest {
+
+    @Test
+    void edgesShouldKeepEntryIdsAndPutFriendsBeforeFriendRequests() {
+        ObjectId friendId = new ObjectId();
+        ObjectId requestId = new ObjectId();
+        Date createdAt = new Date(0);
+        Document friend = new Document("_id", friendId).append("userId", "friend1")
+                .append("friendRequestStatus", "ACCEPTED").append("createdAt", createdAt).append("updatedAt", createdAt);
+        Document request = new Document("_id", requestId).append("userId", "friend2")
+                .append("friendRequestStatus", "RECEIVED").append("createdAt", createdAt).append("updatedAt", createdAt);
+
+        List<Document> edges = FriendshipMigration.edges("user1", List.of(friend), List.of(request));
+
+        assertEquals(List.of(
+                new Document("_id", friendId).append("userId", "user1").append("friendId", "friend1")
+                        .append("friendRequestStatus", "ACCEPTED").append("createdAt", createdAt)
+                        .append("updatedAt", createdAt),
+                new Document("_id", requestId).append("userId", "user1").append("friendId", "friend2")
+                        .append("friendRequestStatus", "RECEIVED").append("createdAt", createdAt)
+                        .append("updatedAt", createdAt)), edges);
+    }
+
+    @Test
+    void edgesShouldMarkEveryFriendAsAccepted() {
+        Document friend = new Document("_id", new ObjectId()).append("userId", "friend1");
+
+        List<Document> edges = FriendshipMigration.edges("user1", List.of(friend), List.of());
+
+        assertEquals("ACCEPTED", edges.getFirst().getString("friendRequestStatus"));
+    }
+}
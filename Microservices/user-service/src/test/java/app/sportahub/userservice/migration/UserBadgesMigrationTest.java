@@ -0,0 +1,31 @@
+package app.sportahub.userservice.migration;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBadgesMigrationTest {
+
+    @Test
+    void embedShouldInlineReferencedAssignmentsAndKeepEmbeddedOnes() {
+        ObjectId referenced = new ObjectId();
+        ObjectId dangling = new ObjectId();
+        Document embedded = new Document("badgeId", "badge2").append("giverId", "giver2");
+
+        List<Document> badges = UserBadgesMigration.embed(
+                List.of(new DBRef(UserBadgesMigration.USER_BADGE_COLLECTION, referenced),
+                        new DBRef(UserBadgesMigration.USER_BADGE_COLLECTION, dangling),
+                        embedded),
+                Map.of(referenced, new Document("_id", referenced).append("badgeId", "badge1").append("giverId", "giver1")));
+
+        assertEquals(List.of(
+                new Document("badgeId", "badge1").append("giverId", "giver1"),
+                new Document("badgeId", "badge2").append("giverId", "giver2")), badges);
+    }
+}
@@ -75,10 +75,10 @@ public class AuthServiceTest {
         when(keycloakApiClient.updateUser(anyString(), any())).thenReturn(Mono.empty());
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
         when(userMapper.userToUserResponse(any(User.class))).thenReturn(new UserResponse("1", "keycloakId",
-                "email@example.com", "username", null, null, null, null));
+                "email@example.com", "username", null, null));
         when(keycloakApiClient.sendVerificationEmail(anyString())).thenReturn(Mono.empty());
 
-        UserResponse result = authService.registerUser(request);
+        UserResponse result = authService.registerUser(request).block();
         assertEquals("email@example.com", result.email());
     }
 
@@ -90,7 +90,7 @@ public class AuthServiceTest {
                 .thenReturn(Optional.of(new User()));
 
         assertThrows(UserEmailAlreadyExistsException.class, () -> {
-            authService.registerUser(request);
+            authService.registerUser(request).block();
         });
     }
 
@@ -101,7 +101,7 @@ public class AuthServiceTest {
         when(userRepository.findUserByUsername("username")).thenReturn(Optional.of(new User()));
 
         assertThrows(UsernameAlreadyExistsException.class, () -> {
-            authService.registerUser(request);
+            authService.registerUser(request).block();
         });
     }
 
@@ -115,7 +115,7 @@ public class AuthServiceTest {
         when(keycloakApiClient.createUserAndReturnCreatedId(any())).thenReturn(Mono.just(responseNode));
 
         assertThrows(ResponseStatusException.class, () -> {
-            authService.registerUser(request);
+            authService.registerUser(request).block();
         });
     }
 
@@ -128,10 +128,47 @@ public class AuthServiceTest {
                 .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Keycloak error")));
 
         assertThrows(ResponseStatusException.class, () -> {
-            authService.registerUser(request);
+            authService.registerUser(request).block();
         });
     }
 
+    @Test
+    void registerUserShouldRemoveTheUserWhenLinkingItInKeycloakFails() {
+        RegistrationRequest request = new RegistrationRequest("email@example.com", "username", "password");
+        JsonNode responseNode = objectMapper.createObjectNode().put("keycloakId", "keycloakId");
+        User savedUser = User.builder()
+                .withId("1")
+                .withKeycloakId("keycloakId")
+                .withEmail("email@example.com")
+                .withUsername("username")
+                .build();
+
+        when(userRepository.findUserByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findUserByUsername(anyString())).thenReturn(Optional.empty());
+        when(keycloakApiClient.createUserAndReturnCreatedId(any())).thenReturn(Mono.just(responseNode));
+        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(keycloakApiClient.updateUser(anyString(), any()))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Keycloak error")));
+        when(keycloakApiClient.deleteUser("keycloakId")).thenReturn(Mono.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> authService.registerUser(request).block());
+
+        assertEquals(HttpStatus.BAD_GATEWAY, exception.getStatusCode());
+        verify(userRepository).delete(savedUser);
+        verify(keycloakApiClient).deleteUser("keycloakId");
+        verify(keycloakApiClient, never()).sendVerificationEmail(anyString());
+    }
+
+    @Test
+    void registerUserShouldNotCallKeycloakUntilSubscribed() {
+        RegistrationRequest request = new RegistrationRequest("email@example.com", "username", "password");
+
+        authService.registerUser(request);
+
+        verifyNoInteractions(userRepository, keycloakApiClient);
+    }
+
     @Test
     void loginUserSuccessful() {
         LoginRequest request = new LoginRequest("email@example.com", "password");
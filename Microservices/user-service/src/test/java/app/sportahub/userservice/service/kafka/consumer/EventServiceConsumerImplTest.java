@@ -0,0 +1,54 @@
+package app.sportahub.userservice.service.kafka.consumer;
+
+import app.sportahub.kafka.events.BaseEvent;
+import app.sportahub.kafka.events.participation.ParticipationChangedEvent;
+import app.sportahub.userservice.repository.participation.EventParticipationRepository;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventServiceConsumerImplTest {
+
+    private static final Instant CHANGED_AT = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private EventParticipationRepository eventParticipationRepository;
+
+    @Mock
+    private FriendRecommendationService friendRecommendationService;
+
+    @InjectMocks
+    private EventServiceConsumerImpl eventServiceConsumer;
+
+    @Test
+    void handleParticipationChangedShouldRecordTheChangeAndMarkRecommendationsStale() {
+        when(eventParticipationRepository.apply("user1", "event1", true, CHANGED_AT)).thenReturn(true);
+
+        eventServiceConsumer.handleParticipationChanged(change("user1", "event1", true));
+
+        verify(eventParticipationRepository).apply("user1", "event1", true, CHANGED_AT);
+        verify(friendRecommendationService).markStale("user1");
+    }
+
+    @Test
+    void handleParticipationChangedShouldIgnoreOutdatedChanges() {
+        when(eventParticipationRepository.apply("user1", "event1", false, CHANGED_AT)).thenReturn(false);
+
+        eventServiceConsumer.handleParticipationChanged(change("user1", "event1", false));
+
+        verifyNoInteractions(friendRecommendationService);
+    }
+
+    private static ParticipationChangedEvent change(String userId, String eventId, boolean joined) {
+        return new ParticipationChangedEvent(new BaseEvent("message1", "request", "event-service", CHANGED_AT,
+                "message1"), eventId, userId, joined);
+    }
+}
@@ -0,0 +1,145 @@
+package app.sportahub.userservice.service.recommendation;
+
+import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import app.sportahub.userservice.model.user.Friendship;
+import app.sportahub.userservice.model.user.Profile;
+import app.sportahub.userservice.model.user.SportLevel;
+import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.repository.friendship.FriendshipRepository;
+import app.sportahub.userservice.repository.participation.EventParticipationRepository;
+import app.sportahub.userservice.repository.recommendation.FriendRecommendationRepository;
+import app.sportahub.userservice.repository.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendRecommendationRefresherTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration MAX_AGE = Duration.ofHours(6);
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Mock
+    private FriendRecommendationRepository friendRecommendationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendshipRepository friendshipRepository;
+
+    @Mock
+    private EventParticipationRepository eventParticipationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FriendRecommendationRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        refresher = new FriendRecommendationRefresher(friendRecommendationRepository, userRepository,
+                friendshipRepository, eventParticipationRepository, meterRegistry, 2, MAX_AGE, LEASE,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void refreshShouldRecomputeClaimedRecommendations() {
+        FriendRecommendation claimed = FriendRecommendation.builder().withUserId("user1").withStaleSince(NOW).build();
+        when(friendRecommendationRepository.claimNext(NOW, NOW.minus(MAX_AGE), LEASE))
+                .thenReturn(Optional.of(claimed), Optional.empty());
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user()));
+        when(eventParticipationRepository.findJoinedEventIds("user1")).thenReturn(List.of("event1"));
+        when(friendshipRepository.findByUserIdAndFriendRequestStatusOrderByIdAsc("user1",
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(List.of(Friendship.builder()
+                .withUserId("user1").withFriendId("friend1").withFriendRequestStatus(FriendRequestStatusEnum.ACCEPTED)
+                .build()));
+        when(userRepository.recommendFriends("user1", "H3Z 2Y7", List.of("Soccer"), "Female", List.of("friend1"),
+                List.of("event1"), List.of("Beginner")))
+                .thenReturn(List.of(User.builder().withId("user3").build(), User.builder().withId("user2").build()));
+
+        refresher.refresh();
+
+        verify(friendRecommendationRepository).complete(claimed, List.of("user3", "user2"), NOW);
+        assertEquals(1, meterRegistry.get("friend.recommendations.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void refreshShouldStopAtTheBatchSize() {
+        when(friendRecommendationRepository.claimNext(NOW, NOW.minus(MAX_AGE), LEASE))
+                .thenReturn(Optional.of(FriendRecommendation.builder().withUserId("deleted").build()));
+
+        refresher.refresh();
+
+        verify(friendRecommendationRepository, times(2)).claimNext(any(), any(), any());
+    }
+
+    @Test
+    void refreshShouldDropRecommendationsOfDeletedUsers() {
+        when(friendRecommendationRepository.claimNext(NOW, NOW.minus(MAX_AGE), LEASE))
+                .thenReturn(Optional.of(FriendRecommendation.builder().withUserId("deleted").build()), Optional.empty());
+
+        refresher.refresh();
+
+        verify(friendRecommendationRepository).deleteById("deleted");
+        verify(friendRecommendationRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void refreshShouldLeaveFailedRecommendationsClaimedAndCarryOn() {
+        FriendRecommendation failing = FriendRecommendation.builder().withUserId("user1").withStaleSince(NOW).build();
+        FriendRecommendation next = FriendRecommendation.builder().withUserId("user2").withStaleSince(NOW).build();
+        when(friendRecommendationRepository.claimNext(NOW, NOW.minus(MAX_AGE), LEASE))
+                .thenReturn(Optional.of(failing), Optional.of(next));
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user()));
+        when(userRepository.findById("user2")).thenReturn(Optional.of(User.builder().withId("user2").build()));
+        when(userRepository.recommendFriends(any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("aggregation failed"))
+                .thenReturn(List.of());
+
+        refresher.refresh();
+
+        verify(friendRecommendationRepository, never()).complete(eq(failing), any(), any());
+        verify(friendRecommendationRepository).complete(next, List.of(), NOW);
+        assertEquals(1, meterRegistry.get("friend.recommendations.refresh").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void refreshShouldPublishHowStaleRecommendationsAre() {
+        when(friendRecommendationRepository.countByStaleSinceIsNotNull()).thenReturn(3L);
+        when(friendRecommendationRepository.findFirstByStaleSinceIsNotNullOrderByStaleSinceAsc())
+                .thenReturn(Optional.of(FriendRecommendation.builder().withUserId("user1")
+                        .withStaleSince(NOW.minus(Duration.ofSeconds(90))).build()));
+
+        refresher.refresh();
+
+        assertEquals(3, meterRegistry.get("friend.recommendations.stale").gauge().value());
+        assertEquals(90, meterRegistry.get("friend.recommendations.stale.oldest.age").gauge().value());
+    }
+
+    private static User user() {
+        return User.builder()
+                .withId("user1")
+                .withProfile(Profile.builder()
+                        .withPostalCode("H3Z 2Y7")
+                        .withGender("Female")
+                        .withSportsOfPreference(List.of(new SportLevel("Soccer", "Beginner")))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package app.sportahub.userservice.service.recommendation;
+
+import app.sportahub.userservice.dto.response.user.UserResponse;
+import app.sportahub.userservice.exception.user.UserDoesNotExistException;
+import app.sportahub.userservice.mapper.user.UserMapper;
+import app.sportahub.userservice.model.recommendation.FriendRecommendation;
+import app.sportahub.userservice.model.user.User;
+import app.sportahub.userservice.repository.recommendation.FriendRecommendationRepository;
+import app.sportahub.userservice.repository.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendRecommendationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendRecommendationRepository friendRecommendationRepository;
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+    private SimpleMeterRegistry meterRegistry;
+    private FriendRecommendationService friendRecommendationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        friendRecommendationService = new FriendRecommendationService(userMapper, userRepository,
+                friendRecommendationRepository, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void getFriendRecommendationsShouldServeStoredRecommendationsInRankOrder() {
+        when(friendRecommendationRepository.findById("user1")).thenReturn(Optional.of(FriendRecommendation.builder()
+                .withUserId("user1")
+                .withRecommendedUserIds(List.of("user3", "user2"))
+                .withComputedAt(NOW.minus(Duration.ofMinutes(5)))
+                .build()));
+        when(userRepository.findAllById(List.of("user3", "user2"))).thenReturn(List.of(user("user2"), user("user3")));
+
+        List<UserResponse> recommendations = friendRecommendationService.getFriendRecommendations("user1");
+
+        assertEquals(List.of("user3", "user2"), recommendations.stream().map(UserResponse::id).toList());
+        assertEquals(300, meterRegistry.get("friend.recommendations.served.age").timer().max(TimeUnit.SECONDS));
+        verify(userRepository, never()).recommendFriends(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getFriendRecommendationsShouldSkipRecommendedUsersWhoNoLongerExist() {
+        when(friendRecommendationRepository.findById("user1")).thenReturn(Optional.of(FriendRecommendation.builder()
+                .withUserId("user1")
+                .withRecommendedUserIds(List.of("deleted", "user2"))
+                .withComputedAt(NOW)
+                .build()));
+        when(userRepository.findAllById(List.of("deleted", "user2"))).thenReturn(List.of(user("user2")));
+
+        List<UserResponse> recommendations = friendRecommendationService.getFriendRecommendations("user1");
+
+        assertEquals(List.of("user2"), recommendations.stream().map(UserResponse::id).toList());
+    }
+
+    @Test
+    void getFriendRecommendationsShouldQueueRecommendationsThatWereNeverComputed() {
+        when(friendRecommendationRepository.findById("user1")).thenReturn(Optional.empty());
+        when(userRepository.existsById("user1")).thenReturn(true);
+
+        assertTrue(friendRecommendationService.getFriendRecommendations("user1").isEmpty());
+
+        verify(friendRecommendationRepository).markStale(List.of("user1"), NOW);
+        assertEquals(1, meterRegistry.get("friend.recommendations.misses").counter().count());
+    }
+
+    @Test
+    void getFriendRecommendationsShouldThrowUserDoesNotExistException() {
+        when(friendRecommendationRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(UserDoesNotExistException.class,
+                () -> friendRecommendationService.getFriendRecommendations("missing"));
+        verify(friendRecommendationRepository, never()).markStale(any(), any());
+    }
+
+    @Test
+    void markStaleShouldMarkEveryGivenUser() {
+        friendRecommendationService.markStale("user1", "user2");
+
+        verify(friendRecommendationRepository).markStale(List.of("user1", "user2"), NOW);
+    }
+
+    private static User user(String id) {
+        return User.builder().withId(id).withUsername(id).build();
+    }
+}
@@ -6,17 +6,17 @@ import app.sportahub.userservice.dto.response.user.ProfileResponse;
 import app.sportahub.userservice.dto.response.user.SportLevelResponse;
 import app.sportahub.userservice.dto.response.user.UserProfileResponse;
 import app.sportahub.userservice.exception.user.*;
-import app.sportahub.userservice.mapper.user.FriendMapper;
 import app.sportahub.userservice.mapper.user.ProfileMapper;
 import app.sportahub.userservice.mapper.user.PublicProfileMapper;
 import app.sportahub.userservice.mapper.user.UserMapper;
 import app.sportahub.userservice.model.user.*;
-import app.sportahub.userservice.repository.BadgeRepository;
-import app.sportahub.userservice.repository.FriendRepository;
-import app.sportahub.userservice.repository.FriendRequestRepository;
+import app.sportahub.userservice.repository.friendship.FriendshipRepository;
 import app.sportahub.userservice.repository.user.SearchingUserRepositoryImpl;
 import app.sportahub.userservice.repository.user.UserRepository;
 import app.sportahub.userservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import app.sportahub.userservice.service.user.badge.BadgeCatalog;
+import app.sportahub.userservice.service.user.summary.UserSummaryCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,7 +47,10 @@ public class UserSearchTest {
     private UserRepository userRepository;
 
     @Mock
-    private BadgeRepository badgeRepository;
+    private BadgeCatalog badgeCatalog;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
 
     @Mock
     private KeycloakApiClient keycloakApiClient;
@@ -56,9 +59,6 @@ public class UserSearchTest {
     @Mock
     private ProfileMapper profileMapper;
 
-    @Mock
-    private FriendMapper friendMapper;
-
     @Mock
     private PublicProfileMapper publicProfileMapper;
 
@@ -75,10 +75,7 @@ public class UserSearchTest {
     private SearchingUserRepositoryImpl searchingUserRepository;
 
     @Mock
-    private FriendRepository friendRepository;
-
-    @Mock
-    private FriendRequestRepository friendRequestRepository;
+    private FriendshipRepository friendshipRepository;
 
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
@@ -86,11 +83,15 @@ public class UserSearchTest {
     @Mock
     private OrchestrationServiceProducer orchestrationServiceProducer;
 
+    @Mock
+    private FriendRecommendationService friendRecommendationService;
+
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, badgeRepository, keycloakApiClient, userMapper,
-                profileMapper, friendMapper, friendRepository, friendRequestRepository, publicProfileMapper, orchestrationServiceProducer);
+        userService = new UserServiceImpl(userRepository, badgeCatalog, keycloakApiClient, userMapper,
+                profileMapper, friendshipRepository, publicProfileMapper, orchestrationServiceProducer, userSummaryCache,
+                friendRecommendationService);
         searchingUserRepository = new SearchingUserRepositoryImpl(mongoTemplate);
     }
 
@@ -10,6 +10,7 @@ import app.sportahub.userservice.dto.response.user.friendRequest.FriendRequestRe
 import app.sportahub.userservice.dto.response.user.ProfileResponse;
 import app.sportahub.userservice.dto.response.user.SportLevelResponse;
 import app.sportahub.userservice.dto.response.user.UserResponse;
+import app.sportahub.userservice.dto.response.user.badge.BadgeWithCountResponse;
 import app.sportahub.userservice.dto.response.user.friendRequest.UpdateFriendRequestResponse;
 import app.sportahub.userservice.dto.response.user.friendRequest.ViewFriendRequestsResponse;
 import app.sportahub.userservice.enums.user.FriendRequestStatusEnum;
@@ -22,24 +23,26 @@ import app.sportahub.userservice.exception.user.friendRequest.FriendNotFoundInFr
 import app.sportahub.userservice.exception.user.friendRequest.FriendRequestDoesNotExistException;
 import app.sportahub.userservice.exception.user.friendRequest.GivenFriendUserIdDoesNotMatchFriendRequestFoundByIdException;
 import app.sportahub.userservice.exception.user.friendRequest.UserAlreadyInFriendRequestListException;
-import app.sportahub.userservice.mapper.user.FriendMapper;
 import app.sportahub.userservice.mapper.user.ProfileMapper;
 import app.sportahub.userservice.mapper.user.PublicProfileMapper;
 import app.sportahub.userservice.mapper.user.UserMapper;
 import app.sportahub.userservice.model.user.*;
-import app.sportahub.userservice.repository.BadgeRepository;
-import app.sportahub.userservice.repository.FriendRepository;
-import app.sportahub.userservice.repository.FriendRequestRepository;
+import app.sportahub.userservice.repository.friendship.FriendshipRepository;
 import app.sportahub.userservice.repository.user.UserRepository;
 import app.sportahub.userservice.service.kafka.producer.OrchestrationServiceProducer;
+import app.sportahub.userservice.service.recommendation.FriendRecommendationService;
+import app.sportahub.userservice.service.user.badge.BadgeCatalog;
+import app.sportahub.userservice.service.user.summary.UserSummaryCache;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.kafka.core.KafkaTemplate;
 import reactor.core.publisher.Mono;
 
@@ -48,7 +51,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -62,20 +67,19 @@ public class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private BadgeRepository badgeRepository;
+    private BadgeCatalog badgeCatalog;
 
     @Mock
-    private FriendRepository friendRepository;
+    private UserSummaryCache userSummaryCache;
 
     @Mock
-    private FriendRequestRepository friendRequestRepository;
+    private FriendshipRepository friendshipRepository;
 
     @Mock
     private KeycloakApiClient keycloakApiClient;
 
     private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
     private final ProfileMapper profileMapper = Mappers.getMapper(ProfileMapper.class);
-    private final FriendMapper friendMapper = Mappers.getMapper(FriendMapper.class);
     private final PublicProfileMapper publicProfileMapper = Mappers.getMapper(PublicProfileMapper.class);
 
     @Mock
@@ -84,13 +88,17 @@ public class UserServiceTest {
     @Mock
     private OrchestrationServiceProducer orchestrationServiceProducer;
 
+    @Mock
+    private FriendRecommendationService friendRecommendationService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, badgeRepository, keycloakApiClient, userMapper, profileMapper,
-                friendMapper, friendRepository, friendRequestRepository, publicProfileMapper, orchestrationServiceProducer);
+        userService = new UserServiceImpl(userRepository, badgeCatalog, keycloakApiClient, userMapper, profileMapper,
+                friendshipRepository, publicProfileMapper, orchestrationServiceProducer, userSummaryCache,
+                friendRecommendationService);
     }
 
     private UserRequest getUserRequest() {
@@ -115,9 +123,7 @@ public class UserServiceTest {
                 "testUser",
                 "123",
                 profileRequest,
-                preferences,
-                new ArrayList<>(),
-                new ArrayList<>()
+                preferences
         );
         return userRequest;
     }
@@ -143,27 +149,6 @@ public class UserServiceTest {
                 .build());
     }
 
-    private Optional<User> getUser(String userID, String username, List<FriendRequest> friendRequestList) {
-        return Optional.of(User.builder()
-                .withId(userID)
-                .withEmail(username + "@email.com")
-                .withUsername(username)
-                .withProfile(Profile.builder()
-                        .withFirstName("John")
-                        .withLastName("Doe")
-                        .withDateOfBirth(LocalDate.of(1990, 1, 1))
-                        .withGender("Male")
-                        .withPostalCode("12345")
-                        .withPhoneNumber("1234567890")
-                        .withSportsOfPreference(
-                                List.of(new SportLevel("Basketball", "Intermediate"),
-                                        new SportLevel("Soccer", "Beginner")))
-                        .withRanking("100")
-                        .build())
-                .withFriendRequestList(friendRequestList)
-                .build());
-    }
-
     @Test
     public void createUserShouldReturnSuccessfulCreation() {
         // Arrange
@@ -374,6 +359,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).findUserById(existingUser.get().getId());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(friendRecommendationService, times(1)).markStale(existingUser.get().getId());
     }
 
     @Test
@@ -429,7 +415,7 @@ public class UserServiceTest {
         );
 
         Optional<User> optionalExistingUser = Optional.of(new User("keycloak-123", "test@gmail.com",
-                "testusername", existingProfile, null, null, null, null));
+                "testusername", existingProfile, null));
         User existingUser = optionalExistingUser.get();
         when(userRepository.findUserById(existingUser.getId())).thenReturn(optionalExistingUser);
         existingUser.getProfile().setDateOfBirth(profileRequest.dateOfBirth());
@@ -442,7 +428,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).findUserById(existingUser.getId());
         verify(userRepository, times(1)).save(any(User.class));
-
+        verify(userSummaryCache, times(1)).evict(existingUser.getId());
     }
 
     @Test
@@ -510,11 +496,38 @@ public class UserServiceTest {
         badge.setIconUrl("url_to_icon");
 
         when(userRepository.findById("user1")).thenReturn(Optional.of(user));
-        when(badgeRepository.findById("badge1")).thenReturn(Optional.of(badge));
+        when(badgeCatalog.findAllById(Set.of("badge1"))).thenReturn(Map.of("badge1", badge));
 
         assertFalse(userService.getUserBadges("user1").isEmpty());
     }
 
+    @Test
+    void getUserBadgesResolvesAllBadgesInOneLookup() {
+        User user = new User();
+        Profile profile = new Profile();
+        profile.setBadges(new ArrayList<>(List.of(
+                new UserBadge("badge1", "giver1"),
+                new UserBadge("badge2", "giver1"),
+                new UserBadge("badge1", "giver2"))));
+        user.setProfile(profile);
+
+        Badge mvp = Badge.builder().withId("badge1").withName("MVP").withDescription("Best player").withIconUrl("mvp").build();
+        Badge teamPlayer = Badge.builder().withId("badge2").withName("Team Player").withDescription("Great teammate")
+                .withIconUrl("team").build();
+
+        when(userRepository.findById("user1")).thenReturn(Optional.of(user));
+        when(badgeCatalog.findAllById(Set.of("badge1", "badge2")))
+                .thenReturn(Map.of("badge1", mvp, "badge2", teamPlayer));
+
+        List<BadgeWithCountResponse> badges = userService.getUserBadges("user1");
+
+        verify(badgeCatalog, times(1)).findAllById(any());
+        assertEquals(2, badges.size());
+        assertEquals("MVP", badges.getFirst().badge().name());
+        assertEquals(2, badges.getFirst().badgeCount());
+        assertEquals(1, badges.getLast().badgeCount());
+    }
+
     @Test
     void getUserBadgesUserNotFound() {
         when(userRepository.findById("user1")).thenReturn(Optional.empty());
@@ -536,7 +549,7 @@ public class UserServiceTest {
         badge.setIconUrl("url_to_icon");
 
         when(userRepository.findById("user1")).thenReturn(Optional.of(user));
-        when(badgeRepository.findById("badge1")).thenReturn(Optional.empty());
+        when(badgeCatalog.findAllById(Set.of("badge1"))).thenReturn(Map.of());
         assertThrows(BadgeNotFoundException.class, () -> userService.getUserBadges("user1"));
     }
 
@@ -554,6 +567,7 @@ public class UserServiceTest {
 
         verify(userRepository, times(1)).deleteById(userId);
         verify(keycloakApiClient, times(1)).deleteUser("keycloak-123");
+        verify(userSummaryCache, times(1)).evict(userId);
     }
 
     @Test
@@ -580,18 +594,12 @@ public class UserServiceTest {
 
         when(userRepository.findUserById(senderId)).thenReturn(sendUser);
         when(userRepository.findUserById(receiverId)).thenReturn(receiverUser);
-        User send = sendUser.orElseThrow();
-        User receiver = receiverUser.orElseThrow();
         FriendRequestRequest friendRequestRequest = new FriendRequestRequest(receiverUser.get().getId());
-        FriendRequest friend = FriendRequest.builder().withFriendRequestStatus(FriendRequestStatusEnum.SENT)
-                .withUserId(receiverId)
-                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
-
-        when(userRepository.save(send)).thenReturn(send);
-        when(userRepository.save(receiver)).thenReturn(receiver);
-        when(friendRequestRepository.save(any())).thenReturn(friend);
+        when(friendshipRepository.insert(any(Friendship.class))).thenAnswer(invocation -> {
+            Friendship friendship = invocation.getArgument(0);
+            friendship.setId(friendship.getUserId() + "RequestId");
+            return friendship;
+        });
 
         // Act
         FriendRequestResponse response = userService.sendFriendRequest(sendUser.get().getId(),
@@ -600,13 +608,19 @@ public class UserServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("Friend request sent successfully.", response.message());
-        assertFalse(send.getFriendRequestList().isEmpty());
-        assertFalse(receiver.getFriendRequestList().isEmpty());
+        assertEquals("senderIdRequestId", response.RequestId());
         assertNotNull(response.createdAt());
         assertEquals("https://example.com/profile.jpg", response.profilePictureURL());
-        assertEquals(FriendRequestStatusEnum.SENT, send.getFriendRequestList().getFirst().getFriendRequestStatus());
-        assertEquals(FriendRequestStatusEnum.RECEIVED, receiver.getFriendRequestList().getFirst()
-                .getFriendRequestStatus());
+
+        ArgumentCaptor<Friendship> edges = ArgumentCaptor.forClass(Friendship.class);
+        verify(friendshipRepository, times(2)).insert(edges.capture());
+        assertEquals(senderId, edges.getAllValues().get(0).getUserId());
+        assertEquals(receiverId, edges.getAllValues().get(0).getFriendId());
+        assertEquals(FriendRequestStatusEnum.SENT, edges.getAllValues().get(0).getFriendRequestStatus());
+        assertEquals(receiverId, edges.getAllValues().get(1).getUserId());
+        assertEquals(senderId, edges.getAllValues().get(1).getFriendId());
+        assertEquals(FriendRequestStatusEnum.RECEIVED, edges.getAllValues().get(1).getFriendRequestStatus());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -626,35 +640,76 @@ public class UserServiceTest {
     @Test
     void sendFriendRequestShouldThrowUserAlreadyInFriendListException() {
         // Arrange
+        User send = getUser("senderId", "sender").orElseThrow();
+        User receiver = getUser("receiverId", "receiver").orElseThrow();
 
-        List<FriendRequest> senderFriendList = new ArrayList<>();
-        senderFriendList.add(new FriendRequest("receiverId", FriendRequestStatusEnum.SENT));
+        when(userRepository.findUserById(send.getId())).thenReturn(Optional.of(send));
+        when(userRepository.findUserById(receiver.getId())).thenReturn(Optional.of(receiver));
+        when(friendshipRepository.findByUserIdAndFriendId(send.getId(), receiver.getId()))
+                .thenReturn(Optional.of(friendship("requestId", send.getId(), receiver.getId(),
+                        FriendRequestStatusEnum.SENT)));
 
-        List<FriendRequest> receiverFriendList = new ArrayList<>();
-        receiverFriendList.add(new FriendRequest("senderId", FriendRequestStatusEnum.RECEIVED));
+        // Act
+        UserAlreadyInFriendRequestListException exception = assertThrows(UserAlreadyInFriendRequestListException.class,
+                () -> userService.sendFriendRequest(send.getId(), new FriendRequestRequest(receiver.getId())));
 
-        String senderId = "senderId";
-        String senderUsername = "sender";
-        Optional<User> sendUser = getUser(senderId, senderUsername, senderFriendList);
+        // Assert
+        assertEquals("409 CONFLICT \"User with username: " + receiver.getUsername() + " and status: "
+                        + FriendRequestStatusEnum.SENT + " already in friend request list.\"",
+                exception.getMessage());
+        verify(friendshipRepository, never()).insert(any(Friendship.class));
+    }
 
-        String receiverId = "receiverId";
-        String receiverUsername = "receiver";
-        Optional<User> receiverUser = getUser(receiverId, receiverUsername, receiverFriendList);
+    @Test
+    void sendFriendRequestShouldThrowUserAlreadyInFriendListExceptionForFriends() {
+        // Arrange
+        User send = getUser("senderId", "sender").orElseThrow();
+        User receiver = getUser("receiverId", "receiver").orElseThrow();
 
-        lenient().when(userRepository.findUserById(senderId)).thenReturn(sendUser);
-        lenient().when(userRepository.findUserById(receiverId)).thenReturn(receiverUser);
-        User send = sendUser.orElseThrow();
-        User receiver = receiverUser.orElseThrow();
+        when(userRepository.findUserById(send.getId())).thenReturn(Optional.of(send));
+        when(userRepository.findUserById(receiver.getId())).thenReturn(Optional.of(receiver));
+        when(friendshipRepository.findByUserIdAndFriendId(send.getId(), receiver.getId()))
+                .thenReturn(Optional.of(friendship("friendId", send.getId(), receiver.getId(),
+                        FriendRequestStatusEnum.ACCEPTED)));
+
+        // Act
+        UserAlreadyInFriendListException exception = assertThrows(UserAlreadyInFriendListException.class,
+                () -> userService.sendFriendRequest(send.getId(), new FriendRequestRequest(receiver.getId())));
+
+        // Assert
+        assertEquals("409 CONFLICT \"User with username: " + receiver.getUsername() + " and status: "
+                + FriendRequestStatusEnum.ACCEPTED + " already in friend list.\"", exception.getMessage());
+    }
+
+    @Test
+    void sendFriendRequestShouldUndoSenderEdgeWhenReceiverAlreadySentARequest() {
+        // Arrange
+        User send = getUser("senderId", "sender").orElseThrow();
+        User receiver = getUser("receiverId", "receiver").orElseThrow();
+
+        when(userRepository.findUserById(send.getId())).thenReturn(Optional.of(send));
+        when(userRepository.findUserById(receiver.getId())).thenReturn(Optional.of(receiver));
+        when(friendshipRepository.insert(any(Friendship.class)))
+                .thenAnswer(invocation -> {
+                    Friendship friendship = invocation.getArgument(0);
+                    friendship.setId("senderRequestId");
+                    return friendship;
+                })
+                .thenThrow(new DuplicateKeyException("user_friend_idx"));
+        when(friendshipRepository.findByUserIdAndFriendId(receiver.getId(), send.getId()))
+                .thenReturn(Optional.of(friendship("receiverRequestId", receiver.getId(), send.getId(),
+                        FriendRequestStatusEnum.SENT)));
 
         // Act
         UserAlreadyInFriendRequestListException exception = assertThrows(UserAlreadyInFriendRequestListException.class,
-                () -> userService.sendFriendRequest(sendUser.get().getId(),
-                        new FriendRequestRequest(receiverUser.get().getId())));
+                () -> userService.sendFriendRequest(send.getId(), new FriendRequestRequest(receiver.getId())));
 
         // Assert
         assertEquals("409 CONFLICT \"User with username: " + receiver.getUsername() + " and status: "
-                        + send.getFriendRequestList().getFirst().getFriendRequestStatus() + " already in friend request list.\"",
+                        + FriendRequestStatusEnum.RECEIVED + " already in friend request list.\"",
                 exception.getMessage());
+        verify(friendshipRepository).deleteById("senderRequestId");
+        verify(orchestrationServiceProducer, never()).sendNotificationEvent(any());
     }
 
     @Test
@@ -678,84 +733,124 @@ public class UserServiceTest {
     @Test
     void updateFriendRequestACCEPTShouldReturnSuccess() {
         // Arrange
-
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        userFriendRequestList.add(new FriendRequest("friendID", FriendRequestStatusEnum.RECEIVED));
-        userFriendRequestList.add(new FriendRequest("otherFriendID", FriendRequestStatusEnum.RECEIVED));
-
-        List<FriendRequest> friendFriendRequestList = new ArrayList<>();
-        friendFriendRequestList.add(new FriendRequest("userID", FriendRequestStatusEnum.SENT));
-
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
-
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername, friendFriendRequestList).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.ACCEPT);
 
-        lenient().when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById(friendId)).thenReturn(Optional.of(friendUser));
-        when(friendRequestRepository.findFriendRequestById(any()))
-                .thenReturn(Optional.of(userFriendRequestList.getFirst()));
-        lenient().when(userRepository.save(user)).thenReturn(user);
-        lenient().when(userRepository.save(friendUser)).thenReturn(friendUser);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestID"))
+                .thenReturn(Optional.of(friendship("requestID", userId, friendId, FriendRequestStatusEnum.RECEIVED)));
+        when(friendshipRepository.findByUserIdAndFriendId(friendId, userId))
+                .thenReturn(Optional.of(friendship("friendRequestID", friendId, userId, FriendRequestStatusEnum.SENT)));
+        when(friendshipRepository.transition(userId, friendId, FriendRequestStatusEnum.RECEIVED,
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(true);
+        when(friendshipRepository.transition(friendId, userId, FriendRequestStatusEnum.SENT,
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(true);
 
         // Act
         UpdateFriendRequestResponse updateFriendRequestResponse = userService
                 .updateFriendRequest(userId, "requestID", updateFriendRequestRequest);
 
         // Assert
-        assertEquals("User with id: " + user.getId()
-                        + " accepted the friend request of user with id: " + friendUser.getId() + " successfully",
+        assertEquals("User with id: " + userId
+                        + " accepted the friend request of user with id: " + friendId + " successfully",
                 updateFriendRequestResponse.message());
-
-        assertEquals(FriendRequestStatusEnum.ACCEPTED, user.getFriendList().getFirst().getFriendRequestStatus());
-        assertEquals(FriendRequestStatusEnum.ACCEPTED, friendUser.getFriendList().getFirst().getFriendRequestStatus());
+        verify(userRepository, never()).save(any());
+        verify(friendRecommendationService).markStale(userId, friendId);
     }
 
     @Test
-    void updateFriendRequestDECLINEShouldReturnSuccess() {
+    void updateFriendRequestACCEPTShouldFailWhenRequestWasUpdatedConcurrently() {
         // Arrange
+        String userId = "userID";
+        String friendId = "friendID";
 
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        userFriendRequestList.add(new FriendRequest("friendID", FriendRequestStatusEnum.SENT));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestID"))
+                .thenReturn(Optional.of(friendship("requestID", userId, friendId, FriendRequestStatusEnum.RECEIVED)));
+        when(friendshipRepository.findByUserIdAndFriendId(friendId, userId))
+                .thenReturn(Optional.of(friendship("friendRequestID", friendId, userId, FriendRequestStatusEnum.SENT)));
+        when(friendshipRepository.transition(userId, friendId, FriendRequestStatusEnum.RECEIVED,
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(false);
 
-        List<FriendRequest> friendFriendList = new ArrayList<>();
-        friendFriendList.add(new FriendRequest("userID", FriendRequestStatusEnum.RECEIVED));
+        // Act
+        FriendNotFoundInFriendRequestListException exception =
+                assertThrows(FriendNotFoundInFriendRequestListException.class, () -> userService
+                        .updateFriendRequest(userId, "requestID",
+                                new UpdateFriendRequestRequest(friendId, UpdateFriendRequestActionEnum.ACCEPT)));
 
+        // Assert
+        assertEquals("404 NOT_FOUND \"User with identifier: " + userId
+                + " does not have friend request with identifier: " + friendId
+                + " in their friend request list.\"", exception.getMessage());
+        verify(friendshipRepository, never()).transition(friendId, userId, FriendRequestStatusEnum.SENT,
+                FriendRequestStatusEnum.ACCEPTED);
+    }
+
+    @Test
+    void updateFriendRequestACCEPTShouldRestoreRequestWhenSenderSideChangedConcurrently() {
+        // Arrange
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
+        String friendId = "friendID";
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestID"))
+                .thenReturn(Optional.of(friendship("requestID", userId, friendId, FriendRequestStatusEnum.RECEIVED)));
+        when(friendshipRepository.findByUserIdAndFriendId(friendId, userId))
+                .thenReturn(Optional.of(friendship("friendRequestID", friendId, userId, FriendRequestStatusEnum.SENT)));
+        when(friendshipRepository.transition(userId, friendId, FriendRequestStatusEnum.RECEIVED,
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(true);
+        when(friendshipRepository.transition(friendId, userId, FriendRequestStatusEnum.SENT,
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(false);
+
+        // Act
+        FriendNotFoundInFriendRequestListException exception =
+                assertThrows(FriendNotFoundInFriendRequestListException.class, () -> userService
+                        .updateFriendRequest(userId, "requestID",
+                                new UpdateFriendRequestRequest(friendId, UpdateFriendRequestActionEnum.ACCEPT)));
 
+        // Assert
+        assertEquals("404 NOT_FOUND \"User with identifier: " + friendId
+                + " does not have friend request with identifier: " + userId
+                + " in their friend request list.\"", exception.getMessage());
+        verify(friendshipRepository).transition(userId, friendId, FriendRequestStatusEnum.ACCEPTED,
+                FriendRequestStatusEnum.RECEIVED);
+    }
+
+    @Test
+    void updateFriendRequestDECLINEShouldReturnSuccess() {
+        // Arrange
+        String userId = "userID";
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername, friendFriendList).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.DECLINE);
 
-        lenient().when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById(friendId)).thenReturn(Optional.of(friendUser));
-        when(friendRequestRepository.findFriendRequestById(any()))
-                .thenReturn(Optional.of(userFriendRequestList.getFirst()));
-        lenient().when(userRepository.save(user)).thenReturn(user);
-        lenient().when(userRepository.save(friendUser)).thenReturn(friendUser);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestID"))
+                .thenReturn(Optional.of(friendship("requestID", userId, friendId, FriendRequestStatusEnum.SENT)));
+        when(friendshipRepository.findByUserIdAndFriendId(friendId, userId))
+                .thenReturn(Optional.of(friendship("friendRequestID", friendId, userId,
+                        FriendRequestStatusEnum.RECEIVED)));
+        when(friendshipRepository.deletePending(userId, friendId)).thenReturn(true);
+        when(friendshipRepository.deletePending(friendId, userId)).thenReturn(true);
 
         // Act
         UpdateFriendRequestResponse updateFriendRequestResponse = userService
                 .updateFriendRequest(userId, "requestID", updateFriendRequestRequest);
 
         // Assert
-        assertEquals("User with id: " + user.getId()
-                        + " declined the friend request of user with id: " + friendUser.getId() + " successfully",
+        assertEquals("User with id: " + userId
+                        + " declined the friend request of user with id: " + friendId + " successfully",
                 updateFriendRequestResponse.message());
-
-        assertTrue(user.getFriendRequestList().isEmpty());
-        assertTrue(friendUser.getFriendRequestList().isEmpty());
+        verify(friendshipRepository).deletePending(userId, friendId);
+        verify(friendshipRepository).deletePending(friendId, userId);
     }
 
     @Test
@@ -778,14 +873,12 @@ public class UserServiceTest {
     void updateFriendRequestShouldThrowUserDoesNotExistExceptionOnFriendUsername() {
         // Arrange
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username).orElseThrow();
         String friendUsername = new ObjectId().toHexString();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendUsername,
                 UpdateFriendRequestActionEnum.DECLINE);
 
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(userId)).thenReturn(true);
 
         // Act
         UserDoesNotExistException exception = assertThrows(UserDoesNotExistException.class, () ->
@@ -802,18 +895,13 @@ public class UserServiceTest {
         // Arrange
         String requestId = new ObjectId().toHexString();
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username).orElseThrow();
-
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.DECLINE);
 
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.findUserById(friendId)).thenReturn(Optional.of(friendUser));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
 
         // Act
         FriendRequestDoesNotExistException exception = assertThrows(FriendRequestDoesNotExistException.class, () ->
@@ -829,24 +917,16 @@ public class UserServiceTest {
     void updateFriendRequestShouldThrowGivenFriendUsernameDoesNotMatchFriendFoundByIdException() {
         // Arrange
         String requestId = new ObjectId().toHexString();
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        userFriendRequestList.add(new FriendRequest("friendId", FriendRequestStatusEnum.RECEIVED));
-
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
-
         String wrongUserId = "wrongUserId";
-        String wrongUserUsername = "wrongUser";
-        User wrongUser = getUser(wrongUserId, wrongUserUsername).orElseThrow();
 
-        UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(wrongUser.getId(),
+        UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(wrongUserId,
                 UpdateFriendRequestActionEnum.ACCEPT);
 
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.findUserById(wrongUser.getId())).thenReturn(Optional.of(wrongUser));
-        when(friendRequestRepository.findFriendRequestById(any()))
-                .thenReturn(Optional.of(userFriendRequestList.getFirst()));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(wrongUserId)).thenReturn(true);
+        when(friendshipRepository.findById(requestId))
+                .thenReturn(Optional.of(friendship(requestId, userId, "friendId", FriendRequestStatusEnum.RECEIVED)));
 
         // Act
         GivenFriendUserIdDoesNotMatchFriendRequestFoundByIdException exception =
@@ -856,35 +936,24 @@ public class UserServiceTest {
 
         // Assert
         assertEquals("409 CONFLICT \"Given friend request with the user id: "
-                + wrongUser.getId() + " does not match the friend request found with the given request id: "
+                + wrongUserId + " does not match the friend request found with the given request id: "
                 + requestId + "\"", exception.getMessage());
     }
 
     @Test
     void updateFriendRequestShouldThrowFriendNotFoundInFriendListExceptionFromIsFriendFound1() {
         // Arrange
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        FriendRequest userFriendRequest = new FriendRequest("friendID", FriendRequestStatusEnum.RECEIVED);
-
-        List<FriendRequest> friendFriendRequestList = new ArrayList<>();
-        friendFriendRequestList.add(new FriendRequest("userID", FriendRequestStatusEnum.SENT));
-
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
-
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername, friendFriendRequestList).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.DECLINE);
 
-        lenient().when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById(friendUser.getId())).thenReturn(Optional.of(friendUser));
-        when(friendRequestRepository.findFriendRequestById(any())).thenReturn(Optional.of(userFriendRequest));
-        lenient().when(userRepository.save(user)).thenReturn(user);
-        lenient().when(userRepository.save(friendUser)).thenReturn(friendUser);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestId"))
+                .thenReturn(Optional.of(friendship("requestId", "otherUserID", friendId,
+                        FriendRequestStatusEnum.RECEIVED)));
 
         // Act
         FriendNotFoundInFriendRequestListException exception =
@@ -893,35 +962,24 @@ public class UserServiceTest {
 
         // Assert
         assertEquals("404 NOT_FOUND \"User with identifier: "
-                + user.getId() + " does not have friend request with identifier: "
-                + friendUser.getId() + " in their friend request list.\"", exception.getMessage());
+                + userId + " does not have friend request with identifier: "
+                + friendId + " in their friend request list.\"", exception.getMessage());
+        verify(friendshipRepository, never()).deletePending(any(), any());
     }
 
     @Test
     void updateFriendRequestShouldThrowFriendNotFoundInFriendListExceptionFromIsFriendFound2() {
         // Arrange
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        FriendRequest userFriendRequest = new FriendRequest("friendID", FriendRequestStatusEnum.SENT);
-        userFriendRequestList.add(userFriendRequest);
-
-        List<FriendRequest> friendFriendList = new ArrayList<>();
-
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
-
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername, friendFriendList).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.DECLINE);
 
-        lenient().when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById(friendUser.getId())).thenReturn(Optional.of(friendUser));
-        when(friendRequestRepository.findFriendRequestById(any())).thenReturn(Optional.of(userFriendRequest));
-        lenient().when(userRepository.save(user)).thenReturn(user);
-        lenient().when(userRepository.save(friendUser)).thenReturn(friendUser);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestId"))
+                .thenReturn(Optional.of(friendship("requestId", userId, friendId, FriendRequestStatusEnum.SENT)));
 
         // Act
         FriendNotFoundInFriendRequestListException exception =
@@ -930,37 +988,24 @@ public class UserServiceTest {
 
         // Assert
         assertEquals("404 NOT_FOUND \"User with identifier: "
-                + friendUser.getId() + " does not have friend request with identifier: "
-                + user.getId() + " in their friend request list.\"", exception.getMessage());
+                + friendId + " does not have friend request with identifier: "
+                + userId + " in their friend request list.\"", exception.getMessage());
+        verify(friendshipRepository, never()).deletePending(any(), any());
     }
 
     @Test
     void updateFriendRequestShouldThrowTryingToAcceptInvalidFriendRequestException() {
         // Arrange
-
-        List<FriendRequest> userFriendRequestList = new ArrayList<>();
-        userFriendRequestList.add(new FriendRequest("friendID", FriendRequestStatusEnum.SENT));
-
-        List<FriendRequest> friendFriendRequestList = new ArrayList<>();
-        friendFriendRequestList.add(new FriendRequest("userID", FriendRequestStatusEnum.RECEIVED));
-
         String userId = "userID";
-        String username = "user";
-        User user = getUser(userId, username, userFriendRequestList).orElseThrow();
-
         String friendId = "friendID";
-        String friendUsername = "friend";
-        User friendUser = getUser(friendId, friendUsername, friendFriendRequestList).orElseThrow();
 
         UpdateFriendRequestRequest updateFriendRequestRequest = new UpdateFriendRequestRequest(friendId,
                 UpdateFriendRequestActionEnum.ACCEPT);
 
-        lenient().when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById(friendUser.getId())).thenReturn(Optional.of(friendUser));
-        when(friendRequestRepository.findFriendRequestById(any())).thenReturn(Optional.of(userFriendRequestList.
-                getFirst()));
-        lenient().when(userRepository.save(user)).thenReturn(user);
-        lenient().when(userRepository.save(friendUser)).thenReturn(friendUser);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(friendId)).thenReturn(true);
+        when(friendshipRepository.findById("requestID"))
+                .thenReturn(Optional.of(friendship("requestID", userId, friendId, FriendRequestStatusEnum.SENT)));
 
         // Act
         TryingToAcceptInvalidFriendRequestException exception = assertThrows(
@@ -968,56 +1013,29 @@ public class UserServiceTest {
                         .updateFriendRequest(userId, "requestID", updateFriendRequestRequest));
 
         // Assert
-        assertEquals("409 CONFLICT \"User with identifier: " + user.getId()
-                + " is trying to accept a friend request from: " + friendUser.getId()
-                + " but the status of the friend request is " + user.getFriendRequestList()
-                .getFirst().getFriendRequestStatus()
+        assertEquals("409 CONFLICT \"User with identifier: " + userId
+                + " is trying to accept a friend request from: " + friendId
+                + " but the status of the friend request is " + FriendRequestStatusEnum.SENT
                 + " instead of RECEIVED.\"", exception.getMessage());
+        verify(friendshipRepository, never()).transition(any(), any(), any(), any());
     }
 
     @Test
     void getFriendRequestsShouldReturnSuccess() {
         // Arrange
-        User user = User.builder()
-                .withUsername("testUsername")
-                .withProfile(Profile.builder()
-                        .withProfilePicture("https://example.com/profile.jpg").build())
+        UserSummary receiverUser = UserSummary.builder()
+                .withId("receiverId")
+                .withUsername("receiverUsername")
+                .withProfilePicture("https://example.com/receiver.jpg")
                 .build();
 
-        List<FriendRequest> friendRequestList = new ArrayList<>();
-
-        FriendRequest friendRequest1 = FriendRequest
-                .builder()
-                .withId("friend1RequestId")
-                .withUserId("senderId")
-                .withFriendRequestStatus(FriendRequestStatusEnum.SENT)
-                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
-        friendRequestList.add(friendRequest1);
-
-        FriendRequest friendRequest2 = FriendRequest
-                .builder()
-                .withId("friend2RequestId")
-                .withUserId("receiverId")
-                .withFriendRequestStatus(FriendRequestStatusEnum.RECEIVED)
-                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
-                new FriendRequest("receiverId", FriendRequestStatusEnum.RECEIVED);
-        friendRequestList.add(friendRequest2);
-
-        user.setFriendRequestList(friendRequestList);
-
-        User receiverUser = new User();
-
-        receiverUser.setUsername("receiverUsername");
-        receiverUser.setId("receiverId");
-
         List<FriendRequestStatusEnum> typeList = new ArrayList<>();
         typeList.add(FriendRequestStatusEnum.RECEIVED);
-        lenient().when(userRepository.findUserById("id")).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById("receiverId")).thenReturn(Optional.of(receiverUser));
+        when(userRepository.existsById("id")).thenReturn(true);
+        when(friendshipRepository.findByUserIdAndFriendRequestStatusInOrderByIdAsc("id", typeList))
+                .thenReturn(List.of(friendship("friend2RequestId", "id", "receiverId",
+                        FriendRequestStatusEnum.RECEIVED)));
+        when(userSummaryCache.findAllById(List.of("receiverId"))).thenReturn(Map.of("receiverId", receiverUser));
 
         // Act
         List<ViewFriendRequestsResponse> listResponse = userService.getFriendRequests("id", typeList);
@@ -1027,9 +1045,10 @@ public class UserServiceTest {
         assertEquals(1, listResponse.size());
         assertEquals("receiverId", listResponse.getFirst().friendRequestUserId());
         assertNotNull(listResponse.getFirst().createdAt());
-        assertEquals("https://example.com/profile.jpg", listResponse.getFirst().profilePictureURL());
+        assertEquals("https://example.com/receiver.jpg", listResponse.getFirst().profilePictureURL());
         assertEquals("receiverUsername", listResponse.getFirst().friendRequestUsername());
         assertEquals("friend2RequestId", listResponse.getFirst().RequestId());
+        verify(userRepository, never()).findUserById(any());
     }
 
     @Test
@@ -1051,12 +1070,6 @@ public class UserServiceTest {
     @Test
     void getFriendRequestsShouldThrowInvalidFriendRequestStatusException() {
         // Arrange
-        User user = new User();
-        user.setUsername("testUsername");
-        List<FriendRequest> friendRequestList = new ArrayList<>();
-        friendRequestList.add(new FriendRequest("sender", FriendRequestStatusEnum.SENT));
-        friendRequestList.add(new FriendRequest("receiver", FriendRequestStatusEnum.RECEIVED));
-        user.setFriendRequestList(friendRequestList);
         List<FriendRequestStatusEnum> typeList = new ArrayList<>();
         typeList.add(FriendRequestStatusEnum.RECEIVED);
         typeList.add(FriendRequestStatusEnum.SENT);
@@ -1074,23 +1087,16 @@ public class UserServiceTest {
     @Test
     void getFriendsShouldReturnSuccess() {
         // Arrange
-        User user = new User();
-        user.setId("userId");
-
-        User friendUser1 = new User();
-        friendUser1.setId("friend1Id");
+        UserSummary friendUser1 = UserSummary.builder().withId("friend1").withUsername("friend1Username").build();
+        UserSummary friendUser2 = UserSummary.builder().withId("friend2").withUsername("friend2Username").build();
 
-        User friendUser2 = new User();
-        friendUser2.setId("friend2Id");
-
-        List<Friend> friendList = new ArrayList<>();
-        friendList.add(new Friend("friend1", FriendRequestStatusEnum.ACCEPTED));
-        friendList.add(new Friend("friend2", FriendRequestStatusEnum.ACCEPTED));
-        user.setFriendList(friendList);
-
-        lenient().when(userRepository.findUserById("userId")).thenReturn(Optional.of(user));
-        lenient().when(userRepository.findUserById("friend1")).thenReturn(Optional.of(friendUser1));
-        lenient().when(userRepository.findUserById("friend2")).thenReturn(Optional.of(friendUser2));
+        when(userRepository.existsById("userId")).thenReturn(true);
+        when(friendshipRepository.findByUserIdAndFriendRequestStatusOrderByIdAsc("userId",
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(List.of(
+                friendship("friendship1", "userId", "friend1", FriendRequestStatusEnum.ACCEPTED),
+                friendship("friendship2", "userId", "friend2", FriendRequestStatusEnum.ACCEPTED)));
+        when(userSummaryCache.findAllById(List.of("friend1", "friend2")))
+                .thenReturn(Map.of("friend1", friendUser1, "friend2", friendUser2));
 
         // Act
         List<ViewFriendResponse> viewFriendResponseList = userService.getFriends("userId");
@@ -1098,6 +1104,25 @@ public class UserServiceTest {
         // Assert
         assertEquals(2, viewFriendResponseList.size());
         assertEquals("friend1", viewFriendResponseList.getFirst().friendUserId());
+        assertEquals("friend1Username", viewFriendResponseList.getFirst().friendUsername());
+        assertEquals("friendship1", viewFriendResponseList.getFirst().FriendId());
+        verify(userRepository, never()).findUserById(any());
+    }
+
+    @Test
+    void getFriendsShouldSkipFriendsWhoNoLongerExist() {
+        when(userRepository.existsById("userId")).thenReturn(true);
+        when(friendshipRepository.findByUserIdAndFriendRequestStatusOrderByIdAsc("userId",
+                FriendRequestStatusEnum.ACCEPTED)).thenReturn(List.of(
+                friendship("friendship1", "userId", "friend1", FriendRequestStatusEnum.ACCEPTED),
+                friendship("friendship2", "userId", "deleted", FriendRequestStatusEnum.ACCEPTED)));
+        when(userSummaryCache.findAllById(List.of("friend1", "deleted")))
+                .thenReturn(Map.of("friend1", UserSummary.builder().withId("friend1").withUsername("friend1Username").build()));
+
+        List<ViewFriendResponse> viewFriendResponseList = userService.getFriends("userId");
+
+        assertEquals(1, viewFriendResponseList.size());
+        assertEquals("friend1", viewFriendResponseList.getFirst().friendUserId());
     }
 
     @Test
@@ -1117,43 +1142,18 @@ public class UserServiceTest {
     @Test
     void deleteFriendSuccess() {
         // Arrange
-        User requester = new User();
-        requester.setId("userId1");
-
-        User friend = new User();
-        friend.setId("userId2");
-
-        Friend requesterFriend = new Friend(friend.getId(), FriendRequestStatusEnum.ACCEPTED);
-        requesterFriend.setId("friend1Id");
-
-        Friend friendFriend = new Friend(requester.getId(), FriendRequestStatusEnum.ACCEPTED);
-        friendFriend.setId("friend2Id");
-
-        List<Friend> requesterFriendList = new ArrayList<>();
-        requesterFriendList.add(requesterFriend);
-        requester.setFriendList(requesterFriendList);
-
-        List<Friend> friendFriendList = new ArrayList<>();
-        friendFriendList.add(friendFriend);
-        friend.setFriendList(friendFriendList);
-
-        lenient().when(userRepository.findUserById(requester.getId())).thenReturn(Optional.of(requester));
-        lenient().when(userRepository.findUserById(friend.getId())).thenReturn(Optional.of(friend));
-        doNothing().when(friendRepository).deleteById(requesterFriend.getId());
-        doNothing().when(friendRepository).deleteById(friendFriend.getId());
-        lenient().when(userRepository.save(requester)).thenReturn(requester);
-        lenient().when(userRepository.save(friend)).thenReturn(friend);
+        when(userRepository.existsById("userId1")).thenReturn(true);
+        when(friendshipRepository.findById("friend1Id"))
+                .thenReturn(Optional.of(friendship("friend1Id", "userId1", "userId2", FriendRequestStatusEnum.ACCEPTED)));
 
         // Act
-        userService.deleteFriend(requester.getId(), requesterFriend.getId());
+        userService.deleteFriend("userId1", "friend1Id");
 
         // Assert
-        assertEquals(0, requester.getFriendList().size());
-        assertEquals(0, friend.getFriendList().size());
-        verify(friendRepository, times(1)).deleteById(requesterFriend.getId());
-        verify(friendRepository, times(1)).deleteById(friendFriend.getId());
-        verify(userRepository, times(1)).save(requester);
-        verify(userRepository, times(1)).save(friend);
+        verify(friendshipRepository, times(1)).deleteById("friend1Id");
+        verify(friendshipRepository, times(1)).deleteByUserIdAndFriendId("userId2", "userId1");
+        verify(friendRecommendationService).markStale("userId1", "userId2");
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -1175,36 +1175,43 @@ public class UserServiceTest {
         // Arrange
         String wrongId = new ObjectId().toHexString();
 
-        User requester = new User();
-        requester.setId("userId1");
-
-        User friend = new User();
-        friend.setId("userId2");
-
-        Friend requesterFriend = new Friend(friend.getId(), FriendRequestStatusEnum.ACCEPTED);
-        requesterFriend.setId("friend1Id");
+        when(userRepository.existsById("userId1")).thenReturn(true);
 
-        Friend friendFriend = new Friend(requester.getId(), FriendRequestStatusEnum.ACCEPTED);
-        friendFriend.setId("friend2Id");
-
-        List<Friend> requesterFriendList = new ArrayList<>();
-        requesterFriendList.add(requesterFriend);
-        requester.setFriendList(requesterFriendList);
+        // Act
+        FriendNotFoundInFriendListException exception = assertThrows(FriendNotFoundInFriendListException.class, () ->
+                userService.deleteFriend("userId1", wrongId));
 
-        List<Friend> friendFriendList = new ArrayList<>();
-        friendFriendList.add(friendFriend);
-        friend.setFriendList(friendFriendList);
+        // Assert
+        assertEquals("404 NOT_FOUND \"User with identifier: userId1 does not have friend with identifier: " + wrongId + " in their friend list.\"",
+                exception.getMessage());
+        verify(friendshipRepository, never()).deleteById(any());
+    }
 
-        lenient().when(userRepository.findUserById(requester.getId())).thenReturn(Optional.of(requester));
-        lenient().when(userRepository.findUserById(friend.getId())).thenReturn(Optional.of(friend));
+    @Test
+    void deleteFriendShouldNotDeletePendingFriendRequests() {
+        // Arrange
+        when(userRepository.existsById("userId1")).thenReturn(true);
+        when(friendshipRepository.findById("requestId"))
+                .thenReturn(Optional.of(friendship("requestId", "userId1", "userId2", FriendRequestStatusEnum.SENT)));
 
         // Act
-        FriendNotFoundInFriendListException exception = assertThrows(FriendNotFoundInFriendListException.class, () ->
-                userService.deleteFriend(requester.getId(), wrongId));
+        assertThrows(FriendNotFoundInFriendListException.class, () ->
+                userService.deleteFriend("userId1", "requestId"));
 
         // Assert
-        assertEquals("404 NOT_FOUND \"User with identifier: " + requester.getId() + " does not have friend with identifier: " + wrongId + " in their friend list.\"",
-                exception.getMessage());
+        verify(friendshipRepository, never()).deleteById(any());
+        verify(friendshipRepository, never()).deleteByUserIdAndFriendId(any(), any());
+    }
+
+    private static Friendship friendship(String id, String userId, String friendId, FriendRequestStatusEnum status) {
+        return Friendship.builder()
+                .withId(id)
+                .withUserId(userId)
+                .withFriendId(friendId)
+                .withFriendRequestStatus(status)
+                .withCreatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                .withUpdatedAt(Timestamp.valueOf(LocalDateTime.now()))
+                .build();
     }
 
 }
@@ -0,0 +1,105 @@
+package app.sportahub.userservice.service.user.badge;
+
+import app.sportahub.userservice.model.user.Badge;
+import app.sportahub.userservice.repository.BadgeRepository;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BadgeCatalogTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private BadgeRepository badgeRepository;
+
+    private MutableTicker ticker;
+    private BadgeCatalog badgeCatalog;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new MutableTicker();
+        badgeCatalog = new BadgeCatalog(badgeRepository, TTL, new SimpleMeterRegistry(), ticker);
+    }
+
+    @Test
+    void findAllByIdShouldLoadMissingBadgesInOneQuery() {
+        when(badgeRepository.findAllById(Set.of("badge1", "badge2"))).thenReturn(List.of(badge("badge1"), badge("badge2")));
+
+        Map<String, Badge> badges = badgeCatalog.findAllById(List.of("badge1", "badge2"));
+
+        assertEquals(Set.of("badge1", "badge2"), badges.keySet());
+        verify(badgeRepository, times(1)).findAllById(any());
+        verify(badgeRepository, never()).findById(any());
+    }
+
+    @Test
+    void findAllByIdShouldServeCachedBadgesUntilTheyExpire() {
+        when(badgeRepository.findAllById(Set.of("badge1"))).thenReturn(List.of(badge("badge1")));
+
+        badgeCatalog.findAllById(List.of("badge1"));
+        ticker.advance(TTL.minusSeconds(1));
+        assertTrue(badgeCatalog.findAllById(List.of("badge1")).containsKey("badge1"));
+        verify(badgeRepository, times(1)).findAllById(any());
+
+        ticker.advance(Duration.ofSeconds(1));
+        badgeCatalog.findAllById(List.of("badge1"));
+        verify(badgeRepository, times(2)).findAllById(Set.of("badge1"));
+    }
+
+    @Test
+    void findAllByIdShouldOnlyQueryBadgesThatAreNotCached() {
+        when(badgeRepository.findAllById(Set.of("badge1"))).thenReturn(List.of(badge("badge1")));
+        when(badgeRepository.findAllById(Set.of("badge2"))).thenReturn(List.of(badge("badge2")));
+
+        badgeCatalog.findAllById(List.of("badge1"));
+        Map<String, Badge> badges = badgeCatalog.findAllById(List.of("badge1", "badge2"));
+
+        assertEquals(Set.of("badge1", "badge2"), badges.keySet());
+        verify(badgeRepository).findAllById(Set.of("badge2"));
+    }
+
+    @Test
+    void findAllByIdShouldLeaveOutBadgesThatDoNotExist() {
+        when(badgeRepository.findAllById(Set.of("missing"))).thenReturn(List.of());
+
+        assertTrue(badgeCatalog.findAllById(List.of("missing")).isEmpty());
+    }
+
+    private static Badge badge(String id) {
+        return Badge.builder()
+                .withId(id)
+                .withName("Badge " + id)
+                .withDescription("Description of " + id)
+                .withIconUrl("https://example.com/" + id + ".png")
+                .build();
+    }
+
+    private static final class MutableTicker implements Ticker {
+
+        private volatile long nanos;
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package app.sportahub.userservice.service.user.summary;
+
+import app.sportahub.userservice.model.user.UserSummary;
+import app.sportahub.userservice.repository.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MutableTicker ticker;
+    private UserSummaryCache userSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new MutableTicker();
+        userSummaryCache = new UserSummaryCache(userRepository, TTL, 100, new SimpleMeterRegistry(), ticker);
+    }
+
+    @Test
+    void findAllByIdShouldLoadMissingSummariesInOneQuery() {
+        when(userRepository.findSummariesByIdIn(Set.of("user1", "user2")))
+                .thenReturn(List.of(summary("user1"), summary("user2")));
+
+        Map<String, UserSummary> summaries = userSummaryCache.findAllById(List.of("user1", "user2", "user1"));
+
+        assertEquals(Set.of("user1", "user2"), summaries.keySet());
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+        verify(userRepository, never()).findUserById(any());
+    }
+
+    @Test
+    void findAllByIdShouldServeCachedSummariesUntilTheyExpire() {
+        when(userRepository.findSummariesByIdIn(Set.of("user1"))).thenReturn(List.of(summary("user1")));
+
+        userSummaryCache.findAllById(List.of("user1"));
+        ticker.advance(TTL.minusSeconds(1));
+        assertTrue(userSummaryCache.findAllById(List.of("user1")).containsKey("user1"));
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+
+        ticker.advance(Duration.ofSeconds(1));
+        userSummaryCache.findAllById(List.of("user1"));
+        verify(userRepository, times(2)).findSummariesByIdIn(Set.of("user1"));
+    }
+
+    @Test
+    void findAllByIdShouldOnlyQuerySummariesThatAreNotCached() {
+        when(userRepository.findSummariesByIdIn(Set.of("user1"))).thenReturn(List.of(summary("user1")));
+        when(userRepository.findSummariesByIdIn(Set.of("user2"))).thenReturn(List.of(summary("user2")));
+
+        userSummaryCache.findAllById(List.of("user1"));
+        Map<String, UserSummary> summaries = userSummaryCache.findAllById(List.of("user1", "user2"));
+
+        assertEquals(Set.of("user1", "user2"), summaries.keySet());
+        verify(userRepository).findSummariesByIdIn(Set.of("user2"));
+    }
+
+    @Test
+    void evictShouldReloadTheSummaryOnNextLookup() {
+        when(userRepository.findSummariesByIdIn(Set.of("user1"))).thenReturn(List.of(summary("user1")));
+
+        userSummaryCache.findAllById(List.of("user1"));
+        userSummaryCache.evict("user1");
+        userSummaryCache.findAllById(List.of("user1"));
+
+        verify(userRepository, times(2)).findSummariesByIdIn(Set.of("user1"));
+    }
+
+    private static UserSummary summary(String id) {
+        return UserSummary.builder()
+                .withId(id)
+                .withUsername("username-" + id)
+                .withProfilePicture("https://example.com/" + id + ".jpg")
+                .build();
+    }
+
+    private static final class MutableTicker implements Ticker {
+
+        private volatile long nanos;
+
+        void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+    }
+}
@@ -18,4 +18,8 @@ public class SportaKafkaEvents {
     // Notification
     public static final String NOTIFICATION_REQUEST_TOPIC = "notification.send.request";
     public static final String NOTIFICATION_SEND_TOPIC = "notification.send";
+    public static final String NOTIFICATION_BATCH_REQUEST_TOPIC = "notification.send.batch.request";
+
+    // Event Participation
+    public static final String PARTICIPATION_CHANGED_TOPIC = "event-participation.changed";
 }
@@ -0,0 +1,52 @@
+package app.sportahub.kafka.events.notification;
+
+import app.sportahub.kafka.events.BaseEvent;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The same notification sent to several users at once. It is published once per change, and the orchestration
+ * service expands it into one {@link NotificationEvent} per recipient.
+ */
+@Getter
+public class BatchNotificationEvent extends BaseEvent {
+    private final BaseEvent baseEvent;
+    private final List<String> userIds;
+    private final String messageTitle;
+    private final String messageBody;
+    private final Map<String, String> data;
+    private final String clickAction;
+    private final String icon;
+    private final String messageSubtitle;
+    private final Integer badgeCount;
+    private final Boolean playSound;
+
+    @JsonCreator
+    public BatchNotificationEvent(
+            @JsonProperty("baseEvent") BaseEvent baseEvent,
+            @JsonProperty("userIds") List<String> userIds,
+            @JsonProperty("messageTitle") String messageTitle,
+            @JsonProperty("messageBody") String messageBody,
+            @JsonProperty("data") Map<String, String> data,
+            @JsonProperty("clickAction") String clickAction,
+            @JsonProperty("icon") String icon,
+            @JsonProperty("messageSubtitle") String messageSubtitle,
+            @JsonProperty("badgeCount") Integer badgeCount,
+            @JsonProperty("playSound") Boolean playSound) {
+        super(baseEvent);
+        this.baseEvent = baseEvent;
+        this.userIds = userIds == null ? List.of() : List.copyOf(userIds);
+        this.messageTitle = messageTitle;
+        this.messageBody = messageBody;
+        this.data = data;
+        this.clickAction = clickAction;
+        this.icon = icon;
+        this.messageSubtitle = messageSubtitle;
+        this.badgeCount = badgeCount;
+        this.playSound = playSound;
+    }
+}
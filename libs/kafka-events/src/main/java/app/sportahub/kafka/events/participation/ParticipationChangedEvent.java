@@ -0,0 +1,32 @@
+package app.sportahub.kafka.events.participation;
+
+import app.sportahub.kafka.events.BaseEvent;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * A user joined or left a sport event. It is published by the event service, keyed by user id, every time the
+ * participants of a sport event change, and may be delivered more than once. The {@code timestamp} of the base
+ * event is when the change was made, so consumers can tell the latest change apart from a redelivered older one.
+ */
+@Getter
+public class ParticipationChangedEvent extends BaseEvent {
+    private final BaseEvent baseEvent;
+    private final String sportEventId;
+    private final String userId;
+    private final boolean joined;
+
+    @JsonCreator
+    public ParticipationChangedEvent(
+            @JsonProperty("baseEvent") BaseEvent baseEvent,
+            @JsonProperty("sportEventId") String sportEventId,
+            @JsonProperty("userId") String userId,
+            @JsonProperty("joined") boolean joined) {
+        super(baseEvent);
+        this.baseEvent = baseEvent;
+        this.sportEventId = sportEventId;
+        this.userId = userId;
+        this.joined = joined;
+    }
+}
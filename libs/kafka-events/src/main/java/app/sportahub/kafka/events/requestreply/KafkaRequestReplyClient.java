@@ -0,0 +1,238 @@
+package app.sportahub.kafka.events.requestreply;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.requestreply.CorrelationKey;
+import org.springframework.kafka.requestreply.KafkaReplyTimeoutException;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.requestreply.RequestReplyFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends requests over Kafka and completes a future with the matching reply, for services that ask another service
+ * for data over a request topic and get the answer back on a reply topic.
+ * <p>
+ * The client owns one {@link ReplyingKafkaTemplate} and its reply container, which is started with the application
+ * and stays running, so concurrent requests share it and none of them pays for starting a consumer. Each request
+ * carries a correlation id in the {@code kafka_correlationId} header, which the responder copies onto its reply, and
+ * the reply completes the future registered under that id.
+ * </p>
+ * <p>
+ * Every instance reads the whole reply topic with its own consumer group, so correlation ids start with the id of
+ * the instance that sent the request. A reply with no pending request that carries this instance's id arrived
+ * after its request timed out and is counted as orphaned; replies meant for other instances are skipped.
+ * </p>
+ * <p>
+ * At most {@code maxInFlight} requests wait for a reply at a time; further requests fail right away with a
+ * {@link RejectedExecutionException} instead of queueing behind a slow responder. The following meters are
+ * registered, tagged with the client name:
+ * <ul>
+ *     <li>{@code kafka.request.reply}: time from sending a request to its outcome, tagged with the request topic
+ *     and an outcome of {@code success}, {@code timeout} or {@code failure}</li>
+ *     <li>{@code kafka.request.reply.in.flight}: requests waiting for a reply</li>
+ *     <li>{@code kafka.request.reply.rejected}: requests refused because too many were in flight</li>
+ *     <li>{@code kafka.request.reply.orphaned}: replies that arrived after their request timed out</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+public class KafkaRequestReplyClient implements SmartLifecycle, DisposableBean {
+
+    private static final Duration ASSIGNMENT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final byte[] instancePrefix = (instanceId + ":").getBytes(StandardCharsets.UTF_8);
+    private final ReplyingKafkaTemplate<String, Object, Object> template;
+    private final Duration defaultTimeout;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Counter orphaned;
+
+    /**
+     * @param name             the name of the client, used in its reply consumer group and to tag its meters
+     * @param producerFactory  the factory of the producer that sends requests
+     * @param consumerFactory  the factory of the consumer that reads replies
+     * @param replyTopic       the topic the responder sends replies to
+     * @param defaultTimeout   how long to wait for a reply when the request does not say
+     * @param maxInFlight      how many requests may wait for a reply at a time
+     * @param meterRegistry    the registry to register the meters of the client with
+     */
+    public KafkaRequestReplyClient(String name, ProducerFactory<String, Object> producerFactory,
+                                   ConsumerFactory<String, Object> consumerFactory, String replyTopic,
+                                   Duration defaultTimeout, int maxInFlight, MeterRegistry meterRegistry) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum requests in flight must not be less than one");
+        }
+        this.name = name;
+        this.defaultTimeout = defaultTimeout;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.meterRegistry = meterRegistry;
+
+        ContainerProperties containerProperties = new ContainerProperties(replyTopic);
+        containerProperties.setGroupId(name + "-" + instanceId);
+        Properties consumerProperties = new Properties();
+        consumerProperties.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        containerProperties.setKafkaConsumerProperties(consumerProperties);
+        KafkaMessageListenerContainer<String, Object> replyContainer =
+                new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+        replyContainer.setBeanName(name + "-replies");
+
+        this.template = new OrphanCountingReplyingKafkaTemplate(producerFactory, replyContainer);
+        this.template.setDefaultReplyTimeout(defaultTimeout);
+        this.template.setSharedReplyTopic(true);
+        this.template.setCorrelationIdStrategy(record -> new CorrelationKey(
+                (instanceId + ":" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+
+        Gauge.builder("kafka.request.reply.in.flight", this, client -> client.maxInFlight - client.inFlight.availablePermits())
+                .description("Kafka requests waiting for a reply")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("kafka.request.reply.rejected")
+                .description("Kafka requests refused because too many were waiting for a reply")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.orphaned = Counter.builder("kafka.request.reply.orphaned")
+                .description("Kafka replies that arrived after their request timed out")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a request and waits up to the default timeout for its reply.
+     *
+     * @see #request(String, String, Object, Class, Duration)
+     */
+    public <R> CompletableFuture<R> request(String topic, String key, Object request, Class<R> replyType) {
+        return request(topic, key, request, replyType, defaultTimeout);
+    }
+
+    /**
+     * Sends a request and returns a future completed with its reply.
+     *
+     * @param topic     the topic to send the request to
+     * @param key       the key of the request record, may be null
+     * @param request   the request
+     * @param replyType the type of the expected reply
+     * @param timeout   how long to wait for the reply
+     * @return a future completed with the reply, or failed with a {@link KafkaReplyTimeoutException} if no reply
+     * arrived in time, a {@link RejectedExecutionException} if too many requests are in flight, or the error that
+     * prevented sending the request
+     */
+    public <R> CompletableFuture<R> request(String topic, String key, Object request, Class<R> replyType,
+                                            Duration timeout) {
+        if (!inFlight.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Too many Kafka requests of " + name + " waiting for a reply"));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RequestReplyFuture<String, Object, Object> future;
+        try {
+            future = template.sendAndReceive(new ProducerRecord<>(topic, key, request), timeout);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            sample.stop(meterRegistry.timer("kafka.request.reply", "client", name, "topic", topic, "outcome", "failure"));
+            return CompletableFuture.failedFuture(e);
+        }
+        future.getSendFuture().whenComplete((sent, e) -> {
+            if (e != null) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future
+                .whenComplete((reply, e) -> {
+                    inFlight.release();
+                    sample.stop(meterRegistry.timer("kafka.request.reply",
+                            "client", name, "topic", topic, "outcome", outcome(e)));
+                })
+                .thenApply(reply -> {
+                    if (!replyType.isInstance(reply.value())) {
+                        throw new IllegalStateException("Expected a " + replyType.getSimpleName() + " reply to "
+                                + topic + " but received " + reply.value());
+                    }
+                    return replyType.cast(reply.value());
+                });
+    }
+
+    @Override
+    public void start() {
+        template.start();
+        try {
+            if (!template.waitForAssignment(ASSIGNMENT_TIMEOUT)) {
+                log.warn("KafkaRequestReplyClient::start: replies of {} were not assigned to this instance within {}",
+                        name, ASSIGNMENT_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void stop() {
+        template.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return template.isRunning();
+    }
+
+    @Override
+    public void destroy() {
+        template.destroy();
+    }
+
+    private static String outcome(Throwable e) {
+        if (e == null) {
+            return "success";
+        }
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof KafkaReplyTimeoutException ? "timeout" : "failure";
+    }
+
+    private class OrphanCountingReplyingKafkaTemplate extends ReplyingKafkaTemplate<String, Object, Object> {
+
+        OrphanCountingReplyingKafkaTemplate(ProducerFactory<String, Object> producerFactory,
+                                            KafkaMessageListenerContainer<String, Object> replyContainer) {
+            super(producerFactory, replyContainer);
+        }
+
+        @Override
+        protected void logLateArrival(ConsumerRecord<String, Object> record, Object correlationId) {
+            byte[] id = correlationId instanceof CorrelationKey key ? key.getCorrelationId() : null;
+            if (id != null && id.length > instancePrefix.length
+                    && Arrays.equals(id, 0, instancePrefix.length, instancePrefix, 0, instancePrefix.length)) {
+                orphaned.increment();
+                log.warn("KafkaRequestReplyClient::logLateArrival: reply to {} on {} arrived after its request timed out",
+                        name, record.topic());
+            }
+        }
+    }
+}
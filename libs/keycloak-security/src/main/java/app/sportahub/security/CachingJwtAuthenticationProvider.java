@@ -0,0 +1,172 @@
+package app.sportahub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticates bearer tokens like Spring's {@code JwtAuthenticationProvider}, but remembers the outcome for tokens
+ * it has already seen. Clients send the same access token with every request until it expires, so the first request
+ * decodes the token, checks its signature and claims and converts it to an {@link Authentication}; later requests
+ * with the same token get a copy of that authentication without decoding it again.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are not kept in memory, and expire at the
+ * {@code exp} claim of the token. Tokens without an expiry and tokens that fail validation are not cached. The cache
+ * is a Caffeine cache bounded to {@code maxSize} tokens, which evicts the least likely to be used again once full. Its
+ * clock is the wall clock, as that is what the {@code exp} claim is compared to.
+ * </p>
+ * <p>
+ * The following meters are registered:
+ * <ul>
+ *     <li>{@code security.jwt.decode}: time to decode and validate a token that was not cached</li>
+ *     <li>{@code security.jwt.convert}: time to convert a decoded token to an authentication</li>
+ *     <li>the Caffeine cache meters, such as {@code cache.gets} and {@code cache.size}, tagged with a cache name of
+ *     {@code security.jwt}</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+public class CachingJwtAuthenticationProvider implements AuthenticationProvider {
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final Clock clock;
+    private final Cache<String, CachedAuthentication> authentications;
+    private final Timer decodeTimer;
+    private final Timer convertTimer;
+
+    public CachingJwtAuthenticationProvider(JwtDecoder jwtDecoder, JwtAuthenticationConverter jwtAuthenticationConverter,
+                                            int maxSize, MeterRegistry meterRegistry) {
+        this(jwtDecoder, jwtAuthenticationConverter, maxSize, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtAuthenticationProvider(JwtDecoder jwtDecoder, JwtAuthenticationConverter jwtAuthenticationConverter,
+                                     int maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.clock = clock;
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiresAt())
+                .ticker(() -> ChronoUnit.NANOS.between(Instant.EPOCH, clock.instant()))
+                .recordStats()
+                .build();
+
+        this.decodeTimer = Timer.builder("security.jwt.decode")
+                .description("Time to decode and validate a bearer token that was not cached")
+                .register(meterRegistry);
+        this.convertTimer = Timer.builder("security.jwt.convert")
+                .description("Time to convert a decoded bearer token to an authentication")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, authentications, "security.jwt");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        String key = hash(bearer.getToken());
+        Instant now = clock.instant();
+
+        CachedAuthentication cached = authentications.getIfPresent(key);
+        if (cached != null) {
+            JwtAuthenticationToken token = new JwtAuthenticationToken(cached.jwt(), cached.authorities(), cached.name());
+            token.setDetails(bearer.getDetails());
+            return token;
+        }
+
+        Jwt jwt = decodeTimer.record(() -> decode(bearer.getToken()));
+        AbstractAuthenticationToken token = convertTimer.record(() -> jwtAuthenticationConverter.convert(jwt));
+        if (token == null) {
+            throw new InvalidBearerTokenException("Bearer token could not be converted to an authentication");
+        }
+        if (token.getDetails() == null) {
+            token.setDetails(bearer.getDetails());
+        }
+        if (token instanceof JwtAuthenticationToken && jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(now)) {
+            authentications.put(key, new CachedAuthentication(jwt, List.copyOf(token.getAuthorities()),
+                    token.getName(), jwt.getExpiresAt()));
+        }
+        return token;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return BearerTokenAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private Jwt decode(String token) {
+        try {
+            return jwtDecoder.decode(token);
+        } catch (BadJwtException e) {
+            log.debug("CachingJwtAuthenticationProvider::decode: rejected bearer token: {}", e.getMessage());
+            throw new InvalidBearerTokenException(e.getMessage(), e);
+        } catch (JwtException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(Jwt jwt, Collection<GrantedAuthority> authorities, String name,
+                                        Instant expiresAt) {
+    }
+
+    /**
+     * Keeps each authentication until its token expires.
+     */
+    private final class UntilExpiresAt implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,5 @@
-package app.sportahub.storageservice.utils;
+package app.sportahub.security;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,10 +11,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Maps the realm roles of a Keycloak access token, found in {@code realm_access.roles}, to {@code ROLE_} authorities.
+ */
 public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
 
+    public static final String PRINCIPAL_CLAIM_NAME = "user_id";
 
     @Override
+    @SuppressWarnings("unchecked")
     public Collection<GrantedAuthority> convert(Jwt jwt) {
 
         Object realmAccess = jwt.getClaims().get("realm_access");
@@ -35,18 +39,14 @@ public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Collec
     public static JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
         converter.setJwtGrantedAuthoritiesConverter(new KeycloakJwtAuthenticationConverter());
-        converter.setPrincipalClaimName("user_id");
+        converter.setPrincipalClaimName(PRINCIPAL_CLAIM_NAME);
         return converter;
     }
 
-    @Bean
     public static JwtAuthenticationConverter jwtAuthenticationConverter(
             Converter<Map<String, Object>, Collection<GrantedAuthority>> authoritiesConverter) {
         var authenticationConverter = new JwtAuthenticationConverter();
-        authenticationConverter.setJwtGrantedAuthoritiesConverter(jwt -> {
-            return authoritiesConverter.convert(jwt.getClaims());
-        });
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(jwt -> authoritiesConverter.convert(jwt.getClaims()));
         return authenticationConverter;
     }
-
 }
@@ -0,0 +1,73 @@
+package app.sportahub.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Beans shared by the services that accept Keycloak access tokens: a {@link JwtDecoder} backed by a
+ * {@link RefreshingJwkSource}, the Keycloak authentication converter and a {@link CachingJwtAuthenticationProvider}
+ * for the resource server to authenticate bearer tokens with. Import it from the security configuration of the
+ * service.
+ * <p>
+ * The keys are read from {@code spring.security.oauth2.resourceserver.jwt.jwk-set-uri} when set, or else from the
+ * certificates endpoint Keycloak serves under the issuer uri.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class KeycloakSecurityConfiguration {
+
+    private static final int JWKS_CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final int JWKS_READ_TIMEOUT_MILLIS = 5000;
+    private static final int JWKS_SIZE_LIMIT_BYTES = 51200;
+
+    @Bean
+    public RefreshingJwkSource keycloakJwkSource(
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${security.jwt.jwks.refresh-interval:PT5M}") Duration refreshInterval,
+            @Value("${security.jwt.jwks.min-refresh-interval:PT30S}") Duration minRefreshInterval,
+            MeterRegistry meterRegistry) {
+        URI keysUri = URI.create(jwkSetUri.isBlank() ? issuerUri + "/protocol/openid-connect/certs" : jwkSetUri);
+        return new RefreshingJwkSource(() -> JWKSet.load(keysUri.toURL(), JWKS_CONNECT_TIMEOUT_MILLIS,
+                JWKS_READ_TIMEOUT_MILLIS, JWKS_SIZE_LIMIT_BYTES), refreshInterval, minRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(RefreshingJwkSource keycloakJwkSource,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keycloakJwkSource));
+        // Claims are checked by the validator below, as in the decoders Spring builds itself
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
+    }
+
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        return KeycloakJwtAuthenticationConverter.jwtAuthenticationConverter();
+    }
+
+    @Bean
+    public CachingJwtAuthenticationProvider cachingJwtAuthenticationProvider(
+            JwtDecoder jwtDecoder, JwtAuthenticationConverter jwtAuthenticationConverter,
+            @Value("${security.jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        return new CachingJwtAuthenticationProvider(jwtDecoder, jwtAuthenticationConverter, maxSize, meterRegistry);
+    }
+}
@@ -0,0 +1,154 @@
+package app.sportahub.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the signing keys of the identity provider in memory and refreshes them in the background, so validating a
+ * token never waits on the JWKS endpoint once the keys have been loaded.
+ * <p>
+ * The keys are loaded on first use and then every {@code refreshInterval} while the source is running. A token
+ * signed with a key that is not known yet, as happens right after the identity provider rotates its keys, triggers
+ * a refresh right away, but no more often than once every {@code minRefreshInterval}, so tokens with made-up key ids
+ * cannot be used to flood the endpoint. When a refresh fails the keys loaded before are kept.
+ * </p>
+ * <p>
+ * Refreshes are timed by {@code security.jwt.jwks.refresh}, tagged with an outcome of {@code success} or
+ * {@code failure}.
+ * </p>
+ */
+@Slf4j
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, SmartLifecycle {
+
+    private final Callable<JWKSet> loader;
+    private final Duration refreshInterval;
+    private final Duration minRefreshInterval;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Object refreshLock = new Object();
+    private volatile JWKSet keys;
+    private volatile Instant lastRefresh = Instant.MIN;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * @param loader             loads the current keys from the identity provider
+     * @param refreshInterval    how often to refresh the keys in the background
+     * @param minRefreshInterval how long to wait at least between two refreshes triggered by an unknown key
+     * @param meterRegistry      the registry to register the refresh timer with
+     */
+    public RefreshingJwkSource(Callable<JWKSet> loader, Duration refreshInterval, Duration minRefreshInterval,
+                               MeterRegistry meterRegistry) {
+        this(loader, refreshInterval, minRefreshInterval, meterRegistry, Clock.systemUTC());
+    }
+
+    RefreshingJwkSource(Callable<JWKSet> loader, Duration refreshInterval, Duration minRefreshInterval,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.loader = loader;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshInterval = minRefreshInterval;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = keys;
+        if (current == null) {
+            current = refreshIfOlderThan(minRefreshInterval);
+            if (current == null) {
+                throw new KeySourceException("Signing keys of the identity provider could not be loaded");
+            }
+        }
+
+        List<JWK> matches = jwkSelector.select(current);
+        if (matches.isEmpty()) {
+            JWKSet refreshed = refreshIfOlderThan(minRefreshInterval);
+            if (refreshed != null && refreshed != current) {
+                matches = jwkSelector.select(refreshed);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Loads the keys again unless they were last loaded, or failed to load, less than {@code minAge} ago. Callers
+     * that arrive while the keys are being loaded wait for that load instead of starting their own.
+     *
+     * @return the current keys, or null if none could be loaded yet
+     */
+    JWKSet refreshIfOlderThan(Duration minAge) {
+        synchronized (refreshLock) {
+            if (lastRefresh.plus(minAge).isAfter(clock.instant())) {
+                return keys;
+            }
+            refresh();
+            return keys;
+        }
+    }
+
+    private void refresh() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            JWKSet loaded = loader.call();
+            keys = loaded;
+            log.debug("RefreshingJwkSource::refresh: loaded {} signing keys", loaded.getKeys().size());
+        } catch (Exception e) {
+            outcome = "failure";
+            log.warn("RefreshingJwkSource::refresh: could not load signing keys, keeping the previous ones: {}",
+                    e.getMessage());
+        } finally {
+            lastRefresh = clock.instant();
+            sample.stop(meterRegistry.timer("security.jwt.jwks.refresh", "outcome", outcome));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduledRefresh = scheduler.scheduleWithFixedDelay(() -> refreshIfOlderThan(Duration.ZERO),
+                0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduledRefresh.cancel(false);
+        scheduler.shutdownNow();
+        scheduler = null;
+        scheduledRefresh = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
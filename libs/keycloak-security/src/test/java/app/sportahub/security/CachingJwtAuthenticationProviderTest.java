@@ -0,0 +1,133 @@
+package app.sportahub.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingJwtAuthenticationProviderTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingJwtAuthenticationProvider provider;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new CachingJwtAuthenticationProvider(jwtDecoder,
+                KeycloakJwtAuthenticationConverter.jwtAuthenticationConverter(), 2, meterRegistry, clock);
+        lenient().when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    public void testAuthenticate_sameTokenIsDecodedOnce() {
+        when(jwtDecoder.decode("token1")).thenReturn(jwt("token1", "user1", NOW.plusSeconds(300)));
+
+        Authentication first = provider.authenticate(bearer("token1", "request1"));
+        Authentication second = provider.authenticate(bearer("token1", "request2"));
+
+        verify(jwtDecoder, times(1)).decode("token1");
+        for (Authentication authentication : List.of(first, second)) {
+            assertInstanceOf(JwtAuthenticationToken.class, authentication);
+            assertTrue(authentication.isAuthenticated());
+            assertEquals("user1", authentication.getName());
+            assertEquals(List.of("ROLE_USER"), authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority).toList());
+        }
+        assertNotSame(first, second);
+        assertEquals("request2", second.getDetails());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "security.jwt", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", "security.jwt", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("security.jwt.decode").timer().count());
+        assertEquals(1, meterRegistry.get("security.jwt.convert").timer().count());
+        assertEquals(1, meterRegistry.get("cache.size").tag("cache", "security.jwt").gauge().value());
+    }
+
+    @Test
+    public void testAuthenticate_tokenIsDecodedAgainOnceExpired() {
+        when(jwtDecoder.decode("token1")).thenReturn(jwt("token1", "user1", NOW.plusSeconds(300)));
+
+        provider.authenticate(bearer("token1", null));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+        provider.authenticate(bearer("token1", null));
+
+        verify(jwtDecoder, times(2)).decode("token1");
+    }
+
+    @Test
+    public void testAuthenticate_invalidTokenIsNotCached() {
+        when(jwtDecoder.decode("token1")).thenThrow(new BadJwtException("Signed JWT rejected"));
+
+        assertThrows(InvalidBearerTokenException.class, () -> provider.authenticate(bearer("token1", null)));
+        assertThrows(InvalidBearerTokenException.class, () -> provider.authenticate(bearer("token1", null)));
+
+        verify(jwtDecoder, times(2)).decode("token1");
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "security.jwt").gauge().value());
+    }
+
+    @Test
+    public void testAuthenticate_eachTokenIsCachedUntilItsOwnExpiry() {
+        when(jwtDecoder.decode("token1")).thenReturn(jwt("token1", "user1", NOW.plusSeconds(60)));
+        when(jwtDecoder.decode("token2")).thenReturn(jwt("token2", "user2", NOW.plusSeconds(300)));
+
+        provider.authenticate(bearer("token1", null));
+        provider.authenticate(bearer("token2", null));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(120));
+        provider.authenticate(bearer("token1", null));
+        provider.authenticate(bearer("token2", null));
+
+        verify(jwtDecoder, times(2)).decode("token1");
+        verify(jwtDecoder, times(1)).decode("token2");
+    }
+
+    @Test
+    public void testSupports_onlyBearerTokens() {
+        assertTrue(provider.supports(BearerTokenAuthenticationToken.class));
+        assertFalse(provider.supports(JwtAuthenticationToken.class));
+    }
+
+    private static Jwt jwt(String token, String userId, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("user_id", userId)
+                .claim("realm_access", Map.of("roles", List.of("user")))
+                .issuedAt(expiresAt.minusSeconds(300))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token, Object details) {
+        BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+        bearer.setDetails(details);
+        return bearer;
+    }
+}
@@ -1,4 +1,4 @@
-package app.sportahub.eventservice.utils;
+package app.sportahub.security;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -90,4 +90,16 @@ public class KeycloakJwtAuthenticationConverterTest {
 
         verify(authoritiesConverter, times(1)).convert(jwt.getClaims());
     }
+
+    @Test
+    public void testJwtAuthenticationConverter_usesUserIdAsPrincipalName() {
+        Jwt jwt = new Jwt("tokenValue", Instant.now(), Instant.now().plusSeconds(60), Map.of("alg", "none"),
+                Map.of("user_id", "user1", "realm_access", Map.of("roles", List.of("user"))));
+
+        JwtAuthenticationToken authenticationToken = (JwtAuthenticationToken) KeycloakJwtAuthenticationConverter
+                .jwtAuthenticationConverter().convert(jwt);
+
+        assertEquals("user1", authenticationToken.getName());
+        assertEquals("ROLE_USER", authenticationToken.getAuthorities().iterator().next().getAuthority());
+    }
 }
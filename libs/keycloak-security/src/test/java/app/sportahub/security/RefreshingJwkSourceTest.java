@@ -0,0 +1,117 @@
+package app.sportahub.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshingJwkSourceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private static RSAKey key1;
+    private static RSAKey key2;
+
+    @Mock
+    private Callable<JWKSet> loader;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RefreshingJwkSource jwkSource;
+
+    @BeforeAll
+    public static void generateKeys() throws Exception {
+        key1 = new RSAKeyGenerator(2048).keyID("key1").generate();
+        key2 = new RSAKeyGenerator(2048).keyID("key2").generate();
+    }
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwkSource = new RefreshingJwkSource(loader, Duration.ofMinutes(5), MIN_REFRESH_INTERVAL, meterRegistry, clock);
+        lenient().when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    public void testGet_keysAreLoadedOnceAndServedFromMemory() throws Exception {
+        when(loader.call()).thenReturn(new JWKSet(key1.toPublicJWK()));
+
+        for (int i = 0; i < 3; i++) {
+            List<JWK> keys = jwkSource.get(selector("key1"), null);
+            assertEquals(List.of("key1"), keys.stream().map(JWK::getKeyID).toList());
+        }
+
+        verify(loader, times(1)).call();
+        assertEquals(1, meterRegistry.get("security.jwt.jwks.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void testGet_unknownKeyTriggersRateLimitedRefresh() throws Exception {
+        when(loader.call())
+                .thenReturn(new JWKSet(key1.toPublicJWK()))
+                .thenReturn(new JWKSet(List.of(key1.toPublicJWK(), key2.toPublicJWK())));
+
+        assertEquals(1, jwkSource.get(selector("key1"), null).size());
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+        assertTrue(jwkSource.get(selector("key2"), null).isEmpty());
+        verify(loader, times(1)).call();
+
+        when(clock.instant()).thenReturn(NOW.plus(MIN_REFRESH_INTERVAL).plusSeconds(1));
+        assertEquals(List.of("key2"), jwkSource.get(selector("key2"), null).stream().map(JWK::getKeyID).toList());
+        assertTrue(jwkSource.get(selector("unknown"), null).isEmpty());
+        verify(loader, times(2)).call();
+    }
+
+    @Test
+    public void testGet_failedRefreshKeepsPreviousKeys() throws Exception {
+        when(loader.call())
+                .thenReturn(new JWKSet(key1.toPublicJWK()))
+                .thenThrow(new IOException("Connection refused"));
+
+        jwkSource.get(selector("key1"), null);
+        when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+        jwkSource.refreshIfOlderThan(Duration.ZERO);
+
+        assertEquals(1, jwkSource.get(selector("key1"), null).size());
+        assertEquals(1, meterRegistry.get("security.jwt.jwks.refresh").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    public void testGet_noKeysLoadedYetFailsWithoutHammeringTheEndpoint() throws Exception {
+        when(loader.call()).thenThrow(new IOException("Connection refused"));
+
+        assertThrows(KeySourceException.class, () -> jwkSource.get(selector("key1"), null));
+        assertThrows(KeySourceException.class, () -> jwkSource.get(selector("key1"), null));
+
+        verify(loader, times(1)).call();
+    }
+
+    private static JWKSelector selector(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+}
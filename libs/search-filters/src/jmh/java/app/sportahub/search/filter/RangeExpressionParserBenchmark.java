@@ -0,0 +1,58 @@
+package app.sportahub.search.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link RangeExpressionParser} with the approach it replaces in the search repositories, which compiled
+ * its patterns on every call. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RangeExpressionParserBenchmark {
+
+    @Param({"2023-10-15-2023-10-20", ">=2023-10-15", "2023-10-15"})
+    public String dateExpression;
+
+    @Benchmark
+    public Criteria compilePatternPerCall() {
+        Pattern rangePattern = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})-(\\d{4}-\\d{2}-\\d{2})");
+        Matcher rangeMatcher = rangePattern.matcher(dateExpression);
+        if (rangeMatcher.matches()) {
+            return Criteria.where("date").gte(LocalDate.parse(rangeMatcher.group(1)))
+                    .lte(LocalDate.parse(rangeMatcher.group(2)));
+        }
+        Pattern pattern = Pattern.compile("([<>=]{1,2})?(\\d{4}-\\d{2}-\\d{2})");
+        Matcher matcher = pattern.matcher(dateExpression);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Invalid date format: " + dateExpression);
+        }
+        String operator = matcher.group(1) != null ? matcher.group(1) : "=";
+        LocalDate date = LocalDate.parse(matcher.group(2));
+        return switch (operator) {
+            case "<" -> Criteria.where("date").lt(date);
+            case ">" -> Criteria.where("date").gt(date);
+            case "<=" -> Criteria.where("date").lte(date);
+            case ">=" -> Criteria.where("date").gte(date);
+            case "=" -> Criteria.where("date").is(date);
+            default -> throw new IllegalArgumentException("Unsupported operator in date filter: " + operator);
+        };
+    }
+
+    @Benchmark
+    public Criteria rangeExpressionParser() {
+        return RangeExpressionParser.DATES.parse(dateExpression).toCriteria("date");
+    }
+}
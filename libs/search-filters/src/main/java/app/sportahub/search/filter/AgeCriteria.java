@@ -0,0 +1,44 @@
+package app.sportahub.search.filter;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDate;
+
+/**
+ * Translates a range of ages into a range of birth dates, comparing years only: someone is considered
+ * {@code currentYear - birthYear} years old for the whole year. Unlike comparing {@code $year} of the birth date in
+ * an {@code $expr}, the resulting bounds can use an index on the birth date field.
+ */
+public final class AgeCriteria {
+
+    private AgeCriteria() {
+    }
+
+    /**
+     * Builds the {@link Criteria} matching the birth dates in {@code field} of people within {@code ages}.
+     *
+     * @param field       the birth date field
+     * @param ages        the range of ages, as parsed by {@link RangeExpressionParser#INTEGERS}
+     * @param currentYear the year ages are computed at
+     */
+    public static Criteria birthDateCriteria(String field, RangeExpression<Integer> ages, int currentYear) {
+        int birthYear = currentYear - ages.value();
+        Criteria criteria = Criteria.where(field);
+        return switch (ages.operator()) {
+            case EQ -> criteria.gte(firstDayOf(birthYear)).lte(lastDayOf(birthYear));
+            case LT -> criteria.gte(firstDayOf(birthYear + 1));
+            case LTE -> criteria.gte(firstDayOf(birthYear));
+            case GT -> criteria.lt(firstDayOf(birthYear));
+            case GTE -> criteria.lte(lastDayOf(birthYear));
+            case BETWEEN -> criteria.gte(firstDayOf(currentYear - ages.upperValue())).lte(lastDayOf(birthYear));
+        };
+    }
+
+    private static LocalDate firstDayOf(int year) {
+        return LocalDate.of(year, 1, 1);
+    }
+
+    private static LocalDate lastDayOf(int year) {
+        return LocalDate.of(year, 12, 31);
+    }
+}
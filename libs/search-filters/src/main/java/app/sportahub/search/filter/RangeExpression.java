@@ -0,0 +1,40 @@
+package app.sportahub.search.filter;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * A parsed search range such as {@code <=20}, {@code 14:00} or {@code 2024-01-01-2024-01-31}.
+ * <p>
+ * {@code upperValue} is only set for {@link RangeOperator#BETWEEN}, whose bounds are both inclusive.
+ * </p>
+ *
+ * @param <T> the type of the compared values
+ */
+public record RangeExpression<T>(RangeOperator operator, T value, T upperValue) {
+
+    public static <T> RangeExpression<T> of(RangeOperator operator, T value) {
+        if (operator == RangeOperator.BETWEEN) {
+            throw new IllegalArgumentException("A between range needs an upper value");
+        }
+        return new RangeExpression<>(operator, value, null);
+    }
+
+    public static <T> RangeExpression<T> between(T lowerValue, T upperValue) {
+        return new RangeExpression<>(RangeOperator.BETWEEN, lowerValue, upperValue);
+    }
+
+    /**
+     * Builds the {@link Criteria} comparing {@code field} against this range.
+     */
+    public Criteria toCriteria(String field) {
+        Criteria criteria = Criteria.where(field);
+        return switch (operator) {
+            case EQ -> criteria.is(value);
+            case LT -> criteria.lt(value);
+            case LTE -> criteria.lte(value);
+            case GT -> criteria.gt(value);
+            case GTE -> criteria.gte(value);
+            case BETWEEN -> criteria.gte(value).lte(upperValue);
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package app.sportahub.search.filter;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Parses the range syntax of search filters into a {@link RangeExpression}:
+ * <ul>
+ *     <li>{@code value} or {@code =value} for an exact match;</li>
+ *     <li>{@code <value}, {@code <=value}, {@code >value} and {@code >=value} for comparisons;</li>
+ *     <li>{@code lower-upper} for an inclusive range.</li>
+ * </ul>
+ * Parsing is a single pass over the expression by a hand-written tokenizer: no pattern is compiled and no
+ * substring is allocated, so the shared parsers below are cheap to call on every request and safe to use
+ * concurrently.
+ *
+ * @param <T> the type of the parsed values
+ */
+public final class RangeExpressionParser<T> {
+
+    /**
+     * Parses dates formatted as {@code yyyy-MM-dd}, e.g. {@code 2024-01-01-2024-01-31}.
+     */
+    public static final RangeExpressionParser<LocalDate> DATES =
+            new RangeExpressionParser<>("date", 10, RangeExpressionParser::parseDate);
+
+    /**
+     * Parses times formatted as {@code HH:mm}, e.g. {@code >=18:00}.
+     */
+    public static final RangeExpressionParser<LocalTime> TIMES =
+            new RangeExpressionParser<>("time", 5, RangeExpressionParser::parseTime);
+
+    /**
+     * Parses non-negative integers, e.g. {@code 10-20}. Ages use this parser too.
+     */
+    public static final RangeExpressionParser<Integer> INTEGERS =
+            new RangeExpressionParser<>("number", 0, RangeExpressionParser::parseInteger);
+
+    private static final int MAX_INTEGER_DIGITS = 9;
+
+    @FunctionalInterface
+    private interface ValueParser<T> {
+        T parse(String text, int start, int end);
+    }
+
+    private final String kind;
+    private final int width;
+    private final ValueParser<T> valueParser;
+
+    private RangeExpressionParser(String kind, int width, ValueParser<T> valueParser) {
+        this.kind = kind;
+        this.width = width;
+        this.valueParser = valueParser;
+    }
+
+    /**
+     * Parses a range expression, ignoring surrounding whitespace.
+     *
+     * @throws IllegalArgumentException if the expression is not a valid range of this parser's values
+     */
+    public RangeExpression<T> parse(String expression) {
+        if (expression == null) {
+            throw invalid(null);
+        }
+        int start = 0;
+        int end = expression.length();
+        while (start < end && Character.isWhitespace(expression.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(expression.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw invalid(expression);
+        }
+
+        int separator = rangeSeparator(expression, start, end);
+        if (separator > 0) {
+            return RangeExpression.between(value(expression, start, separator),
+                    value(expression, separator + 1, end));
+        }
+
+        RangeOperator operator = RangeOperator.EQ;
+        char first = expression.charAt(start);
+        if (first == '<' || first == '>') {
+            boolean orEqual = start + 1 < end && expression.charAt(start + 1) == '=';
+            if (first == '<') {
+                operator = orEqual ? RangeOperator.LTE : RangeOperator.LT;
+            } else {
+                operator = orEqual ? RangeOperator.GTE : RangeOperator.GT;
+            }
+            start += orEqual ? 2 : 1;
+        } else if (first == '=') {
+            start++;
+            if (start < end && expression.charAt(start) == '=') {
+                start++;
+            }
+        }
+        return RangeExpression.of(operator, value(expression, start, end));
+    }
+
+    /**
+     * Finds the {@code -} separating the bounds of a range. Fixed-width values contain dashes themselves, so
+     * the separator is only looked for right after the first value.
+     */
+    private int rangeSeparator(String expression, int start, int end) {
+        if (width > 0) {
+            return end - start == 2 * width + 1 && expression.charAt(start + width) == '-' ? start + width : -1;
+        }
+        for (int i = start + 1; i < end - 1; i++) {
+            if (expression.charAt(i) == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private T value(String expression, int start, int end) {
+        try {
+            T value = valueParser.parse(expression, start, end);
+            if (value != null) {
+                return value;
+            }
+        } catch (DateTimeException e) {
+            throw invalid(expression);
+        }
+        throw invalid(expression);
+    }
+
+    private IllegalArgumentException invalid(String expression) {
+        return new IllegalArgumentException("Invalid " + kind + " format: " + expression);
+    }
+
+    private static LocalDate parseDate(String text, int start, int end) {
+        if (end - start != 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = digits(text, start, start + 4);
+        int month = digits(text, start + 5, start + 7);
+        int day = digits(text, start + 8, start + 10);
+        return year < 0 || month < 0 || day < 0 ? null : LocalDate.of(year, month, day);
+    }
+
+    private static LocalTime parseTime(String text, int start, int end) {
+        if (end - start != 5 || text.charAt(start + 2) != ':') {
+            return null;
+        }
+        int hour = digits(text, start, start + 2);
+        int minute = digits(text, start + 3, start + 5);
+        return hour < 0 || minute < 0 ? null : LocalTime.of(hour, minute);
+    }
+
+    private static Integer parseInteger(String text, int start, int end) {
+        if (end - start > MAX_INTEGER_DIGITS) {
+            return null;
+        }
+        int value = digits(text, start, end);
+        return value < 0 ? null : value;
+    }
+
+    /**
+     * Reads the decimal digits between {@code start} and {@code end}.
+     *
+     * @return their value, or {@code -1} if the span is empty or holds anything but digits
+     */
+    private static int digits(String text, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
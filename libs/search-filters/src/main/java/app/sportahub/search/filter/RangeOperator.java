@@ -0,0 +1,14 @@
+package app.sportahub.search.filter;
+
+/**
+ * The comparison of a {@link RangeExpression}, written as an optional prefix of its value, or {@code a-b} for
+ * {@link #BETWEEN}.
+ */
+public enum RangeOperator {
+    EQ,
+    LT,
+    LTE,
+    GT,
+    GTE,
+    BETWEEN
+}
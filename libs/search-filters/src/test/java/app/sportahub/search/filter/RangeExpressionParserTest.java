@@ -0,0 +1,72 @@
+package app.sportahub.search.filter;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeExpressionParserTest {
+
+    @Test
+    void shouldParseDateRangesAndComparisons() {
+        assertEquals(RangeExpression.between(LocalDate.of(2023, 10, 15), LocalDate.of(2023, 10, 20)),
+                RangeExpressionParser.DATES.parse("2023-10-15-2023-10-20"));
+        assertEquals(RangeExpression.of(RangeOperator.LTE, LocalDate.of(2023, 10, 15)),
+                RangeExpressionParser.DATES.parse("<=2023-10-15"));
+        assertEquals(RangeExpression.of(RangeOperator.EQ, LocalDate.of(2023, 10, 15)),
+                RangeExpressionParser.DATES.parse(" 2023-10-15 "));
+    }
+
+    @Test
+    void shouldParseTimeRangesAndComparisons() {
+        assertEquals(RangeExpression.between(LocalTime.of(14, 0), LocalTime.of(16, 30)),
+                RangeExpressionParser.TIMES.parse("14:00-16:30"));
+        assertEquals(RangeExpression.of(RangeOperator.GT, LocalTime.of(18, 0)),
+                RangeExpressionParser.TIMES.parse(">18:00"));
+        assertEquals(RangeExpression.of(RangeOperator.EQ, LocalTime.of(9, 15)),
+                RangeExpressionParser.TIMES.parse("=09:15"));
+    }
+
+    @Test
+    void shouldParseIntegerRangesAndComparisons() {
+        assertEquals(RangeExpression.between(10, 20), RangeExpressionParser.INTEGERS.parse("10-20"));
+        assertEquals(RangeExpression.of(RangeOperator.LT, 5), RangeExpressionParser.INTEGERS.parse("<5"));
+        assertEquals(RangeExpression.of(RangeOperator.GTE, 30), RangeExpressionParser.INTEGERS.parse(">=30"));
+        assertEquals(RangeExpression.of(RangeOperator.EQ, 25), RangeExpressionParser.INTEGERS.parse("25"));
+    }
+
+    @Test
+    void shouldRejectMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.DATES.parse("2023-13-01"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.DATES.parse("15/10/2023"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.TIMES.parse("25:00"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.INTEGERS.parse("<>5"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.INTEGERS.parse("10-"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.INTEGERS.parse("12345678901"));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.INTEGERS.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> RangeExpressionParser.INTEGERS.parse(null));
+    }
+
+    @Test
+    void shouldBuildTypedCriteria() {
+        assertEquals(new Document("maxParticipants", new Document("$gte", 10).append("$lte", 20)),
+                RangeExpressionParser.INTEGERS.parse("10-20").toCriteria("maxParticipants").getCriteriaObject());
+        assertEquals(new Document("date", LocalDate.of(2023, 10, 15)),
+                RangeExpressionParser.DATES.parse("2023-10-15").toCriteria("date").getCriteriaObject());
+    }
+
+    @Test
+    void shouldTranslateAgesToBirthDateBounds() {
+        assertEquals(new Document("dob", new Document("$gte", LocalDate.of(2000, 1, 1)).append("$lte", LocalDate.of(2005, 12, 31))),
+                AgeCriteria.birthDateCriteria("dob", RangeExpressionParser.INTEGERS.parse("20-25"), 2025).getCriteriaObject());
+        assertEquals(new Document("dob", new Document("$gte", LocalDate.of(2001, 1, 1))),
+                AgeCriteria.birthDateCriteria("dob", RangeExpressionParser.INTEGERS.parse("<25"), 2025).getCriteriaObject());
+        assertEquals(new Document("dob", new Document("$lt", LocalDate.of(2000, 1, 1))),
+                AgeCriteria.birthDateCriteria("dob", RangeExpressionParser.INTEGERS.parse(">25"), 2025).getCriteriaObject());
+        assertEquals(new Document("dob", new Document("$gte", LocalDate.of(2000, 1, 1)).append("$lte", LocalDate.of(2000, 12, 31))),
+                AgeCriteria.birthDateCriteria("dob", RangeExpressionParser.INTEGERS.parse("25"), 2025).getCriteriaObject());
+    }
+}